@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.TestUtil;
+
+/**
+ * Starts the members used by the benchmarks. Members of the same cluster talk to each other over
+ * the loopback interface, so the whole network stack is exercised without any physical network.
+ */
+public final class BenchmarkCluster {
+
+    private static final int PORT = 5701;
+
+    private BenchmarkCluster() {
+    }
+
+    /**
+     * Starts a cluster of the given size with the default benchmark configuration,
+     * see {@link #start(Config, int)}.
+     */
+    public static HazelcastInstance[] start(int memberCount) throws InterruptedException {
+        return start(createConfig(memberCount), memberCount);
+    }
+
+    /**
+     * Starts a cluster of the given size and waits until all partitions are assigned.
+     *
+     * @param config      configuration of the members, see {@link #createConfig(int)}
+     * @param memberCount number of members
+     * @return the members, the first one being the oldest
+     */
+    public static HazelcastInstance[] start(Config config, int memberCount) throws InterruptedException {
+        HazelcastInstance[] instances = new HazelcastInstance[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            instances[i] = Hazelcast.newHazelcastInstance(config);
+        }
+        TestUtil.warmUpPartitions(instances);
+        return instances;
+    }
+
+    /**
+     * Shuts down the given members.
+     */
+    public static void shutdown(HazelcastInstance[] instances) {
+        for (HazelcastInstance instance : instances) {
+            instance.getLifecycleService().terminate();
+        }
+    }
+
+    /**
+     * Creates a configuration which makes the given number of members form an isolated cluster on the
+     * loopback interface.
+     */
+    public static Config createConfig(int memberCount) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_VERSION_CHECK_ENABLED, "false");
+        config.getGroupConfig().setName("benchmark-" + System.nanoTime());
+        config.getNetworkConfig().setPort(PORT).setPortAutoIncrement(true);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(memberCount > 1).addMember("127.0.0.1");
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        return config;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.client;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.MapPutParameters;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of a {@link ClientMessage}, using the {@code IMap.put} request as an example.
+ * <p/>
+ * {@link #roundTrip()} additionally writes the message to a buffer and reads it back with a
+ * {@link ClientMessageBuilder}, like the IO layer does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    private static final String MAP_NAME = "map";
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private Data key;
+    private Data value;
+    private byte[] encodedMessage;
+    private ByteBuffer buffer;
+    private ClientMessageBuilder builder;
+    private MapPutParameters decodedParameters;
+
+    @Setup
+    public void setUp() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[valueSize]);
+
+        ClientMessage message = encode();
+        encodedMessage = new byte[message.getFrameLength()];
+        ByteBuffer encodedBuffer = ByteBuffer.wrap(encodedMessage);
+        message.writeTo(encodedBuffer);
+
+        buffer = ByteBuffer.allocate(encodedMessage.length);
+        builder = new ClientMessageBuilder(new ClientMessageBuilder.MessageHandler() {
+            @Override
+            public void handleMessage(ClientMessage message) {
+                decodedParameters = MapPutParameters.decode(message);
+            }
+        });
+    }
+
+    @Benchmark
+    public ClientMessage encode() {
+        ClientMessage message = MapPutParameters.encode(MAP_NAME, key, value, 1L, -1L);
+        message.setCorrelationId(1);
+        message.setPartitionId(1);
+        message.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+        return message;
+    }
+
+    @Benchmark
+    public MapPutParameters decode() {
+        ClientMessage message = ClientMessage.createForDecode(encodedMessage, 0, encodedMessage.length);
+        return MapPutParameters.decode(message);
+    }
+
+    @Benchmark
+    public MapPutParameters roundTrip() {
+        buffer.clear();
+        encode().writeTo(buffer);
+        buffer.flip();
+        builder.onData(buffer);
+        return decodedParameters;
+    }
+}
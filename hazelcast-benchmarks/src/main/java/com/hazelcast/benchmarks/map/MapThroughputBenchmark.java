@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.benchmarks.BenchmarkCluster;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link IMap} throughput of a two member cluster running on the loopback interface.
+ * <p/>
+ * Operations are issued from the first member, so about half of them go over the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MapThroughputBenchmark {
+
+    private static final int MEMBER_COUNT = 2;
+
+    @Param({"10000"})
+    public int keyCount;
+
+    @Param({"100"})
+    public int valueSize;
+
+    private HazelcastInstance[] instances;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        instances = BenchmarkCluster.start(MEMBER_COUNT);
+        map = instances[0].getMap("mapThroughputBenchmark");
+        value = new byte[valueSize];
+        for (int i = 0; i < keyCount; i++) {
+            map.set(i, value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkCluster.shutdown(instances);
+    }
+
+    @Benchmark
+    public void put(ThreadState state) {
+        map.set(state.nextKey(keyCount), value);
+    }
+
+    @Benchmark
+    public byte[] get(ThreadState state) {
+        return map.get(state.nextKey(keyCount));
+    }
+
+    /**
+     * Picks the keys of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private Random random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new Random();
+        }
+
+        int nextKey(int keyCount) {
+            return random.nextInt(keyCount);
+        }
+    }
+}
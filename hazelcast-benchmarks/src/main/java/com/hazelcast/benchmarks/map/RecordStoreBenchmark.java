@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.benchmarks.BenchmarkCluster;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code put} and {@code get} of a {@link RecordStore}, without the operation and invocation layers.
+ * <p/>
+ * Record stores are single threaded by design, so this benchmark must run with a single thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordStoreBenchmark {
+
+    private static final String MAP_NAME = "recordStoreBenchmark";
+
+    @Param({"10000"})
+    public int keyCount;
+
+    @Param({"BINARY", "OBJECT"})
+    public String inMemoryFormat;
+
+    private HazelcastInstance[] instances;
+    private RecordStore recordStore;
+    private Data[] keys;
+    private Data value;
+    private int index;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        Config config = BenchmarkCluster.createConfig(1);
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.valueOf(inMemoryFormat));
+        instances = BenchmarkCluster.start(config, 1);
+        NodeEngineImpl nodeEngine = TestUtil.getNode(instances[0]).getNodeEngine();
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        recordStore = mapService.getMapServiceContext().getRecordStore(0, MAP_NAME);
+
+        keys = new Data[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = nodeEngine.toData("key-" + i);
+        }
+        value = nodeEngine.toData("value");
+        for (Data key : keys) {
+            recordStore.put(key, value, -1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkCluster.shutdown(instances);
+    }
+
+    @Benchmark
+    public Object put() {
+        return recordStore.put(nextKey(), value, -1);
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(nextKey(), false);
+    }
+
+    private Data nextKey() {
+        Data key = keys[index];
+        index = index + 1 == keys.length ? 0 : index + 1;
+        return key;
+    }
+}
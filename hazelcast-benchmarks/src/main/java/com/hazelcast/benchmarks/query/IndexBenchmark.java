@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.query;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.impl.ComparisonType;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the queries of an {@link IndexImpl}, both unordered and ordered (backed by a {@code SortedIndexStore}).
+ * <p/>
+ * Every distinct value is shared by {@link #duplicates} entries, so a lookup returns that many entries
+ * and a range query of width {@code n} returns {@code n * duplicates} entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final int RANGE_WIDTH = 10;
+
+    @Param({"false", "true"})
+    public boolean ordered;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    @Param({"10"})
+    public int duplicates;
+
+    private IndexImpl index;
+    private int valueCount;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new IndexImpl("this", ordered);
+        valueCount = entryCount / duplicates;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = serializationService.toData(i);
+            index.saveEntryIndex(new QueryEntry(serializationService, key, key, i % valueCount));
+        }
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> equal() {
+        return index.getRecords(nextValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> between() {
+        int from = nextValue();
+        return index.getSubRecordsBetween(from, from + RANGE_WIDTH - 1);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> greater() {
+        return index.getSubRecords(ComparisonType.GREATER, valueCount - RANGE_WIDTH);
+    }
+
+    private int nextValue() {
+        next = next + 1 == valueCount - RANGE_WIDTH ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * {@link Trade} serialized with {@link IdentifiedDataSerializable}, i.e. by factory and class id.
+ */
+public class IdentifiedTrade extends Trade implements IdentifiedDataSerializable {
+
+    public IdentifiedTrade() {
+    }
+
+    public IdentifiedTrade(long id, String symbol, int quantity, double price) {
+        super(id, symbol, quantity, price);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return TradeDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return TradeDataSerializableFactory.IDENTIFIED_TRADE;
+    }
+}
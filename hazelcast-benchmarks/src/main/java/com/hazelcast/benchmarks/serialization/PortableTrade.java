@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+
+import java.io.IOException;
+
+/**
+ * {@link Trade} fields serialized with {@link Portable}.
+ */
+public class PortableTrade implements Portable {
+
+    private long id;
+    private String symbol;
+    private int quantity;
+    private double price;
+
+    public PortableTrade() {
+    }
+
+    public PortableTrade(long id, String symbol, int quantity, double price) {
+        this.id = id;
+        this.symbol = symbol;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return TradePortableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return TradePortableFactory.PORTABLE_TRADE;
+    }
+
+    @Override
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeLong("id", id);
+        writer.writeUTF("symbol", symbol);
+        writer.writeInt("quantity", quantity);
+        writer.writeDouble("price", price);
+    }
+
+    @Override
+    public void readPortable(PortableReader reader) throws IOException {
+        id = reader.readLong("id");
+        symbol = reader.readUTF("symbol");
+        quantity = reader.readInt("quantity");
+        price = reader.readDouble("price");
+    }
+}
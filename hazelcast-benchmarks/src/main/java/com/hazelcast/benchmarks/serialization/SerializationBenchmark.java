@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code toData} and {@code toObject} of the serialization service for the different
+ * serialization mechanisms of a domain object.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final long TRADE_ID = 1L;
+    private static final String SYMBOL = "HZ";
+    private static final int QUANTITY = 100;
+    private static final double PRICE = 12.5d;
+
+    @Param({"DataSerializable", "IdentifiedDataSerializable", "Portable"})
+    public String format;
+
+    private SerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(TradeDataSerializableFactory.FACTORY_ID, new TradeDataSerializableFactory())
+                .addPortableFactory(TradePortableFactory.FACTORY_ID, new TradePortableFactory())
+                .build();
+        object = createTrade();
+        data = serializationService.toData(object);
+    }
+
+    private Object createTrade() {
+        if ("DataSerializable".equals(format)) {
+            return new Trade(TRADE_ID, SYMBOL, QUANTITY, PRICE);
+        } else if ("IdentifiedDataSerializable".equals(format)) {
+            return new IdentifiedTrade(TRADE_ID, SYMBOL, QUANTITY, PRICE);
+        } else if ("Portable".equals(format)) {
+            return new PortableTrade(TRADE_ID, SYMBOL, QUANTITY, PRICE);
+        }
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+
+/**
+ * Creates the {@link PortableTrade} instances.
+ */
+public class TradePortableFactory implements PortableFactory {
+
+    public static final int FACTORY_ID = 1001;
+
+    public static final int PORTABLE_TRADE = 1;
+
+    @Override
+    public Portable create(int classId) {
+        return classId == PORTABLE_TRADE ? new PortableTrade() : null;
+    }
+}
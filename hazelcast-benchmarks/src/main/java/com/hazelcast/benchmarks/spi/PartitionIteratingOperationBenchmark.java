@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.spi;
+
+import com.hazelcast.benchmarks.BenchmarkCluster;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.SizeOperationFactory;
+import com.hazelcast.spi.OperationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fan-out of an operation to all partitions, which is done with one
+ * {@code PartitionIteratingOperation} per member, using the map size operation as an example.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionIteratingOperationBenchmark {
+
+    private static final String MAP_NAME = "partitionIteratingOperationBenchmark";
+
+    @Param({"1", "2"})
+    public int memberCount;
+
+    private HazelcastInstance[] instances;
+    private OperationService operationService;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        instances = BenchmarkCluster.start(memberCount);
+        instances[0].getMap(MAP_NAME).put(1, 1);
+        operationService = TestUtil.getNode(instances[0]).getNodeEngine().getOperationService();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkCluster.shutdown(instances);
+    }
+
+    @Benchmark
+    public Map<Integer, Object> invokeOnAllPartitions() throws Exception {
+        return operationService.invokeOnAllPartitions(MapService.SERVICE_NAME, new SizeOperationFactory(MAP_NAME));
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageType;
 import com.hazelcast.client.impl.protocol.parameters.AddListenerResultParameters;
 import com.hazelcast.client.impl.protocol.parameters.BooleanResultParameters;
 import com.hazelcast.client.impl.protocol.parameters.DataCollectionResultParameters;
@@ -31,8 +33,9 @@ import com.hazelcast.client.impl.protocol.parameters.MapAddEntryListenerToKeyWit
 import com.hazelcast.client.impl.protocol.parameters.MapAddEntryListenerWithPredicateParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapAddIndexParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapAddInterceptorParameters;
-import com.hazelcast.client.impl.protocol.parameters.MapAddNearCacheEntryListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapAddNearCacheInvalidationListenerParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapAddPartitionLostListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapAggregateParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapClearParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapContainsKeyParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapContainsValueParameters;
@@ -80,6 +83,7 @@ import com.hazelcast.client.impl.protocol.parameters.MapTryRemoveParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapUnlockParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapValuesParameters;
 import com.hazelcast.client.impl.protocol.parameters.MapValuesWithPredicateParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueryCacheBatchEventParameters;
 import com.hazelcast.client.nearcache.ClientHeapNearCache;
 import com.hazelcast.client.nearcache.ClientNearCache;
 import com.hazelcast.client.spi.ClientProxy;
@@ -88,6 +92,7 @@ import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryListener;
@@ -104,8 +109,10 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -126,6 +133,7 @@ import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.Preconditions;
@@ -156,10 +164,13 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
 
     protected static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Null aggregator is not allowed!";
+    protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
 
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private volatile QueryCacheRegistry queryCacheRegistry;
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -1101,6 +1112,28 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         return result;
     }
 
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, predicate);
+    }
+
+    private <R> R aggregateInternal(Aggregator<?, R> aggregator, Predicate predicate) {
+        ClientMessage request = MapAggregateParameters.encode(name, toData(aggregator), toData(predicate));
+        ClientMessage response = invoke(request);
+        GenericResultParameters resultParameters = GenericResultParameters.decode(response);
+        return toObject(resultParameters.result);
+    }
+
     @Override
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
@@ -1207,9 +1240,48 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         invoke(request);
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String cacheName) {
+        checkNotNull(cacheName, "name cannot be null");
+        return getQueryCacheRegistry().getOrCreate(cacheName, findQueryCacheConfig(cacheName));
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String cacheName, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(cacheName, "name cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+        return getQueryCacheRegistry().getOrCreate(cacheName, predicate, includeValue, findQueryCacheConfig(cacheName));
+    }
+
+    private QueryCacheConfig findQueryCacheConfig(String cacheName) {
+        Map<String, QueryCacheConfig> queryCacheConfigs = getContext().getClientConfig().getQueryCacheConfigs().get(name);
+        return queryCacheConfigs == null ? null : queryCacheConfigs.get(cacheName);
+    }
+
+    private QueryCacheRegistry getQueryCacheRegistry() {
+        QueryCacheRegistry registry = queryCacheRegistry;
+        if (registry == null) {
+            synchronized (this) {
+                registry = queryCacheRegistry;
+                if (registry == null) {
+                    SerializationService serializationService = getContext().getSerializationService();
+                    registry = new QueryCacheRegistry(this, serializationService,
+                            new ClientQueryCacheSubscriber(getContext(), name),
+                            getContext().getExecutionService().getAsyncExecutor());
+                    queryCacheRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
     @Override
     protected void onDestroy() {
         destroyNearCache();
+        QueryCacheRegistry registry = queryCacheRegistry;
+        if (registry != null) {
+            registry.destroyAll();
+        }
     }
 
     private void destroyNearCache() {
@@ -1371,37 +1443,29 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
 
     private void addNearCacheInvalidateListener() {
         try {
-            ClientMessage request = MapAddNearCacheEntryListenerParameters.encode(name, false);
+            ClientMessage request = MapAddNearCacheInvalidationListenerParameters.encode(name);
             EventHandler handler = new EventHandler<ClientMessage>() {
                 @Override
                 public void handle(ClientMessage eventMessage) {
-                    EntryEventParameters event = EntryEventParameters.decode(eventMessage);
-
-                    EntryEventType entryEventType = EntryEventType.getByType(event.eventType);
-                    switch (entryEventType) {
-                        case ADDED:
-                        case REMOVED:
-                        case UPDATED:
-                        case MERGED:
-                        case EVICTED:
-                            nearCache.remove(event.key);
-                            break;
-                        case CLEAR_ALL:
-                        case EVICT_ALL:
-                            nearCache.clear();
-                            break;
-                        default:
-                            throw new IllegalArgumentException("Not a known event type " + entryEventType);
+                    if (eventMessage.getMessageType() == ClientMessageType.QUERY_CACHE_BATCH_EVENT.id()) {
+                        QueryCacheBatchEventParameters batch = QueryCacheBatchEventParameters.decode(eventMessage);
+                        nearCache.invalidate(batch.partitionId, batch.sequence, batch.keys);
+                    } else if (eventMessage.getMessageType() == ClientMessageType.ADD_ENTRY_LISTENER_EVENT.id()) {
+                        // clear or evictAll of the map
+                        nearCache.clear();
                     }
                 }
 
                 @Override
                 public void beforeListenerRegister() {
+                    nearCache.resetPartitionSequences();
                     nearCache.clear();
                 }
 
                 @Override
                 public void onListenerRegister() {
+                    // sequences restart with the new registration
+                    nearCache.resetPartitionSequences();
                     nearCache.clear();
                 }
             };
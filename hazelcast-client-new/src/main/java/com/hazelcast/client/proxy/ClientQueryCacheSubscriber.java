@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageType;
+import com.hazelcast.client.impl.protocol.parameters.MapAddQueryCacheListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapRemoveEntryListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueryCacheBatchEventParameters;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.impl.querycache.DefaultQueryCache;
+import com.hazelcast.map.impl.querycache.QueryCacheBatchApplier;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheSubscriber;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * {@link QueryCacheSubscriber} of clients.
+ * <p/>
+ * Registers a {@link QueryCacheEventFilter} like member query caches do, so events are filtered, batched and
+ * coalesced on the publisher side. Received batches are applied by a {@link QueryCacheBatchApplier}.
+ */
+class ClientQueryCacheSubscriber implements QueryCacheSubscriber {
+
+    private final ClientContext context;
+    private final String mapName;
+
+    ClientQueryCacheSubscriber(ClientContext context, String mapName) {
+        this.context = context;
+        this.mapName = mapName;
+    }
+
+    @Override
+    public String subscribe(DefaultQueryCache queryCache) {
+        QueryCacheEventFilter filter = new QueryCacheEventFilter(queryCache.getPredicate(), queryCache.getConfig(),
+                queryCache.isIncludeValue());
+        Data filterData = context.getSerializationService().toData(filter);
+        ClientMessage request = MapAddQueryCacheListenerParameters.encode(mapName, filterData);
+        int partitionCount = context.getPartitionService().getPartitionCount();
+        EventHandler<ClientMessage> handler = new BatchEventHandler(new QueryCacheBatchApplier(queryCache, partitionCount));
+        return context.getListenerService().startListening(request, null, handler);
+    }
+
+    @Override
+    public boolean unsubscribe(String id) {
+        ClientMessage request = MapRemoveEntryListenerParameters.encode(mapName, id);
+        return context.getListenerService().stopListening(request, id);
+    }
+
+    @Override
+    public int getPartitionId(Data keyData) {
+        return context.getPartitionService().getPartitionId(keyData);
+    }
+
+    /**
+     * Applies received batches to the cache.
+     */
+    private static final class BatchEventHandler implements EventHandler<ClientMessage> {
+
+        private final QueryCacheBatchApplier applier;
+        private volatile boolean registered;
+
+        BatchEventHandler(QueryCacheBatchApplier applier) {
+            this.applier = applier;
+        }
+
+        @Override
+        public void handle(ClientMessage clientMessage) {
+            if (clientMessage.getMessageType() == ClientMessageType.QUERY_CACHE_BATCH_EVENT.id()) {
+                QueryCacheBatchEventParameters batch = QueryCacheBatchEventParameters.decode(clientMessage);
+                for (int i = 0; i < batch.eventTypes.size(); i++) {
+                    EntryEventType eventType = EntryEventType.getByType(batch.eventTypes.get(i));
+                    applier.applyEvent(eventType, batch.keys.get(i), batch.values.get(i));
+                }
+                applier.onBatchEnd(batch.partitionId, batch.sequence);
+            } else if (clientMessage.getMessageType() == ClientMessageType.ADD_ENTRY_LISTENER_EVENT.id()) {
+                applier.applyClear();
+            }
+        }
+
+        @Override
+        public void beforeListenerRegister() {
+        }
+
+        @Override
+        public void onListenerRegister() {
+            // events sent while re-registering to another member are lost
+            if (registered) {
+                applier.reset();
+            }
+            registered = true;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import com.hazelcast.client.impl.protocol.parameters.QueueIsEmptyParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueueIteratorParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueueOfferParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueuePeekParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueuePollBatchParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueuePollParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueuePutParameters;
 import com.hazelcast.client.impl.protocol.parameters.QueueRemainingCapacityParameters;
@@ -62,6 +63,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.util.Preconditions.checkPositive;
+
 /**
  * @author ali 5/19/13
  */
@@ -168,6 +171,20 @@ public final class ClientQueueProxy<E> extends ClientProxy implements IQueue<E>
         return toObject(resultParameters.result);
     }
 
+    public Collection<E> pollBatch(int maxSize, long timeout, TimeUnit unit) throws InterruptedException {
+        checkPositive(maxSize, "maxSize should be positive");
+        ClientMessage request = QueuePollBatchParameters.encode(name, maxSize, unit.toMillis(timeout));
+        ClientMessage response = invokeInterruptibly(request);
+        DataCollectionResultParameters resultParameters = DataCollectionResultParameters.decode(response);
+        Collection<Data> resultCollection = resultParameters.result;
+        List<E> result = new ArrayList<E>(resultCollection.size());
+        for (Data data : resultCollection) {
+            E e = toObject(data);
+            result.add(e);
+        }
+        return result;
+    }
+
     public int remainingCapacity() {
         ClientMessage request = QueueRemainingCapacityParameters.encode(name);
         ClientMessage response = invoke(request);
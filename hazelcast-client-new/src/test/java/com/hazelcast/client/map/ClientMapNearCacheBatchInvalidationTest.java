@@ -0,0 +1,115 @@
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapNearCacheBatchInvalidationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance member;
+    private IMap<Integer, Integer> clientMap;
+    private IMap<Integer, Integer> memberMap;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_SIZE, "10");
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS, "100");
+        member = Hazelcast.newHazelcastInstance(config);
+        Hazelcast.newHazelcastInstance(config);
+
+        String mapName = randomMapName();
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig(new NearCacheConfig().setName(mapName).setInvalidateOnChange(true));
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        clientMap = client.getMap(mapName);
+        memberMap = member.getMap(mapName);
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testNearCacheInvalidated_whenMemberUpdatesEntries() {
+        populateNearCache();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            memberMap.put(i, i + 1);
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < ENTRY_COUNT; i++) {
+                    assertEquals(Integer.valueOf(i + 1), clientMap.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testNearCacheInvalidated_whenMemberRemovesEntries() {
+        populateNearCache();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            memberMap.remove(i);
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < ENTRY_COUNT; i++) {
+                    assertNull(clientMap.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testNearCacheCleared_whenMemberClearsMap() {
+        populateNearCache();
+
+        memberMap.clear();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < ENTRY_COUNT; i++) {
+                    assertNull(clientMap.get(i));
+                }
+            }
+        });
+    }
+
+    private void populateNearCache() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            memberMap.put(i, i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(Integer.valueOf(i), clientMap.get(i));
+        }
+        assertEquals(ENTRY_COUNT, clientMap.getLocalMapStats().getNearCacheStats().getOwnedEntryCount());
+    }
+}
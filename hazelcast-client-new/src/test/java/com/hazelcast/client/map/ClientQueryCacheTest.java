@@ -0,0 +1,122 @@
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientQueryCacheTest extends HazelcastTestSupport {
+
+    private HazelcastInstance client;
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setup() {
+        Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testCacheFollowsMapWithPredicate() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+        assertEquals(50, cache.size());
+
+        map.put(100, 100);
+        map.put(0, 1000);
+        map.put(99, 1);
+        map.remove(98);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(50, cache.size());
+                assertEquals(Integer.valueOf(100), cache.get(100));
+                assertEquals(Integer.valueOf(1000), cache.get(0));
+                assertFalse(cache.containsKey(99));
+                assertFalse(cache.containsKey(98));
+            }
+        });
+    }
+
+    @Test
+    public void testCacheFollowsEviction() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 5"), true);
+        assertEquals(5, cache.size());
+
+        map.evict(7);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertFalse(cache.containsKey(7));
+                assertEquals(4, cache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testCacheFollowsExpiration() {
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 5"), true);
+        map.put(7, 7, 1, TimeUnit.SECONDS);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(cache.containsKey(7));
+            }
+        });
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(cache.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void testCacheFollowsClear() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 5"), true);
+        assertEquals(5, cache.size());
+
+        map.clear();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(cache.isEmpty());
+            }
+        });
+    }
+}
@@ -16,25 +16,27 @@
 
 package com.hazelcast.client.nearcache;
 
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.ClientExecutionService;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.map.impl.NearCacheRecord;
+import com.hazelcast.map.impl.NearCacheRecordMap;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Implementation of the {@link com.hazelcast.client.nearcache.ClientNearCache}.
@@ -46,6 +48,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class ClientHeapNearCache<K>
         implements ClientNearCache<K, Object> {
 
+    private static final int INITIAL_CAPACITY = 16;
+
     final int maxSize;
     final long maxIdleMillis;
     final long timeToLiveMillis;
@@ -56,12 +60,13 @@ public class ClientHeapNearCache<K>
     final ClientContext context;
     final AtomicBoolean canCleanUp;
     final AtomicBoolean canEvict;
-    final ConcurrentMap<K, NearCacheRecord> cache;
+    final NearCacheRecordMap<K> cache;
     final NearCacheStatsImpl stats;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final EvictionPolicyEvaluator<K, NearCacheRecord> evictionPolicyEvaluator;
 
     private volatile long lastCleanup;
     private volatile String id;
+    private volatile AtomicLongArray partitionSequences;
 
 
     public ClientHeapNearCache(String mapName, ClientContext context, NearCacheConfig nearCacheConfig) {
@@ -76,8 +81,8 @@ public class ClientHeapNearCache<K>
         timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         invalidateOnChange = nearCacheConfig.isInvalidateOnChange();
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        cache = new ConcurrentHashMap<K, NearCacheRecord>();
+        evictionPolicyEvaluator = NearCacheRecordMap.createEvictionPolicyEvaluator(evictionPolicy);
+        cache = new NearCacheRecordMap<K>(INITIAL_CAPACITY);
         canCleanUp = new AtomicBoolean(true);
         canEvict = new AtomicBoolean(true);
         lastCleanup = Clock.currentTimeMillis();
@@ -94,10 +99,10 @@ public class ClientHeapNearCache<K>
 
     public void put(K key, Object object) {
         fireTtlCleanup();
-        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize) {
+        if (evictionPolicy == EvictionPolicy.NONE && cache.estimatedSize() >= maxSize) {
             return;
         }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
+        if (evictionPolicy != EvictionPolicy.NONE && cache.estimatedSize() >= maxSize) {
             fireEvictCache();
         }
         Object value;
@@ -123,20 +128,15 @@ public class ClientHeapNearCache<K>
                 executionService.execute(new Runnable() {
                     public void run() {
                         try {
-                            TreeSet<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                if (++i > evictSize) {
-                                    break;
-                                }
+                            // each round samples a constant number of records and evicts one of them
+                            int evictSize = (int) (cache.estimatedSize() * EVICTION_FACTOR);
+                            for (int i = 0; i <= evictSize && cache.estimatedSize() > 0; i++) {
+                                cache.evict(evictionPolicyEvaluator, EvictionChecker.EVICT_ALWAYS, null);
                             }
                         } finally {
                             canEvict.set(true);
                         }
-                        if (cache.size() >= maxSize && canEvict.compareAndSet(true, false)) {
+                        if (cache.estimatedSize() >= maxSize && canEvict.compareAndSet(true, false)) {
                             try {
                                 executionService.execute(this);
                             } catch (RejectedExecutionException e) {
@@ -213,6 +213,59 @@ public class ClientHeapNearCache<K>
         cache.remove(key);
     }
 
+    /**
+     * Invalidates the keys of a batch of invalidations published for a partition. If the sequence of the batch
+     * does not follow the last seen sequence of the partition, batches were lost and all keys of the partition
+     * are invalidated.
+     *
+     * @param partitionId the partition of the batch
+     * @param sequence    the sequence of the batch
+     * @param keys        the invalidated keys
+     */
+    public void invalidate(int partitionId, long sequence, Collection<K> keys) {
+        long lastSequence = getPartitionSequences().getAndSet(partitionId, sequence);
+        if (sequence != lastSequence + 1) {
+            invalidatePartition(partitionId);
+        }
+        for (K key : keys) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Forgets the last seen sequences, e.g. after the invalidation listener was registered again
+     * and sequences restart.
+     */
+    public void resetPartitionSequences() {
+        partitionSequences = null;
+    }
+
+    private AtomicLongArray getPartitionSequences() {
+        AtomicLongArray sequences = partitionSequences;
+        if (sequences == null) {
+            synchronized (this) {
+                sequences = partitionSequences;
+                if (sequences == null) {
+                    sequences = new AtomicLongArray(context.getPartitionService().getPartitionCount());
+                    for (int i = 0; i < sequences.length(); i++) {
+                        sequences.set(i, -1);
+                    }
+                    partitionSequences = sequences;
+                }
+            }
+        }
+        return sequences;
+    }
+
+    private void invalidatePartition(int partitionId) {
+        ClientPartitionService partitionService = context.getPartitionService();
+        for (K key : cache.keySet()) {
+            if (partitionService.getPartitionId(key) == partitionId) {
+                cache.remove(key);
+            }
+        }
+    }
+
     public NearCacheStatsImpl getNearCacheStats() {
         long ownedEntryCount = 0;
         long ownedEntryMemory = 0;
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.client.BaseClientRemoveListenerRequest;
 import com.hazelcast.client.impl.client.ClientRequest;
 import com.hazelcast.client.nearcache.ClientHeapNearCache;
@@ -39,6 +40,7 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.MapEntrySet;
 import com.hazelcast.map.impl.MapKeySet;
@@ -47,8 +49,9 @@ import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.client.MapAddEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapAddIndexRequest;
 import com.hazelcast.map.impl.client.MapAddInterceptorRequest;
-import com.hazelcast.map.impl.client.MapAddNearCacheEntryListenerRequest;
+import com.hazelcast.map.impl.client.MapAddNearCacheInvalidationListenerRequest;
 import com.hazelcast.map.impl.client.MapAddPartitionLostListenerRequest;
+import com.hazelcast.map.impl.client.MapAggregateRequest;
 import com.hazelcast.map.impl.client.MapClearRequest;
 import com.hazelcast.map.impl.client.MapContainsKeyRequest;
 import com.hazelcast.map.impl.client.MapContainsValueRequest;
@@ -88,6 +91,7 @@ import com.hazelcast.map.impl.client.MapTryPutRequest;
 import com.hazelcast.map.impl.client.MapTryRemoveRequest;
 import com.hazelcast.map.impl.client.MapUnlockRequest;
 import com.hazelcast.map.impl.client.MapValuesRequest;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -104,11 +108,15 @@ import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.spi.impl.PortableEntryEvent;
 import com.hazelcast.spi.impl.PortableMapPartitionLostEvent;
+import com.hazelcast.spi.impl.PortableQueryCacheBatchEvent;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.Preconditions;
@@ -141,10 +149,13 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
     protected static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Null aggregator is not allowed!";
+    protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
 
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private volatile QueryCacheRegistry queryCacheRegistry;
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -993,6 +1004,26 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return result;
     }
 
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, predicate);
+    }
+
+    private <R> R aggregateInternal(Aggregator<?, R> aggregator, Predicate predicate) {
+        MapAggregateRequest request = new MapAggregateRequest(name, aggregator, predicate);
+        return invoke(request);
+    }
+
     @Override
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
@@ -1089,9 +1120,43 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         invoke(request);
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String cacheName) {
+        checkNotNull(cacheName, "name cannot be null");
+        return getQueryCacheRegistry().getOrCreate(cacheName, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String cacheName, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(cacheName, "name cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+        return getQueryCacheRegistry().getOrCreate(cacheName, predicate, includeValue, null);
+    }
+
+    private QueryCacheRegistry getQueryCacheRegistry() {
+        QueryCacheRegistry registry = queryCacheRegistry;
+        if (registry == null) {
+            synchronized (this) {
+                registry = queryCacheRegistry;
+                if (registry == null) {
+                    SerializationService serializationService = getContext().getSerializationService();
+                    registry = new QueryCacheRegistry(this, serializationService,
+                            new ClientQueryCacheSubscriber(getContext(), name),
+                            getContext().getExecutionService().getAsyncExecutor());
+                    queryCacheRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
     @Override
     protected void onDestroy() {
         destroyNearCache();
+        QueryCacheRegistry registry = queryCacheRegistry;
+        if (registry != null) {
+            registry.destroyAll();
+        }
     }
 
     private void destroyNearCache() {
@@ -1249,35 +1314,33 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
     private void addNearCacheInvalidateListener() {
         try {
-            ClientRequest request = new MapAddNearCacheEntryListenerRequest(name, false);
-            EventHandler handler = new EventHandler<PortableEntryEvent>() {
+            ClientRequest request = new MapAddNearCacheInvalidationListenerRequest(name);
+            EventHandler handler = new EventHandler<Portable>() {
                 @Override
-                public void handle(PortableEntryEvent event) {
-                    switch (event.getEventType()) {
-                        case ADDED:
-                        case REMOVED:
-                        case UPDATED:
-                        case MERGED:
-                        case EVICTED:
-                            final Data key = event.getKey();
-                            nearCache.remove(key);
-                            break;
-                        case CLEAR_ALL:
-                        case EVICT_ALL:
-                            nearCache.clear();
-                            break;
-                        default:
-                            throw new IllegalArgumentException("Not a known event type " + event.getEventType());
+                public void handle(Portable event) {
+                    if (event instanceof PortableQueryCacheBatchEvent) {
+                        PortableQueryCacheBatchEvent batch = (PortableQueryCacheBatchEvent) event;
+                        List<Data> keys = new ArrayList<Data>(batch.size());
+                        for (int i = 0; i < batch.size(); i++) {
+                            keys.add(batch.getKey(i));
+                        }
+                        nearCache.invalidate(batch.getPartitionId(), batch.getSequence(), keys);
+                    } else if (event instanceof PortableEntryEvent) {
+                        // clear or evictAll of the map
+                        nearCache.clear();
                     }
                 }
 
                 @Override
                 public void beforeListenerRegister() {
+                    nearCache.resetPartitionSequences();
                     nearCache.clear();
                 }
 
                 @Override
                 public void onListenerRegister() {
+                    // sequences restart with the new registration
+                    nearCache.resetPartitionSequences();
                     nearCache.clear();
                 }
             };
@@ -37,6 +37,7 @@ import com.hazelcast.collection.impl.queue.client.IsEmptyRequest;
 import com.hazelcast.collection.impl.queue.client.IteratorRequest;
 import com.hazelcast.collection.impl.queue.client.OfferRequest;
 import com.hazelcast.collection.impl.queue.client.PeekRequest;
+import com.hazelcast.collection.impl.queue.client.PollBatchRequest;
 import com.hazelcast.collection.impl.queue.client.PollRequest;
 import com.hazelcast.collection.impl.queue.client.RemainingCapacityRequest;
 import com.hazelcast.collection.impl.queue.client.RemoveListenerRequest;
@@ -52,6 +53,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.util.Preconditions.checkPositive;
+
 /**
  * @author ali 5/19/13
  */
@@ -144,6 +147,19 @@ public final class ClientQueueProxy<E> extends ClientProxy implements IQueue<E>
         return invokeInterruptibly(request);
     }
 
+    public Collection<E> pollBatch(int maxSize, long timeout, TimeUnit unit) throws InterruptedException {
+        checkPositive(maxSize, "maxSize should be positive");
+        PollBatchRequest request = new PollBatchRequest(name, maxSize, unit.toMillis(timeout));
+        PortableCollection result = invokeInterruptibly(request);
+        Collection<Data> coll = result.getCollection();
+        List<E> list = new ArrayList<E>(coll.size());
+        for (Data data : coll) {
+            E e = getContext().getSerializationService().toObject(data);
+            list.add(e);
+        }
+        return list;
+    }
+
     public int remainingCapacity() {
         RemainingCapacityRequest request = new RemainingCapacityRequest(name);
         Integer result = invoke(request);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation;
+
+import java.io.Serializable;
+
+/**
+ * Aggregates the entries of a map into a single result, without going through a MapReduce job.
+ * <p/>
+ * The aggregator is serialized and sent to all members. On every member each partition thread accumulates the entries of
+ * the partitions it owns into its own copy of the aggregator; the copies are combined on the member and the results of
+ * the members are combined on the caller, which then calls {@link #aggregate()} to get the final result.
+ * <p/>
+ * The entries passed to {@link #accumulate(Object)} are only valid during the call; an aggregator that needs to retain
+ * (a part of) an entry has to copy it.
+ *
+ * @param <I> the type of the accumulated entries.
+ * @param <R> the type of the result.
+ */
+public abstract class Aggregator<I, R> implements Serializable {
+
+    /**
+     * Accumulates a single entry.
+     *
+     * @param input the entry to accumulate.
+     */
+    public abstract void accumulate(I input);
+
+    /**
+     * Combines the state of another aggregator of the same type into this aggregator.
+     *
+     * @param aggregator the aggregator to combine.
+     */
+    public abstract void combine(Aggregator aggregator);
+
+    /**
+     * Returns the result of the aggregation of all accumulated and combined entries.
+     *
+     * @return the result.
+     */
+    public abstract R aggregate();
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.ComparableMaxAggregator;
+import com.hazelcast.aggregation.impl.ComparableMinAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DistinctValuesAggregator;
+import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
+import com.hazelcast.aggregation.impl.DoubleSumAggregator;
+import com.hazelcast.aggregation.impl.LongAverageAggregator;
+import com.hazelcast.aggregation.impl.LongSumAggregator;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A utility class to create the predefined {@link Aggregator}s.
+ * <p/>
+ * Every aggregator works either on the values of the entries, or on the attribute of the values given by an attribute
+ * path, e.g. {@code "age"} or {@code "address.city"}. Attributes are read the same way as in predicates; so for portable
+ * values they are read without deserializing the value. Entries with a null value or attribute are ignored, except by
+ * {@link #count()}.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * @return an aggregator counting the entries.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> count() {
+        return new CountAggregator<Map.Entry<K, V>>();
+    }
+
+    /**
+     * @return an aggregator summing the values as longs; the values have to be {@link Number}s.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> longSum() {
+        return new LongSumAggregator<Map.Entry<K, V>>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute to sum.
+     * @return an aggregator summing the attribute as longs; the attribute has to be a {@link Number}.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> longSum(String attributePath) {
+        return new LongSumAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    /**
+     * @return an aggregator summing the values as doubles; the values have to be {@link Number}s.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleSum() {
+        return new DoubleSumAggregator<Map.Entry<K, V>>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute to sum.
+     * @return an aggregator summing the attribute as doubles; the attribute has to be a {@link Number}.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleSum(String attributePath) {
+        return new DoubleSumAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the average of the values as longs; null if there are no values.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> longAvg() {
+        return new LongAverageAggregator<Map.Entry<K, V>>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute to average.
+     * @return an aggregator calculating the average of the attribute as longs; null if there are no values.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> longAvg(String attributePath) {
+        return new LongAverageAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the average of the values as doubles; null if there are no values.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleAvg() {
+        return new DoubleAverageAggregator<Map.Entry<K, V>>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute to average.
+     * @return an aggregator calculating the average of the attribute as doubles; null if there are no values.
+     */
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleAvg(String attributePath) {
+        return new DoubleAverageAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    /**
+     * @return an aggregator returning the smallest value; null if there are no values.
+     */
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMin() {
+        return new ComparableMinAggregator<Map.Entry<K, V>, R>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute.
+     * @return an aggregator returning the smallest attribute; null if there are no values.
+     */
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMin(String attributePath) {
+        return new ComparableMinAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+
+    /**
+     * @return an aggregator returning the largest value; null if there are no values.
+     */
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMax() {
+        return new ComparableMaxAggregator<Map.Entry<K, V>, R>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute.
+     * @return an aggregator returning the largest attribute; null if there are no values.
+     */
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMax(String attributePath) {
+        return new ComparableMaxAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+
+    /**
+     * @return an aggregator returning the distinct values.
+     */
+    public static <K, V, R> Aggregator<Map.Entry<K, V>, Set<R>> distinct() {
+        return new DistinctValuesAggregator<Map.Entry<K, V>, R>(null);
+    }
+
+    /**
+     * @param attributePath the path of the attribute.
+     * @return an aggregator returning the distinct attributes.
+     */
+    public static <K, V, R> Aggregator<Map.Entry<K, V>, Set<R>> distinct(String attributePath) {
+        return new DistinctValuesAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+}
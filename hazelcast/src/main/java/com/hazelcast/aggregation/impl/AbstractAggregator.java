@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Map;
+
+/**
+ * Base class for the aggregators that aggregate the value of an entry, or an attribute of the value.
+ *
+ * @param <I> the type of the accumulated entries.
+ * @param <E> the type of the extracted values.
+ * @param <R> the type of the result.
+ */
+public abstract class AbstractAggregator<I, E, R> extends Aggregator<I, R> {
+
+    private final String attributePath;
+
+    protected AbstractAggregator(String attributePath) {
+        this.attributePath = attributePath;
+    }
+
+    @Override
+    public final void accumulate(I input) {
+        E value = extract(input);
+        if (value != null) {
+            accumulateExtracted(value);
+        }
+    }
+
+    /**
+     * Accumulates a value extracted from an entry.
+     *
+     * @param value the value, never null.
+     */
+    protected abstract void accumulateExtracted(E value);
+
+    @SuppressWarnings("unchecked")
+    private E extract(I input) {
+        if (attributePath == null) {
+            return (E) (input instanceof Map.Entry ? ((Map.Entry) input).getValue() : input);
+        }
+        if (input instanceof QueryableEntry) {
+            return (E) ((QueryableEntry) input).getAttribute(attributePath);
+        }
+        throw new IllegalArgumentException("Can't extract attribute '" + attributePath + "' from " + input);
+    }
+}
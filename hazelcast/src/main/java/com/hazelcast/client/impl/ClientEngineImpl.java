@@ -38,6 +38,8 @@ import com.hazelcast.core.ClientType;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.tracing.TracePoint;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -460,10 +462,28 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
             request.setOperationService(nodeEngine.getOperationService());
             interceptBefore(credentials, request);
             checkPermissions(endpoint, request);
-            request.process();
+            process(request);
             interceptAfter(credentials, request);
         }
 
+        private void process(ClientRequest request) throws Exception {
+            Tracer tracer = nodeEngine.getTracer();
+            if (!tracer.isEnabled()) {
+                request.process();
+                return;
+            }
+
+            // the invocations done by the request become part of its trace
+            long traceId = tracer.sample();
+            tracer.record(traceId, TracePoint.CLIENT_REQUEST, request.getClass().getName());
+            long previousTraceId = tracer.enter(traceId);
+            try {
+                request.process();
+            } finally {
+                tracer.exit(previousTraceId);
+            }
+        }
+
         private void interceptBefore(Credentials credentials, ClientRequest request) {
             final SecurityContext securityContext = getSecurityContext();
             final String methodName = request.getMethodName();
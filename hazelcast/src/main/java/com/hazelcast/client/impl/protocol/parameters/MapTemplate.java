@@ -191,4 +191,13 @@ public interface MapTemplate {
     @EncodeMethod(id = 55)
     void forceUnlock(String name, Data key);
 
+    @EncodeMethod(id = 56)
+    void aggregate(String name, Data aggregator, Data predicate);
+
+    @EncodeMethod(id = 57)
+    void addQueryCacheListener(String name, Data filter);
+
+    @EncodeMethod(id = 58)
+    void addNearCacheInvalidationListener(String name);
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.parameters;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageType;
+import com.hazelcast.client.impl.protocol.util.BitUtil;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.nio.serialization.DefaultData.NULL_DATA;
+
+/**
+ * QueryCacheBatchEventParameters
+ * <p/>
+ * Values are {@code null} for removals or when values are not included. Also used for the batched
+ * invalidations of client near caches.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressWarnings({"URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD"})
+public class QueryCacheBatchEventParameters {
+
+    public static final ClientMessageType TYPE = ClientMessageType.QUERY_CACHE_BATCH_EVENT;
+    public int partitionId;
+    public long sequence;
+    public List<Integer> eventTypes;
+    public List<Data> keys;
+    public List<Data> values;
+
+    private QueryCacheBatchEventParameters(ClientMessage flyweight) {
+        partitionId = flyweight.getInt();
+        sequence = flyweight.getLong();
+        int size = flyweight.getInt();
+        eventTypes = new ArrayList<Integer>(size);
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            eventTypes.add(flyweight.getInt());
+            keys.add(flyweight.getData());
+            Data value = flyweight.getData();
+            values.add(value.totalSize() == 0 ? null : value);
+        }
+    }
+
+    public static QueryCacheBatchEventParameters decode(ClientMessage flyweight) {
+        return new QueryCacheBatchEventParameters(flyweight);
+    }
+
+    public static ClientMessage encode(int partitionId, long sequence, List<Integer> eventTypes, List<Data> keys,
+                                       List<Data> values) {
+        final int requiredDataSize = calculateDataSize(partitionId, sequence, eventTypes, keys, values);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(TYPE.id());
+        clientMessage.ensureCapacity(requiredDataSize);
+        clientMessage.set(partitionId).set(sequence).set(eventTypes.size());
+        for (int i = 0; i < eventTypes.size(); i++) {
+            Data value = values.get(i);
+            clientMessage.set(eventTypes.get(i)).set(keys.get(i)).set(value == null ? NULL_DATA : value);
+        }
+        clientMessage.addFlag(ClientMessage.LISTENER_EVENT_FLAG);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    /**
+     * sample data size estimation
+     *
+     * @return size
+     */
+    public static int calculateDataSize(int partitionId, long sequence, List<Integer> eventTypes, List<Data> keys,
+                                        List<Data> values) {
+        int dataSize = ClientMessage.HEADER_SIZE
+                + BitUtil.SIZE_OF_INT//partitionId
+                + BitUtil.SIZE_OF_LONG//sequence
+                + BitUtil.SIZE_OF_INT;//size
+        for (int i = 0; i < eventTypes.size(); i++) {
+            Data value = values.get(i);
+            dataSize += BitUtil.SIZE_OF_INT
+                    + ParameterUtil.calculateDataSize(keys.get(i))
+                    + ParameterUtil.calculateDataSize(value == null ? NULL_DATA : value);
+        }
+        return dataSize;
+    }
+}
@@ -85,4 +85,7 @@ public interface QueueTemplate {
     @EncodeMethod(id = 20)
     void isEmpty(String name);
 
+    @EncodeMethod(id = 21)
+    void pollBatch(String name, int maxSize, long timeoutMillis);
+
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.AddListenerResultParameters;
+import com.hazelcast.client.impl.protocol.parameters.EntryEventParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueryCacheBatchEventParameters;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheBatchEvent;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.nio.serialization.DefaultData.NULL_DATA;
+
+/**
+ * Base class for registering a {@link QueryCacheEventFilter} on behalf of a client. Batches are filtered and
+ * accumulated by the publisher like for member query caches and are sent as {@link QueryCacheBatchEventParameters}.
+ *
+ * @param <P> type of the request parameters
+ */
+public abstract class AbstractMapAddQueryCacheListenerMessageTask<P> extends AbstractCallableMessageTask<P> {
+
+    public AbstractMapAddQueryCacheListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected ClientMessage call() {
+        String name = getDistributedObjectName();
+        EventService eventService = clientEngine.getEventService();
+        EventRegistration registration = eventService.registerListener(MapService.SERVICE_NAME, name, getEventFilter(),
+                new QueryCacheListener());
+        String registrationId = registration.getId();
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, name, registrationId);
+        return AddListenerResultParameters.encode(registrationId);
+    }
+
+    protected abstract QueryCacheEventFilter getEventFilter();
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(getDistributedObjectName(), ActionConstants.ACTION_LISTEN);
+    }
+
+    private class QueryCacheListener implements ListenerAdapter {
+
+        @Override
+        public void onEvent(IMapEvent event) {
+            if (!endpoint.isAlive()) {
+                return;
+            }
+            if (event instanceof QueryCacheBatchEvent) {
+                sendBatch((QueryCacheBatchEvent) event);
+            } else if (event instanceof MapEvent) {
+                MapEvent mapEvent = (MapEvent) event;
+                ClientMessage clientMessage = EntryEventParameters.encode(NULL_DATA, NULL_DATA, NULL_DATA, NULL_DATA,
+                        mapEvent.getEventType().getType(), mapEvent.getMember().getUuid(),
+                        mapEvent.getNumberOfEntriesAffected());
+                sendClientMessage(clientMessage);
+            }
+        }
+
+        private void sendBatch(QueryCacheBatchEvent batch) {
+            List<DataAwareEntryEvent> events = batch.getEvents();
+            List<Integer> eventTypes = new ArrayList<Integer>(events.size());
+            List<Data> keys = new ArrayList<Data>(events.size());
+            List<Data> values = new ArrayList<Data>(events.size());
+            for (DataAwareEntryEvent event : events) {
+                eventTypes.add(event.getEventType().getType());
+                keys.add(event.getKeyData());
+                values.add(event.getNewValueData());
+            }
+            ClientMessage clientMessage = QueryCacheBatchEventParameters.encode(batch.getPartitionId(), batch.getSequence(),
+                    eventTypes, keys, values);
+            // batches of a partition are delivered in order
+            clientMessage.setPartitionId(batch.getPartitionId());
+            sendClientMessage(clientMessage);
+        }
+    }
+}
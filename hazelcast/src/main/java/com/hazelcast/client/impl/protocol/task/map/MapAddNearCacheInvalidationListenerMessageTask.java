@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.MapAddNearCacheInvalidationListenerParameters;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.NearCacheInvalidationEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.nio.Connection;
+
+/**
+ * Registers a {@link NearCacheInvalidationEventFilter} on behalf of a client near cache. The batching settings
+ * are the near cache invalidation settings of the member.
+ */
+public class MapAddNearCacheInvalidationListenerMessageTask
+        extends AbstractMapAddQueryCacheListenerMessageTask<MapAddNearCacheInvalidationListenerParameters> {
+
+    public MapAddNearCacheInvalidationListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected QueryCacheEventFilter getEventFilter() {
+        return NearCacheInvalidationEventFilter.create(nodeEngine.getGroupProperties());
+    }
+
+    @Override
+    protected MapAddNearCacheInvalidationListenerParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAddNearCacheInvalidationListenerParameters.decode(clientMessage);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "addNearCacheInvalidationListener";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+}
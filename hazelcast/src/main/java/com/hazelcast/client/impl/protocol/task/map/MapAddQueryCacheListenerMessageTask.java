@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.MapAddQueryCacheListenerParameters;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.nio.Connection;
+
+/**
+ * Registers the {@link QueryCacheEventFilter} of a client query cache.
+ */
+public class MapAddQueryCacheListenerMessageTask
+        extends AbstractMapAddQueryCacheListenerMessageTask<MapAddQueryCacheListenerParameters> {
+
+    public MapAddQueryCacheListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected QueryCacheEventFilter getEventFilter() {
+        return serializationService.toObject(parameters.filter);
+    }
+
+    @Override
+    protected MapAddQueryCacheListenerParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAddQueryCacheListenerParameters.decode(clientMessage);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.filter};
+    }
+}
@@ -30,17 +30,16 @@ import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.LongObjectHashMap;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,10 +52,10 @@ import java.util.concurrent.TimeUnit;
 public class QueueContainer implements IdentifiedDataSerializable {
     private static final int ID_PROMOTION_OFFSET = 100000;
 
-    private LinkedList<QueueItem> itemQueue;
-    private Map<Long, QueueItem> backupMap;
-    private final Map<Long, TxQueueItem> txMap = new HashMap<Long, TxQueueItem>();
-    private final Map<Long, Data> dataMap = new HashMap<Long, Data>();
+    private QueueItemRing itemQueue;
+    private LongObjectHashMap<QueueItem> backupMap;
+    private final LongObjectHashMap<TxQueueItem> txMap = new LongObjectHashMap<TxQueueItem>();
+    private final LongObjectHashMap<Data> dataMap = new LongObjectHashMap<Data>();
 
     private QueueConfig config;
     private QueueStoreWrapper store;
@@ -378,9 +377,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
+        QueueItem[] drained = new QueueItem[maxSizeParam];
+        getItemQueue().poll(drained);
         long current = Clock.currentTimeMillis();
-        for (int i = 0; i < maxSizeParam; i++) {
-            QueueItem item = getItemQueue().poll();
+        for (QueueItem item : drained) {
             //For Stats
             age(item, current);
         }
@@ -552,14 +552,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        Iterator<QueueItem> iter = getItemQueue().iterator();
-        while (iter.hasNext()) {
-            QueueItem item = iter.next();
-            if (map.containsKey(item.getItemId())) {
-                iter.remove();
-                //For Stats
-                age(item, Clock.currentTimeMillis());
-            }
+        long current = Clock.currentTimeMillis();
+        for (QueueItem item : getItemQueue().removeAll(map.keySet())) {
+            //For Stats
+            age(item, current);
         }
         scheduleEvictionIfEmpty();
     }
@@ -593,9 +589,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return (getItemQueue().size() + delta) <= config.getMaxSize();
     }
 
-    public Deque<QueueItem> getItemQueue() {
+    public QueueItemRing getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = new LinkedList<QueueItem>();
+            itemQueue = new QueueItemRing();
             if (backupMap != null && !backupMap.isEmpty()) {
                 List<QueueItem> values = new ArrayList<QueueItem>(backupMap.values());
                 Collections.sort(values);
@@ -611,9 +607,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return itemQueue;
     }
 
-    Map<Long, QueueItem> getBackupMap() {
+    LongObjectHashMap<QueueItem> getBackupMap() {
         if (backupMap == null) {
-            backupMap = new HashMap<Long, QueueItem>();
+            backupMap = new LongObjectHashMap<QueueItem>(itemQueue != null ? itemQueue.size() : 0);
             if (itemQueue != null) {
                 for (QueueItem item : itemQueue) {
                     backupMap.put(item.getItemId(), item);
@@ -708,16 +704,17 @@ public class QueueContainer implements IdentifiedDataSerializable {
     }
 
     public void rollbackTransaction(String transactionId) {
-        final Iterator<TxQueueItem> iterator = txMap.values().iterator();
-
-        while (iterator.hasNext()) {
-            final TxQueueItem item = iterator.next();
+        final List<TxQueueItem> items = new ArrayList<TxQueueItem>();
+        for (TxQueueItem item : txMap.values()) {
             if (transactionId.equals(item.getTransactionId())) {
-                iterator.remove();
-                if (item.isPollOperation()) {
-                    getItemQueue().offerFirst(item);
-                    cancelEvictionIfExists();
-                }
+                items.add(item);
+            }
+        }
+        for (TxQueueItem item : items) {
+            txMap.remove(item.getItemId());
+            if (item.isPollOperation()) {
+                getItemQueue().offerFirst(item);
+                cancelEvictionIfExists();
             }
         }
     }
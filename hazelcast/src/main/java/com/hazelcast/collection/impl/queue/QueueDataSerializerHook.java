@@ -38,6 +38,7 @@ import com.hazelcast.collection.impl.queue.operations.OfferBackupOperation;
 import com.hazelcast.collection.impl.queue.operations.OfferOperation;
 import com.hazelcast.collection.impl.queue.operations.PeekOperation;
 import com.hazelcast.collection.impl.queue.operations.PollBackupOperation;
+import com.hazelcast.collection.impl.queue.operations.PollBatchOperation;
 import com.hazelcast.collection.impl.queue.operations.PollOperation;
 import com.hazelcast.collection.impl.queue.operations.QueueReplicationOperation;
 import com.hazelcast.collection.impl.queue.operations.RemainingCapacityOperation;
@@ -113,6 +114,7 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
     public static final int TXN_PEEK = 39;
     public static final int IS_EMPTY = 40;
     public static final int REMAINING_CAPACITY = 41;
+    public static final int POLL_BATCH = 42;
 
 
     public int getFactoryId() {
@@ -121,7 +123,7 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
 
     public DataSerializableFactory createFactory() {
 
-        ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors = new ConstructorFunction[REMAINING_CAPACITY + 1];
+        ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors = new ConstructorFunction[POLL_BATCH + 1];
         constructors[OFFER] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
             public IdentifiedDataSerializable createNew(Integer arg) {
                 return new OfferOperation();
@@ -331,6 +333,12 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
                 return new RemainingCapacityOperation();
             }
         };
+        constructors[POLL_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PollBatchOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.util.QuickMath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable circular array holding the items of a {@link QueueContainer} in FIFO order.
+ * <p/>
+ * Compared to a linked list this needs a single array slot per item instead of a node object, and allows
+ * bulk additions and removals to be done with array copies. The array doubles when full and halves when
+ * it becomes sparsely used, so a drained queue does not keep holding a large array.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public class QueueItemRing implements Iterable<QueueItem> {
+
+    static final int MIN_CAPACITY = 16;
+
+    private static final int SHRINK_FACTOR = 4;
+
+    private QueueItem[] items = new QueueItem[MIN_CAPACITY];
+    private int head;
+    private int size;
+    private int modCount;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    int capacity() {
+        return items.length;
+    }
+
+    public void offer(QueueItem item) {
+        ensureCapacity(size + 1);
+        items[index(size)] = item;
+        size++;
+        modCount++;
+    }
+
+    public void offerFirst(QueueItem item) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    public QueueItem peek() {
+        return size == 0 ? null : items[head];
+    }
+
+    public QueueItem peekLast() {
+        return size == 0 ? null : items[index(size - 1)];
+    }
+
+    public QueueItem poll() {
+        if (size == 0) {
+            return null;
+        }
+        QueueItem item = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    /**
+     * Appends all items at the tail, growing the array at most once.
+     */
+    public void addAll(Collection<QueueItem> collection) {
+        QueueItem[] src = collection.toArray(new QueueItem[collection.size()]);
+        ensureCapacity(size + src.length);
+        int tail = index(size);
+        int firstPart = Math.min(src.length, items.length - tail);
+        System.arraycopy(src, 0, items, tail, firstPart);
+        System.arraycopy(src, firstPart, items, 0, src.length - firstPart);
+        size += src.length;
+        modCount++;
+    }
+
+    /**
+     * Removes up to {@code dst.length} items from the head and copies them into {@code dst}.
+     *
+     * @return the number of items removed
+     */
+    public int poll(QueueItem[] dst) {
+        int count = Math.min(dst.length, size);
+        int firstPart = Math.min(count, items.length - head);
+        System.arraycopy(items, head, dst, 0, firstPart);
+        System.arraycopy(items, 0, dst, firstPart, count - firstPart);
+        clearSlots(head, firstPart);
+        clearSlots(0, count - firstPart);
+        head = (head + count) & (items.length - 1);
+        size -= count;
+        modCount++;
+        shrinkIfSparse();
+        return count;
+    }
+
+    /**
+     * Removes all items with the given ids in a single compacting pass.
+     *
+     * @return the removed items in queue order
+     */
+    public List<QueueItem> removeAll(Collection<?> itemIds) {
+        List<QueueItem> removed = new ArrayList<QueueItem>(Math.min(itemIds.size(), size));
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            QueueItem item = items[index(i)];
+            if (itemIds.contains(item.getItemId())) {
+                removed.add(item);
+            } else {
+                items[index(kept++)] = item;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            items[index(i)] = null;
+        }
+        size = kept;
+        modCount++;
+        shrinkIfSparse();
+        return removed;
+    }
+
+    public void clear() {
+        items = new QueueItem[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator in queue order. {@link Iterator#remove()} shifts the following items, so it should be
+     * used for occasional removals only; use {@link #removeAll(Collection)} for bulk removals.
+     */
+    @Override
+    public Iterator<QueueItem> iterator() {
+        return new RingIterator();
+    }
+
+    private void removeAt(int position) {
+        for (int i = position; i < size - 1; i++) {
+            items[index(i)] = items[index(i + 1)];
+        }
+        items[index(size - 1)] = null;
+        size--;
+        modCount++;
+    }
+
+    private int index(int position) {
+        return (head + position) & (items.length - 1);
+    }
+
+    private void clearSlots(int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            items[i] = null;
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > items.length) {
+            resize(QuickMath.nextPowerOfTwo(minCapacity));
+        }
+    }
+
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && size < items.length / SHRINK_FACTOR) {
+            resize(Math.max(MIN_CAPACITY, items.length / 2));
+        }
+    }
+
+    private void resize(int newCapacity) {
+        QueueItem[] newItems = new QueueItem[newCapacity];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, newItems, 0, firstPart);
+        System.arraycopy(items, 0, newItems, firstPart, size - firstPart);
+        items = newItems;
+        head = 0;
+    }
+
+    private final class RingIterator implements Iterator<QueueItem> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public QueueItem next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return items[index(lastReturned)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.hazelcast.collection.impl.queue.client.IsEmptyRequest;
 import com.hazelcast.collection.impl.queue.client.IteratorRequest;
 import com.hazelcast.collection.impl.queue.client.OfferRequest;
 import com.hazelcast.collection.impl.queue.client.PeekRequest;
+import com.hazelcast.collection.impl.queue.client.PollBatchRequest;
 import com.hazelcast.collection.impl.queue.client.PollRequest;
 import com.hazelcast.collection.impl.queue.client.RemainingCapacityRequest;
 import com.hazelcast.collection.impl.queue.client.RemoveListenerRequest;
@@ -71,6 +72,7 @@ public class QueuePortableHook implements PortableHook {
     public static final int TXN_PEEK = 17;
     public static final int REMOVE_LISTENER = 18;
     public static final int IS_EMPTY = 19;
+    public static final int POLL_BATCH = 20;
 
     @Override
     public int getFactoryId() {
@@ -80,7 +82,7 @@ public class QueuePortableHook implements PortableHook {
     @Override
     public PortableFactory createFactory() {
 
-        ConstructorFunction<Integer, Portable>[] constructors = new ConstructorFunction[IS_EMPTY + 1];
+        ConstructorFunction<Integer, Portable>[] constructors = new ConstructorFunction[POLL_BATCH + 1];
 
         constructors[OFFER] = new ConstructorFunction<Integer, Portable>() {
             @Override
@@ -196,6 +198,12 @@ public class QueuePortableHook implements PortableHook {
                 return new IsEmptyRequest();
             }
         };
+        constructors[POLL_BATCH] = new ConstructorFunction<Integer, Portable>() {
+            @Override
+            public Portable createNew(Integer arg) {
+                return new PollBatchRequest();
+            }
+        };
 
         return new ArrayPortableFactory(constructors);
     }
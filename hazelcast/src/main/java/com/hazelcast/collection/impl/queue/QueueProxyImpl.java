@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.util.Preconditions.checkFalse;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * Proxy implementation for the Queue.
@@ -89,6 +90,20 @@ public class QueueProxyImpl<E> extends QueueProxySupport implements IQueue<E>, I
         return nodeEngine.toObject(data);
     }
 
+    @Override
+    public Collection<E> pollBatch(int maxSize, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        checkPositive(maxSize, "maxSize should be positive");
+
+        final NodeEngine nodeEngine = getNodeEngine();
+        Collection<Data> dataList = pollBatchInternal(maxSize, timeUnit.toMillis(timeout));
+        List<E> result = new ArrayList<E>(dataList.size());
+        for (Data data : dataList) {
+            E e = nodeEngine.toObject(data);
+            result.add(e);
+        }
+        return result;
+    }
+
     @Override
     public boolean remove(Object o) {
         final NodeEngine nodeEngine = getNodeEngine();
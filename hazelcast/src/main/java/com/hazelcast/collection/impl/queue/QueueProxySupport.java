@@ -25,6 +25,7 @@ import com.hazelcast.collection.impl.queue.operations.IsEmptyOperation;
 import com.hazelcast.collection.impl.queue.operations.IteratorOperation;
 import com.hazelcast.collection.impl.queue.operations.OfferOperation;
 import com.hazelcast.collection.impl.queue.operations.PeekOperation;
+import com.hazelcast.collection.impl.queue.operations.PollBatchOperation;
 import com.hazelcast.collection.impl.queue.operations.PollOperation;
 import com.hazelcast.collection.impl.queue.operations.QueueOperation;
 import com.hazelcast.collection.impl.queue.operations.RemainingCapacityOperation;
@@ -132,6 +133,16 @@ abstract class QueueProxySupport extends AbstractDistributedObject<QueueService>
         }
     }
 
+    Collection<Data> pollBatchInternal(int maxSize, long timeout) throws InterruptedException {
+        PollBatchOperation operation = new PollBatchOperation(name, maxSize, timeout);
+        try {
+            SerializableCollection collectionContainer = invokeAndGet(operation);
+            return collectionContainer.getCollection();
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrowAllowInterrupted(throwable);
+        }
+    }
+
     boolean removeInternal(Data data) {
         checkObjectNotNull(data);
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue.operations;
+
+import com.hazelcast.collection.impl.queue.QueueContainer;
+import com.hazelcast.collection.impl.queue.QueueDataSerializerHook;
+import com.hazelcast.core.ItemEventType;
+import com.hazelcast.monitor.impl.LocalQueueStatsImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Notifier;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.WaitNotifyKey;
+import com.hazelcast.spi.WaitSupport;
+import com.hazelcast.spi.impl.SerializableCollection;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Removes up to maxSize items from the queue in one go, waiting until at least one item is available.
+ * The removed items are backed up with a single {@link DrainBackupOperation}.
+ */
+public final class PollBatchOperation extends QueueBackupAwareOperation implements WaitSupport, Notifier {
+
+    private int maxSize;
+    private Map<Long, Data> dataMap;
+
+    public PollBatchOperation() {
+    }
+
+    public PollBatchOperation(String name, int maxSize, long timeoutMillis) {
+        super(name, timeoutMillis);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void run() throws Exception {
+        QueueContainer queueContainer = getOrCreateContainer();
+        dataMap = queueContainer.drain(maxSize);
+        response = new SerializableCollection(new ArrayList<Data>(dataMap.values()));
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        LocalQueueStatsImpl stats = getQueueService().getLocalQueueStatsImpl(name);
+        if (dataMap.isEmpty()) {
+            stats.incrementEmptyPolls();
+            return;
+        }
+        for (Data data : dataMap.values()) {
+            stats.incrementPolls();
+            publishEvent(ItemEventType.REMOVED, data);
+        }
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !dataMap.isEmpty();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new DrainBackupOperation(name, dataMap.keySet());
+    }
+
+    @Override
+    public boolean shouldNotify() {
+        return !dataMap.isEmpty();
+    }
+
+    @Override
+    public WaitNotifyKey getNotifiedKey() {
+        return getOrCreateContainer().getOfferWaitNotifyKey();
+    }
+
+    @Override
+    public WaitNotifyKey getWaitKey() {
+        return getOrCreateContainer().getPollWaitNotifyKey();
+    }
+
+    @Override
+    public boolean shouldWait() {
+        return getWaitTimeout() != 0 && getOrCreateContainer().size() == 0;
+    }
+
+    @Override
+    public void onWaitExpire() {
+        getResponseHandler().sendResponse(new SerializableCollection(Collections.<Data>emptyList()));
+    }
+
+    @Override
+    public int getId() {
+        return QueueDataSerializerHook.POLL_BATCH;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(maxSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        maxSize = in.readInt();
+    }
+}
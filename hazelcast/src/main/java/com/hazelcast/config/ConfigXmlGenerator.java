@@ -191,6 +191,11 @@ public class ConfigXmlGenerator {
         for (ReliableTopicConfig t : tCfgs) {
             xml.append("<reliable-topic name=\"").append(t.getName()).append("\">");
             xml.append("<read-batch-size>").append(t.getReadBatchSize()).append("</read-batch-size>");
+            xml.append("<read-prefetch-count>").append(t.getReadPrefetchCount()).append("</read-prefetch-count>");
+            xml.append("<read-batch-auto-tuning-enabled>").append(t.isReadBatchAutoTuningEnabled())
+                    .append("</read-batch-auto-tuning-enabled>");
+            xml.append("<message-delivery-parallelism>").append(t.getMessageDeliveryParallelism())
+                    .append("</message-delivery-parallelism>");
             xml.append("<statistics-enabled>").append(t.isStatisticsEnabled()).append("</statistics-enabled>");
             xml.append("<topic-overload-policy>").append(t.getTopicOverloadPolicy().name()).append("</topic-overload-policy>");
 
@@ -270,6 +275,9 @@ public class ConfigXmlGenerator {
             xml.append("<async-backup-count>").append(rbConfig.getAsyncBackupCount()).append("</async-backup-count>");
             xml.append("<time-to-live-seconds>").append(rbConfig.getTimeToLiveSeconds()).append("</time-to-live-seconds>");
             xml.append("<in-memory-format>").append(rbConfig.getInMemoryFormat().toString()).append("</in-memory-format>");
+            xml.append("<storage-region-size>").append(rbConfig.getStorageRegionSize()).append("</storage-region-size>");
+            xml.append("<storage-region-off-heap>").append(rbConfig.isStorageRegionOffHeap())
+                    .append("</storage-region-off-heap>");
             xml.append("</ringbuffer>");
         }
     }
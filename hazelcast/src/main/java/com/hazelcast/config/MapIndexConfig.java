@@ -71,7 +71,8 @@ public class MapIndexConfig {
     }
 
     /**
-     * Sets the attribute that is going to be indexed.
+     * Sets the attribute that is going to be indexed. Multiple attributes separated by a comma, e.g. "active,age",
+     * create a composite index over these attributes.
      *
      * @param attribute the attribute that is going to be indexed.
      * @return the updated MapIndexConfig.
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.concurrent.Executor;
 
 import static com.hazelcast.topic.TopicOverloadPolicy.BLOCK;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
 
@@ -59,12 +60,30 @@ public class ReliableTopicConfig {
      */
     public static final boolean DEFAULT_STATISTICS_ENABLED = true;
 
+    /**
+     * The default number of batches read ahead.
+     */
+    public static final int DEFAULT_READ_PREFETCH_COUNT = 0;
+
+    /**
+     * Default value for read batch size auto tuning.
+     */
+    public static final boolean DEFAULT_READ_BATCH_AUTO_TUNING_ENABLED = false;
+
+    /**
+     * The default message delivery parallelism; messages are delivered in order.
+     */
+    public static final int DEFAULT_MESSAGE_DELIVERY_PARALLELISM = 1;
+
     private Executor executor;
     private int readBatchSize = DEFAULT_READ_BATCH_SIZE;
     private String name;
     private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
     private List<ListenerConfig> listenerConfigs = new LinkedList<ListenerConfig>();
     private TopicOverloadPolicy topicOverloadPolicy = DEFAULT_TOPIC_OVERLOAD_POLICY;
+    private int readPrefetchCount = DEFAULT_READ_PREFETCH_COUNT;
+    private boolean readBatchAutoTuningEnabled = DEFAULT_READ_BATCH_AUTO_TUNING_ENABLED;
+    private int messageDeliveryParallelism = DEFAULT_MESSAGE_DELIVERY_PARALLELISM;
 
     /**
      * Creates a new ReliableTopicConfig with default settings.
@@ -85,6 +104,9 @@ public class ReliableTopicConfig {
         this.executor = config.executor;
         this.topicOverloadPolicy = config.topicOverloadPolicy;
         this.listenerConfigs = config.listenerConfigs;
+        this.readPrefetchCount = config.readPrefetchCount;
+        this.readBatchAutoTuningEnabled = config.readBatchAutoTuningEnabled;
+        this.messageDeliveryParallelism = config.messageDeliveryParallelism;
     }
 
     ReliableTopicConfig(ReliableTopicConfig config, String name) {
@@ -192,6 +214,84 @@ public class ReliableTopicConfig {
         return this;
     }
 
+    /**
+     * Gets the number of batches that are read ahead while a batch is being processed.
+     *
+     * @return the read prefetch count.
+     */
+    public int getReadPrefetchCount() {
+        return readPrefetchCount;
+    }
+
+    /**
+     * Sets the number of batches that are read ahead while a batch is being processed.
+     *
+     * With a readPrefetchCount of 0, the next batch is only read from the ringbuffer after all messages of the current
+     * batch have been processed. So the MessageListener is idle while the next batch is being retrieved. With a
+     * readPrefetchCount of 1 or more, reading the next batch overlaps with processing the current batch. The messages
+     * read ahead are buffered in memory, so a larger readPrefetchCount requires more memory per MessageListener.
+     *
+     * @param readPrefetchCount the number of batches to read ahead
+     * @return the updated config.
+     * @throws IllegalArgumentException if readPrefetchCount is smaller than 0.
+     */
+    public ReliableTopicConfig setReadPrefetchCount(int readPrefetchCount) {
+        this.readPrefetchCount = checkNotNegative(readPrefetchCount, "readPrefetchCount can't be smaller than 0");
+        return this;
+    }
+
+    /**
+     * Checks if the read batch size is tuned automatically.
+     *
+     * @return true if auto tuning is enabled, false otherwise.
+     */
+    public boolean isReadBatchAutoTuningEnabled() {
+        return readBatchAutoTuningEnabled;
+    }
+
+    /**
+     * Enables or disables the automatic tuning of the read batch size.
+     *
+     * If enabled, a MessageListener that keeps receiving full batches, so is falling behind the publishers, doubles the
+     * number of messages it reads in a single batch up to the maximum supported by the ringbuffer. If batches are mostly
+     * empty again, it falls back to smaller batches. The configured {@link #getReadBatchSize()} is used as the minimum.
+     *
+     * @param readBatchAutoTuningEnabled if auto tuning of the read batch size should be enabled
+     * @return the updated config.
+     */
+    public ReliableTopicConfig setReadBatchAutoTuningEnabled(boolean readBatchAutoTuningEnabled) {
+        this.readBatchAutoTuningEnabled = readBatchAutoTuningEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the number of threads that concurrently deliver messages of a single batch to a MessageListener.
+     *
+     * @return the message delivery parallelism.
+     */
+    public int getMessageDeliveryParallelism() {
+        return messageDeliveryParallelism;
+    }
+
+    /**
+     * Sets the number of threads that concurrently deliver the messages of a single batch to a MessageListener.
+     *
+     * By default the messages are delivered one after another, so the MessageListener observes the global order. With a
+     * messageDeliveryParallelism larger than 1, a batch is split up and the parts are delivered in parallel using the
+     * {@link #getExecutor()}. This breaks the ordering of messages and the MessageListener needs to be thread-safe, so it
+     * should only be used for listeners that don't depend on ordering. The
+     * {@link com.hazelcast.topic.ReliableMessageListener#storeSequence(long)} is called once per batch in that case.
+     *
+     * @param messageDeliveryParallelism the number of threads delivering the messages of a batch
+     * @return the updated config.
+     * @throws IllegalArgumentException if messageDeliveryParallelism is smaller than 1.
+     */
+    public ReliableTopicConfig setMessageDeliveryParallelism(int messageDeliveryParallelism) {
+        this.messageDeliveryParallelism = checkPositive(messageDeliveryParallelism,
+                "messageDeliveryParallelism should be positive");
+        return this;
+    }
+
     /**
      * Checks if statistics are enabled.
      *
@@ -250,6 +350,9 @@ public class ReliableTopicConfig {
                 + ", topicOverloadPolicy=" + topicOverloadPolicy
                 + ", executor=" + executor
                 + ", readBatchSize=" + readBatchSize
+                + ", readPrefetchCount=" + readPrefetchCount
+                + ", readBatchAutoTuningEnabled=" + readBatchAutoTuningEnabled
+                + ", messageDeliveryParallelism=" + messageDeliveryParallelism
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", listenerConfigs=" + listenerConfigs
                 + '}';
@@ -271,6 +374,21 @@ public class ReliableTopicConfig {
             throw new UnsupportedOperationException("This config is read-only");
         }
 
+        @Override
+        public ReliableTopicConfig setReadPrefetchCount(int readPrefetchCount) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public ReliableTopicConfig setReadBatchAutoTuningEnabled(boolean readBatchAutoTuningEnabled) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public ReliableTopicConfig setMessageDeliveryParallelism(int messageDeliveryParallelism) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
         @Override
         public ReliableTopicConfig setStatisticsEnabled(boolean statisticsEnabled) {
             throw new UnsupportedOperationException("This config is read-only");
@@ -55,6 +55,10 @@ public class RingbufferConfig {
      * Default value for the InMemoryFormat.
      */
     public static final InMemoryFormat DEFAULT_IN_MEMORY_FORMAT = InMemoryFormat.BINARY;
+    /**
+     * Default value for the storage region size; 0 disables the storage region.
+     */
+    public static final int DEFAULT_STORAGE_REGION_SIZE = 0;
 
     private String name;
     private int capacity = DEFAULT_CAPACITY;
@@ -62,6 +66,8 @@ public class RingbufferConfig {
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
+    private int storageRegionSize = DEFAULT_STORAGE_REGION_SIZE;
+    private boolean storageRegionOffHeap;
 
     /**
      * Creates a RingbufferConfig with the provided name.
@@ -87,6 +93,8 @@ public class RingbufferConfig {
         this.asyncBackupCount = config.asyncBackupCount;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
         this.inMemoryFormat = config.inMemoryFormat;
+        this.storageRegionSize = config.storageRegionSize;
+        this.storageRegionOffHeap = config.storageRegionOffHeap;
     }
 
     /**
@@ -272,6 +280,56 @@ public class RingbufferConfig {
         return this;
     }
 
+    /**
+     * Gets the initial size in bytes of the storage region.
+     *
+     * @return the initial size of the storage region. Returns 0 if the storage region is disabled.
+     */
+    public int getStorageRegionSize() {
+        return storageRegionSize;
+    }
+
+    /**
+     * Sets the initial size in bytes of the storage region.
+     *
+     * If set, a ringbuffer with the {@link InMemoryFormat#BINARY} InMemoryFormat doesn't keep an object per item, but
+     * writes the serialized items into a single preallocated byte region and only keeps the offset of every item. This
+     * prevents a large ringbuffer from keeping millions of small objects alive. The region grows if the items in the
+     * ringbuffer don't fit in it.
+     *
+     * The storage region is disabled by setting the storageRegionSize to 0. It is ignored for the
+     * {@link InMemoryFormat#OBJECT} InMemoryFormat.
+     *
+     * @param storageRegionSize the initial size of the storage region in bytes
+     * @return the updated RingbufferConfig
+     * @throws IllegalArgumentException if storageRegionSize smaller than 0.
+     */
+    public RingbufferConfig setStorageRegionSize(int storageRegionSize) {
+        this.storageRegionSize = checkNotNegative(storageRegionSize, "storageRegionSize can't be smaller than 0");
+        return this;
+    }
+
+    /**
+     * Checks if the storage region is allocated outside of the Java heap.
+     *
+     * @return true if the storage region is allocated off-heap, false otherwise.
+     */
+    public boolean isStorageRegionOffHeap() {
+        return storageRegionOffHeap;
+    }
+
+    /**
+     * Sets if the storage region is allocated outside of the Java heap, using a direct buffer.
+     *
+     * @param storageRegionOffHeap true if the storage region should be allocated off-heap
+     * @return the updated RingbufferConfig
+     * @see #setStorageRegionSize(int)
+     */
+    public RingbufferConfig setStorageRegionOffHeap(boolean storageRegionOffHeap) {
+        this.storageRegionOffHeap = storageRegionOffHeap;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RingbufferConfig{"
@@ -281,6 +339,8 @@ public class RingbufferConfig {
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
                 + ", inMemoryFormat=" + inMemoryFormat
+                + ", storageRegionSize=" + storageRegionSize
+                + ", storageRegionOffHeap=" + storageRegionOffHeap
                 + '}';
     }
 
@@ -318,5 +378,15 @@ public class RingbufferConfig {
         public RingbufferConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
             throw new UnsupportedOperationException("This config is read-only");
         }
+
+        @Override
+        public RingbufferConfig setStorageRegionSize(int storageRegionSize) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public RingbufferConfig setStorageRegionOffHeap(boolean storageRegionOffHeap) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
     }
 }
@@ -1393,6 +1393,14 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 String batchSize = getTextContent(n);
                 topicConfig.setReadBatchSize(
                         getIntegerValue("read-batch-size", batchSize, ReliableTopicConfig.DEFAULT_READ_BATCH_SIZE));
+            } else if ("read-prefetch-count".equals(nodeName)) {
+                topicConfig.setReadPrefetchCount(getIntegerValue("read-prefetch-count", getTextContent(n),
+                        ReliableTopicConfig.DEFAULT_READ_PREFETCH_COUNT));
+            } else if ("read-batch-auto-tuning-enabled".equals(nodeName)) {
+                topicConfig.setReadBatchAutoTuningEnabled(checkTrue(getTextContent(n)));
+            } else if ("message-delivery-parallelism".equals(nodeName)) {
+                topicConfig.setMessageDeliveryParallelism(getIntegerValue("message-delivery-parallelism", getTextContent(n),
+                        ReliableTopicConfig.DEFAULT_MESSAGE_DELIVERY_PARALLELISM));
             } else if ("statistics-enabled".equals(nodeName)) {
                 topicConfig.setStatisticsEnabled(checkTrue(getTextContent(n)));
             } else if ("topic-overload-policy".equals(nodeName)) {
@@ -1484,6 +1492,12 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             } else if ("in-memory-format".equals(nodeName)) {
                 InMemoryFormat inMemoryFormat = InMemoryFormat.valueOf(upperCaseInternal(value));
                 rbConfig.setInMemoryFormat(inMemoryFormat);
+            } else if ("storage-region-size".equals(nodeName)) {
+                int storageRegionSize = getIntegerValue("storage-region-size", value,
+                        RingbufferConfig.DEFAULT_STORAGE_REGION_SIZE);
+                rbConfig.setStorageRegionSize(storageRegionSize);
+            } else if ("storage-region-off-heap".equals(nodeName)) {
+                rbConfig.setStorageRegionOffHeap(checkTrue(value));
             }
         }
         config.addRingBufferConfig(rbConfig);
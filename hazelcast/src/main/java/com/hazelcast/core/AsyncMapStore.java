@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.core;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link MapStore} which can store and delete entries asynchronously.
+ * <p/>
+ * When a write-behind map store with write coalescing implements this interface, the batches of a write-behind run are
+ * passed to {@link #storeAllAsync(Map)} and {@link #deleteAllAsync(Collection)} without waiting for the previous
+ * batches, so many batches can be in flight at the same time. The batches of a run never contain the same key twice.
+ * The run completes when all returned futures are done; a batch whose future fails is retried with the synchronous
+ * {@link #storeAll(Map)} or {@link #deleteAll(Collection)}.
+ * <p/>
+ * Write-through map stores and write-behind map stores without write coalescing only use the synchronous methods.
+ *
+ * @param <K> type of the MapStore key
+ * @param <V> type of the MapStore value
+ */
+public interface AsyncMapStore<K, V> extends MapStore<K, V> {
+
+    /**
+     * Starts storing multiple entries.
+     *
+     * @param map map of entries to store
+     * @return the future which is completed when the entries are stored
+     */
+    Future<?> storeAllAsync(Map<K, V> map);
+
+    /**
+     * Starts deleting multiple entries.
+     *
+     * @param keys the keys of the entries to delete
+     * @return the future which is completed when the entries are deleted
+     */
+    Future<?> deleteAllAsync(Collection<K> keys);
+}
@@ -16,9 +16,11 @@
 
 package com.hazelcast.core;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -1261,6 +1263,16 @@ public interface IMap<K, V>
      *   imap.addIndex("active", false);    // not ordered, because boolean field cannot have range
      * </pre>
      * <p/>
+     * <h3>Composite Indexes</h3>
+     * Multiple attributes can be indexed together by separating them with a comma.
+     * <pre>
+     *   imap.addIndex("active,age", true);
+     * </pre>
+     * A query combining the attributes with 'and', like 'active = true and age > 30', is then
+     * served by a single index lookup. An ordered composite index serves equalities on a prefix
+     * of the attributes, optionally followed by a range on the next attribute. An unordered
+     * composite index only serves equalities on all attributes.
+     * <p/>
      * Index attribute should either have a getter method or be public.
      * You should also make sure to add the indexes before adding
      * entries to this map.
@@ -1381,4 +1393,58 @@ public interface IMap<K, V>
     <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                              Aggregation<K, SuppliedValue, Result> aggregation,
                                              JobTracker jobTracker);
+
+    /**
+     * Aggregates all entries of the map with the given {@link Aggregator}. A predefined set of aggregators can be found
+     * in {@link com.hazelcast.aggregation.Aggregators}.
+     * <p/>
+     * In contrast to the MapReduce based aggregations, the entries are accumulated directly on the partition threads of
+     * the members; no job is created.
+     *
+     * @param aggregator the aggregator to accumulate the entries with.
+     * @param <R>        the resulting aggregation value type.
+     * @return the aggregated value.
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Aggregates the entries of the map that satisfy the predicate with the given {@link Aggregator}. A predefined set
+     * of aggregators can be found in {@link com.hazelcast.aggregation.Aggregators}.
+     * <p/>
+     * If the predicate can be answered by an index, only the indexed entries are accumulated.
+     *
+     * @param aggregator the aggregator to accumulate the entries with.
+     * @param predicate  the predicate the entries have to satisfy; paging predicates are not supported.
+     * @param <R>        the resulting aggregation value type.
+     * @return the aggregated value.
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
+    /**
+     * Returns the {@link QueryCache} configured with the given name on this map
+     * (see {@link com.hazelcast.config.MapConfig#addQueryCacheConfig}).
+     * <p/>
+     * The cache is created on the first call and the same instance is returned afterwards,
+     * until it is {@link QueryCache#destroy() destroyed}.
+     *
+     * @param name the name of the {@code QueryCache}.
+     * @return the {@code QueryCache}, or {@code null} if there is no {@code QueryCacheConfig} with the given name.
+     * @throws java.lang.NullPointerException if name is null.
+     * @since 3.5
+     */
+    QueryCache<K, V> getQueryCache(String name);
+
+    /**
+     * Returns the {@link QueryCache} with the given name, creating it with the given predicate
+     * if it does not exist yet. Other settings are taken from the {@code QueryCacheConfig} with the
+     * same name, if any, or defaults.
+     *
+     * @param name         the name of the {@code QueryCache}.
+     * @param predicate    the predicate which selects the entries to be cached.
+     * @param includeValue {@code true} if values should be cached, {@code false} to cache only keys.
+     * @return the {@code QueryCache}.
+     * @throws java.lang.NullPointerException if name or predicate is null.
+     * @since 3.5
+     */
+    QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue);
 }
@@ -18,6 +18,7 @@ package com.hazelcast.core;
 
 import com.hazelcast.monitor.LocalQueueStats;
 
+import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -53,6 +54,24 @@ public interface IQueue<E> extends BlockingQueue<E>, BaseQueue<E>, ICollection<E
 
     E take() throws InterruptedException;
 
+    /**
+     * Retrieves and removes up to {@code maxSize} items from the head of this queue, waiting up to the
+     * specified wait time if necessary for at least one item to become available.
+     * <p/>
+     * All items are removed by a single operation, so consumers that would otherwise do many small polls
+     * need a single round trip and a single wakeup per batch.
+     *
+     * @param maxSize the maximum number of items to retrieve, must be positive
+     * @param timeout how long to wait before giving up, in units of {@code unit}. A negative timeout waits
+     *                until at least one item is available
+     * @param unit    the time unit of the timeout argument
+     * @return the retrieved items in queue order, or an empty collection if the specified waiting time elapses
+     * before an item is available
+     * @throws InterruptedException     if interrupted while waiting
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    Collection<E> pollBatch(int maxSize, long timeout, TimeUnit unit) throws InterruptedException;
+
     /**
      * Returns LocalQueueStats for this queue.
      * LocalQueueStats is the statistics for the local portion of this
@@ -19,6 +19,7 @@ package com.hazelcast.instance;
 import com.hazelcast.cache.impl.CacheService;
 import com.hazelcast.cache.impl.ICacheService;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.logging.ILogger;
@@ -44,6 +45,8 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.internal.storage.DataRef;
 import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.internal.storage.impl.OffHeapMemoryStats;
+import com.hazelcast.internal.storage.impl.OffHeapStorage;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.wan.WanReplicationService;
@@ -57,13 +60,21 @@ public class DefaultNodeExtension implements NodeExtension {
     protected volatile ILogger logger;
     protected volatile ILogger systemLogger;
 
-    private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private volatile MemoryStats memoryStats = new DefaultMemoryStats();
+    private volatile OffHeapStorage nativeDataStorage;
 
     @Override
     public void beforeStart(Node node) {
         this.node = node;
         logger = node.getLogger(NodeExtension.class);
         systemLogger = node.getLogger("com.hazelcast.system");
+
+        NativeMemoryConfig nativeMemoryConfig = node.getConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig.isEnabled()) {
+            nativeDataStorage = new OffHeapStorage(nativeMemoryConfig);
+            memoryStats = new OffHeapMemoryStats(nativeDataStorage);
+            logger.info("Native memory is enabled: " + nativeMemoryConfig);
+        }
     }
 
     @Override
@@ -92,7 +103,12 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public Storage<DataRef> getNativeDataStorage() {
-        throw new UnsupportedOperationException("Native memory feature is only available on Hazelcast Enterprise!");
+        Storage<DataRef> storage = nativeDataStorage;
+        if (storage == null) {
+            throw new UnsupportedOperationException("Native memory is not enabled! "
+                    + "Enable it with NativeMemoryConfig to use InMemoryFormat.NATIVE.");
+        }
+        return storage;
     }
 
     public SerializationService createSerializationService() {
@@ -184,6 +200,10 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public void destroy() {
         logger.info("Destroying node NodeExtension.");
+        OffHeapStorage storage = nativeDataStorage;
+        if (storage != null) {
+            storage.destroy();
+        }
     }
 
     @Override
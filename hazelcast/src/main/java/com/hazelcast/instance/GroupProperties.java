@@ -51,17 +51,81 @@ public class GroupProperties {
     public static final String PROP_HEALTH_MONITORING_DELAY_SECONDS = "hazelcast.health.monitoring.delay.seconds";
 
     /**
-     * Use the performance monitor to see internal performance metrics. Currently this is quite
-     * limited since it will only show read/write events per selector and operations executed per operation-thread. But in
-     * the future, all kinds of new metrics will be added.
-     * <p/>
-     * The performance monitor logs all metrics into the log file.
+     * Use the performance monitor to see internal performance metrics. The performance monitor periodically runs
+     * plugins, e.g. for the pending invocations, pending operations, the event queue and GC, and writes their output
+     * to a dedicated rolling performance log file. The metrics themselves, e.g. of the connections and operation
+     * threads, are written to the metrics file, which is therefore written as well, see {@link #PROP_METRICS_FILE_ENABLED}.
      */
     public static final String PROP_PERFORMANCE_MONITORING_ENABLED = "hazelcast.performance.monitoring.enabled";
     /**
-     * The delay in seconds between monitoring of the performance.
+     * @deprecated the performance log no longer contains the metrics, they are written to the metrics file. Use
+     * {@link #PROP_METRICS_FILE_INTERVAL_SECONDS} instead.
      */
+    @Deprecated
     public static final String PROP_PERFORMANCE_MONITORING_DELAY_SECONDS = "hazelcast.performance.monitoring.delay.seconds";
+    /**
+     * The directory the performance log files are written to. By default the working directory is used.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_DIRECTORY = "hazelcast.performance.monitoring.directory";
+    /**
+     * The maximum size in MB of a performance log file. When it is exceeded, a new file is started.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_MAX_ROLLED_FILE_SIZE_MB
+            = "hazelcast.performance.monitoring.max.rolled.file.size.mb";
+    /**
+     * The maximum number of performance log files to keep, at least 1. When it is exceeded, the oldest file is deleted.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT
+            = "hazelcast.performance.monitoring.max.rolled.file.count";
+    /**
+     * The period in seconds of the performance monitor plugin for pending and slow invocations. 0 disables the plugin.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS
+            = "hazelcast.performance.monitoring.invocation.period.seconds";
+    /**
+     * The time in seconds after which a pending invocation is considered to be slow by the performance monitor.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS
+            = "hazelcast.performance.monitoring.invocation.slow.threshold.seconds";
+    /**
+     * The period in seconds of the performance monitor plugin for the pending operations per partition thread. 0 disables
+     * the plugin.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS
+            = "hazelcast.performance.monitoring.pending.operations.period.seconds";
+    /**
+     * The period in seconds of the performance monitor plugin for the event queue. 0 disables the plugin.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS
+            = "hazelcast.performance.monitoring.event.queue.period.seconds";
+    /**
+     * The period in seconds of the performance monitor plugin for garbage collections. 0 disables the plugin.
+     */
+    public static final String PROP_PERFORMANCE_MONITORING_GC_PERIOD_SECONDS
+            = "hazelcast.performance.monitoring.gc.period.seconds";
+
+    /**
+     * Enables the periodic writing of all metrics to a rolling, gzip compressed metrics file. The metrics file is also
+     * written when the performance monitor is enabled, see {@link #PROP_PERFORMANCE_MONITORING_ENABLED}.
+     */
+    public static final String PROP_METRICS_FILE_ENABLED = "hazelcast.metrics.file.enabled";
+    /**
+     * The interval in seconds between two samples written to the metrics file.
+     */
+    public static final String PROP_METRICS_FILE_INTERVAL_SECONDS = "hazelcast.metrics.file.interval.seconds";
+    /**
+     * The directory the metrics files are written to. By default the working directory is used, or the
+     * {@link #PROP_PERFORMANCE_MONITORING_DIRECTORY} when performance monitoring is enabled.
+     */
+    public static final String PROP_METRICS_FILE_DIRECTORY = "hazelcast.metrics.file.directory";
+    /**
+     * The maximum size in MB of a metrics file. When it is exceeded, a new file is started.
+     */
+    public static final String PROP_METRICS_FILE_MAX_SIZE_MB = "hazelcast.metrics.file.max.size.mb";
+    /**
+     * The maximum number of metrics files to keep, at least 1. When it is exceeded, the oldest file is deleted.
+     */
+    public static final String PROP_METRICS_FILE_MAX_COUNT = "hazelcast.metrics.file.max.count";
 
     public static final String PROP_VERSION_CHECK_ENABLED = "hazelcast.version.check.enabled";
     public static final String PROP_PREFER_IPv4_STACK = "hazelcast.prefer.ipv4.stack";
@@ -84,6 +148,28 @@ public class GroupProperties {
      */
     public static final String PROP_PARTITION_OPERATION_THREAD_COUNT = "hazelcast.operation.thread.count";
     public static final String PROP_GENERIC_OPERATION_THREAD_COUNT = "hazelcast.operation.generic.thread.count";
+    /**
+     * The type of queue that feeds the partition threads. With 'default' the queue is backed by a LinkedBlockingQueue.
+     * With 'ringbuffer' the queue is backed by a bounded lock-free ring buffer and the partition thread spins, yields and
+     * then parks when there is no work.
+     */
+    public static final String PROP_PARTITION_OPERATION_QUEUE_TYPE = "hazelcast.operation.partition.queue.type";
+    /**
+     * The capacity of the ring buffer feeding a partition thread when the 'ringbuffer' queue type is used. The capacity
+     * is rounded up to the next power of two.
+     */
+    public static final String PROP_PARTITION_OPERATION_QUEUE_CAPACITY = "hazelcast.operation.partition.queue.capacity";
+    /**
+     * The interval in seconds between rebalancing the partitions over the partition threads. Partitions are moved from
+     * the busiest partition thread to the least busy one, so that a few hot partitions don't overload a single thread.
+     *
+     * The utilization of every partition thread and the thread every partition is assigned to, are exposed as metrics.
+     *
+     * Default value is -1; a value smaller than 1 disables the balancing and partitions are statically assigned to
+     * threads.
+     */
+    public static final String PROP_PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS
+            = "hazelcast.operation.partition.balancer.interval.seconds";
     public static final String PROP_EVENT_THREAD_COUNT = "hazelcast.event.thread.count";
     public static final String PROP_EVENT_QUEUE_CAPACITY = "hazelcast.event.queue.capacity";
     public static final String PROP_EVENT_QUEUE_TIMEOUT_MILLIS = "hazelcast.event.queue.timeout.millis";
@@ -114,6 +200,16 @@ public class GroupProperties {
     public static final String PROP_CLIENT_ENGINE_THREAD_COUNT = "hazelcast.clientengine.thread.count";
     public static final String PROP_SOCKET_RECEIVE_BUFFER_SIZE = "hazelcast.socket.receive.buffer.size";
     public static final String PROP_SOCKET_SEND_BUFFER_SIZE = "hazelcast.socket.send.buffer.size";
+    /**
+     * If the read and write buffers of the connections should be allocated as direct (off-heap) buffers. Direct buffers
+     * prevent the JDK from copying all data through a temporary direct buffer on every socket read and write.
+     */
+    public static final String PROP_SOCKET_BUFFER_DIRECT = "hazelcast.socket.buffer.direct";
+    /**
+     * The number of send buffers a connection fills before writing them to the socket using a single gathering write.
+     * The default of 1 writes a single send buffer at a time.
+     */
+    public static final String PROP_SOCKET_GATHERING_WRITE_BUFFER_COUNT = "hazelcast.socket.gathering.write.buffer.count";
     public static final String PROP_SOCKET_LINGER_SECONDS = "hazelcast.socket.linger.seconds";
     public static final String PROP_SOCKET_CONNECT_TIMEOUT_SECONDS = "hazelcast.socket.connect.timeout.seconds";
     public static final String PROP_SOCKET_KEEP_ALIVE = "hazelcast.socket.keep.alive";
@@ -163,14 +259,44 @@ public class GroupProperties {
     public static final String PROP_PARTITION_MIGRATION_INTERVAL = "hazelcast.partition.migration.interval";
     public static final String PROP_PARTITION_MIGRATION_TIMEOUT = "hazelcast.partition.migration.timeout";
     public static final String PROP_PARTITION_MIGRATION_ZIP_ENABLED = "hazelcast.partition.migration.zip.enabled";
+    /**
+     * The maximum size in KB of a chunk of partition data sent during a migration. Services which support it, like the
+     * map, stream the data of a migrating partition in chunks of this size instead of a single operation, so that
+     * migrating a large partition doesn't need a huge byte array on both members. A value of 0 disables chunking.
+     */
+    public static final String PROP_PARTITION_MIGRATION_CHUNK_SIZE = "hazelcast.partition.migration.chunk.size";
     public static final String PROP_PARTITION_TABLE_SEND_INTERVAL = "hazelcast.partition.table.send.interval";
     public static final String PROP_PARTITION_BACKUP_SYNC_INTERVAL = "hazelcast.partition.backup.sync.interval";
     public static final String PROP_PARTITION_MAX_PARALLEL_REPLICATIONS
             = "hazelcast.partition.max.parallel.replications";
+    /**
+     * The number of key ranges the data of a backup replica is digested in for a delta replica sync. Services which
+     * support it, like the map, only replicate the key ranges whose digests differ between the partition owner and the
+     * backup replica, instead of the whole partition. A value of 0 disables delta replica sync.
+     */
+    public static final String PROP_PARTITION_REPLICA_SYNC_DIGEST_RANGES
+            = "hazelcast.partition.replica.sync.digest.ranges";
     public static final String PROP_PARTITIONING_STRATEGY_CLASS = "hazelcast.partitioning.strategy.class";
     public static final String PROP_GRACEFUL_SHUTDOWN_MAX_WAIT = "hazelcast.graceful.shutdown.max.wait";
     public static final String PROP_SYSTEM_LOG_ENABLED = "hazelcast.system.log.enabled";
 
+    /**
+     * Enables or disables the tracking of latency histograms for operations (queue and run time per operation type)
+     * and invocations (end to end latency per service).
+     */
+    public static final String PROP_OPERATION_LATENCY_TRACKING_ENABLED = "hazelcast.operation.latency.tracking.enabled";
+
+    /**
+     * Traces one in every N invocations across the members they touch; 0 disables tracing. The trace records are kept in
+     * an in-memory ring buffer that can be dumped through JMX and REST.
+     */
+    public static final String PROP_OPERATION_TRACING_SAMPLE_INTERVAL = "hazelcast.operation.tracing.sample.interval";
+
+    /**
+     * The number of trace records kept in the in-memory ring buffer, rounded up to the next power of two.
+     */
+    public static final String PROP_OPERATION_TRACING_BUFFER_CAPACITY = "hazelcast.operation.tracing.buffer.capacity";
+
     /**
      * Enables or disables the {@link com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector}.
      */
@@ -217,6 +343,26 @@ public class GroupProperties {
     public static final String PROP_ELASTIC_MEMORY_UNSAFE_ENABLED = "hazelcast.elastic.memory.unsafe.enabled";
     public static final String PROP_ENTERPRISE_LICENSE_KEY = "hazelcast.enterprise.license.key";
     public static final String PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY = "hazelcast.map.write.behind.queue.capacity";
+    /**
+     * The number of parallel write-behind store workers per map. Each worker stores the entries of its own stripe
+     * of partitions, so the map store of a map with more than one worker must be thread safe.
+     */
+    public static final String PROP_MAP_WRITE_BEHIND_WORKER_COUNT = "hazelcast.map.write.behind.worker.count";
+    /**
+     * Enables sending the near cache invalidations of a map to the other members in batches
+     * instead of one operation per invalidated key. Disabled by default, since a near cache may then serve
+     * a stale value for up to {@link #PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS} after the entry was updated.
+     */
+    public static final String PROP_MAP_INVALIDATION_BATCH_ENABLED = "hazelcast.map.invalidation.batch.enabled";
+    /**
+     * Maximum number of invalidated keys in a near cache invalidation batch. A batch is sent as soon as it is full.
+     */
+    public static final String PROP_MAP_INVALIDATION_BATCH_SIZE = "hazelcast.map.invalidation.batch.size";
+    /**
+     * Maximum time in milliseconds a near cache invalidation waits in a batch which is not full yet.
+     */
+    public static final String PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS
+            = "hazelcast.map.invalidation.batch.frequency.millis";
 
     /**
      * Defines event queue capacity for WAN replication. Replication Events are dropped when queue capacity is reached.
@@ -328,6 +474,9 @@ public class GroupProperties {
      * When you have a large dataset and/or slow predicate you may benefit from parallel predicate evaluations.
      * Set to true if you are using slow predicates or have > 100,000s entries per member.
      *
+     * The partitions are scanned by the calling thread and the threads of the 'hz:query' executor. Queries using a
+     * {@link com.hazelcast.query.PagingPredicate} are always evaluated in parallel.
+     *
      * Default: false
      *
      */
@@ -381,6 +530,12 @@ public class GroupProperties {
 
     public final GroupProperty GENERIC_OPERATION_THREAD_COUNT;
 
+    public final GroupProperty PARTITION_OPERATION_QUEUE_TYPE;
+
+    public final GroupProperty PARTITION_OPERATION_QUEUE_CAPACITY;
+
+    public final GroupProperty PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS;
+
     public final GroupProperty EVENT_THREAD_COUNT;
 
     public final GroupProperty HEALTH_MONITORING_LEVEL;
@@ -389,7 +544,25 @@ public class GroupProperties {
 
     public final GroupProperty PERFORMANCE_MONITORING_ENABLED;
 
+    /**
+     * @deprecated see {@link #PROP_PERFORMANCE_MONITORING_DELAY_SECONDS}.
+     */
+    @Deprecated
     public final GroupProperty PERFORMANCE_MONITORING_DELAY_SECONDS;
+    public final GroupProperty PERFORMANCE_MONITORING_DIRECTORY;
+    public final GroupProperty PERFORMANCE_MONITORING_MAX_ROLLED_FILE_SIZE_MB;
+    public final GroupProperty PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT;
+    public final GroupProperty PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS;
+    public final GroupProperty PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS;
+    public final GroupProperty PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS;
+    public final GroupProperty PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS;
+    public final GroupProperty PERFORMANCE_MONITORING_GC_PERIOD_SECONDS;
+
+    public final GroupProperty METRICS_FILE_ENABLED;
+    public final GroupProperty METRICS_FILE_INTERVAL_SECONDS;
+    public final GroupProperty METRICS_FILE_DIRECTORY;
+    public final GroupProperty METRICS_FILE_MAX_SIZE_MB;
+    public final GroupProperty METRICS_FILE_MAX_COUNT;
 
     public final GroupProperty IO_THREAD_COUNT;
 
@@ -431,6 +604,10 @@ public class GroupProperties {
     // number of kilobytes
     public final GroupProperty SOCKET_SEND_BUFFER_SIZE;
 
+    public final GroupProperty SOCKET_BUFFER_DIRECT;
+
+    public final GroupProperty SOCKET_GATHERING_WRITE_BUFFER_COUNT;
+
     public final GroupProperty SOCKET_LINGER_SECONDS;
 
     public final GroupProperty SOCKET_CONNECT_TIMEOUT_SECONDS;
@@ -499,18 +676,28 @@ public class GroupProperties {
 
     public final GroupProperty PARTITION_MIGRATION_ZIP_ENABLED;
 
+    public final GroupProperty PARTITION_MIGRATION_CHUNK_SIZE;
+
     public final GroupProperty PARTITION_TABLE_SEND_INTERVAL;
 
     public final GroupProperty PARTITION_BACKUP_SYNC_INTERVAL;
 
     public final GroupProperty PARTITION_MAX_PARALLEL_REPLICATIONS;
 
+    public final GroupProperty PARTITION_REPLICA_SYNC_DIGEST_RANGES;
+
     public final GroupProperty PARTITIONING_STRATEGY_CLASS;
 
     public final GroupProperty GRACEFUL_SHUTDOWN_MAX_WAIT;
 
     public final GroupProperty SYSTEM_LOG_ENABLED;
 
+    public final GroupProperty OPERATION_LATENCY_TRACKING_ENABLED;
+
+    public final GroupProperty OPERATION_TRACING_SAMPLE_INTERVAL;
+
+    public final GroupProperty OPERATION_TRACING_BUFFER_CAPACITY;
+
     public final GroupProperty SLOW_OPERATION_DETECTOR_ENABLED;
     public final GroupProperty SLOW_OPERATION_DETECTOR_THRESHOLD_MILLIS;
     public final GroupProperty SLOW_OPERATION_DETECTOR_LOG_RETENTION_SECONDS;
@@ -541,6 +728,14 @@ public class GroupProperties {
      */
     public final GroupProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY;
 
+    public final GroupProperty MAP_WRITE_BEHIND_WORKER_COUNT;
+
+    public final GroupProperty MAP_INVALIDATION_BATCH_ENABLED;
+
+    public final GroupProperty MAP_INVALIDATION_BATCH_SIZE;
+
+    public final GroupProperty MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS;
+
     public final GroupProperty ENTERPRISE_WAN_REP_QUEUE_CAPACITY;
     public final GroupProperty ENTERPRISE_WAN_REP_BATCH_SIZE;
     public final GroupProperty ENTERPRISE_WAN_REP_BATCH_FREQUENCY_SECONDS;
@@ -568,6 +763,27 @@ public class GroupProperties {
         PERFORMANCE_MONITORING_ENABLED
                 = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_ENABLED, "false");
         PERFORMANCE_MONITORING_DELAY_SECONDS = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_DELAY_SECONDS, "30");
+        PERFORMANCE_MONITORING_DIRECTORY = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_DIRECTORY, "");
+        PERFORMANCE_MONITORING_MAX_ROLLED_FILE_SIZE_MB
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_MAX_ROLLED_FILE_SIZE_MB, "10");
+        PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT, "10");
+        PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS, "5");
+        PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS, "5");
+        PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS, "5");
+        PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS, "5");
+        PERFORMANCE_MONITORING_GC_PERIOD_SECONDS
+                = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_GC_PERIOD_SECONDS, "5");
+
+        METRICS_FILE_ENABLED = new GroupProperty(config, PROP_METRICS_FILE_ENABLED, "false");
+        METRICS_FILE_INTERVAL_SECONDS = new GroupProperty(config, PROP_METRICS_FILE_INTERVAL_SECONDS, "1");
+        METRICS_FILE_DIRECTORY = new GroupProperty(config, PROP_METRICS_FILE_DIRECTORY, "");
+        METRICS_FILE_MAX_SIZE_MB = new GroupProperty(config, PROP_METRICS_FILE_MAX_SIZE_MB, "10");
+        METRICS_FILE_MAX_COUNT = new GroupProperty(config, PROP_METRICS_FILE_MAX_COUNT, "10");
 
         VERSION_CHECK_ENABLED = new GroupProperty(config, PROP_VERSION_CHECK_ENABLED, "true");
         PREFER_IPv4_STACK = new GroupProperty(config, PROP_PREFER_IPv4_STACK, "true");
@@ -577,6 +793,10 @@ public class GroupProperties {
         //-1 means that the value is worked out dynamically.
         PARTITION_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_PARTITION_OPERATION_THREAD_COUNT, "-1");
         GENERIC_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_GENERIC_OPERATION_THREAD_COUNT, "-1");
+        PARTITION_OPERATION_QUEUE_TYPE = new GroupProperty(config, PROP_PARTITION_OPERATION_QUEUE_TYPE, "default");
+        PARTITION_OPERATION_QUEUE_CAPACITY = new GroupProperty(config, PROP_PARTITION_OPERATION_QUEUE_CAPACITY, "65536");
+        PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS
+                = new GroupProperty(config, PROP_PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS, "-1");
         EVENT_THREAD_COUNT = new GroupProperty(config, PROP_EVENT_THREAD_COUNT, "5");
         EVENT_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_QUEUE_CAPACITY, "1000000");
         EVENT_QUEUE_TIMEOUT_MILLIS = new GroupProperty(config, PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "250");
@@ -597,6 +817,8 @@ public class GroupProperties {
         SOCKET_CLIENT_BIND = new GroupProperty(config, PROP_SOCKET_CLIENT_BIND, "true");
         SOCKET_RECEIVE_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_RECEIVE_BUFFER_SIZE, "32");
         SOCKET_SEND_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_SEND_BUFFER_SIZE, "32");
+        SOCKET_BUFFER_DIRECT = new GroupProperty(config, PROP_SOCKET_BUFFER_DIRECT, "false");
+        SOCKET_GATHERING_WRITE_BUFFER_COUNT = new GroupProperty(config, PROP_SOCKET_GATHERING_WRITE_BUFFER_COUNT, "1");
         SOCKET_LINGER_SECONDS = new GroupProperty(config, PROP_SOCKET_LINGER_SECONDS, "0");
         SOCKET_CONNECT_TIMEOUT_SECONDS = new GroupProperty(config, PROP_SOCKET_CONNECT_TIMEOUT_SECONDS, "0");
         SOCKET_KEEP_ALIVE = new GroupProperty(config, PROP_SOCKET_KEEP_ALIVE, "true");
@@ -634,13 +856,22 @@ public class GroupProperties {
         PARTITION_MIGRATION_INTERVAL = new GroupProperty(config, PROP_PARTITION_MIGRATION_INTERVAL, "0");
         PARTITION_MIGRATION_TIMEOUT = new GroupProperty(config, PROP_PARTITION_MIGRATION_TIMEOUT, "300");
         PARTITION_MIGRATION_ZIP_ENABLED = new GroupProperty(config, PROP_PARTITION_MIGRATION_ZIP_ENABLED, "true");
+        PARTITION_MIGRATION_CHUNK_SIZE = new GroupProperty(config, PROP_PARTITION_MIGRATION_CHUNK_SIZE, "1024");
         PARTITION_TABLE_SEND_INTERVAL = new GroupProperty(config, PROP_PARTITION_TABLE_SEND_INTERVAL, "15");
         PARTITION_BACKUP_SYNC_INTERVAL = new GroupProperty(config, PROP_PARTITION_BACKUP_SYNC_INTERVAL, "30");
         PARTITION_MAX_PARALLEL_REPLICATIONS = new GroupProperty(config, PROP_PARTITION_MAX_PARALLEL_REPLICATIONS, "5");
+        PARTITION_REPLICA_SYNC_DIGEST_RANGES = new GroupProperty(config, PROP_PARTITION_REPLICA_SYNC_DIGEST_RANGES, "256");
         PARTITIONING_STRATEGY_CLASS = new GroupProperty(config, PROP_PARTITIONING_STRATEGY_CLASS, "");
         GRACEFUL_SHUTDOWN_MAX_WAIT = new GroupProperty(config, PROP_GRACEFUL_SHUTDOWN_MAX_WAIT, "600");
         SYSTEM_LOG_ENABLED = new GroupProperty(config, PROP_SYSTEM_LOG_ENABLED, "true");
 
+        OPERATION_LATENCY_TRACKING_ENABLED
+                = new GroupProperty(config, PROP_OPERATION_LATENCY_TRACKING_ENABLED, "true");
+        OPERATION_TRACING_SAMPLE_INTERVAL
+                = new GroupProperty(config, PROP_OPERATION_TRACING_SAMPLE_INTERVAL, "0");
+        OPERATION_TRACING_BUFFER_CAPACITY
+                = new GroupProperty(config, PROP_OPERATION_TRACING_BUFFER_CAPACITY, "8192");
+
         SLOW_OPERATION_DETECTOR_ENABLED
                 = new GroupProperty(config, PROP_SLOW_OPERATION_DETECTOR_ENABLED, "true");
         SLOW_OPERATION_DETECTOR_THRESHOLD_MILLIS
@@ -660,6 +891,11 @@ public class GroupProperties {
         ENTERPRISE_LICENSE_KEY = new GroupProperty(config, PROP_ENTERPRISE_LICENSE_KEY);
         MAP_WRITE_BEHIND_QUEUE_CAPACITY
                 = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY, "50000");
+        MAP_WRITE_BEHIND_WORKER_COUNT = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_WORKER_COUNT, "1");
+        MAP_INVALIDATION_BATCH_ENABLED = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_ENABLED, "false");
+        MAP_INVALIDATION_BATCH_SIZE = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_SIZE, "100");
+        MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS
+                = new GroupProperty(config, PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS, "100");
 
         ENTERPRISE_WAN_REP_QUEUE_CAPACITY = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_QUEUE_CAPACITY, "100000");
         ENTERPRISE_WAN_REP_BATCH_SIZE = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_BATCH_SIZE, "50");
@@ -52,6 +52,7 @@ import com.hazelcast.core.MultiMap;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.internal.metrics.exporters.MetricsFileWriter;
 import com.hazelcast.internal.monitors.HealthMonitor;
 import com.hazelcast.internal.monitors.HealthMonitorLevel;
 import com.hazelcast.internal.monitors.PerformanceMonitor;
@@ -146,6 +147,7 @@ public class HazelcastInstanceImpl implements HazelcastInstance {
     private void initMonitors() {
         initHealthMonitor();
         initPerformanceMonitor();
+        initMetricsFileWriter();
     }
 
     private void initManagedContext(ManagedContext configuredManagedContext) {
@@ -173,8 +175,19 @@ public class HazelcastInstanceImpl implements HazelcastInstance {
         }
 
         logger.finest("Starting performance monitor");
-        int delaySeconds = node.getGroupProperties().PERFORMANCE_MONITORING_DELAY_SECONDS.getInteger();
-        new PerformanceMonitor(this, delaySeconds).start();
+        new PerformanceMonitor(this).start();
+    }
+
+    private void initMetricsFileWriter() {
+        GroupProperties properties = node.getGroupProperties();
+        // the performance log relies on the metrics file for the metrics
+        boolean enabled = properties.METRICS_FILE_ENABLED.getBoolean() || properties.PERFORMANCE_MONITORING_ENABLED.getBoolean();
+        if (!enabled) {
+            return;
+        }
+
+        logger.finest("Starting metrics file writer");
+        new MetricsFileWriter(this).start();
     }
 
     public ManagementService getManagementService() {
@@ -23,6 +23,8 @@ public abstract class HttpCommandProcessor<T> extends AbstractTextCommandProcess
     public static final String URI_MAPS = "/hazelcast/rest/maps/";
     public static final String URI_QUEUES = "/hazelcast/rest/queues/";
     public static final String URI_CLUSTER = "/hazelcast/rest/cluster";
+    public static final String URI_METRICS = "/hazelcast/rest/metrics";
+    public static final String URI_TRACES = "/hazelcast/rest/traces";
     public static final String URI_MANCENTER_CHANGE_URL = "/hazelcast/rest/mancenter/changeurl";
 
     protected HttpCommandProcessor(TextCommandService textCommandService) {
@@ -18,6 +18,9 @@ package com.hazelcast.internal.ascii.rest;
 
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.exporters.PrometheusRenderer;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.nio.ConnectionManager;
 
 import static com.hazelcast.util.StringUtil.stringToBytes;
@@ -26,6 +29,8 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
 
     public static final String QUEUE_SIZE_COMMAND = "size";
 
+    private static final byte[] PROMETHEUS_CONTENT_TYPE = stringToBytes(PrometheusRenderer.CONTENT_TYPE);
+
     public HttpGetCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
@@ -62,12 +67,28 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
             res.append("AllConnectionCount: ").append(connectionManager.getAllTextConnections());
             res.append("\n");
             command.setResponse(null, stringToBytes(res.toString()));
+        } else if (uri.startsWith(URI_METRICS)) {
+            handleMetrics(command);
+        } else if (uri.startsWith(URI_TRACES)) {
+            handleTraces(command);
         } else {
             command.send400();
         }
         textCommandService.sendResponse(command);
     }
 
+    private void handleMetrics(HttpGetCommand command) {
+        MetricsRegistry metricsRegistry = textCommandService.getNode().nodeEngine.getMetricsRegistry();
+        StringBuilder sb = new StringBuilder();
+        metricsRegistry.renderByFamily(new PrometheusRenderer(sb));
+        command.setResponse(PROMETHEUS_CONTENT_TYPE, stringToBytes(sb.toString()));
+    }
+
+    private void handleTraces(HttpGetCommand command) {
+        Tracer tracer = textCommandService.getNode().nodeEngine.getTracer();
+        command.setResponse(HttpCommand.CONTENT_TYPE_PLAIN_TEXT, stringToBytes(tracer.dump()));
+    }
+
     public void handleRejection(HttpGetCommand command) {
         handle(command);
     }
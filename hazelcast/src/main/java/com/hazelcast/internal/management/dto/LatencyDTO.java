@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import static com.hazelcast.util.JsonUtil.getLong;
+import static com.hazelcast.util.JsonUtil.getString;
+
+/**
+ * A Serializable DTO for the latency histogram of an operation or invocation. All latencies are in nanoseconds.
+ */
+public class LatencyDTO implements JsonSerializable {
+
+    public String type;
+    public String name;
+    public long count;
+    public long mean;
+    public long p50;
+    public long p99;
+    public long p999;
+    public long max;
+
+    public LatencyDTO() {
+    }
+
+    public LatencyDTO(String type, String name, long count, long mean, long p50, long p99, long p999, long max) {
+        this.type = type;
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("type", type);
+        root.add("name", name);
+        root.add("count", count);
+        root.add("mean", mean);
+        root.add("p50", p50);
+        root.add("p99", p99);
+        root.add("p999", p999);
+        root.add("max", max);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        type = getString(json, "type");
+        name = getString(json, "name");
+        count = getLong(json, "count");
+        mean = getLong(json, "mean");
+        p50 = getLong(json, "p50");
+        p99 = getLong(json, "p99");
+        p999 = getLong(json, "p999");
+        max = getLong(json, "max");
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyDTO{"
+                + "type='" + type + '\''
+                + ", name='" + name + '\''
+                + ", count=" + count
+                + ", mean=" + mean
+                + ", p50=" + p50
+                + ", p99=" + p99
+                + ", p999=" + p999
+                + ", max=" + max
+                + '}';
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram for latencies in nanoseconds.
+ * <p/>
+ * Values are recorded into logarithmic buckets with 8 linear sub-buckets per power of 2 (like the HdrHistogram), so the
+ * relative error of a reported value is at most 12.5% while the histogram needs only a few hundred counters. Values above
+ * 2^41 nanos (about 36 minutes) are recorded in the last bucket.
+ * <p/>
+ * A histogram that is only recorded to by a single thread should be created with {@code singleWriter} true; then recording
+ * is done with plain lazy sets instead of atomic increments. Any number of threads can read the histogram concurrently;
+ * the typical usage is to have a histogram per thread and to {@link #add(LatencyHistogram) merge} them on read.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT = 40;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final int TOTAL_INDEX = BUCKET_COUNT;
+    private static final int MAX_INDEX = BUCKET_COUNT + 1;
+    private static final double HUNDRED = 100d;
+
+    // the buckets, followed by the total of all recorded values and the maximum recorded value
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT + 2);
+    private final boolean singleWriter;
+
+    public LatencyHistogram(boolean singleWriter) {
+        this.singleWriter = singleWriter;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds. Negative values, e.g. caused by a clock going back, are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int index = bucketIndex(value);
+        if (singleWriter) {
+            counts.lazySet(index, counts.get(index) + 1);
+            counts.lazySet(TOTAL_INDEX, counts.get(TOTAL_INDEX) + value);
+            if (value > counts.get(MAX_INDEX)) {
+                counts.lazySet(MAX_INDEX, value);
+            }
+        } else {
+            counts.incrementAndGet(index);
+            counts.addAndGet(TOTAL_INDEX, value);
+            updateMax(value);
+        }
+    }
+
+    /**
+     * Adds all values recorded by the given histogram to this histogram.
+     *
+     * @param other the histogram to merge into this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        counts.addAndGet(TOTAL_INDEX, other.counts.get(TOTAL_INDEX));
+        updateMax(other.counts.get(MAX_INDEX));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMax() {
+        return counts.get(MAX_INDEX);
+    }
+
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : counts.get(TOTAL_INDEX) / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall, e.g. 99.9 for the p999.
+     * <p/>
+     * No litter is created. If values are recorded concurrently the result is approximate; a histogram that is only
+     * merged into, see {@link #add(LatencyHistogram)}, is a stable snapshot.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, HUNDRED) / HUNDRED));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Removes all recorded values, so the histogram can be reused as merge target. Must not be called while values are
+     * recorded or merged into this histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private void updateMax(long value) {
+        for (;;) {
+            long max = counts.get(MAX_INDEX);
+            if (value <= max || counts.compareAndSet(MAX_INDEX, max, value)) {
+                return;
+            }
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
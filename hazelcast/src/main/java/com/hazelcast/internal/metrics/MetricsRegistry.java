@@ -126,6 +126,42 @@ public interface MetricsRegistry {
      */
     Gauge getGauge(String name);
 
+    /**
+     * Renders the current value of all metrics, ordered by name.
+     *
+     * The rendering itself doesn't create any litter as long as no metrics are added or removed, so it can be done
+     * frequently, e.g. every second, to export the metrics.
+     *
+     * @param renderer the ProbeRenderer that receives the values
+     * @throws NullPointerException if renderer is null.
+     */
+    void render(ProbeRenderer renderer);
+
+    /**
+     * Renders the current value of the metrics whose name starts with the given prefix, ordered by name.
+     *
+     * Only the metrics with the prefix are visited, so this is cheap for a small subset of a large registry. Like
+     * {@link #render(ProbeRenderer)}, it doesn't create any litter as long as no metrics are added or removed.
+     *
+     * @param namePrefix the prefix of the names of the metrics to render.
+     * @param renderer   the ProbeRenderer that receives the values
+     * @throws NullPointerException if namePrefix or renderer is null.
+     */
+    void render(String namePrefix, ProbeRenderer renderer);
+
+    /**
+     * Renders the current value of all metrics, grouped by family and ordered by name within a family.
+     *
+     * The family of a metric is its name without the part between square brackets, with every character other than a
+     * letter, digit, '_' or ':' replaced by '_'. So e.g. operation.latency[a].run.p99 and operation.latency[b].run.p99
+     * are rendered one after the other, which is required by exporters like Prometheus. Like
+     * {@link #render(ProbeRenderer)}, it doesn't create any litter as long as no metrics are added or removed.
+     *
+     * @param renderer the ProbeRenderer that receives the values
+     * @throws NullPointerException if renderer is null.
+     */
+    void renderByFamily(ProbeRenderer renderer);
+
     /**
      * Gets a set of all current metric names.
      *
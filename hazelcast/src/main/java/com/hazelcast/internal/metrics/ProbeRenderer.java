@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics;
+
+/**
+ * Receives the current values of the metrics when {@link MetricsRegistry#render(ProbeRenderer)} is called.
+ *
+ * The names passed to a ProbeRenderer are the names of the metrics; no String or other litter is created by the
+ * {@link MetricsRegistry} while rendering, so a renderer that doesn't create litter itself can be used to sample the
+ * metrics at a high frequency.
+ */
+public interface ProbeRenderer {
+
+    /**
+     * Renders a metric with a long value.
+     *
+     * @param name  the name of the metric
+     * @param value the current value
+     */
+    void renderLong(String name, long value);
+
+    /**
+     * Renders a metric with a double value.
+     *
+     * @param name  the name of the metric
+     * @param value the current value
+     */
+    void renderDouble(String name, double value);
+
+    /**
+     * Renders a metric for which no value is available, e.g. because it has no input or reading the input failed.
+     *
+     * @param name the name of the metric
+     */
+    void renderNoValue(String name);
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics.exporters;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeRenderer;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.RollingFileOutputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Periodically writes the values of all metrics in the {@link MetricsRegistry} to a rolling, gzip compressed file.
+ * <p/>
+ * Every sample starts with a {@code time=<epoch millis>} line, followed by a {@code name=value} line per metric and
+ * an empty line. Every sample is written as a complete gzip member, so a file can be read with any gzip tool (and
+ * {@link java.util.zip.GZIPInputStream}) at any time, also when the member crashed while writing to it.
+ * <p/>
+ * The files are rolled by a {@link RollingFileOutputStream}, which starts a new file between two samples when the
+ * current file exceeds the maximum size, and keeps at most the maximum number of files.
+ * <p/>
+ * The text and compression buffers, the {@link Deflater} and the {@link CRC32} are reused between samples.
+ */
+public class MetricsFileWriter extends Thread {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_HEADER_LENGTH = 10;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int GZIP_OS_UNKNOWN = 0xff;
+    private static final int BYTE_MASK = 0xff;
+    private static final int BITS_PER_BYTE = 8;
+    private static final int INT_BYTES = 4;
+    private static final int MAX_ASCII = 0x7f;
+    private static final long MB = 1024 * 1024;
+
+    private final ILogger logger;
+    private final Node node;
+    private final MetricsRegistry metricsRegistry;
+    private final long intervalMillis;
+    private final File directory;
+    private final RollingFileOutputStream out;
+
+    private final StringBuilder sb = new StringBuilder(BUFFER_SIZE);
+    private final ProbeRenderer renderer = new FileRenderer();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] deflateBuffer = new byte[BUFFER_SIZE];
+    private final byte[] headerBuffer = new byte[GZIP_HEADER_LENGTH];
+    private final byte[] trailerBuffer = new byte[GZIP_TRAILER_LENGTH];
+    private byte[] sampleBuffer = new byte[BUFFER_SIZE];
+
+    public MetricsFileWriter(HazelcastInstanceImpl hazelcastInstance) {
+        super(hazelcastInstance.node.getHazelcastThreadGroup().getInternalThreadGroup(),
+                hazelcastInstance.node.getHazelcastThreadGroup().getThreadNamePrefix("MetricsFileWriter"));
+        setDaemon(true);
+
+        this.node = hazelcastInstance.node;
+        this.logger = node.getLogger(MetricsFileWriter.class);
+        this.metricsRegistry = node.nodeEngine.getMetricsRegistry();
+
+        GroupProperties properties = node.getGroupProperties();
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(properties.METRICS_FILE_INTERVAL_SECONDS.getInteger());
+        this.directory = new File(getDirectory(properties)).getAbsoluteFile();
+        int maxFileCount = checkPositive(properties.METRICS_FILE_MAX_COUNT.getInteger(),
+                GroupProperties.PROP_METRICS_FILE_MAX_COUNT + " must be at least 1");
+
+        Address address = node.getThisAddress();
+        String baseName = "metrics-" + address.getHost() + "_" + address.getPort() + "-" + Clock.currentTimeMillis();
+        this.out = new RollingFileOutputStream(logger, directory, baseName, ".log.gz",
+                properties.METRICS_FILE_MAX_SIZE_MB.getInteger() * MB, maxFileCount);
+
+        initGzipHeader();
+    }
+
+    private static String getDirectory(GroupProperties properties) {
+        String directory = properties.METRICS_FILE_DIRECTORY.getString();
+        if (directory.isEmpty() && properties.PERFORMANCE_MONITORING_ENABLED.getBoolean()) {
+            // keep the metrics next to the performance log they belong to
+            return properties.PERFORMANCE_MONITORING_DIRECTORY.getString();
+        }
+        return directory;
+    }
+
+    private void initGzipHeader() {
+        headerBuffer[0] = (byte) GZIP_MAGIC_1;
+        headerBuffer[1] = (byte) GZIP_MAGIC_2;
+        headerBuffer[2] = Deflater.DEFLATED;
+        headerBuffer[GZIP_HEADER_LENGTH - 1] = (byte) GZIP_OS_UNKNOWN;
+    }
+
+    @Override
+    public void run() {
+        logger.info("Writing metrics every " + intervalMillis + " ms to " + directory);
+        try {
+            while (node.isActive()) {
+                sample();
+                Thread.sleep(intervalMillis);
+            }
+        } catch (InterruptedException e) {
+            logger.finest("MetricsFileWriter is interrupted");
+        } finally {
+            out.close();
+            deflater.end();
+        }
+    }
+
+    private void sample() {
+        sb.setLength(0);
+        sb.append("time=").append(Clock.currentTimeMillis()).append('\n');
+        metricsRegistry.render(renderer);
+        sb.append('\n');
+
+        try {
+            out.rollIfNeeded();
+            writeGzipMember(toBytes());
+        } catch (IOException e) {
+            logger.warning("Failed to write metrics to " + directory, e);
+            // a new file is opened for the next sample
+            out.close();
+        }
+    }
+
+    private int toBytes() {
+        int length = sb.length();
+        if (sampleBuffer.length < length) {
+            sampleBuffer = new byte[length * 2];
+        }
+        for (int i = 0; i < length; i++) {
+            char c = sb.charAt(i);
+            sampleBuffer[i] = c > MAX_ASCII ? (byte) '?' : (byte) c;
+        }
+        return length;
+    }
+
+    private void writeGzipMember(int length) throws IOException {
+        crc.reset();
+        crc.update(sampleBuffer, 0, length);
+        deflater.reset();
+        deflater.setInput(sampleBuffer, 0, length);
+        deflater.finish();
+
+        out.write(headerBuffer);
+        while (!deflater.finished()) {
+            int count = deflater.deflate(deflateBuffer);
+            out.write(deflateBuffer, 0, count);
+        }
+
+        writeIntLE(trailerBuffer, 0, (int) crc.getValue());
+        writeIntLE(trailerBuffer, INT_BYTES, length);
+        out.write(trailerBuffer);
+    }
+
+    private static void writeIntLE(byte[] buffer, int offset, int value) {
+        for (int i = 0; i < INT_BYTES; i++) {
+            buffer[offset + i] = (byte) ((value >>> (i * BITS_PER_BYTE)) & BYTE_MASK);
+        }
+    }
+
+    /**
+     * Renders the metrics as {@code name=value} lines.
+     */
+    private final class FileRenderer implements ProbeRenderer {
+
+        @Override
+        public void renderLong(String name, long value) {
+            sb.append(name).append('=').append(value).append('\n');
+        }
+
+        @Override
+        public void renderDouble(String name, double value) {
+            sb.append(name).append('=').append(value).append('\n');
+        }
+
+        @Override
+        public void renderNoValue(String name) {
+            sb.append(name).append("=NA\n");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics.exporters;
+
+import com.hazelcast.internal.metrics.ProbeRenderer;
+
+/**
+ * A {@link ProbeRenderer} that renders the metrics in the Prometheus text exposition format.
+ * <p/>
+ * The metric names are converted to valid Prometheus names: they get a {@code hazelcast_} prefix and all characters that
+ * are not allowed are replaced by an underscore. The part of a name between square brackets is rendered as the
+ * {@code name} label, e.g. {@code operation.latency[com.foo.SomeOperation].run.p99} is rendered as
+ * {@code hazelcast_operation_latency_run_p99{name="com.foo.SomeOperation"}}.
+ * <p/>
+ * All metrics with the same converted name form a family and are preceded by a single {@code # TYPE} line. So the
+ * metrics must be rendered grouped by family, see {@link com.hazelcast.internal.metrics.MetricsRegistry#renderByFamily}.
+ * <p/>
+ * Metrics without a value are not rendered.
+ */
+public class PrometheusRenderer implements ProbeRenderer {
+
+    /**
+     * The content type of the Prometheus text format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    private static final String PREFIX = "hazelcast_";
+    private static final int MAX_ASCII = 0x7f;
+
+    private final StringBuilder sb;
+    // the family names of the current and the previously rendered metric, reused to prevent litter
+    private final StringBuilder family = new StringBuilder();
+    private final StringBuilder lastFamily = new StringBuilder();
+
+    public PrometheusRenderer(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    @Override
+    public void renderLong(String name, long value) {
+        renderName(name);
+        sb.append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void renderDouble(String name, double value) {
+        renderName(name);
+        sb.append(' ');
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            sb.append(value > 0 ? "+Inf" : "-Inf");
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    @Override
+    public void renderNoValue(String name) {
+        // there is no way to express a missing value in the Prometheus format, so the metric is skipped
+    }
+
+    private void renderName(String name) {
+        int labelStart = name.indexOf('[');
+        int labelEnd = labelStart == -1 ? -1 : name.indexOf(']', labelStart);
+
+        family.setLength(0);
+        family.append(PREFIX);
+        if (labelEnd == -1) {
+            appendSanitized(name, 0, name.length());
+        } else {
+            appendSanitized(name, 0, labelStart);
+            appendSanitized(name, labelEnd + 1, name.length());
+        }
+        renderTypeIfNewFamily();
+        sb.append(family);
+        if (labelEnd == -1) {
+            return;
+        }
+
+        sb.append("{name=\"");
+        for (int i = labelStart + 1; i < labelEnd; i++) {
+            char c = name.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append("\"}");
+    }
+
+    private void renderTypeIfNewFamily() {
+        if (contentEquals(family, lastFamily)) {
+            return;
+        }
+        sb.append("# TYPE ").append(family).append(" gauge\n");
+        lastFamily.setLength(0);
+        lastFamily.append(family);
+    }
+
+    private static boolean contentEquals(StringBuilder sb1, StringBuilder sb2) {
+        if (sb1.length() != sb2.length()) {
+            return false;
+        }
+        for (int i = 0; i < sb1.length(); i++) {
+            if (sb1.charAt(i) != sb2.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendSanitized(String name, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = name.charAt(i);
+            family.append(isValidNameChar(c) ? c : '_');
+        }
+    }
+
+    private static boolean isValidNameChar(char c) {
+        if (c > MAX_ASCII) {
+            return false;
+        }
+        return Character.isLetterOrDigit(c) || c == '_' || c == ':';
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.DoubleProbe;
 import com.hazelcast.internal.metrics.Gauge;
 import com.hazelcast.internal.metrics.LongProbe;
 import com.hazelcast.internal.metrics.Metric;
+import com.hazelcast.internal.metrics.ProbeRenderer;
 import com.hazelcast.logging.ILogger;
 
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -75,6 +76,34 @@ public class GaugeImpl<S> implements Gauge {
         }
     }
 
+    /**
+     * Renders the current value of this gauge without creating litter.
+     *
+     * @param renderer the ProbeRenderer to render to.
+     */
+    public void render(ProbeRenderer renderer) {
+        Object input = this.input;
+        S source = this.source;
+
+        if (input == null || source == null) {
+            renderer.renderNoValue(name);
+            return;
+        }
+
+        try {
+            if (input instanceof LongProbe) {
+                LongProbe<S> function = (LongProbe) input;
+                renderer.renderLong(name, function.get(source));
+            } else {
+                DoubleProbe<S> function = (DoubleProbe) input;
+                renderer.renderDouble(name, function.get(source));
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to update metric:" + name, e);
+            renderer.renderNoValue(name);
+        }
+    }
+
     @Override
     public long readLong() {
         Object input = this.input;
@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.DoubleProbe;
 import com.hazelcast.internal.metrics.Gauge;
 import com.hazelcast.internal.metrics.LongProbe;
 import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeRenderer;
 import com.hazelcast.internal.metrics.metricsets.ClassLoadingMetricSet;
 import com.hazelcast.internal.metrics.metricsets.GarbageCollectionMetricSet;
 import com.hazelcast.internal.metrics.metricsets.OperatingSystemMetricsSet;
@@ -27,6 +28,9 @@ import com.hazelcast.internal.metrics.metricsets.RuntimeMetricSet;
 import com.hazelcast.internal.metrics.metricsets.ThreadMetricSet;
 import com.hazelcast.logging.ILogger;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,12 +48,23 @@ import static java.lang.String.format;
  */
 public class MetricsRegistryImpl implements MetricsRegistry {
 
+    private static final int MAX_ASCII = 0x7f;
+
+    private static final Comparator<GaugeImpl> GAUGE_NAME_COMPARATOR = new Comparator<GaugeImpl>() {
+        @Override
+        public int compare(GaugeImpl o1, GaugeImpl o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
     private final ILogger logger;
     private final ScheduledExecutorService scheduledExecutorService = new ScheduledThreadPoolExecutor(2);
     private final AtomicInteger modCount = new AtomicInteger();
     private final ConcurrentMap<String, GaugeImpl> metrics = new ConcurrentHashMap<String, GaugeImpl>();
     private final ConcurrentMap<Class<?>, SourceMetadata> metadataMap
             = new ConcurrentHashMap<Class<?>, SourceMetadata>();
+    // the gauges sorted by name and by family; only recreated when the modCount has changed
+    private volatile SortedGauges sortedGauges = new SortedGauges(-1, new GaugeImpl[0], new GaugeImpl[0]);
 
     /**
      * Creates a MetricsRegistryImpl instance.
@@ -193,6 +208,99 @@ public class MetricsRegistryImpl implements MetricsRegistry {
         }
     }
 
+    @Override
+    public void render(ProbeRenderer renderer) {
+        checkNotNull(renderer, "renderer can't be null");
+
+        for (GaugeImpl gauge : getSortedGauges().gauges) {
+            gauge.render(renderer);
+        }
+    }
+
+    @Override
+    public void render(String namePrefix, ProbeRenderer renderer) {
+        checkNotNull(namePrefix, "namePrefix can't be null");
+        checkNotNull(renderer, "renderer can't be null");
+
+        GaugeImpl[] gauges = getSortedGauges().gauges;
+        for (int i = indexOfFirstName(gauges, namePrefix); i < gauges.length; i++) {
+            GaugeImpl gauge = gauges[i];
+            if (!gauge.getName().startsWith(namePrefix)) {
+                break;
+            }
+            gauge.render(renderer);
+        }
+    }
+
+    @Override
+    public void renderByFamily(ProbeRenderer renderer) {
+        checkNotNull(renderer, "renderer can't be null");
+
+        for (GaugeImpl gauge : getSortedGauges().gaugesByFamily) {
+            gauge.render(renderer);
+        }
+    }
+
+    // returns the index of the first gauge with a name equal to or greater than the given name
+    private static int indexOfFirstName(GaugeImpl[] gauges, String name) {
+        int low = 0;
+        int high = gauges.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (gauges[mid].getName().compareTo(name) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private SortedGauges getSortedGauges() {
+        SortedGauges sortedGauges = this.sortedGauges;
+        int modCount = this.modCount.get();
+        if (sortedGauges.modCount == modCount) {
+            return sortedGauges;
+        }
+
+        GaugeImpl[] gauges = metrics.values().toArray(new GaugeImpl[0]);
+        Arrays.sort(gauges, GAUGE_NAME_COMPARATOR);
+        sortedGauges = new SortedGauges(modCount, gauges, sortByFamily(gauges));
+        this.sortedGauges = sortedGauges;
+        return sortedGauges;
+    }
+
+    // the sort is stable, so the gauges of a family stay ordered by name
+    private static GaugeImpl[] sortByFamily(GaugeImpl[] gaugesByName) {
+        final Map<GaugeImpl, String> families = new HashMap<GaugeImpl, String>();
+        for (GaugeImpl gauge : gaugesByName) {
+            families.put(gauge, familyOf(gauge.getName()));
+        }
+        GaugeImpl[] gauges = gaugesByName.clone();
+        Arrays.sort(gauges, new Comparator<GaugeImpl>() {
+            @Override
+            public int compare(GaugeImpl o1, GaugeImpl o2) {
+                return families.get(o1).compareTo(families.get(o2));
+            }
+        });
+        return gauges;
+    }
+
+    private static String familyOf(String name) {
+        int labelStart = name.indexOf('[');
+        int labelEnd = labelStart == -1 ? -1 : name.indexOf(']', labelStart);
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            if (labelEnd != -1 && i >= labelStart && i <= labelEnd) {
+                continue;
+            }
+            char c = name.charAt(i);
+            boolean valid = c <= MAX_ASCII && (Character.isLetterOrDigit(c) || c == '_' || c == ':');
+            sb.append(valid ? c : '_');
+        }
+        return sb.toString();
+    }
+
     @Override
     public void scheduleAtFixedRate(final Runnable publisher, long period, TimeUnit timeUnit) {
         scheduledExecutorService.scheduleAtFixedRate(publisher, 0, period, timeUnit);
@@ -201,4 +309,16 @@ public class MetricsRegistryImpl implements MetricsRegistry {
     public void shutdown() {
         scheduledExecutorService.shutdown();
     }
+
+    private static final class SortedGauges {
+        private final int modCount;
+        private final GaugeImpl[] gauges;
+        private final GaugeImpl[] gaugesByFamily;
+
+        private SortedGauges(int modCount, GaugeImpl[] gauges, GaugeImpl[] gaugesByFamily) {
+            this.modCount = modCount;
+            this.gauges = gauges;
+            this.gaugesByFamily = gaugesByFamily;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PerformanceMonitorPlugin} that writes the depth of the event queue of the {@link EventService}. A growing
+ * event queue is an indication that the event listeners can't keep up with the produced events.
+ */
+public class EventQueuePlugin extends PerformanceMonitorPlugin {
+
+    private final EventService eventService;
+    private final long periodMillis;
+
+    public EventQueuePlugin(NodeEngineImpl nodeEngine) {
+        this.eventService = nodeEngine.getEventService();
+        int periodSeconds = nodeEngine.getGroupProperties().PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS.getInteger();
+        this.periodMillis = TimeUnit.SECONDS.toMillis(periodSeconds);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void run(PerformanceLogWriter writer) {
+        writer.startSection("EventQueue");
+        writer.writeKeyValueEntry("size", eventService.getEventQueueSize());
+        writer.writeKeyValueEntry("capacity", eventService.getEventQueueCapacity());
+        writer.writeKeyValueEntry("threadCount", eventService.getEventThreadCount());
+        writer.endSection();
+    }
+}
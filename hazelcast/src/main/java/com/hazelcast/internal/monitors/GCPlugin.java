@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PerformanceMonitorPlugin} that writes the garbage collections per collector since the previous run: the
+ * number of collections, the total time spent in them and the average pause time.
+ * <p/>
+ * Long or frequent GC pauses are a common cause of throughput drops and latency spikes.
+ */
+public class GCPlugin extends PerformanceMonitorPlugin {
+
+    private final long periodMillis;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] previousCounts = new long[collectors.size()];
+    private final long[] previousTimes = new long[collectors.size()];
+
+    public GCPlugin(NodeEngineImpl nodeEngine) {
+        int periodSeconds = nodeEngine.getGroupProperties().PERFORMANCE_MONITORING_GC_PERIOD_SECONDS.getInteger();
+        this.periodMillis = TimeUnit.SECONDS.toMillis(periodSeconds);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            previousCounts[i] = Math.max(0, collector.getCollectionCount());
+            previousTimes[i] = Math.max(0, collector.getCollectionTime());
+        }
+    }
+
+    @Override
+    public void run(PerformanceLogWriter writer) {
+        writer.startSection("GC");
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            // -1 is returned if the value is undefined for a collector
+            long count = Math.max(0, collector.getCollectionCount());
+            long time = Math.max(0, collector.getCollectionTime());
+            long deltaCount = count - previousCounts[i];
+            long deltaTime = time - previousTimes[i];
+            previousCounts[i] = count;
+            previousTimes[i] = time;
+
+            writer.startSection(collector.getName());
+            writer.writeKeyValueEntry("count", deltaCount);
+            writer.writeKeyValueEntry("timeMillis", deltaTime);
+            writer.writeKeyValueEntry("avgPauseMillis", deltaCount == 0 ? 0 : deltaTime / deltaCount);
+            writer.endSection();
+        }
+        writer.endSection();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeRenderer;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PerformanceMonitorPlugin} that writes the number of pending operations and priority operations per
+ * partition operation thread.
+ * <p/>
+ * The queue sizes are read from the {@code operation.thread[<thread name>]} metrics, which are registered by the
+ * {@link com.hazelcast.spi.impl.operationexecutor.classic.ClassicOperationExecutor} for every partition thread. Only
+ * these metrics are rendered, not the whole {@link MetricsRegistry}.
+ */
+public class PendingOperationsPlugin extends PerformanceMonitorPlugin {
+
+    private static final String PREFIX = "operation.thread[";
+    private static final String QUEUE_SIZE = "].queueSize";
+    private static final String PRIORITY_QUEUE_SIZE = "].priorityQueueSize";
+
+    private final MetricsRegistry metricsRegistry;
+    private final long periodMillis;
+    private final ProbeRendererImpl renderer = new ProbeRendererImpl();
+
+    public PendingOperationsPlugin(NodeEngineImpl nodeEngine) {
+        this.metricsRegistry = nodeEngine.getMetricsRegistry();
+        int periodSeconds = nodeEngine.getGroupProperties().PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS
+                .getInteger();
+        this.periodMillis = TimeUnit.SECONDS.toMillis(periodSeconds);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void run(PerformanceLogWriter writer) {
+        writer.startSection("PendingOperations");
+        renderer.writer = writer;
+        metricsRegistry.render(PREFIX, renderer);
+        renderer.writer = null;
+        writer.endSection();
+    }
+
+    private static final class ProbeRendererImpl implements ProbeRenderer {
+        private PerformanceLogWriter writer;
+        private long prioritySize;
+
+        @Override
+        public void renderLong(String name, long value) {
+            // the metrics are rendered in name order, so the priorityQueueSize of a thread comes before its queueSize
+            if (name.endsWith(PRIORITY_QUEUE_SIZE)) {
+                prioritySize = value;
+            } else if (name.endsWith(QUEUE_SIZE)) {
+                String threadName = name.substring(PREFIX.length(), name.length() - QUEUE_SIZE.length());
+                writer.startSection(threadName);
+                writer.writeKeyValueEntry("queueSize", value);
+                writer.writeKeyValueEntry("priorityQueueSize", prioritySize);
+                writer.endSection();
+                prioritySize = 0;
+            }
+        }
+
+        @Override
+        public void renderDouble(String name, double value) {
+        }
+
+        @Override
+        public void renderNoValue(String name) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.util.RollingFileOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * A rolling text file the {@link PerformanceMonitor} writes to.
+ * <p/>
+ * The rolling is done by a {@link RollingFileOutputStream}: when the file exceeds the maximum size, a new file is started
+ * and there are never more than the maximum number of files.
+ */
+final class PerformanceLogFile {
+
+    private static final String CHARSET = "UTF-8";
+
+    private final ILogger logger;
+    private final File directory;
+    private final RollingFileOutputStream out;
+
+    private Writer writer;
+
+    PerformanceLogFile(ILogger logger, File directory, String baseName, long maxFileSize, int maxFileCount) {
+        this.logger = logger;
+        this.directory = directory;
+        this.out = new RollingFileOutputStream(logger, directory, baseName, ".log", maxFileSize, maxFileCount);
+    }
+
+    /**
+     * Writes the content to the file and flushes it.
+     *
+     * @param content the content to write.
+     */
+    void write(CharSequence content) {
+        try {
+            out.rollIfNeeded();
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(out, CHARSET));
+            }
+            int length = content.length();
+            for (int i = 0; i < length; i++) {
+                writer.write(content.charAt(i));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            logger.warning("Failed to write to performance log in " + directory, e);
+            // a new file is opened for the next write
+            close();
+        }
+    }
+
+    void close() {
+        closeResource(writer);
+        writer = null;
+        out.close();
+    }
+}
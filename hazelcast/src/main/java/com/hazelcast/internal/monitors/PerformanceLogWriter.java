@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+/**
+ * Writes the content of a {@link PerformanceMonitorPlugin} in a machine-parsable format.
+ * <p/>
+ * The content consists of sections and entries. A section is rendered as {@code name[...]} and entries are separated by
+ * a comma, e.g. {@code GC[ParNew[count=10,timeMillis=30],CMS[count=0,timeMillis=0]]}. Special characters in names and
+ * values ({@code \ , [ ]}) are escaped with a backslash, so the output can be parsed unambiguously.
+ */
+public class PerformanceLogWriter {
+
+    private final StringBuilder sb;
+    private boolean firstEntry = true;
+
+    public PerformanceLogWriter(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    /**
+     * Starts a new section. Every section needs to be closed using {@link #endSection()}.
+     *
+     * @param name the name of the section.
+     */
+    public void startSection(String name) {
+        appendSeparator();
+        appendEscaped(name);
+        sb.append('[');
+        firstEntry = true;
+    }
+
+    public void endSection() {
+        sb.append(']');
+        firstEntry = false;
+    }
+
+    public void writeEntry(String value) {
+        appendSeparator();
+        appendEscaped(value);
+    }
+
+    public void writeKeyValueEntry(String key, String value) {
+        appendKey(key);
+        appendEscaped(value);
+    }
+
+    public void writeKeyValueEntry(String key, long value) {
+        appendKey(key);
+        sb.append(value);
+    }
+
+    public void writeKeyValueEntry(String key, double value) {
+        appendKey(key);
+        sb.append(value);
+    }
+
+    public void writeKeyValueEntry(String key, boolean value) {
+        appendKey(key);
+        sb.append(value);
+    }
+
+    private void appendKey(String key) {
+        appendSeparator();
+        appendEscaped(key);
+        sb.append('=');
+    }
+
+    private void appendSeparator() {
+        if (firstEntry) {
+            firstEntry = false;
+        } else {
+            sb.append(',');
+        }
+    }
+
+    private void appendEscaped(String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' || c == ',' || c == '[' || c == ']') {
+                sb.append('\\');
+            } else if (c == '\n') {
+                sb.append("\\n");
+                continue;
+            }
+            sb.append(c);
+        }
+    }
+
+    void reset() {
+        firstEntry = true;
+    }
+}
@@ -14,64 +14,145 @@
  * limitations under the License.
  */
 
+
 package com.hazelcast.internal.monitors;
 
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.nio.ConnectionManager;
-import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.impl.InvocationPlugin;
+import com.hazelcast.util.Clock;
 
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.util.Preconditions.checkPositive;
+
 /**
- * The PerformanceMonitor is responsible for logging all kinds of performance related information. Currently it only
- * shows the read/write events per selector and the operations executed per operation-thread, but new kinds of behavior
- * will be added.
+ * The PerformanceMonitor is a diagnostics engine that periodically runs {@link PerformanceMonitorPlugin} instances
+ * and writes their output to a dedicated rolling performance log file, so no verbose logging needs to be enabled to
+ * figure out why e.g. the throughput drops.
+ * <p/>
+ * Every plugin has its own period. Each time a plugin runs, a single line is written in the format
+ * {@code <epoch millis> <plugin content>}, where the content is written by the {@link PerformanceLogWriter}.
  * <p/>
- * This tool is currently used internally. External users should be experts. In the future it will become more useful
- * for regular developers. It is also likely that most of the metrics we collect will be exposed through JMX at some
- * point in time.
+ * The following plugins are registered by default:
+ * <ol>
+ * <li>{@link InvocationPlugin}: the pending invocations and samples of slow invocations</li>
+ * <li>{@link PendingOperationsPlugin}: the pending operations per partition thread</li>
+ * <li>{@link EventQueuePlugin}: the event queue of the event service</li>
+ * <li>{@link GCPlugin}: the garbage collections and their pause times</li>
+ * </ol>
+ * The metrics of the {@link com.hazelcast.internal.metrics.MetricsRegistry} are not part of the performance log; they
+ * are written by the {@link com.hazelcast.internal.metrics.exporters.MetricsFileWriter}.
+ * <p/>
+ * This tool is currently used internally. External users should be experts.
  */
 public class PerformanceMonitor extends Thread {
 
+    // the maximum time to sleep, so that a shutdown of the node is noticed quickly
+    private static final long MAX_SLEEP_MILLIS = 1000;
+    private static final long MB = 1024 * 1024;
+
     private final ILogger logger;
     private final Node node;
-    private final int delaySeconds;
-    private final InternalOperationService operationService;
-    private final ConnectionManager connectionManager;
+    private final PerformanceLogFile logFile;
+    private final StringBuilder sb = new StringBuilder();
+    private final PerformanceLogWriter writer = new PerformanceLogWriter(sb);
+    private final List<ScheduledPlugin> plugins = new CopyOnWriteArrayList<ScheduledPlugin>();
 
-    public PerformanceMonitor(HazelcastInstanceImpl hazelcastInstance, int delaySeconds) {
+    public PerformanceMonitor(HazelcastInstanceImpl hazelcastInstance) {
         super(hazelcastInstance.node.getHazelcastThreadGroup().getInternalThreadGroup(),
                 hazelcastInstance.node.getHazelcastThreadGroup().getThreadNamePrefix("PerformanceMonitor"));
         setDaemon(true);
 
-        this.delaySeconds = delaySeconds;
         this.node = hazelcastInstance.node;
-        this.logger = node.getLogger(PerformanceMonitor.class.getName());
-        this.operationService = node.nodeEngine.getOperationService();
-        this.connectionManager = node.connectionManager;
+        this.logger = node.getLogger(PerformanceMonitor.class);
+
+        GroupProperties properties = node.getGroupProperties();
+        File directory = new File(properties.PERFORMANCE_MONITORING_DIRECTORY.getString()).getAbsoluteFile();
+        Address address = node.getThisAddress();
+        String baseName = "performance-" + address.getHost() + "_" + address.getPort() + "-" + Clock.currentTimeMillis();
+        this.logFile = new PerformanceLogFile(logger, directory, baseName,
+                properties.PERFORMANCE_MONITORING_MAX_ROLLED_FILE_SIZE_MB.getInteger() * MB,
+                checkPositive(properties.PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT.getInteger(),
+                        GroupProperties.PROP_PERFORMANCE_MONITORING_MAX_ROLLED_FILE_COUNT + " must be at least 1"));
+
+        registerDefaultPlugins(node.nodeEngine);
+    }
+
+    private void registerDefaultPlugins(NodeEngineImpl nodeEngine) {
+        register(new InvocationPlugin(nodeEngine));
+        register(new PendingOperationsPlugin(nodeEngine));
+        register(new EventQueuePlugin(nodeEngine));
+        register(new GCPlugin(nodeEngine));
+    }
+
+    /**
+     * Registers a plugin. If the plugin is disabled, the call is ignored.
+     *
+     * @param plugin the plugin to register.
+     */
+    public void register(PerformanceMonitorPlugin plugin) {
+        long periodMillis = plugin.getPeriodMillis();
+        if (periodMillis <= 0) {
+            logger.finest("Performance monitor plugin " + plugin.getClass().getSimpleName() + " is disabled");
+            return;
+        }
+
+        plugin.onStart();
+        plugins.add(new ScheduledPlugin(plugin, periodMillis));
     }
 
     @Override
     public void run() {
-        StringBuffer sb = new StringBuffer();
-
-        while (node.isActive()) {
-            sb.append("\n");
-            sb.append("ConnectionManager metrics\n");
-            connectionManager.dumpPerformanceMetrics(sb);
-            sb.append("OperationService metrics\n");
-            operationService.dumpPerformanceMetrics(sb);
-
-            logger.info(sb.toString());
-
-            sb.setLength(0);
-            try {
-                Thread.sleep(TimeUnit.SECONDS.toMillis(delaySeconds));
-            } catch (InterruptedException e) {
-                return;
+        try {
+            while (node.isActive()) {
+                long now = Clock.currentTimeMillis();
+                long nextRunMillis = now + MAX_SLEEP_MILLIS;
+                for (ScheduledPlugin scheduledPlugin : plugins) {
+                    if (scheduledPlugin.nextRunMillis <= now) {
+                        runPlugin(scheduledPlugin.plugin, now);
+                        scheduledPlugin.nextRunMillis = now + scheduledPlugin.periodMillis;
+                    }
+                    nextRunMillis = Math.min(nextRunMillis, scheduledPlugin.nextRunMillis);
+                }
+                TimeUnit.MILLISECONDS.sleep(Math.max(1, nextRunMillis - Clock.currentTimeMillis()));
             }
+        } catch (InterruptedException e) {
+            logger.finest("PerformanceMonitor is interrupted");
+        } finally {
+            logFile.close();
+        }
+    }
+
+    private void runPlugin(PerformanceMonitorPlugin plugin, long timeMillis) {
+        sb.setLength(0);
+        writer.reset();
+        sb.append(timeMillis).append(' ');
+        try {
+            plugin.run(writer);
+        } catch (Throwable t) {
+            logger.warning("Failed to run performance monitor plugin " + plugin.getClass().getSimpleName(), t);
+            return;
+        }
+        sb.append('\n');
+        logFile.write(sb);
+    }
+
+    private static final class ScheduledPlugin {
+        private final PerformanceMonitorPlugin plugin;
+        private final long periodMillis;
+        private long nextRunMillis;
+
+        private ScheduledPlugin(PerformanceMonitorPlugin plugin, long periodMillis) {
+            this.plugin = plugin;
+            this.periodMillis = periodMillis;
         }
     }
 }
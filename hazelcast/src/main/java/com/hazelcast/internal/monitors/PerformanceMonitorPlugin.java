@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.monitors;
+
+/**
+ * A plugin of the {@link PerformanceMonitor}. Every plugin is sampled at its own period and writes its content to the
+ * performance log using a {@link PerformanceLogWriter}.
+ * <p/>
+ * All plugins of a PerformanceMonitor are run by the same thread, so a plugin doesn't need to be thread-safe. A plugin
+ * should be cheap to run since it is run periodically on a live system.
+ */
+public abstract class PerformanceMonitorPlugin {
+
+    /**
+     * Returns the period in milliseconds between two runs of this plugin. If the period is 0 or smaller, the plugin is
+     * disabled.
+     *
+     * @return the period in milliseconds.
+     */
+    public abstract long getPeriodMillis();
+
+    /**
+     * Called once when the plugin is registered and enabled.
+     */
+    public void onStart() {
+    }
+
+    /**
+     * Writes the current content of this plugin. The content should be wrapped in a section with the name of the
+     * plugin.
+     *
+     * @param writer the PerformanceLogWriter to write to.
+     */
+    public abstract void run(PerformanceLogWriter writer);
+}
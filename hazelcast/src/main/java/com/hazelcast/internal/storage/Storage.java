@@ -28,6 +28,10 @@ public interface Storage<REF extends DataRef> {
 
     REF put(int hash, Data data);
 
+    /**
+     * Returns the stored data, or null if the data has been removed concurrently; callers which may race with a
+     * removal should read the current reference again in that case.
+     */
     Data get(int hash, REF ref);
 
     void remove(int hash, REF ref);
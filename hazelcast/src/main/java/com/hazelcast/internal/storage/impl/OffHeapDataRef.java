@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A handle to a block of native memory allocated by {@link OffHeapStorage}.
+ * <p/>
+ * This is the only thing kept on the heap for a stored value.
+ * <p/>
+ * The block may be read by any thread, while only the owner of the value (the partition thread) removes it. To prevent
+ * a block from being freed, or reused by another value, while it is being read, readers {@link #pin()} the reference.
+ * Removing the value {@link #retire() retires} the reference; the block is freed by whoever drops the last use of it:
+ * the remover if there are no readers, otherwise the last reader to {@link #unpin()}. A retired reference can't be
+ * pinned anymore.
+ */
+final class OffHeapDataRef implements DataRef {
+
+    // object header (12) + address (8) + size (4) + state (4), aligned to 8 bytes
+    private static final int HEAP_COST = 32;
+
+    private static final int RETIRED = 1;
+    private static final int READER = 2;
+
+    private static final AtomicIntegerFieldUpdater<OffHeapDataRef> STATE
+            = AtomicIntegerFieldUpdater.newUpdater(OffHeapDataRef.class, "state");
+
+    final long address;
+    final int size;
+
+    // the number of readers times READER, plus RETIRED once the value has been removed
+    private volatile int state;
+
+    OffHeapDataRef(long address, int size) {
+        this.address = address;
+        this.size = size;
+    }
+
+    /**
+     * Pins the block, so it isn't freed until {@link #unpin()} is called.
+     *
+     * @return true if pinned, false if the reference has been retired.
+     */
+    boolean pin() {
+        for (;;) {
+            int current = state;
+            if ((current & RETIRED) != 0) {
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, current + READER)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a pin.
+     *
+     * @return true if the reference has been retired and this was the last reader; the caller has to free the block.
+     */
+    boolean unpin() {
+        return STATE.addAndGet(this, -READER) == RETIRED;
+    }
+
+    /**
+     * Retires the reference, so it can't be pinned anymore.
+     *
+     * @return true if there are no readers; the caller has to free the block. False if a reader is still using the
+     * block, or the reference was retired already.
+     */
+    boolean retire() {
+        for (;;) {
+            int current = state;
+            if ((current & RETIRED) != 0) {
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, current | RETIRED)) {
+                return current == 0;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int heapCost() {
+        return HEAP_COST;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapDataRef{address=" + address + ", size=" + size + '}';
+    }
+}
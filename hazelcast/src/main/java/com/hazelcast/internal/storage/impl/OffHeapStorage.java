@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.MEM_COPY_THRESHOLD;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A {@link Storage} that keeps serialized {@link Data} outside of the Java heap.
+ * <p/>
+ * Memory is obtained through {@code sun.misc.Unsafe#allocateMemory(long)} and is bounded by
+ * {@link NativeMemoryConfig#getSize()}. The storage is split into segments selected by the hash passed by
+ * the caller (the partition hash of the key), so that partition threads mostly work on different segments.
+ * <p/>
+ * With the {@link MemoryAllocatorType#POOLED} allocator, each segment carves pages of
+ * {@link NativeMemoryConfig#getPageSize()} bytes into power-of-two sized blocks, starting from
+ * {@link NativeMemoryConfig#getMinBlockSize()}. Freed blocks are kept in per-size free lists and reused;
+ * when a free list is empty a larger free block is split before a new page is allocated. Pages are only
+ * returned to the OS when the storage is destroyed. Values larger than a page, and every value when the
+ * {@link MemoryAllocatorType#STANDARD} allocator is used, are allocated and freed individually.
+ * <p/>
+ * Reads don't take the segment lock; a value that is removed while it is being read is only freed when the read is
+ * done, see {@link OffHeapDataRef}.
+ */
+public class OffHeapStorage implements Storage<DataRef> {
+
+    private static final int SEGMENTS_PER_CORE = 2;
+
+    private final long maxMemory;
+    private final int pageSize;
+    private final int minBlockSize;
+    private final int minBlockShift;
+    private final boolean pooled;
+    private final Segment[] segments;
+
+    private final AtomicLong committedMemory = new AtomicLong();
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    private volatile boolean destroyed;
+
+    public OffHeapStorage(NativeMemoryConfig config) {
+        this(config, nextPowerOfTwo(Runtime.getRuntime().availableProcessors() * SEGMENTS_PER_CORE));
+    }
+
+    OffHeapStorage(NativeMemoryConfig config, int segmentCount) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new IllegalStateException("Off-heap storage requires sun.misc.Unsafe, which is not available!");
+        }
+        MemorySize size = config.getSize();
+        this.maxMemory = size.bytes();
+        this.minBlockSize = nextPowerOfTwo(config.getMinBlockSize());
+        this.pageSize = Math.max(nextPowerOfTwo(config.getPageSize()), minBlockSize);
+        this.minBlockShift = log2(minBlockSize);
+        this.pooled = config.getAllocatorType() == MemoryAllocatorType.POOLED;
+
+        int sizeClassCount = log2(pageSize) - minBlockShift + 1;
+        this.segments = new Segment[nextPowerOfTwo(segmentCount)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(sizeClassCount);
+        }
+    }
+
+    @Override
+    public DataRef put(int hash, Data data) {
+        byte[] bytes = data.toByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            ensureNotDestroyed();
+            long address = segment.allocate(length);
+            copyToNative(bytes, address, length);
+            return new OffHeapDataRef(address, length);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the value of the reference without taking the segment lock.
+     * <p/>
+     * Returns null if the value has been removed concurrently, so the reference is stale; the caller should read the
+     * current reference of the value again.
+     */
+    @Override
+    public Data get(int hash, DataRef ref) {
+        OffHeapDataRef offHeapRef = (OffHeapDataRef) ref;
+        if (!offHeapRef.pin()) {
+            ensureNotDestroyed();
+            return null;
+        }
+        byte[] bytes = new byte[offHeapRef.size];
+        try {
+            ensureNotDestroyed();
+            copyFromNative(offHeapRef.address, bytes);
+        } finally {
+            if (offHeapRef.unpin()) {
+                free(hash, offHeapRef);
+            }
+        }
+        return new DefaultData(bytes);
+    }
+
+    /**
+     * Removes the value of the reference. If the value is being read by other threads, the memory is freed as soon as
+     * the last reader is done.
+     */
+    @Override
+    public void remove(int hash, DataRef ref) {
+        OffHeapDataRef offHeapRef = (OffHeapDataRef) ref;
+        if (offHeapRef.retire()) {
+            free(hash, offHeapRef);
+        }
+    }
+
+    private void free(int hash, OffHeapDataRef ref) {
+        Segment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            if (destroyed) {
+                return;
+            }
+            segment.free(ref.address, ref.size);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.destroy();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        committedMemory.set(0);
+        usedMemory.set(0);
+    }
+
+    /**
+     * @return the maximum number of bytes this storage is allowed to allocate.
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * @return the number of bytes currently allocated from the OS, including pooled free blocks.
+     */
+    public long getCommittedMemory() {
+        return committedMemory.get();
+    }
+
+    /**
+     * @return the number of bytes currently occupied by stored values, rounded up to their block sizes.
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the number of bytes that can still be used for stored values.
+     */
+    public long getFreeMemory() {
+        return maxMemory - usedMemory.get();
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private void ensureNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Off-heap storage has been destroyed!");
+        }
+    }
+
+    private long reserveAndAllocate(long size) {
+        for (;;) {
+            long committed = committedMemory.get();
+            if (committed + size > maxMemory) {
+                throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes! Committed: "
+                        + committed + ", max: " + maxMemory + ", used: " + usedMemory.get());
+            }
+            if (committedMemory.compareAndSet(committed, committed + size)) {
+                break;
+            }
+        }
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            committedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Could not allocate " + size + " bytes of native memory!", e);
+        }
+    }
+
+    private void freeAndRelease(long address, long size) {
+        UNSAFE.freeMemory(address);
+        committedMemory.addAndGet(-size);
+    }
+
+    private static void copyToNative(byte[] bytes, long address, int length) {
+        long srcOffset = BYTE_ARRAY_BASE_OFFSET;
+        long destAddress = address;
+        int remaining = length;
+        while (remaining > 0) {
+            int chunk = remaining > MEM_COPY_THRESHOLD ? MEM_COPY_THRESHOLD : remaining;
+            UNSAFE.copyMemory(bytes, srcOffset, null, destAddress, chunk);
+            srcOffset += chunk;
+            destAddress += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    private static void copyFromNative(long address, byte[] bytes) {
+        long srcAddress = address;
+        long destOffset = BYTE_ARRAY_BASE_OFFSET;
+        int remaining = bytes.length;
+        while (remaining > 0) {
+            int chunk = remaining > MEM_COPY_THRESHOLD ? MEM_COPY_THRESHOLD : remaining;
+            UNSAFE.copyMemory(null, srcAddress, bytes, destOffset, chunk);
+            srcAddress += chunk;
+            destOffset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * A lock protected slab allocator. All methods must be called while holding {@link #lock}.
+     */
+    private final class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        // free blocks per size class; size class i holds blocks of (minBlockSize << i) bytes
+        private final LongStack[] freeLists;
+        private final Set<Long> standaloneBlocks = new HashSet<Long>();
+        private long[] pages = new long[1];
+        private int pageCount;
+
+        // bump pointer into the most recently allocated page
+        private long pageCursor;
+        private int pageRemaining;
+
+        Segment(int sizeClassCount) {
+            freeLists = new LongStack[sizeClassCount];
+            for (int i = 0; i < sizeClassCount; i++) {
+                freeLists[i] = new LongStack();
+            }
+        }
+
+        long allocate(int length) {
+            if (!pooled || length > pageSize) {
+                long size = Math.max(length, 1);
+                long address = reserveAndAllocate(size);
+                standaloneBlocks.add(address);
+                usedMemory.addAndGet(size);
+                return address;
+            }
+
+            int sizeClass = sizeClass(length);
+            int blockSize = minBlockSize << sizeClass;
+            long address = allocateBlock(sizeClass, blockSize);
+            usedMemory.addAndGet(blockSize);
+            return address;
+        }
+
+        void free(long address, int length) {
+            if (!pooled || length > pageSize) {
+                if (standaloneBlocks.remove(address)) {
+                    long size = Math.max(length, 1);
+                    freeAndRelease(address, size);
+                    usedMemory.addAndGet(-size);
+                }
+                return;
+            }
+
+            int sizeClass = sizeClass(length);
+            freeLists[sizeClass].push(address);
+            usedMemory.addAndGet(-(minBlockSize << sizeClass));
+        }
+
+        void destroy() {
+            for (int i = 0; i < pageCount; i++) {
+                freeAndRelease(pages[i], pageSize);
+            }
+            pageCount = 0;
+            pageRemaining = 0;
+            for (Long address : standaloneBlocks) {
+                UNSAFE.freeMemory(address);
+            }
+            standaloneBlocks.clear();
+            for (LongStack freeList : freeLists) {
+                freeList.clear();
+            }
+        }
+
+        private long allocateBlock(int sizeClass, int blockSize) {
+            LongStack freeList = freeLists[sizeClass];
+            if (!freeList.isEmpty()) {
+                return freeList.pop();
+            }
+            if (pageRemaining >= blockSize) {
+                return carve(blockSize);
+            }
+            for (int larger = sizeClass + 1; larger < freeLists.length; larger++) {
+                if (!freeLists[larger].isEmpty()) {
+                    return split(freeLists[larger].pop(), larger, sizeClass);
+                }
+            }
+            newPage();
+            return carve(blockSize);
+        }
+
+        private long carve(int blockSize) {
+            long address = pageCursor;
+            pageCursor += blockSize;
+            pageRemaining -= blockSize;
+            return address;
+        }
+
+        /**
+         * Splits a block of the given size class in halves until a block of the requested size class remains.
+         * The upper halves are put in the free lists.
+         */
+        private long split(long address, int fromSizeClass, int toSizeClass) {
+            for (int sizeClass = fromSizeClass - 1; sizeClass >= toSizeClass; sizeClass--) {
+                freeLists[sizeClass].push(address + (minBlockSize << sizeClass));
+            }
+            return address;
+        }
+
+        private void newPage() {
+            long address = reserveAndAllocate(pageSize);
+            releasePageRemainder();
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, pageCount * 2);
+            }
+            pages[pageCount++] = address;
+            pageCursor = address;
+            pageRemaining = pageSize;
+        }
+
+        /**
+         * Hands out whatever is left of the current page to the free lists, so it isn't lost.
+         */
+        private void releasePageRemainder() {
+            while (pageRemaining >= minBlockSize) {
+                int sizeClass = log2(pageRemaining) - minBlockShift;
+                int blockSize = minBlockSize << sizeClass;
+                freeLists[sizeClass].push(pageCursor);
+                pageCursor += blockSize;
+                pageRemaining -= blockSize;
+            }
+            pageRemaining = 0;
+        }
+
+        private int sizeClass(int length) {
+            if (length <= minBlockSize) {
+                return 0;
+            }
+            return log2(nextPowerOfTwo(length)) - minBlockShift;
+        }
+    }
+
+    /**
+     * A growable stack of primitive longs, used to keep free block addresses without boxing.
+     */
+    private static final class LongStack {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] items = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void push(long value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        long pop() {
+            return items[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            items = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A fixed size ring buffer of {@link TraceRecord} instances; once full, the oldest records are overwritten.
+ * <p/>
+ * Adding is lock free: a slot is claimed by incrementing the sequence. Reading is a best effort snapshot; records that
+ * are overwritten while reading are skipped.
+ */
+public final class TraceBuffer {
+
+    private final AtomicReferenceArray<TraceRecord> records;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    public TraceBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be larger than 0, but found: " + capacity);
+        }
+        int size = nextPowerOfTwo(capacity);
+        this.records = new AtomicReferenceArray<TraceRecord>(size);
+        this.mask = size - 1;
+    }
+
+    public int getCapacity() {
+        return records.length();
+    }
+
+    public void add(TraceRecord record) {
+        long index = sequence.getAndIncrement();
+        records.set((int) (index & mask), record);
+    }
+
+    /**
+     * Returns the records currently in the buffer, oldest first.
+     *
+     * @return the list of records.
+     */
+    public List<TraceRecord> getRecords() {
+        long head = sequence.get();
+        long tail = Math.max(0, head - records.length());
+        List<TraceRecord> result = new ArrayList<TraceRecord>((int) (head - tail));
+        for (long index = tail; index < head; index++) {
+            TraceRecord record = records.get((int) (index & mask));
+            if (record != null) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+/**
+ * The points in the life of a traced invocation that are recorded.
+ */
+public enum TracePoint {
+
+    /**
+     * A request of a client has been received by the member.
+     */
+    CLIENT_REQUEST,
+
+    /**
+     * An invocation has been started on the calling member.
+     */
+    INVOKE,
+
+    /**
+     * The operation has been read from the connection and enqueued on an operation thread. Both happen on the IO thread
+     * right after each other, so they share a single point.
+     */
+    RECEIVE,
+
+    /**
+     * A locally invoked operation has been enqueued on an operation thread.
+     */
+    ENQUEUE,
+
+    /**
+     * The operation has been taken from the queue and starts to run.
+     */
+    RUN_START,
+
+    /**
+     * The operation has completed running, including sending its backups and response.
+     */
+    RUN_END,
+
+    /**
+     * A backup of the operation has been sent to a backup replica.
+     */
+    BACKUP_SEND,
+
+    /**
+     * The calling member received the acknowledgement of a sync backup.
+     */
+    BACKUP_ACK,
+
+    /**
+     * The member running the operation has sent the response.
+     */
+    RESPONSE_SEND,
+
+    /**
+     * The calling member has completed the invocation with a response.
+     */
+    RESPONSE
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+/**
+ * A single point of a trace recorded by a member.
+ */
+public final class TraceRecord {
+
+    private final long traceId;
+    private final TracePoint point;
+    private final long timeMicros;
+    private final String detail;
+
+    public TraceRecord(long traceId, TracePoint point, long timeMicros, String detail) {
+        this.traceId = traceId;
+        this.point = point;
+        this.timeMicros = timeMicros;
+        this.detail = detail;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public TracePoint getPoint() {
+        return point;
+    }
+
+    /**
+     * Returns the wall clock time of the point in microseconds since the epoch.
+     * <p/>
+     * The time has microsecond precision relative to the other points recorded by the same member; between members it
+     * is only as accurate as their clocks are synchronized.
+     *
+     * @return the time in microseconds.
+     */
+    public long getTimeMicros() {
+        return timeMicros;
+    }
+
+    /**
+     * Returns the detail of the point, e.g. the class name of the operation.
+     *
+     * @return the detail, can be null.
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(traceId) + ' ' + timeMicros + ' ' + point + (detail == null ? "" : ' ' + detail);
+    }
+}
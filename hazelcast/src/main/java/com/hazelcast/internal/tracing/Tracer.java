@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+import com.hazelcast.instance.GroupProperties;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Samples invocations for tracing and records the {@link TracePoint}s they pass into a {@link TraceBuffer}.
+ * <p/>
+ * One in every {@link GroupProperties#PROP_OPERATION_TRACING_SAMPLE_INTERVAL} invocations gets a trace id. The trace id
+ * travels with the operation, its backups and the operations it invokes, so every member records its points with the
+ * same id. An id of 0 means not traced, so with tracing disabled the only cost on the hot path is checking
+ * {@link #isEnabled()} or a trace id against 0.
+ * <p/>
+ * The trace id of the operation or client request being processed is kept in a thread local, so invocations done while
+ * processing it become part of the same trace.
+ */
+public final class Tracer {
+
+    // the thread local value when the current request is not sampled, so nested invocations are not sampled either
+    private static final long NOT_SAMPLED = -1;
+    private static final long ID_SEQUENCE_MASK = 0xFFFFFFFFL;
+    private static final int ID_PREFIX_SHIFT = 32;
+
+    private final int sampleInterval;
+    private final TraceBuffer buffer;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final long idPrefix;
+    private final long baseMicros;
+    private final long baseNanos;
+    private final ThreadLocal<long[]> currentTraceId = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[1];
+        }
+    };
+
+    public Tracer(GroupProperties properties) {
+        this(properties.OPERATION_TRACING_SAMPLE_INTERVAL.getInteger(),
+                properties.OPERATION_TRACING_BUFFER_CAPACITY.getInteger());
+    }
+
+    public Tracer(int sampleInterval, int bufferCapacity) {
+        this.sampleInterval = sampleInterval;
+        this.buffer = sampleInterval > 0 ? new TraceBuffer(bufferCapacity) : null;
+        // a random positive prefix per member, so trace ids don't collide between members
+        this.idPrefix = (long) (new Random().nextInt(Integer.MAX_VALUE - 1) + 1) << ID_PREFIX_SHIFT;
+        this.baseMicros = MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.baseNanos = System.nanoTime();
+    }
+
+    public boolean isEnabled() {
+        return sampleInterval > 0;
+    }
+
+    /**
+     * Decides whether a new trace is started.
+     *
+     * @return the new trace id, or 0 if not sampled or tracing is disabled.
+     */
+    public long sample() {
+        if (sampleInterval <= 0 || sampleCounter.getAndIncrement() % sampleInterval != 0) {
+            return 0;
+        }
+        return idPrefix | (idSequence.incrementAndGet() & ID_SEQUENCE_MASK);
+    }
+
+    /**
+     * Returns the trace id for a new invocation: the trace id of the request being processed by the current thread, or a
+     * newly sampled one if the thread isn't processing any.
+     *
+     * @return the trace id, or 0 if not traced.
+     */
+    public long currentOrSample() {
+        long current = currentTraceId.get()[0];
+        if (current == 0) {
+            return sample();
+        }
+        return current == NOT_SAMPLED ? 0 : current;
+    }
+
+    /**
+     * Makes the given trace id the one of the request processed by the current thread.
+     *
+     * @param traceId the trace id, 0 if the request is not traced.
+     * @return the previous value, to be passed to {@link #exit(long)}.
+     */
+    public long enter(long traceId) {
+        long[] current = currentTraceId.get();
+        long previous = current[0];
+        current[0] = traceId == 0 ? NOT_SAMPLED : traceId;
+        return previous;
+    }
+
+    /**
+     * Restores the trace id of the current thread after processing a request.
+     *
+     * @param previous the value returned by {@link #enter(long)}.
+     */
+    public void exit(long previous) {
+        currentTraceId.get()[0] = previous;
+    }
+
+    /**
+     * Records a point of a trace at the current time.
+     *
+     * @param traceId the trace id; if 0, nothing is recorded.
+     * @param point   the point.
+     * @param detail  the detail of the point, can be null.
+     */
+    public void record(long traceId, TracePoint point, String detail) {
+        if (traceId != 0) {
+            record(traceId, point, System.nanoTime(), detail);
+        }
+    }
+
+    /**
+     * Records a point of a trace that happened at the given time.
+     *
+     * @param traceId   the trace id; if 0, nothing is recorded.
+     * @param point     the point.
+     * @param timeNanos the {@link System#nanoTime()} of the point.
+     * @param detail    the detail of the point, can be null.
+     */
+    public void record(long traceId, TracePoint point, long timeNanos, String detail) {
+        if (traceId == 0 || buffer == null) {
+            return;
+        }
+        long timeMicros = baseMicros + NANOSECONDS.toMicros(timeNanos - baseNanos);
+        buffer.add(new TraceRecord(traceId, point, timeMicros, detail));
+    }
+
+    /**
+     * Returns the trace buffer.
+     *
+     * @return the buffer, or null if tracing is disabled.
+     */
+    public TraceBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Renders the records in the buffer, one per line: the trace id in hex, the time in microseconds, the point and the
+     * detail.
+     *
+     * @return the rendered records, empty if tracing is disabled.
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        if (buffer != null) {
+            for (TraceRecord record : buffer.getRecords()) {
+                sb.append(record).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
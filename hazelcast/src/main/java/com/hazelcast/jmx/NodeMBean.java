@@ -54,4 +54,10 @@ public class NodeMBean extends HazelcastMBean<Node> {
         Address a = managedObject.getMasterAddress();
         return a == null ? null : a.toString();
     }
+
+    @ManagedAnnotation(value = "dumpTraces", operation = true)
+    @ManagedDescription("Dumps the trace records of the sampled invocations, one per line")
+    public String dumpTraces() {
+        return managedObject.nodeEngine.getTracer().dump();
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The accumulated state of an {@link Aggregator} on a member, together with the ids of the partitions that were
+ * accumulated.
+ */
+public class AggregationResult implements DataSerializable {
+
+    private Aggregator aggregator;
+    private Collection<Integer> partitionIds;
+
+    public AggregationResult() {
+    }
+
+    public AggregationResult(Aggregator aggregator, Collection<Integer> partitionIds) {
+        this.aggregator = aggregator;
+        this.partitionIds = partitionIds;
+    }
+
+    public Aggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * Returns the ids of the accumulated partitions, or null if the accumulated partitions are unknown because the
+     * partition assignments changed while accumulating; the aggregator should be ignored in that case.
+     *
+     * @return the partition ids.
+     */
+    public Collection<Integer> getPartitionIds() {
+        return partitionIds;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(aggregator);
+        int partitionSize = partitionIds == null ? -1 : partitionIds.size();
+        out.writeInt(partitionSize);
+        if (partitionSize > 0) {
+            for (Integer partitionId : partitionIds) {
+                out.writeInt(partitionId);
+            }
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        aggregator = in.readObject();
+        int partitionSize = in.readInt();
+        if (partitionSize >= 0) {
+            partitionIds = new ArrayList<Integer>(partitionSize);
+            for (int i = 0; i < partitionSize; i++) {
+                partitionIds.add(in.readInt());
+            }
+        }
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.operation.AggregationOperation;
+import com.hazelcast.map.impl.operation.AggregationPartitionOperation;
 import com.hazelcast.map.impl.operation.QueryOperation;
 import com.hazelcast.map.impl.operation.QueryPartitionOperation;
 import com.hazelcast.map.impl.record.Record;
@@ -33,6 +37,7 @@ import com.hazelcast.query.impl.QueryResultEntry;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.exception.RetryableException;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
@@ -63,23 +68,83 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
     private final NodeEngine nodeEngine;
     private final ILogger logger;
     private final QueryResultSizeLimiter queryResultSizeLimiter;
+    private final ParallelPartitionScanner parallelScanner;
+    private final ParallelPartitionAggregator parallelAggregator;
 
     public BasicMapContextQuerySupport(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
         this.nodeEngine = mapServiceContext.getNodeEngine();
         this.logger = nodeEngine.getLogger(getClass());
         this.queryResultSizeLimiter = new QueryResultSizeLimiter(mapServiceContext, logger);
+        this.parallelScanner = new ParallelPartitionScanner(this, nodeEngine);
+        this.parallelAggregator = new ParallelPartitionAggregator(this, nodeEngine);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Collection<QueryableEntry> queryOnPartition(String mapName, Predicate predicate, int partitionId) {
+        PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
+        List<QueryableEntry> queryEntries = new LinkedList<QueryableEntry>();
+        scanPartition(mapName, predicate, partitionId, queryEntries);
+        return getPage(queryEntries, pagingPredicate);
+    }
+
+    @Override
+    public Collection<QueryableEntry> queryOnPartitionsInParallel(String mapName, Predicate predicate,
+                                                                  Collection<Integer> partitionIds) {
+        return parallelScanner.scan(mapName, predicate, partitionIds);
+    }
+
+    /**
+     * Evaluates the predicate on all entries of the partition and adds the matching entries to the given collection.
+     * <p/>
+     * A single {@link QueryEntry} is reused until an entry matches, so that no litter is created for entries that don't
+     * match. Keys and values which are not deserialized yet are kept in {@link Data} format; so attributes of portables
+     * are read directly from the Data and other entries are only deserialized when the predicate needs them.
+     */
+    @SuppressWarnings("unchecked")
+    void scanPartition(String mapName, Predicate predicate, int partitionId, Collection<QueryableEntry> queryEntries) {
         SerializationService serializationService = nodeEngine.getSerializationService();
         PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
-        List<QueryEntry> queryEntries = new LinkedList<QueryEntry>();
+        Map.Entry anchor = pagingPredicate == null ? null : pagingPredicate.getAnchor();
+
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        Iterator<Record> iterator = container.getRecordStore(mapName).loadAwareIterator(getNow(), false);
+        QueryEntry queryEntry = new QueryEntry();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            Data key = record.getKey();
+            Object value = getValueOrCachedValue(record);
+            if (value == null) {
+                continue;
+            }
+            queryEntry.init(serializationService, key, key, value);
+            if (!predicate.apply(queryEntry)) {
+                continue;
+            }
+            if (anchor != null && SortingUtil.compare(pagingPredicate.getComparator(),
+                    pagingPredicate.getIterationType(), anchor, queryEntry) >= 0) {
+                continue;
+            }
+            queryEntries.add(queryEntry);
+            queryEntry = new QueryEntry();
+        }
+    }
+
+    /**
+     * Accumulates all entries of the partition that match the predicate into the aggregator.
+     * <p/>
+     * Just like {@link #scanPartition(String, Predicate, int, Collection)} a single {@link QueryEntry} is reused for all
+     * entries, so the aggregator must not retain the entries it is passed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void aggregateOnPartition(String mapName, Predicate predicate, int partitionId, Aggregator aggregator) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        boolean matchAll = predicate instanceof TruePredicate;
 
         PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
         Iterator<Record> iterator = container.getRecordStore(mapName).loadAwareIterator(getNow(), false);
+        QueryEntry queryEntry = new QueryEntry();
         while (iterator.hasNext()) {
             Record record = iterator.next();
             Data key = record.getKey();
@@ -87,21 +152,98 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
             if (value == null) {
                 continue;
             }
-            QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
-            if (predicate.apply(queryEntry)) {
-                if (pagingPredicate != null) {
-                    Map.Entry anchor = pagingPredicate.getAnchor();
-                    if (anchor != null
-                            && SortingUtil.compare(pagingPredicate.getComparator(),
-                            pagingPredicate.getIterationType(), anchor, queryEntry) >= 0) {
-                        continue;
-                    }
+            queryEntry.init(serializationService, key, key, value);
+            if (matchAll || predicate.apply(queryEntry)) {
+                aggregator.accumulate(queryEntry);
+            }
+        }
+    }
+
+    @Override
+    public AggregationResult aggregateOnPartitionsInParallel(String mapName, Predicate predicate,
+                                                             Collection<Integer> partitionIds, Data aggregator)
+            throws Exception {
+        return parallelAggregator.aggregate(mapName, predicate, partitionIds, aggregator);
+    }
+
+    /**
+     * Aggregates the entries that match the predicate on all members.
+     * <p/>
+     * Every member combines the partitions it owns into a single aggregator; the results of the members are combined
+     * here. The result of a member is only used when none of its partitions is covered already, so a partition that
+     * migrated while aggregating is never counted twice. The partitions that are not covered by any member are
+     * aggregated one by one on their current owner.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(String mapName, Aggregator<?, R> aggregator, Predicate predicate) {
+        checkIfNotPagingPredicate(predicate);
+
+        Data aggregatorData = nodeEngine.getSerializationService().toData(aggregator);
+        Aggregator<?, R> result = nodeEngine.toObject(aggregatorData);
+        Set<Integer> partitionIds = getAllPartitionIds();
+        OperationService operationService = nodeEngine.getOperationService();
+        try {
+            Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+            List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>(members.size());
+            for (MemberImpl member : members) {
+                AggregationOperation operation = new AggregationOperation(mapName, aggregatorData, predicate);
+                futures.add(operationService.<AggregationResult>invokeOnTarget(MapService.SERVICE_NAME, operation,
+                        member.getAddress()));
+            }
+            combineMemberAggregationResults(futures, result, partitionIds);
+            if (partitionIds.isEmpty()) {
+                return result.aggregate();
+            }
+
+            futures = new ArrayList<Future<AggregationResult>>(partitionIds.size());
+            for (Integer partitionId : partitionIds) {
+                AggregationPartitionOperation operation
+                        = new AggregationPartitionOperation(mapName, aggregatorData, predicate);
+                futures.add(operationService.<AggregationResult>invokeOnPartition(MapService.SERVICE_NAME, operation,
+                        partitionId));
+            }
+            for (Future<AggregationResult> future : futures) {
+                combineAggregationResult(future.get(), result, partitionIds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtil.rethrow(e);
+        } catch (ExecutionException e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        return result.aggregate();
+    }
+
+    /**
+     * Combines the results of the members. The result of a member that left or whose partitions are migrating is
+     * skipped, so that its partitions are aggregated one by one afterwards; any other failure is rethrown.
+     */
+    private void combineMemberAggregationResults(List<Future<AggregationResult>> futures, Aggregator result,
+                                                 Set<Integer> partitionIds) throws InterruptedException {
+        for (Future<AggregationResult> future : futures) {
+            try {
+                combineAggregationResult(future.get(), result, partitionIds);
+            } catch (ExecutionException e) {
+                if (!isMemberLeftOrMigration(e)) {
+                    throw ExceptionUtil.rethrow(e);
                 }
-                queryEntries.add(queryEntry);
+                logger.finest("Could not get the aggregation result of a member, aggregating its partitions one by one", e);
             }
         }
+    }
 
-        return getPage(queryEntries, pagingPredicate);
+    private static boolean isMemberLeftOrMigration(ExecutionException e) {
+        return e instanceof MemberLeftException || e.getCause() instanceof RetryableException;
+    }
+
+    private static void combineAggregationResult(AggregationResult aggregationResult, Aggregator result,
+                                                 Set<Integer> partitionIds) {
+        Collection<Integer> aggregatedPartitionIds = aggregationResult.getPartitionIds();
+        if (aggregatedPartitionIds != null && partitionIds.containsAll(aggregatedPartitionIds)) {
+            partitionIds.removeAll(aggregatedPartitionIds);
+            result.combine(aggregationResult.getAggregator());
+        }
     }
 
     private Object getValueOrCachedValue(Record record) {
@@ -395,7 +537,7 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return partitionIds;
     }
 
-    private List getPage(List<QueryEntry> queryEntries, PagingPredicate pagingPredicate) {
+    private List getPage(List<QueryableEntry> queryEntries, PagingPredicate pagingPredicate) {
         if (pagingPredicate == null) {
             return queryEntries;
         }
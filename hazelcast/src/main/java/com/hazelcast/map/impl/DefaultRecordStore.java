@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStore;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -153,6 +154,11 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         markRecordStoreExpirable(record.getTtl());
 
         final Record existingRecord = records.put(key, record);
+        if (existingRecord != null && existingRecord != record
+                && recordFactory.getStorageFormat() == InMemoryFormat.NATIVE) {
+            // give the replaced value back to off-heap storage
+            existingRecord.invalidate();
+        }
         updateSizeEstimator(-calculateRecordHeapCost(existingRecord));
         updateSizeEstimator(calculateRecordHeapCost(record));
     }
@@ -445,6 +451,41 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         mapDataStore.clear();
     }
 
+    @Override
+    public long[] getRangeDigests(int rangeCount) {
+        long[] digests = new long[rangeCount];
+        for (Record record : records.values()) {
+            Data key = record.getKey();
+            Object value = record.getValue();
+            // binary values are hashed as stored; only values in OBJECT format need to be serialized
+            long valueHash;
+            if (value instanceof Data) {
+                valueHash = ((Data) value).hash64();
+            } else {
+                valueHash = value == null ? 0 : toData(value).hash64();
+            }
+            digests[MapReplicaDigest.rangeOf(key, rangeCount)] += MapReplicaDigest.hashOf(key, valueHash);
+        }
+        return digests;
+    }
+
+    @Override
+    public void clearRanges(int[] ranges, int rangeCount) {
+        boolean[] cleared = new boolean[rangeCount];
+        for (int range : ranges) {
+            cleared[range] = true;
+        }
+        Iterator<Record> iterator = records.values().iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            if (cleared[MapReplicaDigest.rangeOf(record.getKey(), rangeCount)]) {
+                updateSizeEstimator(-calculateRecordHeapCost(record));
+                iterator.remove();
+                record.invalidate();
+            }
+        }
+    }
+
     @Override
     public Object evict(Data key, boolean backup) {
         return evictInternal(key, backup);
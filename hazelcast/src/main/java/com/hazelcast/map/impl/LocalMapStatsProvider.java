@@ -17,6 +17,8 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.cluster.ClusterService;
+import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordStatistics;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
@@ -25,6 +27,7 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
@@ -130,7 +133,12 @@ public class LocalMapStatsProvider {
         localMapOnDemandCalculatedStats.incrementOwnedEntryMemoryCost(ownedEntryMemoryCost);
         localMapOnDemandCalculatedStats.incrementLockedEntryCount(lockedEntryCount);
         localMapOnDemandCalculatedStats.incrementHits(hits);
-        localMapOnDemandCalculatedStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
+        final MapDataStore mapDataStore = recordStore.getMapDataStore();
+        localMapOnDemandCalculatedStats.incrementDirtyEntryCount(mapDataStore.notFinishedOperationsCount());
+        if (mapDataStore instanceof WriteBehindStore) {
+            final long oldestEntryAge = ((WriteBehindStore) mapDataStore).getOldestEntryAge(Clock.currentTimeMillis());
+            localMapOnDemandCalculatedStats.updateOldestDirtyEntryAge(oldestEntryAge);
+        }
         localMapStats.setLastAccessTime(lastAccessTime);
         localMapStats.setLastUpdateTime(lastUpdateTime);
         localMapOnDemandCalculatedStats.incrementHeapCost(recordStore.getHeapCost());
@@ -280,6 +288,7 @@ public class LocalMapStatsProvider {
         private long heapCost;
         private long lockedEntryCount;
         private long dirtyEntryCount;
+        private long oldestDirtyEntryAge;
         private int backupCount;
 
         public void setBackupCount(int backupCount) {
@@ -314,6 +323,10 @@ public class LocalMapStatsProvider {
             this.dirtyEntryCount += dirtyEntryCount;
         }
 
+        public void updateOldestDirtyEntryAge(long dirtyEntryAge) {
+            this.oldestDirtyEntryAge = Math.max(this.oldestDirtyEntryAge, dirtyEntryAge);
+        }
+
         public void incrementHeapCost(long heapCost) {
             this.heapCost += heapCost;
         }
@@ -328,6 +341,7 @@ public class LocalMapStatsProvider {
             localMapStats.setHeapCost(heapCost);
             localMapStats.setLockedEntryCount(lockedEntryCount);
             localMapStats.setDirtyEntryCount(dirtyEntryCount);
+            localMapStats.setOldestDirtyEntryAge(oldestDirtyEntryAge);
         }
 
     }
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -39,6 +41,54 @@ public interface MapContextQuerySupport {
      */
     Collection<QueryableEntry> queryOnPartition(String mapName, Predicate predicate, int partitionId);
 
+    /**
+     * Query the given local partitions in parallel. The partitions are scanned by the calling thread and the threads of
+     * the {@link com.hazelcast.spi.ExecutionService#QUERY_EXECUTOR query executor}.
+     * <p/>
+     * If the predicate is a {@link PagingPredicate}, only the entries of the requested page are returned.
+     *
+     * @param mapName      map name.
+     * @param predicate    any predicate.
+     * @param partitionIds the ids of the partitions to query.
+     * @return result of query
+     */
+    Collection<QueryableEntry> queryOnPartitionsInParallel(String mapName, Predicate predicate,
+                                                           Collection<Integer> partitionIds);
+
+    /**
+     * Accumulates the entries of a specific partition that match the predicate into the aggregator.
+     *
+     * @param mapName     map name.
+     * @param predicate   any predicate, except paging predicate.
+     * @param partitionId partition id.
+     * @param aggregator  the aggregator to accumulate the entries into.
+     */
+    void aggregateOnPartition(String mapName, Predicate predicate, int partitionId, Aggregator aggregator);
+
+    /**
+     * Aggregates the given local partitions on their partition threads.
+     *
+     * @param mapName      map name.
+     * @param predicate    any predicate, except paging predicate.
+     * @param partitionIds the ids of the partitions to aggregate.
+     * @param aggregator   the serialized aggregator.
+     * @return the combined aggregator and the ids of the partitions that were aggregated.
+     * @throws Exception if the aggregation failed or timed out.
+     */
+    AggregationResult aggregateOnPartitionsInParallel(String mapName, Predicate predicate, Collection<Integer> partitionIds,
+                                                      Data aggregator) throws Exception;
+
+    /**
+     * Aggregates the entries that match the predicate on all members.
+     *
+     * @param mapName    map name.
+     * @param aggregator the aggregator.
+     * @param predicate  any predicate, except paging predicate.
+     * @param <R>        the type of the result.
+     * @return the result of the aggregation.
+     */
+    <R> R aggregate(String mapName, Aggregator<?, R> aggregator, Predicate predicate);
+
     /**
      * Used for predicates which queries on node local entries, except paging predicate.
      *
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.map.impl.querycache.QueryCacheEventPublisher;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 
@@ -55,4 +56,9 @@ public interface MapEventPublisher {
      * some conditions internally.
      */
     void hintMapEvent(Address caller, String mapName, EntryEventType eventType, int numberOfEntriesAffected, int partitionId);
+
+    /**
+     * Returns the publisher batching the events of query caches and near cache invalidations.
+     */
+    QueryCacheEventPublisher getQueryCacheEventPublisher();
 }
@@ -18,6 +18,8 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventPublisher;
 import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
@@ -42,9 +44,11 @@ import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 class MapEventPublisherImpl implements MapEventPublisher {
 
     protected final MapServiceContext mapServiceContext;
+    protected final QueryCacheEventPublisher queryCacheEventPublisher;
 
     protected MapEventPublisherImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
+        this.queryCacheEventPublisher = new QueryCacheEventPublisher(mapServiceContext);
     }
 
     @Override
@@ -104,6 +108,9 @@ class MapEventPublisherImpl implements MapEventPublisher {
             return;
         }
 
+        queryCacheEventPublisher.addEvents(registrations, syntheticEvent, mapName, caller, eventType,
+                dataKey, dataOldValue, dataValue);
+
         List<EventRegistration> registrationsWithValue = null;
         List<EventRegistration> registrationsWithoutValue = null;
 
@@ -192,7 +199,8 @@ class MapEventPublisherImpl implements MapEventPublisher {
     protected Result applyEventFilter(EventFilter filter, boolean syntheticEvent, Data dataKey,
                                       Data dataOldValue, Data dataValue, EntryEventType eventType) {
 
-        if (filter instanceof MapPartitionLostEventFilter) {
+        // query cache registrations are served by QueryCacheEventPublisher
+        if (filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter) {
             return Result.NONE;
         }
 
@@ -319,4 +327,9 @@ class MapEventPublisherImpl implements MapEventPublisher {
         NO_VALUE_INCLUDED,
         NONE
     }
+
+    @Override
+    public QueryCacheEventPublisher getQueryCacheEventPublisher() {
+        return queryCacheEventPublisher;
+    }
 }
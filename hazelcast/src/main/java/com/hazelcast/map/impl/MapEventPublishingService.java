@@ -20,11 +20,16 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.IMapEvent;
 import com.hazelcast.core.MapEvent;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.impl.querycache.QueryCacheBatchEvent;
+import com.hazelcast.map.impl.querycache.QueryCacheBatchEventData;
 import com.hazelcast.core.Member;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.NodeEngine;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Contains map service event publishing service functionality.
  *
@@ -56,6 +61,11 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
             return;
         }
 
+        if (eventData instanceof QueryCacheBatchEventData) {
+            dispatchQueryCacheBatchEventData((QueryCacheBatchEventData) eventData, listener);
+            return;
+        }
+
         throw new IllegalArgumentException("Unknown map event data");
     }
 
@@ -102,6 +112,17 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
         callListener(listener, event);
     }
 
+    private void dispatchQueryCacheBatchEventData(QueryCacheBatchEventData batchEventData, ListenerAdapter listener) {
+        Member member = getMember(batchEventData);
+        List<EntryEventData> eventDataList = batchEventData.getEvents();
+        List<DataAwareEntryEvent> events = new ArrayList<DataAwareEntryEvent>(eventDataList.size());
+        for (EntryEventData entryEventData : eventDataList) {
+            events.add(createDataAwareEntryEvent(entryEventData, member));
+        }
+        listener.onEvent(new QueryCacheBatchEvent(batchEventData.getMapName(), member,
+                batchEventData.getPartitionId(), batchEventData.getSequence(), events));
+    }
+
     private Member getMember(EventData eventData) {
         Member member = nodeEngine.getClusterService().getMember(eventData.getCaller());
         if (member == null) {
@@ -18,24 +18,32 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.query.impl.QueryEntry;
-import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.ChunkedMigrationAwareService;
+import com.hazelcast.spi.DeltaReplicationAwareService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.util.Clock;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Defines migration behavior of map service.
  *
  * @see MapService
  */
-class MapMigrationAwareService implements MigrationAwareService {
+class MapMigrationAwareService implements ChunkedMigrationAwareService, DeltaReplicationAwareService {
 
     private final MapServiceContext mapServiceContext;
     private final SerializationService serializationService;
@@ -59,6 +67,102 @@ class MapMigrationAwareService implements MigrationAwareService {
         return operation.isEmpty() ? null : operation;
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, int maxChunkSize) {
+        MapReplicationChunkIterator chunks = new MapReplicationChunkIterator(mapServiceContext, event.getPartitionId(),
+                event.getReplicaIndex(), maxChunkSize);
+        return chunks.isEmpty() ? null : chunks;
+    }
+
+    @Override
+    public Object createReplicaDigest(int partitionId, int replicaIndex, int rangeCount) {
+        final PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        final MapReplicaDigest digest = new MapReplicaDigest(rangeCount);
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (recordStore.getMapContainer().getMapConfig().getTotalBackupCount() >= replicaIndex) {
+                digest.put(recordStore.getName(), recordStore.getRangeDigests(rangeCount));
+            }
+        }
+        return digest.isEmpty() ? null : digest;
+    }
+
+    @Override
+    public Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, Object replicaDigest) {
+        final MapReplicaDigest digest = (MapReplicaDigest) replicaDigest;
+        final int rangeCount = digest.getRangeCount();
+        final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
+        final Map<String, Set<RecordReplicationInfo>> data = new HashMap<String, Set<RecordReplicationInfo>>();
+        final Map<String, int[]> clearedRanges = new HashMap<String, int[]>();
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (recordStore.getMapContainer().getMapConfig().getTotalBackupCount() < event.getReplicaIndex()) {
+                continue;
+            }
+            final String name = recordStore.getName();
+            final boolean[] differing = getDifferingRanges(recordStore.getRangeDigests(rangeCount), digest.get(name));
+            final int[] ranges = toRanges(differing);
+            if (ranges.length > 0) {
+                clearedRanges.put(name, ranges);
+                data.put(name, getRangeRecords(recordStore, differing));
+            }
+        }
+        // maps which only exist on the backup replica are cleared there
+        for (String name : digest.getMapNames()) {
+            if (!container.getMaps().containsKey(name)) {
+                clearedRanges.put(name, allRanges(rangeCount));
+                data.put(name, new HashSet<RecordReplicationInfo>());
+            }
+        }
+        final MapReplicationOperation operation = new MapReplicationOperation(container, event.getPartitionId(),
+                event.getReplicaIndex(), data, clearedRanges, rangeCount);
+        operation.setService(mapServiceContext.getService());
+        return operation.isEmpty() && !operation.hasDelayedEntries() ? null : operation;
+    }
+
+    private static boolean[] getDifferingRanges(long[] digests, long[] replicaDigests) {
+        final boolean[] differing = new boolean[digests.length];
+        for (int i = 0; i < digests.length; i++) {
+            differing[i] = replicaDigests == null || replicaDigests.length != digests.length
+                    || digests[i] != replicaDigests[i];
+        }
+        return differing;
+    }
+
+    private static int[] toRanges(boolean[] differing) {
+        int count = 0;
+        for (boolean d : differing) {
+            count += d ? 1 : 0;
+        }
+        final int[] ranges = new int[count];
+        int index = 0;
+        for (int i = 0; i < differing.length; i++) {
+            if (differing[i]) {
+                ranges[index++] = i;
+            }
+        }
+        return ranges;
+    }
+
+    private static int[] allRanges(int rangeCount) {
+        final int[] ranges = new int[rangeCount];
+        for (int i = 0; i < rangeCount; i++) {
+            ranges[i] = i;
+        }
+        return ranges;
+    }
+
+    private Set<RecordReplicationInfo> getRangeRecords(RecordStore recordStore, boolean[] ranges) {
+        final Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>();
+        final Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            final Record record = iterator.next();
+            if (ranges[MapReplicaDigest.rangeOf(record.getKey(), ranges.length)]) {
+                final Data value = mapServiceContext.toData(record.getValue());
+                recordSet.add(new RecordReplicationInfo(record.getKey(), value, Records.buildRecordInfo(record)));
+            }
+        }
+        return recordSet;
+    }
+
     @Override
     public void commitMigration(PartitionMigrationEvent event) {
         migrateIndex(event);
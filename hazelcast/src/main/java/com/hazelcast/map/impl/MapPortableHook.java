@@ -16,12 +16,15 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.map.impl.client.MapAggregateRequest;
 import com.hazelcast.map.impl.client.MapAddEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapAddEntryListenerSqlRequest;
 import com.hazelcast.map.impl.client.MapAddIndexRequest;
 import com.hazelcast.map.impl.client.MapAddInterceptorRequest;
 import com.hazelcast.map.impl.client.MapAddNearCacheEntryListenerRequest;
+import com.hazelcast.map.impl.client.MapAddNearCacheInvalidationListenerRequest;
 import com.hazelcast.map.impl.client.MapAddPartitionLostListenerRequest;
+import com.hazelcast.map.impl.client.MapAddQueryCacheListenerRequest;
 import com.hazelcast.map.impl.client.MapClearRequest;
 import com.hazelcast.map.impl.client.MapContainsKeyRequest;
 import com.hazelcast.map.impl.client.MapContainsValueRequest;
@@ -125,6 +128,9 @@ public class MapPortableHook implements PortableHook {
     public static final int ADD_NEAR_CACHE_ENTRY_LISTENER = 50;
     public static final int ADD_MAP_PARTITION_LOST_LISTENER = 51;
     public static final int REMOVE_MAP_PARTITION_LOST_LISTENER = 52;
+    public static final int AGGREGATE = 53;
+    public static final int ADD_QUERY_CACHE_LISTENER = 54;
+    public static final int ADD_NEAR_CACHE_INVALIDATION_LISTENER = 55;
 
     public int getFactoryId() {
         return F_ID;
@@ -133,7 +139,7 @@ public class MapPortableHook implements PortableHook {
     public PortableFactory createFactory() {
         return new PortableFactory() {
             final ConstructorFunction<Integer, Portable>[] constructors
-                    = new ConstructorFunction[REMOVE_MAP_PARTITION_LOST_LISTENER + 1];
+                    = new ConstructorFunction[ADD_NEAR_CACHE_INVALIDATION_LISTENER + 1];
 
             {
                 constructors[GET] = new ConstructorFunction<Integer, Portable>() {
@@ -422,6 +428,24 @@ public class MapPortableHook implements PortableHook {
                         return new MapRemovePartitionLostListenerRequest();
                     }
                 };
+
+                constructors[AGGREGATE] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAggregateRequest();
+                    }
+                };
+
+                constructors[ADD_QUERY_CACHE_LISTENER] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAddQueryCacheListenerRequest();
+                    }
+                };
+
+                constructors[ADD_NEAR_CACHE_INVALIDATION_LISTENER] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAddNearCacheInvalidationListenerRequest();
+                    }
+                };
             }
 
             public Portable create(int classId) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Digest of the maps of a partition replica, used for delta replica sync.
+ * <p/>
+ * The keys of a map are split in ranges by their hash; the digest of a range is the sum of the hashes of its entries,
+ * so it doesn't depend on the order of the entries and two replicas with the same entries in a range have the same
+ * digest. Only the ranges whose digests differ need to be replicated.
+ *
+ * @see com.hazelcast.spi.DeltaReplicationAwareService
+ */
+public class MapReplicaDigest implements DataSerializable {
+
+    private int rangeCount;
+    private Map<String, long[]> digests;
+
+    public MapReplicaDigest() {
+    }
+
+    public MapReplicaDigest(int rangeCount) {
+        this.rangeCount = rangeCount;
+        this.digests = new HashMap<String, long[]>();
+    }
+
+    /**
+     * Returns the range of the key in a digest with rangeCount ranges.
+     */
+    public static int rangeOf(Data key, int rangeCount) {
+        return (int) ((MurmurHash3_fmix(key.hash64()) & Long.MAX_VALUE) % rangeCount);
+    }
+
+    /**
+     * Returns the hash of an entry, which is added to the digest of the range of its key.
+     *
+     * @param valueHash the {@link Data#hash64()} of the value
+     */
+    public static long hashOf(Data key, long valueHash) {
+        return MurmurHash3_fmix(key.hash64() ^ MurmurHash3_fmix(valueHash));
+    }
+
+    public int getRangeCount() {
+        return rangeCount;
+    }
+
+    public void put(String mapName, long[] rangeDigests) {
+        digests.put(mapName, rangeDigests);
+    }
+
+    public long[] get(String mapName) {
+        return digests.get(mapName);
+    }
+
+    public Set<String> getMapNames() {
+        return digests.keySet();
+    }
+
+    public boolean isEmpty() {
+        return digests.isEmpty();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(rangeCount);
+        out.writeInt(digests.size());
+        for (Map.Entry<String, long[]> entry : digests.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLongArray(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        rangeCount = in.readInt();
+        int size = in.readInt();
+        digests = new HashMap<String, long[]>(size);
+        for (int i = 0; i < size; i++) {
+            String mapName = in.readUTF();
+            digests.put(mapName, in.readLongArray());
+        }
+    }
+}
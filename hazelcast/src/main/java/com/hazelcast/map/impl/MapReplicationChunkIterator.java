@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.map.impl.operation.MapReplicationOperation;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Creates the {@link MapReplicationOperation}s for a chunked migration of a partition, see
+ * {@link com.hazelcast.spi.ChunkedMigrationAwareService}.
+ * <p/>
+ * The records are read lazily; a chunk is only created when it is requested, so the replication data of a partition is
+ * never held in memory at once.
+ */
+class MapReplicationChunkIterator implements Iterator<Operation> {
+
+    private final MapServiceContext mapServiceContext;
+    private final PartitionContainer container;
+    private final int partitionId;
+    private final int replicaIndex;
+    private final int maxChunkSize;
+    private final List<RecordStore> recordStores = new ArrayList<RecordStore>();
+
+    private int recordStoreIndex;
+    private Iterator<Record> records;
+    private boolean firstChunk = true;
+
+    MapReplicationChunkIterator(MapServiceContext mapServiceContext, int partitionId, int replicaIndex,
+                                int maxChunkSize) {
+        this.mapServiceContext = mapServiceContext;
+        this.container = mapServiceContext.getPartitionContainer(partitionId);
+        this.partitionId = partitionId;
+        this.replicaIndex = replicaIndex;
+        this.maxChunkSize = maxChunkSize;
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (recordStore.getMapContainer().getMapConfig().getTotalBackupCount() >= replicaIndex) {
+                recordStores.add(recordStore);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return recordStores.isEmpty();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return firstChunk || nextRecords() != null;
+    }
+
+    @Override
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Set<RecordReplicationInfo>> data = new HashMap<String, Set<RecordReplicationInfo>>();
+        if (firstChunk) {
+            // the first chunk contains all maps, so all record stores are reset on the destination
+            for (RecordStore recordStore : recordStores) {
+                data.put(recordStore.getName(), new HashSet<RecordReplicationInfo>());
+            }
+        }
+
+        long size = 0;
+        Iterator<Record> iterator = nextRecords();
+        while (size < maxChunkSize && iterator != null) {
+            String name = recordStores.get(recordStoreIndex).getName();
+            Set<RecordReplicationInfo> recordSet = data.get(name);
+            if (recordSet == null) {
+                recordSet = new HashSet<RecordReplicationInfo>();
+                data.put(name, recordSet);
+            }
+            Record record = iterator.next();
+            Data value = mapServiceContext.toData(record.getValue());
+            recordSet.add(new RecordReplicationInfo(record.getKey(), value, Records.buildRecordInfo(record)));
+            size += record.getKey().getHeapCost() + (value == null ? 0 : value.getHeapCost());
+            iterator = nextRecords();
+        }
+
+        MapReplicationOperation operation
+                = new MapReplicationOperation(container, partitionId, replicaIndex, data, firstChunk);
+        operation.setService(mapServiceContext.getService());
+        firstChunk = false;
+        return operation;
+    }
+
+    /**
+     * Returns the iterator positioned before the next record to replicate, or null if all records are replicated.
+     */
+    private Iterator<Record> nextRecords() {
+        while (recordStoreIndex < recordStores.size()) {
+            if (records == null) {
+                records = recordStores.get(recordStoreIndex).iterator();
+            }
+            if (records.hasNext()) {
+                return records;
+            }
+            records = null;
+            recordStoreIndex++;
+        }
+        return null;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -19,7 +19,9 @@ package com.hazelcast.map.impl;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.partition.InternalPartitionLostEvent;
+import com.hazelcast.spi.ChunkedMigrationAwareService;
 import com.hazelcast.spi.ClientAwareService;
+import com.hazelcast.spi.DeltaReplicationAwareService;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.MigrationAwareService;
@@ -39,6 +41,8 @@ import com.hazelcast.transaction.TransactionalObject;
 import com.hazelcast.transaction.impl.TransactionSupport;
 import com.hazelcast.wan.WanReplicationEvent;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -59,7 +63,7 @@ import java.util.Properties;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, MigrationAwareService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService, DeltaReplicationAwareService,
         TransactionalService, RemoteService, EventPublishingService<EventData, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService,
         PartitionAwareService, ClientAwareService, QuorumAwareService {
@@ -112,6 +116,33 @@ public class MapService implements ManagedService, MigrationAwareService,
         return migrationAwareService.prepareReplicationOperation(event);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, int maxChunkSize) {
+        if (migrationAwareService instanceof ChunkedMigrationAwareService) {
+            return ((ChunkedMigrationAwareService) migrationAwareService).prepareReplicationChunks(event, maxChunkSize);
+        }
+        Operation operation = migrationAwareService.prepareReplicationOperation(event);
+        return operation == null ? null : Collections.singletonList(operation).iterator();
+    }
+
+    @Override
+    public Object createReplicaDigest(int partitionId, int replicaIndex, int rangeCount) {
+        if (migrationAwareService instanceof DeltaReplicationAwareService) {
+            return ((DeltaReplicationAwareService) migrationAwareService)
+                    .createReplicaDigest(partitionId, replicaIndex, rangeCount);
+        }
+        return null;
+    }
+
+    @Override
+    public Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, Object replicaDigest) {
+        if (migrationAwareService instanceof DeltaReplicationAwareService) {
+            return ((DeltaReplicationAwareService) migrationAwareService)
+                    .prepareDeltaReplicationOperation(event, replicaDigest);
+        }
+        return migrationAwareService.prepareReplicationOperation(event);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
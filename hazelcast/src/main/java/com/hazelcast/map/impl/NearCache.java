@@ -16,11 +16,15 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.ExecutionService;
@@ -30,11 +34,10 @@ import com.hazelcast.util.ExceptionUtil;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -50,6 +53,7 @@ public class NearCache {
     public static final String NEAR_CACHE_EXECUTOR_NAME = "hz:near-cache";
     private static final double EVICTION_FACTOR = 0.2;
     private static final int CLEANUP_INTERVAL = 5000;
+    private static final int INITIAL_CAPACITY = 16;
     private final int maxSize;
     private volatile long lastCleanup;
     private final long maxIdleMillis;
@@ -59,10 +63,12 @@ public class NearCache {
     private final NodeEngine nodeEngine;
     private final AtomicBoolean canCleanUp;
     private final AtomicBoolean canEvict;
-    private final ConcurrentMap<Data, NearCacheRecord> cache;
+    private final NearCacheRecordMap<Data> cache;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final EvictionPolicyEvaluator<Data, NearCacheRecord> evictionPolicyEvaluator;
+    private final EvictionListener<Data, NearCacheRecord> evictionListener;
+    private final long[] partitionSequences;
 
     private SizeEstimator nearCacheSizeEstimator;
 
@@ -79,19 +85,21 @@ public class NearCache {
         inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        cache = new ConcurrentHashMap<Data, NearCacheRecord>();
+        evictionPolicyEvaluator = NearCacheRecordMap.createEvictionPolicyEvaluator(evictionPolicy);
+        evictionListener = new SizeEstimatorUpdatingEvictionListener();
+        cache = new NearCacheRecordMap<Data>(INITIAL_CAPACITY);
         canCleanUp = new AtomicBoolean(true);
         canEvict = new AtomicBoolean(true);
         nearCacheStats = new NearCacheStatsImpl();
         lastCleanup = Clock.currentTimeMillis();
         serializationService = nodeEngine.getSerializationService();
+        partitionSequences = new long[nodeEngine.getPartitionService().getPartitionCount()];
     }
 
     // this operation returns the given value in near-cache memory format (data or object)
     public Object put(Data key, Data data) {
         fireTtlCleanup();
-        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize) {
+        if (evictionPolicy == EvictionPolicy.NONE && cache.estimatedSize() >= maxSize) {
             // no more space in near-cache -> return given value in near-cache format
             if (data == null) {
                 return null;
@@ -99,7 +107,7 @@ public class NearCache {
                 return inMemoryFormat.equals(InMemoryFormat.OBJECT) ? serializationService.toObject(data) : data;
             }
         }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
+        if (evictionPolicy != EvictionPolicy.NONE && cache.estimatedSize() >= maxSize) {
             fireEvictCache();
         }
         final Object value;
@@ -141,22 +149,16 @@ public class NearCache {
                 executionService.execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
                     public void run() {
                         try {
-                            TreeSet<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                updateSizeEstimator(-calculateCost(record));
-                                if (++i > evictSize) {
-                                    break;
-                                }
+                            // each round samples a constant number of records and evicts one of them
+                            int evictSize = (int) (cache.estimatedSize() * EVICTION_FACTOR);
+                            for (int i = 0; i <= evictSize && cache.estimatedSize() > 0; i++) {
+                                cache.evict(evictionPolicyEvaluator, EvictionChecker.EVICT_ALWAYS, evictionListener);
                             }
                         } finally {
                             canEvict.set(true);
                         }
 
-                        if (cache.size() >= maxSize && canEvict.compareAndSet(true, false)) {
+                        if (cache.estimatedSize() >= maxSize && canEvict.compareAndSet(true, false)) {
                             try {
                                 executionService.execute(NEAR_CACHE_EXECUTOR_NAME, this);
                             } catch (RejectedExecutionException e) {
@@ -243,8 +245,47 @@ public class NearCache {
         }
     }
 
+    /**
+     * Invalidates a batch of keys sent by another member. When the sequence number of a key does not follow
+     * the last one seen for its partition, an earlier batch is lost or reordered, so all entries of that
+     * partition are invalidated.
+     *
+     * @param keys         invalidated keys
+     * @param partitionIds partition ids of the keys
+     * @param sequences    sequence numbers of the invalidations in their partitions
+     */
+    public void invalidate(List<Data> keys, int[] partitionIds, long[] sequences) {
+        Set<Integer> stalePartitions = null;
+        synchronized (partitionSequences) {
+            for (int i = 0; i < partitionIds.length; i++) {
+                int partitionId = partitionIds[i];
+                long lastSequence = partitionSequences[partitionId];
+                if (lastSequence != 0 && sequences[i] != lastSequence + 1) {
+                    if (stalePartitions == null) {
+                        stalePartitions = new HashSet<Integer>();
+                    }
+                    stalePartitions.add(partitionId);
+                }
+                partitionSequences[partitionId] = sequences[i];
+            }
+        }
+        invalidate(keys);
+        if (stalePartitions != null) {
+            invalidatePartitions(stalePartitions);
+        }
+    }
+
+    private void invalidatePartitions(Set<Integer> partitionIds) {
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        for (Data key : cache.keySet()) {
+            if (partitionIds.contains(partitionService.getPartitionId(key))) {
+                invalidate(key);
+            }
+        }
+    }
+
     public int size() {
-        return cache.size();
+        return cache.estimatedSize();
     }
 
     public void clear() {
@@ -275,4 +316,15 @@ public class NearCache {
     public void setNearCacheSizeEstimator(SizeEstimator nearCacheSizeEstimator) {
         this.nearCacheSizeEstimator = nearCacheSizeEstimator;
     }
+
+    /**
+     * Keeps the near cache size estimator in sync with evicted records.
+     */
+    private class SizeEstimatorUpdatingEvictionListener implements EvictionListener<Data, NearCacheRecord> {
+
+        @Override
+        public void onEvict(Data evictedEntryAccessor, NearCacheRecord evictedEntry) {
+            updateSizeEstimator(-calculateCost(evictedEntry));
+        }
+    }
 }
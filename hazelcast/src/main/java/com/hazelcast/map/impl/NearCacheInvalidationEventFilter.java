@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventPublisher;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.TruePredicate;
+
+/**
+ * Event filter of a client near cache invalidation registration.
+ * <p/>
+ * Invalidations are batched per partition by the {@link QueryCacheEventPublisher} like query cache events, so the
+ * client gets the invalidated keys of a partition with a sequence number and can detect lost batches. Only the
+ * latest invalidation of a key is kept in a batch.
+ */
+public class NearCacheInvalidationEventFilter extends QueryCacheEventFilter {
+
+    public NearCacheInvalidationEventFilter() {
+    }
+
+    public NearCacheInvalidationEventFilter(int batchSize, long delayMillis) {
+        super(TruePredicate.INSTANCE, false, batchSize, batchSize, delayMillis, true);
+    }
+
+    /**
+     * Creates the filter with the batching settings of this member. When near cache invalidation batching is
+     * disabled, every invalidation is sent as soon as it happens, in a batch of its own.
+     */
+    public static NearCacheInvalidationEventFilter create(GroupProperties groupProperties) {
+        if (!groupProperties.MAP_INVALIDATION_BATCH_ENABLED.getBoolean()) {
+            return new NearCacheInvalidationEventFilter(1, 0);
+        }
+        return new NearCacheInvalidationEventFilter(groupProperties.MAP_INVALIDATION_BATCH_SIZE.getInteger(),
+                groupProperties.MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS.getLong());
+    }
+
+    /**
+     * Every change of an entry invalidates it, including additions, since a near cache also caches misses.
+     */
+    @Override
+    public EntryEventType resolveEventType(SerializationService serializationService, EntryEventType eventType,
+                                           Data dataKey, Data dataOldValue, Data dataValue) {
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+            case MERGED:
+            case REMOVED:
+            case EVICTED:
+                return eventType;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Evictions and expirations on the member do not invalidate near caches, which evict and expire by themselves.
+     */
+    @Override
+    public boolean isSyntheticEvictionIncluded() {
+        return false;
+    }
+}
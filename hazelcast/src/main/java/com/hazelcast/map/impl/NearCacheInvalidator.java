@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.map.impl.operation.NearCacheBatchInvalidationOperation;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the near cache invalidations of this member to the other members in batches.
+ * <p/>
+ * Invalidated keys are buffered per map and sent as a single {@link NearCacheBatchInvalidationOperation}
+ * when {@code batchSize} keys are buffered or when the oldest buffered key is older than the batch frequency.
+ * A key which is already in the buffer is not added again. Every buffered key gets the next sequence number
+ * of its partition, so a receiver can detect a lost batch and clear only the affected partitions.
+ */
+public class NearCacheInvalidator {
+
+    private final NodeEngine nodeEngine;
+    private final int batchSize;
+    private final long batchFrequencyMillis;
+    private final ConcurrentMap<String, InvalidationBuffer> buffers = new ConcurrentHashMap<String, InvalidationBuffer>();
+    private final AtomicBoolean flushTaskScheduled = new AtomicBoolean();
+
+    public NearCacheInvalidator(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        GroupProperties groupProperties = nodeEngine.getGroupProperties();
+        this.batchSize = Math.max(1, groupProperties.MAP_INVALIDATION_BATCH_SIZE.getInteger());
+        this.batchFrequencyMillis = Math.max(1, groupProperties.MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS.getLong());
+    }
+
+    public void invalidate(String mapName, Data key) {
+        getBuffer(mapName).add(key, Clock.currentTimeMillis());
+    }
+
+    public void invalidate(String mapName, Collection<Data> keys) {
+        InvalidationBuffer buffer = getBuffer(mapName);
+        long now = Clock.currentTimeMillis();
+        for (Data key : keys) {
+            buffer.add(key, now);
+        }
+    }
+
+    /**
+     * Sends the buffered invalidations of all maps.
+     */
+    public void flush() {
+        for (InvalidationBuffer buffer : buffers.values()) {
+            buffer.flushIfDue(Long.MAX_VALUE);
+        }
+    }
+
+    public void destroy(String mapName) {
+        buffers.remove(mapName);
+    }
+
+    public void reset() {
+        buffers.clear();
+    }
+
+    private InvalidationBuffer getBuffer(String mapName) {
+        InvalidationBuffer buffer = buffers.get(mapName);
+        if (buffer == null) {
+            InvalidationBuffer newBuffer = new InvalidationBuffer(mapName);
+            buffer = buffers.putIfAbsent(mapName, newBuffer);
+            if (buffer == null) {
+                buffer = newBuffer;
+            }
+            scheduleFlushTask();
+        }
+        return buffer;
+    }
+
+    private void scheduleFlushTask() {
+        if (flushTaskScheduled.compareAndSet(false, true)) {
+            nodeEngine.getExecutionService().scheduleWithFixedDelay(new FlushTask(),
+                    batchFrequencyMillis, batchFrequencyMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the batches whose frequency is over.
+     */
+    private final class FlushTask implements Runnable {
+
+        @Override
+        public void run() {
+            long now = Clock.currentTimeMillis();
+            for (InvalidationBuffer buffer : buffers.values()) {
+                buffer.flushIfDue(now);
+            }
+        }
+    }
+
+    /**
+     * Buffers the invalidated keys of one map.
+     */
+    private final class InvalidationBuffer {
+
+        private final String mapName;
+        private final long[] partitionSequences;
+        private final Set<Data> keySet = new HashSet<Data>();
+        private final int[] partitionIds = new int[batchSize];
+        private final long[] sequences = new long[batchSize];
+
+        private List<Data> keys = new ArrayList<Data>(batchSize);
+        private long oldestInvalidationTime;
+
+        InvalidationBuffer(String mapName) {
+            this.mapName = mapName;
+            this.partitionSequences = new long[nodeEngine.getPartitionService().getPartitionCount()];
+        }
+
+        synchronized void add(Data key, long now) {
+            if (!keySet.add(key)) {
+                return;
+            }
+            int size = keys.size();
+            if (size == 0) {
+                oldestInvalidationTime = now;
+            }
+            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+            keys.add(key);
+            partitionIds[size] = partitionId;
+            sequences[size] = ++partitionSequences[partitionId];
+            if (keys.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        synchronized void flushIfDue(long now) {
+            if (!keys.isEmpty() && now - oldestInvalidationTime >= batchFrequencyMillis) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            int size = keys.size();
+            Operation operation = new NearCacheBatchInvalidationOperation(mapName, keys,
+                    Arrays.copyOf(partitionIds, size), Arrays.copyOf(sequences, size))
+                    .setServiceName(MapService.SERVICE_NAME);
+            keys = new ArrayList<Data>(batchSize);
+            keySet.clear();
+
+            // sent under the lock, so batches of a map leave in sequence order
+            OperationService operationService = nodeEngine.getOperationService();
+            Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+            for (MemberImpl member : members) {
+                if (member.localMember()) {
+                    continue;
+                }
+                try {
+                    operationService.send(operation, member.getAddress());
+                } catch (Throwable throwable) {
+                    nodeEngine.getLogger(getClass()).warning(throwable);
+                }
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -50,10 +51,13 @@ public class NearCacheProvider {
 
     private final MapServiceContext mapServiceContext;
     private final NodeEngine nodeEngine;
+    private final NearCacheInvalidator nearCacheInvalidator;
 
     public NearCacheProvider(MapServiceContext mapServiceContext, NodeEngine nodeEngine) {
         this.mapServiceContext = mapServiceContext;
         this.nodeEngine = nodeEngine;
+        this.nearCacheInvalidator = nodeEngine.getGroupProperties().MAP_INVALIDATION_BATCH_ENABLED.getBoolean()
+                ? new NearCacheInvalidator(nodeEngine) : null;
     }
 
     public NearCache getNearCache(String mapName) {
@@ -61,6 +65,10 @@ public class NearCacheProvider {
     }
 
     public void clear() {
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.flush();
+            nearCacheInvalidator.reset();
+        }
         for (NearCache nearCache : nearCacheMap.values()) {
             nearCache.clear();
         }
@@ -68,6 +76,9 @@ public class NearCacheProvider {
     }
 
     public void remove(String mapName) {
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.destroy(mapName);
+        }
         final NearCache nearCache = nearCacheMap.remove(mapName);
         if (nearCache != null) {
             nearCache.clear();
@@ -101,6 +112,22 @@ public class NearCacheProvider {
         nearCache.invalidate(keys);
     }
 
+    /**
+     * Invalidates a batch of keys sent by {@link NearCacheInvalidator} of another member.
+     *
+     * @param mapName      name of the map
+     * @param keys         invalidated keys
+     * @param partitionIds partition ids of the keys
+     * @param sequences    sequence numbers of the invalidations in their partitions
+     */
+    public void invalidateNearCache(String mapName, List<Data> keys, int[] partitionIds, long[] sequences) {
+        if (!isNearCacheEnabled(mapName)) {
+            return;
+        }
+        NearCache nearCache = getNearCache(mapName);
+        nearCache.invalidate(keys, partitionIds, sequences);
+    }
+
     public void clearNearCache(String mapName) {
         if (!isNearCacheEnabled(mapName)) {
             return;
@@ -115,6 +142,11 @@ public class NearCacheProvider {
         if (!isNearCacheEnabled(mapName)) {
             return;
         }
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(mapName, key);
+            invalidateNearCache(mapName, key);
+            return;
+        }
         Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
         for (MemberImpl member : members) {
             try {
@@ -150,7 +182,18 @@ public class NearCacheProvider {
         if (keys == null || keys.isEmpty()) {
             return;
         }
-        //send operation.
+        if (nearCacheInvalidator != null) {
+            nearCacheInvalidator.invalidate(mapName, keys);
+        } else {
+            sendKeySetInvalidation(mapName, keys);
+        }
+        // below local invalidation is for the case the data is cached before partition is owned/migrated
+        for (final Data key : keys) {
+            invalidateNearCache(mapName, key);
+        }
+    }
+
+    private void sendKeySetInvalidation(String mapName, Set<Data> keys) {
         Operation operation = new NearCacheKeySetInvalidationOperation(mapName, keys)
                 .setServiceName(MapService.SERVICE_NAME);
         Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
@@ -164,10 +207,6 @@ public class NearCacheProvider {
                 nodeEngine.getLogger(getClass()).warning(throwable);
             }
         }
-        // below local invalidation is for the case the data is cached before partition is owned/migrated
-        for (final Data key : keys) {
-            invalidateNearCache(mapName, key);
-        }
     }
 
     public Object getFromNearCache(String mapName, Data key) {
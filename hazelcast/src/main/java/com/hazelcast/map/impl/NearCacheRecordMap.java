@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.cache.impl.eviction.EvictionCandidate;
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Record map of the client and member side map near caches.
+ * Eviction samples a constant number of records and evicts the one selected by the
+ * {@link EvictionPolicyEvaluator}, so its cost does not depend on the near cache size.
+ *
+ * @param <K> type of the key
+ */
+public class NearCacheRecordMap<K>
+        extends SampleableConcurrentHashMap<K, NearCacheRecord>
+        implements SampleableEvictableStore<K, NearCacheRecord> {
+
+    private final SamplingBasedEvictionStrategy<K, NearCacheRecord, NearCacheRecordMap<K>> evictionStrategy =
+            new SamplingBasedEvictionStrategy<K, NearCacheRecord, NearCacheRecordMap<K>>();
+
+    public NearCacheRecordMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Evicts one record selected by the given evaluator from the sampled records if the checker requires eviction.
+     *
+     * @param evictionPolicyEvaluator {@link EvictionPolicyEvaluator} to select the record to be evicted
+     * @param evictionChecker         {@link EvictionChecker} to decide if eviction is required
+     * @param evictionListener        {@link EvictionListener} to be notified about evicted records, can be null
+     * @return evicted record count
+     */
+    public int evict(EvictionPolicyEvaluator<K, NearCacheRecord> evictionPolicyEvaluator,
+                     EvictionChecker evictionChecker, EvictionListener<K, NearCacheRecord> evictionListener) {
+        return evictionStrategy.evict(this, evictionPolicyEvaluator, evictionChecker, evictionListener);
+    }
+
+    @Override
+    public <C extends EvictionCandidate<K, NearCacheRecord>> int evict(Iterable<C> evictionCandidates,
+            EvictionListener<K, NearCacheRecord> evictionListener) {
+        if (evictionCandidates == null) {
+            return 0;
+        }
+        int actualEvictedCount = 0;
+        for (EvictionCandidate<K, NearCacheRecord> evictionCandidate : evictionCandidates) {
+            if (remove(evictionCandidate.getAccessor(), evictionCandidate.getEvictable())) {
+                actualEvictedCount++;
+                if (evictionListener != null) {
+                    evictionListener.onEvict(evictionCandidate.getAccessor(), evictionCandidate.getEvictable());
+                }
+            }
+        }
+        return actualEvictedCount;
+    }
+
+    @Override
+    public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+
+    @Override
+    protected <E extends SamplingEntry> E createSamplingEntry(K key, NearCacheRecord value) {
+        return (E) new EvictableSamplingEntry(key, value);
+    }
+
+    /**
+     * Gets the {@link EvictionPolicyEvaluator} of the given near cache eviction policy.
+     *
+     * @param evictionPolicy near cache eviction policy
+     * @param <K>            type of the key
+     * @return the {@link EvictionPolicyEvaluator} or <code>null</code> for {@link EvictionPolicy#NONE}
+     */
+    public static <K> EvictionPolicyEvaluator<K, NearCacheRecord> createEvictionPolicyEvaluator(
+            EvictionPolicy evictionPolicy) {
+        switch (evictionPolicy) {
+            case LRU:
+                return new LRUEvictionPolicyEvaluator<K, NearCacheRecord>();
+            case LFU:
+                return new LFUEvictionPolicyEvaluator<K, NearCacheRecord>();
+            case RANDOM:
+                return new RandomEvictionPolicyEvaluator<K>();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Sampling entry to be used as {@link EvictionCandidate}.
+     */
+    public class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate<K, NearCacheRecord> {
+
+        public EvictableSamplingEntry(K key, NearCacheRecord value) {
+            super(key, value);
+        }
+
+        @Override
+        public K getAccessor() {
+            return getKey();
+        }
+
+        @Override
+        public NearCacheRecord getEvictable() {
+            return getValue();
+        }
+    }
+
+    /**
+     * Selects the first sampled record. Since sampling starts from a random position,
+     * the selected record is a random one.
+     */
+    private static final class RandomEvictionPolicyEvaluator<K> implements EvictionPolicyEvaluator<K, NearCacheRecord> {
+
+        @Override
+        public <C extends EvictionCandidate<K, NearCacheRecord>> Iterable<C> evaluate(Iterable<C> evictionCandidates) {
+            Iterator<C> iterator = evictionCandidates.iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            return Collections.singleton(iterator.next());
+        }
+    }
+}
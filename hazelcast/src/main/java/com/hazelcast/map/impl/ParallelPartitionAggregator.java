@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aggregates a set of local partitions on the partition threads.
+ * <p/>
+ * A task is scheduled on the partition thread of every partition. Every partition thread accumulates the partitions it
+ * owns into its own copy of the aggregator, so there is no contention and no per partition litter; the copies are
+ * combined when all tasks are done. Because the tasks run on the partition threads, a partition can't migrate while it
+ * is being accumulated; a partition that is no longer local by the time its task runs is skipped and left out of the
+ * result, so the caller can aggregate it on its new owner.
+ */
+final class ParallelPartitionAggregator {
+
+    private static final long AGGREGATION_TIMEOUT_MINUTES = 5;
+
+    private final BasicMapContextQuerySupport querySupport;
+    private final NodeEngine nodeEngine;
+
+    ParallelPartitionAggregator(BasicMapContextQuerySupport querySupport, NodeEngine nodeEngine) {
+        this.querySupport = querySupport;
+        this.nodeEngine = nodeEngine;
+    }
+
+    AggregationResult aggregate(String mapName, Predicate predicate, Collection<Integer> partitionIds,
+                                Data aggregatorData) throws Exception {
+        AggregationState state = new AggregationState(mapName, predicate, aggregatorData, partitionIds.size());
+        InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
+        for (Integer partitionId : partitionIds) {
+            operationService.execute(new AggregationTask(state, partitionId));
+        }
+
+        if (!state.latch.await(AGGREGATION_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            throw new TimeoutException("Aggregation of map '" + mapName + "' didn't complete within "
+                    + AGGREGATION_TIMEOUT_MINUTES + " minutes");
+        }
+        Throwable failure = state.failure.get();
+        if (failure != null) {
+            throw ExceptionUtil.rethrow(failure);
+        }
+        return new AggregationResult(state.combine(), state.partitionIds);
+    }
+
+    /**
+     * The state shared between the aggregation tasks of a single aggregation.
+     */
+    private final class AggregationState {
+        private final String mapName;
+        private final Predicate predicate;
+        private final Data aggregatorData;
+        private final CountDownLatch latch;
+        private final ConcurrentMap<Thread, Aggregator> aggregators = new ConcurrentHashMap<Thread, Aggregator>();
+        private final List<Integer> partitionIds;
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        private AggregationState(String mapName, Predicate predicate, Data aggregatorData, int partitionCount) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.aggregatorData = aggregatorData;
+            this.latch = new CountDownLatch(partitionCount);
+            this.partitionIds = new ArrayList<Integer>(partitionCount);
+        }
+
+        // only called by the partition thread that owns the aggregator
+        private Aggregator getAggregator() {
+            Thread thread = Thread.currentThread();
+            Aggregator aggregator = aggregators.get(thread);
+            if (aggregator == null) {
+                SerializationService serializationService = nodeEngine.getSerializationService();
+                aggregator = serializationService.toObject(aggregatorData);
+                aggregators.put(thread, aggregator);
+            }
+            return aggregator;
+        }
+
+        private void done(int partitionId) {
+            synchronized (partitionIds) {
+                partitionIds.add(partitionId);
+            }
+        }
+
+        // called after the latch has been released, so all aggregators are visible
+        @SuppressWarnings("unchecked")
+        private Aggregator combine() {
+            Iterator<Aggregator> iterator = aggregators.values().iterator();
+            if (!iterator.hasNext()) {
+                return nodeEngine.getSerializationService().toObject(aggregatorData);
+            }
+            Aggregator result = iterator.next();
+            while (iterator.hasNext()) {
+                result.combine(iterator.next());
+            }
+            return result;
+        }
+    }
+
+    private final class AggregationTask implements PartitionSpecificRunnable {
+
+        private final AggregationState state;
+        private final int partitionId;
+
+        private AggregationTask(AggregationState state, int partitionId) {
+            this.state = state;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (state.failure.get() != null || !isLocal()) {
+                    return;
+                }
+                querySupport.aggregateOnPartition(state.mapName, state.predicate, partitionId, state.getAggregator());
+                state.done(partitionId);
+            } catch (Throwable t) {
+                state.failure.compareAndSet(null, t);
+            } finally {
+                state.latch.countDown();
+            }
+        }
+
+        private boolean isLocal() {
+            InternalPartitionService partitionService = nodeEngine.getPartitionService();
+            return partitionService.getPartition(partitionId, false).isLocal();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.util.FutureUtil;
+import com.hazelcast.util.executor.ManagedExecutorService;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.util.FutureUtil.returnWithDeadline;
+import static com.hazelcast.util.SortingUtil.newComparator;
+
+/**
+ * Scans a set of local partitions in parallel.
+ * <p/>
+ * Instead of a task per partition, a task per available thread of the
+ * {@link ExecutionService#QUERY_EXECUTOR query executor} is created, and the calling thread participates as well. The
+ * tasks claim the next partition to scan from a shared cursor, so a task that happens to scan small partitions
+ * automatically picks up more partitions. Every task collects its matches in its own chunk, so there is no contention
+ * on the results; the chunks are merged when all tasks are done.
+ * <p/>
+ * For a {@link PagingPredicate} every task only retains the best 'pageSize' entries seen so far; entries that are
+ * worse than the worst retained entry are dropped immediately, instead of collecting and sorting all matches.
+ */
+final class ParallelPartitionScanner {
+
+    private static final long QUERY_EXECUTION_TIMEOUT_MINUTES = 5;
+
+    private final BasicMapContextQuerySupport querySupport;
+    private final NodeEngine nodeEngine;
+
+    ParallelPartitionScanner(BasicMapContextQuerySupport querySupport, NodeEngine nodeEngine) {
+        this.querySupport = querySupport;
+        this.nodeEngine = nodeEngine;
+    }
+
+    Collection<QueryableEntry> scan(String mapName, Predicate predicate, Collection<Integer> partitionIds) {
+        if (partitionIds.isEmpty()) {
+            return new ArrayList<QueryableEntry>(0);
+        }
+        ScanState state = new ScanState(mapName, predicate, partitionIds);
+        ManagedExecutorService executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
+
+        // the calling thread runs a scan task as well, so one task less is submitted
+        int taskCount = Math.max(1, Math.min(partitionIds.size(), executor.getMaximumPoolSize())) - 1;
+        List<Future<Collection<QueryableEntry>>> futures = new ArrayList<Future<Collection<QueryableEntry>>>(taskCount);
+        for (int k = 0; k < taskCount; k++) {
+            try {
+                futures.add(executor.submit(new ScanTask(state)));
+            } catch (RejectedExecutionException e) {
+                // the query executor is saturated; the remaining partitions are scanned by the running tasks
+                break;
+            }
+        }
+
+        List<Collection<QueryableEntry>> chunks = new ArrayList<Collection<QueryableEntry>>(futures.size() + 1);
+        chunks.add(new ScanTask(state).call());
+        chunks.addAll(returnWithDeadline(futures, QUERY_EXECUTION_TIMEOUT_MINUTES, TimeUnit.MINUTES,
+                FutureUtil.RETHROW_EVERYTHING));
+
+        RetryableHazelcastException retryableException = state.retryableException.get();
+        if (retryableException != null) {
+            throw retryableException;
+        }
+        return merge(chunks, state.pagingPredicate);
+    }
+
+    private static Collection<QueryableEntry> merge(List<Collection<QueryableEntry>> chunks,
+                                                    PagingPredicate pagingPredicate) {
+        int size = 0;
+        for (Collection<QueryableEntry> chunk : chunks) {
+            size += chunk.size();
+        }
+
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>(size);
+        for (Collection<QueryableEntry> chunk : chunks) {
+            result.addAll(chunk);
+        }
+
+        if (pagingPredicate == null) {
+            return result;
+        }
+
+        Collections.sort(result, newComparator(pagingPredicate));
+        if (result.size() > pagingPredicate.getPageSize()) {
+            return result.subList(0, pagingPredicate.getPageSize());
+        }
+        return result;
+    }
+
+    /**
+     * The state shared between the scan tasks of a single query.
+     */
+    private static final class ScanState {
+        private final String mapName;
+        private final Predicate predicate;
+        private final PagingPredicate pagingPredicate;
+        private final int[] partitionIds;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicReference<RetryableHazelcastException> retryableException
+                = new AtomicReference<RetryableHazelcastException>();
+        private volatile boolean failed;
+
+        private ScanState(String mapName, Predicate predicate, Collection<Integer> partitionIds) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
+            this.partitionIds = new int[partitionIds.size()];
+            int index = 0;
+            for (Integer partitionId : partitionIds) {
+                this.partitionIds[index++] = partitionId;
+            }
+        }
+    }
+
+    private final class ScanTask implements Callable<Collection<QueryableEntry>> {
+
+        private final ScanState state;
+
+        private ScanTask(ScanState state) {
+            this.state = state;
+        }
+
+        @Override
+        public Collection<QueryableEntry> call() {
+            Collection<QueryableEntry> chunk = newChunk();
+            for (; ; ) {
+                if (state.failed) {
+                    break;
+                }
+                int index = state.cursor.getAndIncrement();
+                if (index >= state.partitionIds.length) {
+                    break;
+                }
+                scan(state.partitionIds[index], chunk);
+            }
+            return chunk;
+        }
+
+        private Collection<QueryableEntry> newChunk() {
+            PagingPredicate pagingPredicate = state.pagingPredicate;
+            if (pagingPredicate == null) {
+                return new ArrayList<QueryableEntry>();
+            }
+            return new TopEntries(pagingPredicate.getPageSize(), newComparator(pagingPredicate));
+        }
+
+        private void scan(int partitionId, Collection<QueryableEntry> chunk) {
+            try {
+                querySupport.scanPartition(state.mapName, state.predicate, partitionId, chunk);
+            } catch (RetryableHazelcastException e) {
+                // RetryableHazelcastException are stored and re-thrown later to ensure all partitions are touched;
+                // just like a single threaded scan.
+                state.retryableException.compareAndSet(null, e);
+            } catch (RuntimeException e) {
+                state.failed = true;
+                throw e;
+            } catch (Error e) {
+                state.failed = true;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A collection that only retains the 'capacity' smallest entries according to the comparator.
+     * <p/>
+     * This collection is not thread-safe.
+     */
+    static final class TopEntries extends AbstractCollection<QueryableEntry> {
+
+        private final int capacity;
+        private final Comparator<Map.Entry> comparator;
+        // a max heap; so the head is the worst entry that is retained
+        private final PriorityQueue<QueryableEntry> heap;
+
+        TopEntries(int capacity, final Comparator<Map.Entry> comparator) {
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<QueryableEntry>(Math.max(1, capacity), new Comparator<QueryableEntry>() {
+                @Override
+                public int compare(QueryableEntry o1, QueryableEntry o2) {
+                    return comparator.compare(o2, o1);
+                }
+            });
+        }
+
+        @Override
+        public boolean add(QueryableEntry entry) {
+            if (heap.size() < capacity) {
+                return heap.offer(entry);
+            }
+
+            QueryableEntry worst = heap.peek();
+            if (worst == null || comparator.compare(entry, worst) >= 0) {
+                return false;
+            }
+            heap.poll();
+            return heap.offer(entry);
+        }
+
+        @Override
+        public Iterator<QueryableEntry> iterator() {
+            return heap.iterator();
+        }
+
+        @Override
+        public int size() {
+            return heap.size();
+        }
+    }
+}
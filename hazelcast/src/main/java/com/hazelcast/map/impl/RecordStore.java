@@ -229,6 +229,25 @@ public interface RecordStore {
 
     void reset();
 
+    /**
+     * Returns the digests of the key ranges of this record store, used for delta replica sync.
+     *
+     * @param rangeCount the number of key ranges
+     * @return the digest of each range
+     * @see MapReplicaDigest
+     */
+    long[] getRangeDigests(int rangeCount);
+
+    /**
+     * Removes the records whose keys are in the given ranges, without touching the map store.
+     * Used in delta replication operations before the records of the ranges are replicated.
+     *
+     * @param ranges     the ranges to clear
+     * @param rangeCount the number of key ranges
+     * @see MapReplicaDigest
+     */
+    void clearRanges(int[] ranges, int rangeCount);
+
     boolean forceUnlock(Data dataKey);
 
     long getHeapCost();
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.NearCacheInvalidationEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+
+import java.io.IOException;
+
+/**
+ * Registers a {@link NearCacheInvalidationEventFilter} on behalf of a client near cache. The batching settings
+ * are the near cache invalidation settings of the member.
+ */
+public class MapAddNearCacheInvalidationListenerRequest extends MapAddQueryCacheListenerRequest {
+
+    public MapAddNearCacheInvalidationListenerRequest() {
+    }
+
+    public MapAddNearCacheInvalidationListenerRequest(String name) {
+        super(name, null);
+    }
+
+    @Override
+    protected QueryCacheEventFilter getEventFilter() {
+        MapService mapService = getService();
+        return NearCacheInvalidationEventFilter.create(mapService.getMapServiceContext().getNodeEngine().getGroupProperties());
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.ADD_NEAR_CACHE_INVALIDATION_LISTENER;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("name", name);
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("name");
+    }
+
+    @Override
+    public String getMethodName() {
+        return "addNearCacheInvalidationListener";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+}
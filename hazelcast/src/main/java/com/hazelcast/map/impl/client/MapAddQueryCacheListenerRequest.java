@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.impl.client.CallableClientRequest;
+import com.hazelcast.client.impl.client.RetryableRequest;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheBatchEvent;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.impl.PortableEntryEvent;
+import com.hazelcast.spi.impl.PortableQueryCacheBatchEvent;
+
+import java.io.IOException;
+import java.security.Permission;
+
+/**
+ * Registers a {@link QueryCacheEventFilter} on behalf of a client query cache. Batches are filtered and
+ * accumulated by the publisher like for member query caches and are sent as {@link PortableQueryCacheBatchEvent}s.
+ */
+public class MapAddQueryCacheListenerRequest extends CallableClientRequest implements RetryableRequest {
+
+    protected String name;
+    private QueryCacheEventFilter filter;
+
+    public MapAddQueryCacheListenerRequest() {
+    }
+
+    public MapAddQueryCacheListenerRequest(String name, QueryCacheEventFilter filter) {
+        this.name = name;
+        this.filter = filter;
+    }
+
+    @Override
+    public Object call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        EventService eventService = getClientEngine().getEventService();
+
+        ListenerAdapter listener = new ListenerAdapter() {
+            @Override
+            public void onEvent(IMapEvent event) {
+                if (!endpoint.isAlive()) {
+                    return;
+                }
+                if (event instanceof QueryCacheBatchEvent) {
+                    QueryCacheBatchEvent batch = (QueryCacheBatchEvent) event;
+                    PortableQueryCacheBatchEvent portableEvent = new PortableQueryCacheBatchEvent(batch.getPartitionId(),
+                            batch.getSequence(), batch.getEvents().size());
+                    for (DataAwareEntryEvent entryEvent : batch.getEvents()) {
+                        portableEvent.add(entryEvent.getEventType(), entryEvent.getKeyData(), entryEvent.getNewValueData());
+                    }
+                    // keyed by partition, so batches of a partition are delivered in order
+                    endpoint.sendEvent(batch.getPartitionId(), portableEvent, getCallId());
+                } else if (event instanceof MapEvent) {
+                    MapEvent mapEvent = (MapEvent) event;
+                    PortableEntryEvent portableEvent = new PortableEntryEvent(mapEvent.getEventType(),
+                            mapEvent.getMember().getUuid(), mapEvent.getNumberOfEntriesAffected());
+                    endpoint.sendEvent(null, portableEvent, getCallId());
+                }
+            }
+        };
+
+        EventRegistration registration = eventService.registerListener(MapService.SERVICE_NAME, name, getEventFilter(),
+                listener);
+        String registrationId = registration.getId();
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, name, registrationId);
+        return registrationId;
+    }
+
+    protected QueryCacheEventFilter getEventFilter() {
+        return filter;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.ADD_QUERY_CACHE_LISTENER;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("name", name);
+        ObjectDataOutput out = writer.getRawDataOutput();
+        out.writeObject(filter);
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("name");
+        filter = reader.getRawDataInput().readObject();
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_LISTEN);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{filter.getPredicate()};
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.AsyncMapStore;
 import com.hazelcast.core.MapStore;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
@@ -25,6 +26,7 @@ import com.hazelcast.nio.serialization.SerializationService;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Contains common functionality which is required by a {@link WriteBehindProcessor}
@@ -41,11 +43,18 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
 
     protected final MapStore mapStore;
 
+    /**
+     * The user's map store if it is an {@link AsyncMapStore}, otherwise <code>null</code>.
+     */
+    protected final AsyncMapStore asyncMapStore;
+
     private final SerializationService serializationService;
 
     AbstractWriteBehindProcessor(MapStoreContext mapStoreContext) {
         this.serializationService = mapStoreContext.getSerializationService();
         this.mapStore = mapStoreContext.getMapStoreWrapper();
+        Object mapStoreImpl = mapStoreContext.getMapStoreWrapper().getImpl();
+        this.asyncMapStore = mapStoreImpl instanceof AsyncMapStore ? (AsyncMapStore) mapStoreImpl : null;
         this.logger = mapStoreContext.getLogger(DefaultWriteBehindProcessor.class);
         MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         this.writeBatchSize = mapStoreConfig.getWriteBatchSize();
@@ -98,6 +107,11 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
                 mapStore.deleteAll(map.keySet());
                 return true;
             }
+
+            @Override
+            Future<?> processBatchAsync(Map map, AsyncMapStore mapStore) {
+                return mapStore.deleteAllAsync(map.keySet());
+            }
         },
 
         WRITE {
@@ -112,10 +126,17 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
                 mapStore.storeAll(map);
                 return true;
             }
+
+            @Override
+            Future<?> processBatchAsync(Map map, AsyncMapStore mapStore) {
+                return mapStore.storeAllAsync(map);
+            }
         };
 
         abstract boolean processSingle(Object key, Object value, MapStore mapStore);
 
         abstract boolean processBatch(Map map, MapStore mapStore);
+
+        abstract Future<?> processBatchAsync(Map map, AsyncMapStore mapStore);
     }
 }
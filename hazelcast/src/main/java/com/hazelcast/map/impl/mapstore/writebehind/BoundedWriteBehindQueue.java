@@ -139,6 +139,11 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         addCapacity(-size);
     }
 
+    @Override
+    public E peek() {
+        return queue.peek();
+    }
+
     /**
      * Returns unmodifiable list representation of this queue.
      *
@@ -117,6 +117,12 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
         return collection.size();
     }
 
+    @Override
+    public DelayedEntry peek() {
+        Iterator<DelayedEntry> iterator = map.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
     @Override
     public List<DelayedEntry> asList() {
         Collection<DelayedEntry> values = map.values();
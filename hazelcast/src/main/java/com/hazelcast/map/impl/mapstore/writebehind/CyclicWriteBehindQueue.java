@@ -143,6 +143,11 @@ class CyclicWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
         return collection.size();
     }
 
+    @Override
+    public DelayedEntry peek() {
+        return deque.peekFirst();
+    }
+
     /**
      * Returns unmodifiable list representation of this queue.
      *
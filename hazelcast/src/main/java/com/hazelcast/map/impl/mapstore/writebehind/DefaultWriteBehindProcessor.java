@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.util.CollectionUtil.isNotEmpty;
@@ -61,7 +62,9 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries) {
         Map<Integer, List<DelayedEntry>> failMap;
         sort(delayedEntries);
-        if (writeBatchSize > 1) {
+        if (asyncMapStore != null && writeCoalescing) {
+            failMap = processAsync(delayedEntries);
+        } else if (writeBatchSize > 1) {
             failMap = doStoreUsingBatchSize(delayedEntries);
         } else {
             failMap = processInternal(delayedEntries);
@@ -99,6 +102,40 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         return failsPerPartition;
     }
 
+    /**
+     * Passes all batches to the {@link com.hazelcast.core.AsyncMapStore} without waiting for the previous ones
+     * and then waits for all of them. This doesn't reorder the store operations on a key, since with write coalescing
+     * the entries of a run contain every key only once.
+     */
+    private Map<Integer, List<DelayedEntry>> processAsync(List<DelayedEntry> delayedEntries) {
+        final int batchSize = Math.max(1, writeBatchSize);
+        final List<AsyncBatch> batches = new ArrayList<AsyncBatch>();
+        AsyncBatch writes = new AsyncBatch(StoreOperationType.WRITE);
+        AsyncBatch deletes = new AsyncBatch(StoreOperationType.DELETE);
+        for (DelayedEntry entry : delayedEntries) {
+            AsyncBatch batch = entry.getValue() == null ? deletes : writes;
+            batch.entries.put(entry.getKey(), entry);
+            if (batch.entries.size() >= batchSize) {
+                batches.add(batch.submit());
+                if (batch == writes) {
+                    writes = new AsyncBatch(StoreOperationType.WRITE);
+                } else {
+                    deletes = new AsyncBatch(StoreOperationType.DELETE);
+                }
+            }
+        }
+        for (AsyncBatch batch : new AsyncBatch[]{writes, deletes}) {
+            if (!batch.entries.isEmpty()) {
+                batches.add(batch.submit());
+            }
+        }
+        final Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<Integer, List<DelayedEntry>>();
+        for (AsyncBatch batch : batches) {
+            addToFails(batch.await(), failsPerPartition);
+        }
+        return failsPerPartition;
+    }
+
     private void addToFails(List<DelayedEntry> fails, Map<Integer, List<DelayedEntry>> failsPerPartition) {
         if (fails == null || fails.isEmpty()) {
             return;
@@ -144,12 +181,12 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         // if all batch is on same key, call single store.
         if (batchMap.size() == 1) {
             final DelayedEntry delayedEntry = delayedEntriesArray[delayedEntriesArray.length - 1];
-            return callSingleStoreWithListeners(delayedEntry, operationType);
+            return callSingleStoreWithListeners(delayedEntry, operationType, false);
         }
-        final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType);
+        final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType, false);
         final List<DelayedEntry> failedTries = new ArrayList<DelayedEntry>();
         for (DelayedEntry entry : failedEntryList) {
-            final Collection<DelayedEntry> tmpFails = callSingleStoreWithListeners(entry, operationType);
+            final Collection<DelayedEntry> tmpFails = callSingleStoreWithListeners(entry, operationType, false);
             failedTries.addAll(tmpFails);
         }
         return failedTries;
@@ -159,7 +196,7 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
                                                       StoreOperationType operationType) {
         List<DelayedEntry> totalFailures = null;
         for (DelayedEntry delayedEntry : delayedEntries) {
-            List<DelayedEntry> failures = callSingleStoreWithListeners(delayedEntry, operationType);
+            List<DelayedEntry> failures = callSingleStoreWithListeners(delayedEntry, operationType, false);
             // this `if` is used to initialize totalFailures list, since we don't want unneeded object creation.
             if (isNotEmpty(failures)) {
                 if (totalFailures == null) {
@@ -188,16 +225,20 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * @param entry delayed entry to be stored.
+     * @param entry                      delayed entry to be stored.
+     * @param beforeStoreListenersCalled {@code true} if the before-store listeners were already called for the entry.
      * @return failed entry list if any.
      */
     private List<DelayedEntry> callSingleStoreWithListeners(final DelayedEntry entry,
-                                                            final StoreOperationType operationType) {
+                                                            final StoreOperationType operationType,
+                                                            final boolean beforeStoreListenersCalled) {
         return retryCall(new RetryTask<DelayedEntry>() {
 
             @Override
             public boolean run() throws Exception {
-                callBeforeStoreListeners(entry);
+                if (!beforeStoreListenersCalled) {
+                    callBeforeStoreListeners(entry);
+                }
                 final Object key = toObject(entry.getKey());
                 final Object value = toObject(entry.getValue());
                 boolean result = operationType.processSingle(key, value, mapStore);
@@ -229,17 +270,21 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
 
     /**
-     * @param batchMap contains batched delayed entries.
+     * @param batchMap                   contains batched delayed entries.
+     * @param beforeStoreListenersCalled {@code true} if the before-store listeners were already called for the entries.
      * @return failed entry list if any.
      */
     private List<DelayedEntry> callBatchStoreWithListeners(final Map<Object, DelayedEntry> batchMap,
-                                                           final StoreOperationType operationType) {
+                                                           final StoreOperationType operationType,
+                                                           final boolean beforeStoreListenersCalled) {
         return retryCall(new RetryTask<DelayedEntry>() {
             private List<DelayedEntry> failedDelayedEntries = Collections.emptyList();
 
             @Override
             public boolean run() throws Exception {
-                callBeforeStoreListeners(batchMap.values());
+                if (!beforeStoreListenersCalled) {
+                    callBeforeStoreListeners(batchMap.values());
+                }
                 final Map map = convertToObject(batchMap);
                 final boolean result = operationType.processBatch(map, mapStore);
                 callAfterStoreListeners(batchMap.values());
@@ -424,6 +469,55 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         List<T> failureList();
     }
 
+    /**
+     * A batch of entries passed to the {@link com.hazelcast.core.AsyncMapStore}.
+     */
+    private final class AsyncBatch {
+
+        private final StoreOperationType operationType;
+
+        private final Map<Object, DelayedEntry> entries = new HashMap<Object, DelayedEntry>();
+
+        private Future<?> future;
+
+        private AsyncBatch(StoreOperationType operationType) {
+            this.operationType = operationType;
+        }
+
+        private AsyncBatch submit() {
+            callBeforeStoreListeners(entries.values());
+            try {
+                future = operationType.processBatchAsync(convertToObject(entries), asyncMapStore);
+            } catch (Throwable t) {
+                logger.warning("Async store operation could not be started, it will be retried synchronously", t);
+            }
+            return this;
+        }
+
+        /**
+         * Waits for this batch; if it failed, retries it with the synchronous map store methods.
+         *
+         * @return failed entry list if any.
+         */
+        private List<DelayedEntry> await() {
+            if (future != null) {
+                try {
+                    future.get();
+                    callAfterStoreListeners(entries.values());
+                    return Collections.emptyList();
+                } catch (Throwable t) {
+                    logger.warning("Async store operation failed, it will be retried synchronously", t);
+                }
+            }
+            // the before-store listeners were already called when this batch was submitted
+            final List<DelayedEntry> failures = new ArrayList<DelayedEntry>();
+            for (DelayedEntry entry : callBatchStoreWithListeners(entries, operationType, true)) {
+                failures.addAll(callSingleStoreWithListeners(entry, operationType, true));
+            }
+            return failures;
+        }
+    }
+
     private void sleepSeconds(long secs) {
         try {
             TimeUnit.SECONDS.sleep(secs);
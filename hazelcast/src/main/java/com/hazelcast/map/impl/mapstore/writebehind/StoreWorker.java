@@ -33,6 +33,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.util.CollectionUtil.isEmpty;
@@ -40,7 +41,7 @@ import static com.hazelcast.util.CollectionUtil.isEmpty;
 /**
  * Used to process store operations in another thread.
  * Collects entries from write behind queues and passes them to {@link #writeBehindProcessor}.
- * Created per map.
+ * Created per map; a map can have more than one worker, each processing its own stripe of partitions.
  */
 public class StoreWorker implements Runnable {
 
@@ -50,6 +51,13 @@ public class StoreWorker implements Runnable {
 
     private final WriteBehindProcessor writeBehindProcessor;
 
+    /**
+     * This worker processes the partitions whose id modulo {@link #stripeCount} is {@link #stripe}.
+     */
+    private final int stripe;
+
+    private final int stripeCount;
+
     /**
      * Run on backup nodes after this interval.
      */
@@ -60,11 +68,24 @@ public class StoreWorker implements Runnable {
      */
     private long lastRunTime;
 
+    /**
+     * Set while a run is in progress. Runs are scheduled at a fixed rate without waiting for the previous run
+     * to complete, so a run taking longer than the period (e.g. because of a slow store) would otherwise be
+     * overlapped by the next one and the same entries would be stored twice.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
 
     public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+        this(mapStoreContext, writeBehindProcessor, 0, 1);
+    }
+
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       int stripe, int stripeCount) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         this.writeBehindProcessor = writeBehindProcessor;
+        this.stripe = stripe;
+        this.stripeCount = stripeCount;
         this.backupRunIntervalTime = getReplicaWaitTime();
         this.lastRunTime = Clock.currentTimeMillis();
     }
@@ -72,13 +93,24 @@ public class StoreWorker implements Runnable {
 
     @Override
     public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runInternal();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runInternal() {
         long now = Clock.currentTimeMillis();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         InternalPartitionService partitionService = nodeEngine.getPartitionService();
         int partitionCount = partitionService.getPartitionCount();
         List<DelayedEntry> entries = new ArrayList<DelayedEntry>();
 
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+        for (int partitionId = stripe; partitionId < partitionCount; partitionId += stripeCount) {
             InternalPartition partition = partitionService.getPartition(partitionId, false);
             Address owner = partition.getOwnerOrNull();
             if (owner == null) {
@@ -98,6 +98,13 @@ class SynchronizedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         }
     }
 
+    @Override
+    public E peek() {
+        synchronized (mutex) {
+            return queue.peek();
+        }
+    }
+
     @Override
     public List<E> asList() {
         synchronized (mutex) {
@@ -46,7 +46,7 @@ public class WriteBehindManager implements MapStoreManager {
 
     private WriteBehindProcessor writeBehindProcessor;
 
-    private StoreWorker storeWorker;
+    private final StoreWorker[] storeWorkers;
 
     private String executorName;
 
@@ -55,14 +55,16 @@ public class WriteBehindManager implements MapStoreManager {
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+        this.storeWorkers = newStoreWorkers(mapStoreContext, writeBehindProcessor);
         this.executorName = EXECUTOR_NAME_PREFIX + mapStoreContext.getMapName();
         final MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
         this.scheduledExecutor = getScheduledExecutorService(mapServiceContext);
     }
 
     public void start() {
-        scheduledExecutor.scheduleAtFixedRate(storeWorker, 1, 1, TimeUnit.SECONDS);
+        for (StoreWorker storeWorker : storeWorkers) {
+            scheduledExecutor.scheduleAtFixedRate(storeWorker, 1, 1, TimeUnit.SECONDS);
+        }
     }
 
     public void stop() {
@@ -84,10 +86,23 @@ public class WriteBehindManager implements MapStoreManager {
         return writeBehindProcessor;
     }
 
+    private static StoreWorker[] newStoreWorkers(MapStoreContext mapStoreContext,
+                                                 WriteBehindProcessor writeBehindProcessor) {
+        final NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        final int workerCount = nodeEngine.getGroupProperties().MAP_WRITE_BEHIND_WORKER_COUNT.getInteger();
+        final int stripeCount = Math.max(1, Math.min(workerCount, partitionCount));
+        final StoreWorker[] storeWorkers = new StoreWorker[stripeCount];
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            storeWorkers[stripe] = new StoreWorker(mapStoreContext, writeBehindProcessor, stripe, stripeCount);
+        }
+        return storeWorkers;
+    }
+
     private ScheduledExecutorService getScheduledExecutorService(MapServiceContext mapServiceContext) {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         final ExecutionService executionService = nodeEngine.getExecutionService();
-        executionService.register(executorName, 1, EXECUTOR_DEFAULT_QUEUE_CAPACITY, ExecutorType.CACHED);
+        executionService.register(executorName, storeWorkers.length, EXECUTOR_DEFAULT_QUEUE_CAPACITY, ExecutorType.CACHED);
         return executionService.getScheduledExecutor(executorName);
     }
 
@@ -79,6 +79,13 @@ public interface WriteBehindQueue<E> {
      */
     void clear();
 
+    /**
+     * Returns the head of this queue without removing it.
+     *
+     * @return the head of this queue, or <code>null</code> if this queue is empty.
+     */
+    E peek();
+
     /**
      * Returns a read-only list representation of this queue.
      *
@@ -206,6 +206,21 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         return writeBehindQueue.size();
     }
 
+    /**
+     * Returns the time in milliseconds the oldest entry in the write-behind queue has been waiting to be stored,
+     * or 0 if the queue is empty.
+     *
+     * @param now the current time.
+     * @return the age of the oldest entry in the write-behind queue.
+     */
+    public long getOldestEntryAge(long now) {
+        final DelayedEntry oldest = writeBehindQueue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, now - (oldest.getStoreTime() - writeDelayTime));
+    }
+
     @Override
     public Object flush(Data key, Object value, long now, boolean backup) {
         if (writeBehindQueue.size() == 0) {
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.map.impl.AggregationResult;
+import com.hazelcast.map.impl.MapContextQuerySupport;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.ReadonlyOperation;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Aggregates the entries of all partitions owned by a member.
+ * <p/>
+ * If the predicate can be answered by an index, the indexed entries are accumulated directly. Otherwise every partition
+ * is accumulated on its partition thread, see {@link MapContextQuerySupport#aggregateOnPartitionsInParallel}.
+ */
+public class AggregationOperation extends AbstractMapOperation implements ReadonlyOperation {
+
+    private Data aggregatorData;
+    private Predicate predicate;
+
+    private AggregationResult result;
+
+    public AggregationOperation() {
+    }
+
+    public AggregationOperation(String mapName, Data aggregatorData, Predicate predicate) {
+        super(mapName);
+        this.aggregatorData = aggregatorData;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() throws Exception {
+        InternalPartitionService partitionService = getNodeEngine().getPartitionService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        MapContextQuerySupport mapQuerySupport = mapServiceContext.getMapContextQuerySupport();
+
+        int partitionStateVersion = partitionService.getPartitionStateVersion();
+        Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+
+        Set<QueryableEntry> entries = null;
+        if (!partitionService.hasOnGoingMigrationLocal()) {
+            entries = mapContainer.getIndexService().query(predicate);
+        }
+
+        if (entries != null) {
+            result = aggregateIndexed(entries, initialPartitions, partitionStateVersion);
+        } else {
+            result = mapQuerySupport.aggregateOnPartitionsInParallel(name, predicate, initialPartitions, aggregatorData);
+        }
+
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            LocalMapStatsImpl localStats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name);
+            localStats.incrementOtherOperations();
+        }
+    }
+
+    /**
+     * The indexed entries are only complete for the owned partitions if the partition assignments did not change while
+     * they were read. Otherwise no partitions are reported, so the caller aggregates the missing partitions separately.
+     */
+    @SuppressWarnings("unchecked")
+    private AggregationResult aggregateIndexed(Set<QueryableEntry> entries, Collection<Integer> initialPartitions,
+                                               int partitionStateVersion) {
+        Aggregator aggregator = getNodeEngine().toObject(aggregatorData);
+        for (QueryableEntry entry : entries) {
+            aggregator.accumulate(entry);
+        }
+        Collection<Integer> finalPartitions = mapService.getMapServiceContext().getOwnedPartitions();
+        boolean partitionStateChanged = checkPartitionStateChanges(getNodeEngine().getPartitionService(),
+                partitionStateVersion);
+        Collection<Integer> partitionIds = !partitionStateChanged && initialPartitions.equals(finalPartitions)
+                ? finalPartitions : null;
+        return new AggregationResult(aggregator, partitionIds);
+    }
+
+    private boolean checkPartitionStateChanges(InternalPartitionService partitionService, int partitionStateVersion) {
+        if (partitionStateVersion != partitionService.getPartitionStateVersion()) {
+            getLogger().info("Partition assignments changed while executing aggregation: " + predicate);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public ExceptionAction onException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        if (throwable instanceof TargetNotMemberException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onException(throwable);
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeData(aggregatorData);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        aggregatorData = in.readData();
+        predicate = in.readObject();
+    }
+}
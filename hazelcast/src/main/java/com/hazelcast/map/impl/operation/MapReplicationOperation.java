@@ -38,6 +38,7 @@ import com.hazelcast.util.Clock;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -52,6 +53,11 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
 
     private Map<String, Set<RecordReplicationInfo>> data;
     private Map<String, Collection<DelayedEntry>> delayedEntries;
+    private boolean resetRecordStores = true;
+    private Map<String, int[]> clearedRanges;
+    private int rangeCount;
+    // the sequences of the query cache batches by map name and registration id, only handed over to a new owner
+    private Map<String, Map<String, Long>> queryCacheSequences = Collections.emptyMap();
 
     public MapReplicationOperation() {
     }
@@ -81,6 +87,42 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             data.put(name, recordSet);
         }
         readDelayedEntries(container);
+        prepareQueryCacheSequences(mapService, partitionId, replicaIndex);
+    }
+
+    /**
+     * Creates an operation replicating a chunk of the data of a partition. The first chunk resets the record stores
+     * of all maps in the data and replicates the write-behind queues; the following chunks only add records.
+     */
+    public MapReplicationOperation(PartitionContainer container, int partitionId, int replicaIndex,
+                                   Map<String, Set<RecordReplicationInfo>> data, boolean firstChunk) {
+        this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        this.data = data;
+        this.resetRecordStores = firstChunk;
+        if (firstChunk) {
+            readDelayedEntries(container);
+            prepareQueryCacheSequences(container.getMapService(), partitionId, replicaIndex);
+        } else {
+            delayedEntries = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Creates an operation replicating the differing key ranges of a partition to a backup replica. The records of the
+     * cleared ranges are removed from the record stores before the records in the data are put, the write-behind queues
+     * are replicated as a whole.
+     *
+     * @see com.hazelcast.map.impl.MapReplicaDigest
+     */
+    public MapReplicationOperation(PartitionContainer container, int partitionId, int replicaIndex,
+                                   Map<String, Set<RecordReplicationInfo>> data, Map<String, int[]> clearedRanges,
+                                   int rangeCount) {
+        this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        this.data = data;
+        this.clearedRanges = clearedRanges;
+        this.rangeCount = rangeCount;
+        this.resetRecordStores = false;
+        readDelayedEntries(container);
     }
 
     private void readDelayedEntries(PartitionContainer container) {
@@ -101,6 +143,13 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
         }
     }
 
+    private void prepareQueryCacheSequences(MapService mapService, int partitionId, int replicaIndex) {
+        if (replicaIndex == 0) {
+            queryCacheSequences = mapService.getMapServiceContext().getMapEventPublisher().getQueryCacheEventPublisher()
+                    .getSequences(partitionId);
+        }
+    }
+
     public void run() {
         MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
@@ -109,7 +158,11 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
                 Set<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), mapName);
-                recordStore.reset();
+                if (resetRecordStores) {
+                    recordStore.reset();
+                } else if (clearedRanges != null && clearedRanges.containsKey(mapName)) {
+                    recordStore.clearRanges(clearedRanges.get(mapName), rangeCount);
+                }
 
                 for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
                     Data key = recordReplicationInfo.getKey();
@@ -129,6 +182,10 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             writeBehindQueue.clear();
             writeBehindQueue.addFirst(replicatedEntries);
         }
+        if (!queryCacheSequences.isEmpty()) {
+            mapServiceContext.getMapEventPublisher().getQueryCacheEventPublisher()
+                    .setSequences(getPartitionId(), queryCacheSequences);
+        }
     }
 
     public String getServiceName() {
@@ -136,7 +193,17 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
     }
 
     protected void readInternal(final ObjectDataInput in) throws IOException {
+        resetRecordStores = in.readBoolean();
+        rangeCount = in.readInt();
         int size = in.readInt();
+        if (size >= 0) {
+            clearedRanges = new HashMap<String, int[]>(size);
+            for (int i = 0; i < size; i++) {
+                String name = in.readUTF();
+                clearedRanges.put(name, in.readIntArray());
+            }
+        }
+        size = in.readInt();
         data = new HashMap<String, Set<RecordReplicationInfo>>(size);
         for (int i = 0; i < size; i++) {
             String name = in.readUTF();
@@ -164,9 +231,35 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             }
             delayedEntries.put(mapName, delayedEntriesList);
         }
+        readQueryCacheSequences(in);
+    }
+
+    private void readQueryCacheSequences(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        queryCacheSequences = new HashMap<String, Map<String, Long>>(size);
+        for (int i = 0; i < size; i++) {
+            final String mapName = in.readUTF();
+            final int registrationCount = in.readInt();
+            final Map<String, Long> sequences = new HashMap<String, Long>(registrationCount);
+            for (int j = 0; j < registrationCount; j++) {
+                sequences.put(in.readUTF(), in.readLong());
+            }
+            queryCacheSequences.put(mapName, sequences);
+        }
     }
 
     protected void writeInternal(final ObjectDataOutput out) throws IOException {
+        out.writeBoolean(resetRecordStores);
+        out.writeInt(rangeCount);
+        if (clearedRanges == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(clearedRanges.size());
+            for (Entry<String, int[]> entry : clearedRanges.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeIntArray(entry.getValue());
+            }
+        }
         out.writeInt(data.size());
         for (Entry<String, Set<RecordReplicationInfo>> mapEntry : data.entrySet()) {
             out.writeUTF(mapEntry.getKey());
@@ -192,12 +285,29 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
                 out.writeInt(e.getPartitionId());
             }
         }
+        writeQueryCacheSequences(out);
+    }
+
+    private void writeQueryCacheSequences(ObjectDataOutput out) throws IOException {
+        out.writeInt(queryCacheSequences.size());
+        for (Entry<String, Map<String, Long>> entry : queryCacheSequences.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Entry<String, Long> sequence : entry.getValue().entrySet()) {
+                out.writeUTF(sequence.getKey());
+                out.writeLong(sequence.getValue());
+            }
+        }
     }
 
     public boolean isEmpty() {
         return data == null || data.isEmpty();
     }
 
+    public boolean hasDelayedEntries() {
+        return !delayedEntries.isEmpty();
+    }
+
     private RecordReplicationInfo createRecordReplicationInfo(Record record, MapService mapService) {
         final RecordInfo info = Records.buildRecordInfo(record);
         return new RecordReplicationInfo(record.getKey(), mapService.getMapServiceContext().toData(record.getValue()),
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidates a batch of keys in the near cache of a map.
+ * Every key comes with its partition id and the sequence number of the invalidation in that partition.
+ *
+ * @see com.hazelcast.map.impl.NearCacheInvalidator
+ */
+public class NearCacheBatchInvalidationOperation extends AbstractOperation implements MutatingOperation {
+
+    private String mapName;
+    private List<Data> keys;
+    private int[] partitionIds;
+    private long[] sequences;
+
+    public NearCacheBatchInvalidationOperation() {
+    }
+
+    public NearCacheBatchInvalidationOperation(String mapName, List<Data> keys, int[] partitionIds, long[] sequences) {
+        this.mapName = mapName;
+        this.keys = keys;
+        this.partitionIds = partitionIds;
+        this.sequences = sequences;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public void run() {
+        MapService mapService = getService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        if (mapServiceContext.getMapContainer(mapName).isNearCacheEnabled()) {
+            mapServiceContext.getNearCacheProvider().invalidateNearCache(mapName, keys, partitionIds, sequences);
+        } else {
+            getLogger().warning("Cache clear operation has been accepted while near cache is not enabled for "
+                    + mapName + " map. Possible configuration conflict among nodes.");
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(mapName);
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            out.writeData(keys.get(i));
+            out.writeInt(partitionIds[i]);
+            out.writeLong(sequences[i]);
+        }
+    }
+
+    @Override
+    public void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        mapName = in.readUTF();
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        partitionIds = new int[size];
+        sequences = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+            partitionIds[i] = in.readInt();
+            sequences[i] = in.readLong();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheBatchInvalidationOperation{mapName='" + mapName + '\''
+                + ", keyCount=" + (keys == null ? 0 : keys.size()) + '}';
+    }
+}
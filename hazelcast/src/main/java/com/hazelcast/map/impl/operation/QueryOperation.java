@@ -29,34 +29,16 @@ import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.ExceptionAction;
-import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.ReadonlyOperation;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.exception.TargetNotMemberException;
-import com.hazelcast.util.FutureUtil;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-
-import static com.hazelcast.util.FutureUtil.returnWithDeadline;
-import static com.hazelcast.util.SortingUtil.newComparator;
-import static java.util.Collections.sort;
 
 public class QueryOperation extends AbstractMapOperation implements ReadonlyOperation {
 
-    private static final long QUERY_EXECUTION_TIMEOUT_MINUTES = 5;
-
     private Predicate predicate;
     private PagingPredicate pagingPredicate;
 
@@ -106,17 +88,11 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
         checkPartitionStateChanges(partitionService, partitionStateVersion);
     }
 
-    private void fullTableScan(Collection<Integer> initialPartitions, GroupProperties groupProperties)
-            throws InterruptedException, ExecutionException {
-        if (pagingPredicate != null) {
-            runParallelForPaging(initialPartitions);
+    private void fullTableScan(Collection<Integer> initialPartitions, GroupProperties groupProperties) {
+        if (pagingPredicate != null || groupProperties.QUERY_PREDICATE_PARALLEL_EVALUATION.getBoolean()) {
+            runParallel(initialPartitions);
         } else {
-            boolean parallelEvaluation = groupProperties.QUERY_PREDICATE_PARALLEL_EVALUATION.getBoolean();
-            if (parallelEvaluation) {
-                runParallel(initialPartitions);
-            } else {
-                runSingleThreaded(initialPartitions);
-            }
+            runSingleThreaded(initialPartitions);
         }
     }
 
@@ -142,53 +118,9 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
         }
     }
 
-    private void runParallel(Collection<Integer> initialPartitions) throws InterruptedException, ExecutionException {
-        NodeEngine nodeEngine = getNodeEngine();
-        ExecutorService executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
-        List<Future<Collection<QueryableEntry>>> lsFutures = new ArrayList<Future<Collection<QueryableEntry>>>(
-                initialPartitions.size());
-
-        for (Integer partitionId : initialPartitions) {
-            Future<Collection<QueryableEntry>> future = executor.submit(new PartitionCallable(partitionId));
-            lsFutures.add(future);
-        }
-
-        Collection<Collection<QueryableEntry>> returnedResults = getResult(lsFutures);
-        for (Collection<QueryableEntry> returnedResult : returnedResults) {
-            if (returnedResult == null) {
-                continue;
-            }
-            result.addAll(returnedResult);
-        }
-    }
-
-    private void runParallelForPaging(Collection<Integer> initialPartitions) throws InterruptedException, ExecutionException {
-        NodeEngine nodeEngine = getNodeEngine();
-        ExecutorService executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
-        List<Future<Collection<QueryableEntry>>> lsFutures = new ArrayList<Future<Collection<QueryableEntry>>>(
-                initialPartitions.size());
-
-        Comparator<Map.Entry> wrapperComparator = newComparator(pagingPredicate);
-        for (Integer partitionId : initialPartitions) {
-            Future<Collection<QueryableEntry>> future = executor.submit(new PartitionCallable(partitionId));
-            lsFutures.add(future);
-        }
-        List<QueryableEntry> toMerge = new LinkedList<QueryableEntry>();
-        Collection<Collection<QueryableEntry>> returnedResults = getResult(lsFutures);
-        for (Collection<QueryableEntry> returnedResult : returnedResults) {
-            toMerge.addAll(returnedResult);
-        }
-
-        sort(toMerge, wrapperComparator);
-
-        if (toMerge.size() > pagingPredicate.getPageSize()) {
-            toMerge = toMerge.subList(0, pagingPredicate.getPageSize());
-        }
-        result.addAll(toMerge);
-    }
-
-    private static Collection<Collection<QueryableEntry>> getResult(List<Future<Collection<QueryableEntry>>> lsFutures) {
-        return returnWithDeadline(lsFutures, QUERY_EXECUTION_TIMEOUT_MINUTES, TimeUnit.MINUTES, FutureUtil.RETHROW_EVERYTHING);
+    private void runParallel(Collection<Integer> initialPartitions) {
+        MapContextQuerySupport querySupport = mapService.getMapServiceContext().getMapContextQuerySupport();
+        result.addAll(querySupport.queryOnPartitionsInParallel(name, predicate, initialPartitions));
     }
 
     private void checkPartitionStateChanges(InternalPartitionService partitionService, int partitionStateVersion) {
@@ -229,19 +161,4 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
             pagingPredicate = (PagingPredicate) predicate;
         }
     }
-
-    private final class PartitionCallable implements Callable<Collection<QueryableEntry>> {
-
-        private final int partition;
-
-        private PartitionCallable(int partitionId) {
-            this.partition = partitionId;
-        }
-
-        @Override
-        public Collection<QueryableEntry> call() throws Exception {
-            MapContextQuerySupport mapContextQuerySupport = mapService.getMapServiceContext().getMapContextQuerySupport();
-            return mapContextQuerySupport.queryOnPartition(name, predicate, partition);
-        }
-    }
 }
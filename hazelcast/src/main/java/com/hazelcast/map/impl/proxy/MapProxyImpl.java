@@ -17,6 +17,8 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -26,8 +28,11 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.querycache.MemberQueryCacheSubscriber;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -44,6 +49,7 @@ import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.InitializingObject;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -70,8 +76,13 @@ import static com.hazelcast.util.Preconditions.isNotNull;
  */
 public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, InitializingObject {
 
+    private final QueryCacheRegistry queryCacheRegistry;
+
     public MapProxyImpl(final String name, final MapService mapService, final NodeEngine nodeEngine) {
         super(name, mapService, nodeEngine);
+        this.queryCacheRegistry = new QueryCacheRegistry(this, nodeEngine.getSerializationService(),
+                new MemberQueryCacheSubscriber(nodeEngine, name),
+                nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR));
     }
 
     @Override
@@ -674,6 +685,50 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         }
     }
 
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return aggregateInternal(aggregator, predicate);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name cannot be null");
+
+        return queryCacheRegistry.getOrCreate(name, findQueryCacheConfig(name));
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "name cannot be null");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return queryCacheRegistry.getOrCreate(name, predicate, includeValue, findQueryCacheConfig(name));
+    }
+
+    private QueryCacheConfig findQueryCacheConfig(String cacheName) {
+        for (QueryCacheConfig queryCacheConfig : getMapConfig().getQueryCacheConfigs()) {
+            if (cacheName.equals(queryCacheConfig.getName())) {
+                return queryCacheConfig;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void postDestroy() {
+        queryCacheRegistry.destroyAll();
+    }
+
     protected Object invoke(Operation operation, int partitionId) throws Throwable {
         NodeEngine nodeEngine = getNodeEngine();
         Future f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.concurrent.lock.LockProxySupport;
 import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.ListenerConfig;
@@ -141,6 +142,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
     protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
     protected static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Null aggregator is not allowed!";
 
     protected final String name;
     protected final LocalMapStatsImpl localMapStats;
@@ -1130,6 +1132,10 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         return getMapQuerySupport().query(name, predicate, iterationType, dataResult);
     }
 
+    protected <R> R aggregateInternal(Aggregator<?, R> aggregator, Predicate predicate) {
+        return getMapQuerySupport().aggregate(name, aggregator, predicate);
+    }
+
     public void addIndex(final String attribute, final boolean ordered) {
         final NodeEngine nodeEngine = getNodeEngine();
         if (attribute == null) {
@@ -1205,7 +1211,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     }
 
-    private MapConfig getMapConfig() {
+    protected MapConfig getMapConfig() {
         final MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final MapContainer mapContainer = mapServiceContext.getMapContainer(name);
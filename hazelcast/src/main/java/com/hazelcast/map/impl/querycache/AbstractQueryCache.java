@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexService;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Holds the entries of a {@link QueryCache} and their indexes, and implements its read side.
+ * <p/>
+ * Entries are keyed by their serialized key. Values are stored in the configured {@link InMemoryFormat};
+ * when values are not included, only keys are cached.
+ *
+ * @param <K> the type of key for this {@code QueryCache}
+ * @param <V> the type of value for this {@code QueryCache}
+ */
+abstract class AbstractQueryCache<K, V> implements QueryCache<K, V> {
+
+    /**
+     * Marks a cached key when values are not included.
+     */
+    private static final Object NO_VALUE = new Object();
+
+    protected final String name;
+    protected final boolean includeValue;
+    protected final SerializationService serializationService;
+
+    private final boolean objectFormat;
+    private final ConcurrentMap<Data, Object> entries = new ConcurrentHashMap<Data, Object>();
+    private final IndexService indexService = new IndexService();
+
+    AbstractQueryCache(String name, boolean includeValue, InMemoryFormat inMemoryFormat,
+                       SerializationService serializationService) {
+        this.name = name;
+        this.includeValue = includeValue;
+        this.objectFormat = inMemoryFormat == InMemoryFormat.OBJECT;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * @return the previously cached value, or {@code null} if the key was not cached
+     */
+    protected Object putEntry(Data keyData, Data valueData) {
+        Object value;
+        if (!includeValue) {
+            value = NO_VALUE;
+        } else if (objectFormat) {
+            value = serializationService.toObject(valueData);
+        } else {
+            value = valueData;
+        }
+        Object oldValue = entries.put(keyData, value);
+        if (includeValue && indexService.hasIndex()) {
+            indexService.saveEntryIndex(new QueryEntry(serializationService, keyData, keyData, value));
+        }
+        return oldValue;
+    }
+
+    /**
+     * @return the removed cached value, or {@code null} if the key was not cached
+     */
+    protected Object removeEntry(Data keyData) {
+        Object oldValue = entries.remove(keyData);
+        if (oldValue != null && indexService.hasIndex()) {
+            indexService.removeEntryIndex(keyData);
+        }
+        return oldValue;
+    }
+
+    protected void clearEntries() {
+        for (Data keyData : entries.keySet()) {
+            removeEntry(keyData);
+        }
+    }
+
+    /**
+     * @return a live view of the cached keys
+     */
+    protected Set<Data> getEntryKeys() {
+        return entries.keySet();
+    }
+
+    protected Data toValueData(Object value) {
+        if (value == null || value == NO_VALUE) {
+            return null;
+        }
+        return serializationService.toData(value);
+    }
+
+    private Object toCachedValueObject(Object value) {
+        if (value == NO_VALUE) {
+            return null;
+        }
+        return serializationService.toObject(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "key cannot be null");
+        Object value = entries.get(serializationService.toData(key));
+        return (V) toCachedValueObject(value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "key cannot be null");
+        return entries.containsKey(serializationService.toData(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "value cannot be null");
+        Object cachedValue = objectFormat ? value : serializationService.toData(value);
+        return entries.containsValue(cachedValue);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+        if (!includeValue) {
+            // nothing to index, queries fall back to a scan of the cached keys
+            return;
+        }
+        indexService.addOrGetIndex(attribute, ordered);
+        for (Map.Entry<Data, Object> entry : entries.entrySet()) {
+            Data keyData = entry.getKey();
+            indexService.saveEntryIndex(new QueryEntry(serializationService, keyData, keyData, entry.getValue()));
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkNotNull(keys, "keys cannot be null");
+        Map<K, V> result = new HashMap<K, V>(keys.size());
+        for (K key : keys) {
+            Object value = entries.get(serializationService.toData(key));
+            if (value != null) {
+                result.put(key, (V) toCachedValueObject(value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> result = new HashSet<K>(entries.size());
+        for (Data keyData : entries.keySet()) {
+            result.add((K) serializationService.toObject(keyData));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        Set<K> result = new HashSet<K>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((K) entry.getKey());
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>(entries.size());
+        for (Map.Entry<Data, Object> entry : entries.entrySet()) {
+            K key = (K) serializationService.toObject(entry.getKey());
+            V value = (V) toCachedValueObject(entry.getValue());
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, value));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey(), (V) entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        List<V> result = new ArrayList<V>(entries.size());
+        for (Object value : entries.values()) {
+            result.add((V) toCachedValueObject(value));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        List<V> result = new ArrayList<V>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((V) entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Runs the given predicate against this cache, using the indexes when the predicate is index aware.
+     */
+    private Collection<QueryableEntry> query(Predicate predicate) {
+        Set<QueryableEntry> indexedResult = indexService.query(predicate);
+        if (indexedResult != null) {
+            // index entries may outlive their cache entries for a moment, see removeInternal
+            List<QueryableEntry> result = new ArrayList<QueryableEntry>(indexedResult.size());
+            for (QueryableEntry entry : indexedResult) {
+                if (entries.containsKey(entry.getIndexKey())) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (Map.Entry<Data, Object> entry : entries.entrySet()) {
+            Data keyData = entry.getKey();
+            Object value = entry.getValue() == NO_VALUE ? null : entry.getValue();
+            QueryEntry queryEntry = new QueryEntry(serializationService, keyData, keyData, value);
+            if (predicate.apply(queryEntry)) {
+                result.add(queryEntry);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.map.listener.MapPartitionLostListener;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Default {@link com.hazelcast.map.QueryCache} implementation, shared by members and clients.
+ * <p/>
+ * The cache is kept up to date by a {@link QueryCacheSubscriber}, which feeds it with the events
+ * of the underlying {@code IMap}. Whenever the subscriber detects a possible event loss in a partition, the entries
+ * of that partition are reloaded from the {@code IMap}. When the subscription is replaced or a partition of the
+ * underlying map is lost, the whole content of the cache is reloaded.
+ * <p/>
+ * While the cache is (re)loaded, received events are buffered and applied once the query result is in place,
+ * so an event can never be overwritten by a query result which was taken before it.
+ *
+ * @param <K> the type of key for this {@code QueryCache}
+ * @param <V> the type of value for this {@code QueryCache}
+ */
+public class DefaultQueryCache<K, V> extends AbstractQueryCache<K, V> {
+
+    // requests the reload of the whole cache when waiting for recovery
+    private static final int ALL_PARTITIONS = -1;
+
+    private final IMap<K, V> delegate;
+    private final Predicate predicate;
+    private final QueryCacheConfig config;
+    private final QueryCacheSubscriber subscriber;
+    private final Executor recoveryExecutor;
+    private final ConcurrentMap<String, LocalListener> listeners = new ConcurrentHashMap<String, LocalListener>();
+    private final Object recoveryMutex = new Object();
+    private final Set<Integer> recoveringPartitions = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+    private final Runnable partitionRecoveryTask = new PartitionRecoveryTask();
+    // events are applied under the read lock; the write lock switches buffering on and off
+    private final ReadWriteLock eventLock = new ReentrantReadWriteLock();
+
+    private volatile Queue<PendingEvent> pendingEvents;
+
+    private volatile String registrationId;
+    private volatile String partitionLostListenerId;
+    private volatile boolean destroyed;
+
+    public DefaultQueryCache(String name, IMap<K, V> delegate, Predicate predicate, boolean includeValue,
+                             QueryCacheConfig config, SerializationService serializationService,
+                             QueryCacheSubscriber subscriber, Executor recoveryExecutor) {
+        super(name, includeValue, config.getInMemoryFormat(), serializationService);
+        this.delegate = delegate;
+        this.predicate = predicate;
+        this.config = config;
+        this.subscriber = subscriber;
+        this.recoveryExecutor = recoveryExecutor;
+    }
+
+    /**
+     * Creates the configured indexes and listeners, subscribes to the events of the underlying {@code IMap}
+     * and populates this cache if {@link QueryCacheConfig#isPopulate()} is set.
+     * <p/>
+     * Subscription is done before population, so no update can be missed in between.
+     */
+    public void init() {
+        for (MapIndexConfig indexConfig : config.getIndexConfigs()) {
+            addIndex(indexConfig.getAttribute(), indexConfig.isOrdered());
+        }
+        for (EntryListenerConfig listenerConfig : config.getEntryListenerConfigs()) {
+            addListenerInternal(toListener(listenerConfig), null, null, listenerConfig.isIncludeValue());
+        }
+        registrationId = subscriber.subscribe(this);
+        partitionLostListenerId = delegate.addPartitionLostListener(new MapPartitionLostListener() {
+            @Override
+            public void partitionLost(MapPartitionLostEvent event) {
+                scheduleRecovery();
+            }
+        });
+        if (config.isPopulate()) {
+            synchronized (recoveryMutex) {
+                populate(false, null);
+            }
+        }
+    }
+
+    private Object toListener(EntryListenerConfig listenerConfig) {
+        Object listener = listenerConfig.getImplementation();
+        if (listener != null) {
+            return listener;
+        }
+        try {
+            return ClassLoaderUtil.newInstance(null, listenerConfig.getClassName());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    public String getMapName() {
+        return delegate.getName();
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public boolean isIncludeValue() {
+        return includeValue;
+    }
+
+    public QueryCacheConfig getConfig() {
+        return config;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Loads the entries matching the predicate from the underlying {@code IMap}, then applies the events
+     * received in the meantime.
+     *
+     * @param reload     {@code true} to also drop the cached entries which are not in the query result anymore
+     * @param partitions the partitions to load, {@code null} for all
+     */
+    private void populate(boolean reload, Set<Integer> partitions) {
+        Lock writeLock = eventLock.writeLock();
+        writeLock.lock();
+        try {
+            pendingEvents = new ConcurrentLinkedQueue<PendingEvent>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            Set<Data> loadedKeys = load(partitions);
+            if (reload) {
+                for (Data keyData : getEntryKeys()) {
+                    if (isInPartitions(keyData, partitions) && !loadedKeys.contains(keyData)) {
+                        removeEntry(keyData);
+                    }
+                }
+            }
+        } finally {
+            stopBuffering();
+        }
+    }
+
+    private Set<Data> load(Set<Integer> partitions) {
+        Set<Data> loadedKeys = new HashSet<Data>();
+        if (includeValue) {
+            Set<Map.Entry<K, V>> mapEntries = delegate.entrySet(predicate);
+            for (Map.Entry<K, V> entry : mapEntries) {
+                Data keyData = serializationService.toData(entry.getKey());
+                if (isInPartitions(keyData, partitions)) {
+                    putInternal(keyData, serializationService.toData(entry.getValue()), false);
+                    loadedKeys.add(keyData);
+                }
+            }
+        } else {
+            Set<K> mapKeys = delegate.keySet(predicate);
+            for (K key : mapKeys) {
+                Data keyData = serializationService.toData(key);
+                if (isInPartitions(keyData, partitions)) {
+                    putInternal(keyData, null, false);
+                    loadedKeys.add(keyData);
+                }
+            }
+        }
+        return loadedKeys;
+    }
+
+    private boolean isInPartitions(Data keyData, Set<Integer> partitions) {
+        return partitions == null || partitions.contains(subscriber.getPartitionId(keyData));
+    }
+
+    private void stopBuffering() {
+        Lock lock = eventLock.writeLock();
+        lock.lock();
+        try {
+            for (PendingEvent event : pendingEvents) {
+                applyInternal(event.eventType, event.keyData, event.valueData);
+            }
+            pendingEvents = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the given event, or buffers it while this cache is being (re)loaded.
+     */
+    private void apply(EntryEventType eventType, Data keyData, Data valueData) {
+        Lock lock = eventLock.readLock();
+        lock.lock();
+        try {
+            Queue<PendingEvent> events = pendingEvents;
+            if (events != null) {
+                events.offer(new PendingEvent(eventType, keyData, valueData));
+            } else {
+                applyInternal(eventType, keyData, valueData);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyInternal(EntryEventType eventType, Data keyData, Data valueData) {
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+            case MERGED:
+                putInternal(keyData, includeValue ? valueData : null, true);
+                break;
+            case REMOVED:
+            case EVICTED:
+                removeInternal(keyData, eventType);
+                break;
+            case CLEAR_ALL:
+                clearEntries();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Applies an event which is already known to be relevant for this cache.
+     *
+     * @param eventType type of the event, as resolved by {@link QueryCacheEventFilter}
+     * @param keyData   key of the entry
+     * @param valueData new value of the entry, {@code null} for removals or when values are not included
+     */
+    public void applyEvent(EntryEventType eventType, Data keyData, Data valueData) {
+        apply(eventType, keyData, valueData);
+    }
+
+    /**
+     * Applies a clear or evict-all of the underlying {@code IMap}.
+     */
+    public void applyClear() {
+        apply(EntryEventType.CLEAR_ALL, null, null);
+    }
+
+    /**
+     * Reloads the entries of the given partition from the underlying {@code IMap} in the background.
+     * <p/>
+     * The query still runs on the whole {@code IMap}, but only the entries of the partitions waiting for recovery
+     * are replaced, so the rest of the cache is not touched and no listener is notified for it.
+     *
+     * @param partitionId the partition in which events may have been lost
+     */
+    public void scheduleRecovery(int partitionId) {
+        if (recoveringPartitions.add(partitionId)) {
+            recoveryExecutor.execute(partitionRecoveryTask);
+        }
+    }
+
+    /**
+     * Reloads this cache from the underlying {@code IMap} in the background.
+     */
+    public void scheduleRecovery() {
+        scheduleRecovery(ALL_PARTITIONS);
+    }
+
+    private void putInternal(Data keyData, Data valueData, boolean notify) {
+        Object oldValue = putEntry(keyData, valueData);
+        if (notify) {
+            EntryEventType eventType = oldValue == null ? EntryEventType.ADDED : EntryEventType.UPDATED;
+            fireEvent(eventType, keyData, includeValue ? valueData : null, oldValue);
+        }
+    }
+
+    private void removeInternal(Data keyData, EntryEventType eventType) {
+        Object oldValue = removeEntry(keyData);
+        if (oldValue != null) {
+            fireEvent(eventType, keyData, null, oldValue);
+        }
+    }
+
+    private void fireEvent(EntryEventType eventType, Data keyData, Data valueData, Object oldValue) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Data oldValueData = toValueData(oldValue);
+        for (LocalListener listener : listeners.values()) {
+            if (listener.accepts(keyData, valueData != null ? valueData : oldValueData)) {
+                DataAwareEntryEvent event = new DataAwareEntryEvent(null, eventType.getType(), name, keyData,
+                        listener.includeValue ? valueData : null, listener.includeValue ? oldValueData : null,
+                        null, serializationService);
+                listener.adapter.onEvent(event);
+            }
+        }
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, boolean includeValue) {
+        return addListenerInternal(listener, null, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, K key, boolean includeValue) {
+        checkNotNull(key, "key cannot be null");
+        return addListenerInternal(listener, null, serializationService.toData(key), includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+        return addListenerInternal(listener, predicate, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, K key, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+        checkNotNull(key, "key cannot be null");
+        return addListenerInternal(listener, predicate, serializationService.toData(key), includeValue);
+    }
+
+    private String addListenerInternal(Object listener, Predicate predicate, Data keyData, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+        String id = UuidUtil.buildRandomUuidString();
+        listeners.put(id, new LocalListener(createListenerAdapter(listener), predicate, keyData, includeValue));
+        return id;
+    }
+
+    @Override
+    public boolean removeEntryListener(String id) {
+        checkNotNull(id, "listener id cannot be null");
+        return listeners.remove(id) != null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Reloads the content of this cache from the underlying {@code IMap}.
+     * <p/>
+     * Entries are replaced in place, so the cache does not appear empty in the meantime.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean tryRecover() {
+        synchronized (recoveryMutex) {
+            // a full reload covers the partitions waiting for recovery as well
+            recoveringPartitions.clear();
+            populate(true, null);
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        String id = registrationId;
+        if (id != null) {
+            subscriber.unsubscribe(id);
+            registrationId = null;
+        }
+        String lostListenerId = partitionLostListenerId;
+        if (lostListenerId != null) {
+            delegate.removePartitionLostListener(lostListenerId);
+            partitionLostListenerId = null;
+        }
+        listeners.clear();
+        clearEntries();
+    }
+
+    /**
+     * Reloads the entries of all partitions waiting for recovery at once, or the whole cache if requested.
+     */
+    private final class PartitionRecoveryTask implements Runnable {
+
+        @Override
+        public void run() {
+            synchronized (recoveryMutex) {
+                Set<Integer> partitions = new HashSet<Integer>(recoveringPartitions);
+                if (!partitions.isEmpty()) {
+                    recoveringPartitions.removeAll(partitions);
+                    populate(true, partitions.contains(ALL_PARTITIONS) ? null : partitions);
+                }
+            }
+        }
+    }
+
+    /**
+     * An event received while this cache is being (re)loaded.
+     */
+    private static final class PendingEvent {
+
+        private final EntryEventType eventType;
+        private final Data keyData;
+        private final Data valueData;
+
+        PendingEvent(EntryEventType eventType, Data keyData, Data valueData) {
+            this.eventType = eventType;
+            this.keyData = keyData;
+            this.valueData = valueData;
+        }
+    }
+
+    /**
+     * A listener registered on this cache.
+     */
+    private final class LocalListener {
+
+        private final ListenerAdapter adapter;
+        private final Predicate predicate;
+        private final Data keyData;
+        private final boolean includeValue;
+
+        LocalListener(ListenerAdapter adapter, Predicate predicate, Data keyData, boolean includeValue) {
+            this.adapter = adapter;
+            this.predicate = predicate;
+            this.keyData = keyData;
+            this.includeValue = includeValue;
+        }
+
+        boolean accepts(Data eventKeyData, Data eventValueData) {
+            if (keyData != null && !keyData.equals(eventKeyData)) {
+                return false;
+            }
+            return predicate == null
+                    || predicate.apply(new QueryEntry(serializationService, eventKeyData, eventKeyData, eventValueData));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * {@link QueryCacheSubscriber} of members.
+ * <p/>
+ * Registers a {@link QueryCacheEventFilter}, so events are filtered, batched and coalesced on the publisher
+ * side (see {@link QueryCacheEventPublisher}). Received batches are applied by a {@link QueryCacheBatchApplier}.
+ */
+public class MemberQueryCacheSubscriber implements QueryCacheSubscriber {
+
+    private final NodeEngine nodeEngine;
+    private final String mapName;
+
+    public MemberQueryCacheSubscriber(NodeEngine nodeEngine, String mapName) {
+        this.nodeEngine = nodeEngine;
+        this.mapName = mapName;
+    }
+
+    @Override
+    public String subscribe(DefaultQueryCache queryCache) {
+        QueryCacheEventFilter filter = new QueryCacheEventFilter(queryCache.getPredicate(), queryCache.getConfig(),
+                queryCache.isIncludeValue());
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        EventService eventService = nodeEngine.getEventService();
+        EventRegistration registration = eventService.registerListener(SERVICE_NAME, mapName, filter,
+                new BatchListenerAdapter(queryCache, partitionCount));
+        return registration.getId();
+    }
+
+    @Override
+    public boolean unsubscribe(String id) {
+        return nodeEngine.getEventService().deregisterListener(SERVICE_NAME, mapName, id);
+    }
+
+    @Override
+    public int getPartitionId(Data keyData) {
+        return nodeEngine.getPartitionService().getPartitionId(keyData);
+    }
+
+    /**
+     * Applies received batches to the cache.
+     */
+    private static final class BatchListenerAdapter implements ListenerAdapter {
+
+        private final QueryCacheBatchApplier applier;
+
+        BatchListenerAdapter(DefaultQueryCache queryCache, int partitionCount) {
+            this.applier = new QueryCacheBatchApplier(queryCache, partitionCount);
+        }
+
+        @Override
+        public void onEvent(IMapEvent event) {
+            if (event instanceof QueryCacheBatchEvent) {
+                onBatch((QueryCacheBatchEvent) event);
+            } else if (event instanceof MapEvent) {
+                applier.applyClear();
+            }
+        }
+
+        private void onBatch(QueryCacheBatchEvent batch) {
+            for (DataAwareEntryEvent event : batch.getEvents()) {
+                applier.applyEvent(event.getEventType(), event.getKeyData(), event.getNewValueData());
+            }
+            applier.onBatchEnd(batch.getPartitionId(), batch.getSequence());
+        }
+    }
+}
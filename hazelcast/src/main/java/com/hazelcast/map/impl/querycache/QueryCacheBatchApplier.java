@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Applies the batches of a {@link QueryCacheEventFilter} registration to a {@link DefaultQueryCache}.
+ * <p/>
+ * Shared by the member and the client subscribers. The sequences of received batches are tracked per
+ * partition; a missing batch triggers a reload of its partition.
+ */
+public class QueryCacheBatchApplier {
+
+    private final DefaultQueryCache queryCache;
+    private final AtomicLongArray lastSequences;
+
+    public QueryCacheBatchApplier(DefaultQueryCache queryCache, int partitionCount) {
+        this.queryCache = queryCache;
+        this.lastSequences = new AtomicLongArray(partitionCount);
+        resetSequences();
+    }
+
+    /**
+     * Applies a single event of a batch.
+     *
+     * @param eventType type of the event, as resolved by {@link QueryCacheEventFilter}
+     * @param keyData   key of the entry
+     * @param valueData new value of the entry, {@code null} for removals or when values are not included
+     */
+    public void applyEvent(EntryEventType eventType, Data keyData, Data valueData) {
+        queryCache.applyEvent(eventType, keyData, valueData);
+    }
+
+    /**
+     * Completes a batch after its events have been applied.
+     *
+     * @param partitionId partition of the batch
+     * @param sequence    sequence of the batch
+     */
+    public void onBatchEnd(int partitionId, long sequence) {
+        long lastSequence = lastSequences.getAndSet(partitionId, sequence);
+        // sequences are handed over on migration, so a gap means lost batches, e.g. when the owner crashed
+        if (sequence != lastSequence + 1) {
+            queryCache.scheduleRecovery(partitionId);
+        }
+    }
+
+    /**
+     * Applies a clear or evict-all of the underlying {@code IMap}.
+     */
+    public void applyClear() {
+        queryCache.applyClear();
+    }
+
+    /**
+     * Starts over after the registration has been replaced, e.g. when a client re-registers to another member.
+     * Events may have been missed in between, so the cache is reloaded.
+     */
+    public void reset() {
+        resetSequences();
+        queryCache.scheduleRecovery();
+    }
+
+    private void resetSequences() {
+        for (int i = 0; i < lastSequences.length(); i++) {
+            lastSequences.set(i, -1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.Member;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+
+import java.util.List;
+
+/**
+ * Dispatched to a {@link com.hazelcast.map.QueryCache} subscriber for every received {@link QueryCacheBatchEventData}.
+ */
+public class QueryCacheBatchEvent implements IMapEvent {
+
+    private final String name;
+    private final Member member;
+    private final int partitionId;
+    private final long sequence;
+    private final List<DataAwareEntryEvent> events;
+
+    public QueryCacheBatchEvent(String name, Member member, int partitionId, long sequence,
+                                List<DataAwareEntryEvent> events) {
+        this.name = name;
+        this.member = member;
+        this.partitionId = partitionId;
+        this.sequence = sequence;
+        this.events = events;
+    }
+
+    @Override
+    public Member getMember() {
+        return member;
+    }
+
+    /**
+     * A batch has no single event type, see {@link #getEvents()}.
+     *
+     * @return always {@code null}
+     */
+    @Override
+    public EntryEventType getEventType() {
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<DataAwareEntryEvent> getEvents() {
+        return events;
+    }
+}
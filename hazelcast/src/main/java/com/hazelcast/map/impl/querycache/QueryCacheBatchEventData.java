@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.EntryEventData;
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries a batch of entry events of one partition to a {@link com.hazelcast.map.QueryCache} subscriber.
+ * <p/>
+ * Batches of a partition are numbered consecutively by the publisher, so a subscriber can detect a lost batch.
+ */
+public class QueryCacheBatchEventData implements EventData {
+
+    private String source;
+    private String mapName;
+    private Address caller;
+    private int partitionId;
+    private long sequence;
+    private List<EntryEventData> events;
+
+    public QueryCacheBatchEventData() {
+    }
+
+    public QueryCacheBatchEventData(String source, String mapName, Address caller, int partitionId, long sequence,
+                                    List<EntryEventData> events) {
+        this.source = source;
+        this.mapName = mapName;
+        this.caller = caller;
+        this.partitionId = partitionId;
+        this.sequence = sequence;
+        this.events = events;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String getMapName() {
+        return mapName;
+    }
+
+    @Override
+    public Address getCaller() {
+        return caller;
+    }
+
+    /**
+     * A batch has no single event type, see {@link #getEvents()}.
+     *
+     * @return always -1
+     */
+    @Override
+    public int getEventType() {
+        return -1;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<EntryEventData> getEvents() {
+        return events;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(source);
+        out.writeUTF(mapName);
+        out.writeObject(caller);
+        out.writeInt(partitionId);
+        out.writeLong(sequence);
+        out.writeInt(events.size());
+        for (EntryEventData event : events) {
+            event.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        source = in.readUTF();
+        mapName = in.readUTF();
+        caller = in.readObject();
+        partitionId = in.readInt();
+        sequence = in.readLong();
+        int size = in.readInt();
+        events = new ArrayList<EntryEventData>(size);
+        for (int i = 0; i < size; i++) {
+            EntryEventData event = new EntryEventData();
+            event.readData(in);
+            events.add(event);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheBatchEventData{"
+                + "source='" + source + '\''
+                + ", mapName='" + mapName + '\''
+                + ", partitionId=" + partitionId
+                + ", sequence=" + sequence
+                + ", events=" + events.size()
+                + '}';
+    }
+}
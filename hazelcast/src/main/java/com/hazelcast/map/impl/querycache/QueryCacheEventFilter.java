@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.impl.QueryEventFilter;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryEntry;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event filter of a {@link com.hazelcast.map.QueryCache} registration.
+ * <p/>
+ * Unlike {@link QueryEventFilter}, an update is also interesting for a query cache when the old value matched
+ * the predicate but the new one does not, since the entry has to leave the cache. Such an update is
+ * delivered to the query cache as a {@link EntryEventType#REMOVED} event.
+ * <p/>
+ * Also carries the batching settings of the {@link QueryCacheConfig} to the publisher side,
+ * see {@link QueryCacheEventPublisher}.
+ */
+public class QueryCacheEventFilter extends QueryEventFilter {
+
+    private int batchSize;
+    private int bufferSize;
+    private long delayMillis;
+    private boolean coalesce;
+
+    public QueryCacheEventFilter() {
+    }
+
+    public QueryCacheEventFilter(Predicate predicate, QueryCacheConfig config, boolean includeValue) {
+        this(predicate, includeValue, config.getBatchSize(), config.getBufferSize(),
+                TimeUnit.SECONDS.toMillis(config.getDelaySeconds()), config.isCoalesce());
+    }
+
+    protected QueryCacheEventFilter(Predicate predicate, boolean includeValue, int batchSize, int bufferSize,
+                                    long delayMillis, boolean coalesce) {
+        super(includeValue, null, predicate);
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.delayMillis = delayMillis;
+        this.coalesce = coalesce;
+    }
+
+    /**
+     * Resolves how an entry event should be seen by the query cache.
+     *
+     * @return the event type to deliver or {@code null} if the event is not relevant for the query cache.
+     */
+    public EntryEventType resolveEventType(SerializationService serializationService, EntryEventType eventType,
+                                           Data dataKey, Data dataOldValue, Data dataValue) {
+        switch (eventType) {
+            case REMOVED:
+            case EVICTED:
+                return matches(serializationService, dataKey, dataOldValue) ? eventType : null;
+            case ADDED:
+                return matches(serializationService, dataKey, dataValue) ? eventType : null;
+            case UPDATED:
+            case MERGED:
+                if (matches(serializationService, dataKey, dataValue)) {
+                    return eventType;
+                }
+                return matches(serializationService, dataKey, dataOldValue) ? EntryEventType.REMOVED : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Tells whether synthetic {@link EntryEventType#EVICTED} events, caused by eviction and expiration, are delivered.
+     * The entry has to leave a query cache in that case.
+     */
+    public boolean isSyntheticEvictionIncluded() {
+        return true;
+    }
+
+    private boolean matches(SerializationService serializationService, Data dataKey, Data dataValue) {
+        if (dataValue == null) {
+            return false;
+        }
+        QueryEntry entry = new QueryEntry(serializationService, dataKey, dataKey, dataValue);
+        return ((Predicate) getPredicate()).apply(entry);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeInt(batchSize);
+        out.writeInt(bufferSize);
+        out.writeLong(delayMillis);
+        out.writeBoolean(coalesce);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        batchSize = in.readInt();
+        bufferSize = in.readInt();
+        delayMillis = in.readLong();
+        coalesce = in.readBoolean();
+    }
+}
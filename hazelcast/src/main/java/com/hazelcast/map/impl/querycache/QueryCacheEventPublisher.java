@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.impl.EntryEventData;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * Publisher side of {@link com.hazelcast.map.QueryCache} events.
+ * <p/>
+ * Entry events matching a {@link QueryCacheEventFilter} are not sent one by one; they are accumulated per
+ * registration and partition, then published as a single {@link QueryCacheBatchEventData} when
+ * {@code batchSize} (or {@code bufferSize}, whichever is smaller) events are buffered, or when the oldest
+ * buffered event is older than {@code delaySeconds}. With {@code coalesce} enabled, only the latest event
+ * per key is kept in a batch.
+ * <p/>
+ * The batches of a partition are numbered. When the partition migrates, the sequences are handed over to the new
+ * owner with the partition data, so subscribers only see a gap when batches were really lost.
+ */
+public class QueryCacheEventPublisher {
+
+    private static final long FLUSH_PERIOD_MILLIS = 100;
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final ConcurrentMap<String, Accumulator[]> accumulators = new ConcurrentHashMap<String, Accumulator[]>();
+    private final AtomicBoolean flushTaskScheduled = new AtomicBoolean();
+
+    public QueryCacheEventPublisher(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+    }
+
+    /**
+     * Adds an entry event to the batches of all query cache registrations among the given ones.
+     * <p/>
+     * Synthetic {@link EntryEventType#EVICTED} events, caused by eviction and expiration, are added as well if the
+     * filter includes them, see {@link QueryCacheEventFilter#isSyntheticEvictionIncluded()}. Other synthetic events
+     * are not reflected to query caches.
+     */
+    public void addEvents(Collection<EventRegistration> registrations, boolean syntheticEvent, String mapName,
+                          Address caller, EntryEventType eventType, Data dataKey, Data dataOldValue, Data dataValue) {
+        if (syntheticEvent && eventType != EntryEventType.EVICTED) {
+            return;
+        }
+        for (EventRegistration registration : registrations) {
+            EventFilter filter = registration.getFilter();
+            if (filter instanceof QueryCacheEventFilter
+                    && (!syntheticEvent || ((QueryCacheEventFilter) filter).isSyntheticEvictionIncluded())) {
+                addEvent(registration, mapName, caller, eventType, dataKey, dataOldValue, dataValue);
+            }
+        }
+    }
+
+    private void addEvent(EventRegistration registration, String mapName, Address caller, EntryEventType eventType,
+                         Data dataKey, Data dataOldValue, Data dataValue) {
+        QueryCacheEventFilter filter = (QueryCacheEventFilter) registration.getFilter();
+        EntryEventType resolvedType = filter.resolveEventType(nodeEngine.getSerializationService(), eventType,
+                dataKey, dataOldValue, dataValue);
+        if (resolvedType == null) {
+            return;
+        }
+
+        boolean includeValue = filter.isIncludeValue() && resolvedType != EntryEventType.REMOVED
+                && resolvedType != EntryEventType.EVICTED;
+        EntryEventData eventData = new EntryEventData(getThisNodesAddress(), mapName, caller, dataKey,
+                includeValue ? dataValue : null, null, resolvedType.getType());
+
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(dataKey);
+        getAccumulator(registration, mapName, partitionId).add(eventData, Clock.currentTimeMillis());
+    }
+
+    private Accumulator getAccumulator(EventRegistration registration, String mapName, int partitionId) {
+        String id = registration.getId();
+        Accumulator[] partitionAccumulators = accumulators.get(id);
+        if (partitionAccumulators == null) {
+            int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+            Accumulator[] newAccumulators = new Accumulator[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                newAccumulators[i] = new Accumulator(registration, mapName, i);
+            }
+            partitionAccumulators = accumulators.putIfAbsent(id, newAccumulators);
+            if (partitionAccumulators == null) {
+                partitionAccumulators = newAccumulators;
+            }
+            scheduleFlushTask();
+        }
+        return partitionAccumulators[partitionId];
+    }
+
+    private void scheduleFlushTask() {
+        if (flushTaskScheduled.compareAndSet(false, true)) {
+            nodeEngine.getExecutionService().scheduleWithFixedDelay(new FlushTask(),
+                    FLUSH_PERIOD_MILLIS, FLUSH_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Flushes the batches of the given partition and returns the sequences of its next batches, so the new owner of
+     * the partition can continue them.
+     *
+     * @param partitionId the migrating partition
+     * @return the sequences of the next batches by map name and registration id
+     */
+    public Map<String, Map<String, Long>> getSequences(int partitionId) {
+        Map<String, Map<String, Long>> sequences = new HashMap<String, Map<String, Long>>();
+        for (Accumulator[] partitionAccumulators : accumulators.values()) {
+            Accumulator accumulator = partitionAccumulators[partitionId];
+            long sequence = accumulator.flushAndGetSequence();
+            if (sequence == 0) {
+                continue;
+            }
+            Map<String, Long> mapSequences = sequences.get(accumulator.mapName);
+            if (mapSequences == null) {
+                mapSequences = new HashMap<String, Long>();
+                sequences.put(accumulator.mapName, mapSequences);
+            }
+            mapSequences.put(accumulator.registration.getId(), sequence);
+        }
+        return sequences;
+    }
+
+    /**
+     * Continues the batch sequences of a partition handed over by its previous owner.
+     * <p/>
+     * Registrations which are not known yet are skipped; their subscribers reload the partition on the next batch.
+     *
+     * @param partitionId the migrated partition
+     * @param sequences   the sequences of the next batches by map name and registration id
+     * @see #getSequences(int)
+     */
+    public void setSequences(int partitionId, Map<String, Map<String, Long>> sequences) {
+        EventService eventService = nodeEngine.getEventService();
+        for (Map.Entry<String, Map<String, Long>> entry : sequences.entrySet()) {
+            String mapName = entry.getKey();
+            Map<String, Long> mapSequences = entry.getValue();
+            for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+                Long sequence = mapSequences.get(registration.getId());
+                if (sequence != null && registration.getFilter() instanceof QueryCacheEventFilter) {
+                    getAccumulator(registration, mapName, partitionId).setSequence(sequence);
+                }
+            }
+        }
+    }
+
+    private String getThisNodesAddress() {
+        return nodeEngine.getThisAddress().toString();
+    }
+
+    /**
+     * Flushes the batches whose delay is over and drops the accumulators of deregistered query caches.
+     */
+    private final class FlushTask implements Runnable {
+
+        @Override
+        public void run() {
+            long now = Clock.currentTimeMillis();
+            EventService eventService = nodeEngine.getEventService();
+            Set<String> liveRegistrations = new HashSet<String>();
+            Set<String> checkedMaps = new HashSet<String>();
+
+            Iterator<Accumulator[]> iterator = accumulators.values().iterator();
+            while (iterator.hasNext()) {
+                Accumulator[] partitionAccumulators = iterator.next();
+                String mapName = partitionAccumulators[0].mapName;
+                if (checkedMaps.add(mapName)) {
+                    Collection<EventRegistration> registrations = eventService.getRegistrations(SERVICE_NAME, mapName);
+                    for (EventRegistration registration : registrations) {
+                        liveRegistrations.add(registration.getId());
+                    }
+                }
+                if (!liveRegistrations.contains(partitionAccumulators[0].registration.getId())) {
+                    iterator.remove();
+                    continue;
+                }
+                for (Accumulator accumulator : partitionAccumulators) {
+                    accumulator.flushIfDue(now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers the events of one partition for one query cache registration.
+     */
+    private final class Accumulator {
+
+        private final EventRegistration registration;
+        private final QueryCacheEventFilter filter;
+        private final String mapName;
+        private final int partitionId;
+        private final int flushSize;
+
+        private List<EntryEventData> events;
+        private Map<Data, EntryEventData> coalescedEvents;
+        private long oldestEventTime;
+        private long sequence;
+
+        Accumulator(EventRegistration registration, String mapName, int partitionId) {
+            this.registration = registration;
+            this.filter = (QueryCacheEventFilter) registration.getFilter();
+            this.mapName = mapName;
+            this.partitionId = partitionId;
+            this.flushSize = Math.max(1, Math.min(filter.getBatchSize(), filter.getBufferSize()));
+        }
+
+        synchronized void add(EntryEventData eventData, long now) {
+            if (size() == 0) {
+                oldestEventTime = now;
+            }
+            if (filter.isCoalesce()) {
+                if (coalescedEvents == null) {
+                    coalescedEvents = new LinkedHashMap<Data, EntryEventData>();
+                }
+                // re-insert, so the key moves to the position of its latest event
+                coalescedEvents.remove(eventData.getDataKey());
+                coalescedEvents.put(eventData.getDataKey(), eventData);
+            } else {
+                if (events == null) {
+                    events = new ArrayList<EntryEventData>(flushSize);
+                }
+                events.add(eventData);
+            }
+            if (size() >= flushSize) {
+                flush();
+            }
+        }
+
+        synchronized long flushAndGetSequence() {
+            if (size() > 0) {
+                flush();
+            }
+            return sequence;
+        }
+
+        synchronized void setSequence(long sequence) {
+            this.sequence = sequence;
+        }
+
+        synchronized void flushIfDue(long now) {
+            if (size() > 0 && now - oldestEventTime >= filter.getDelayMillis()) {
+                flush();
+            }
+        }
+
+        private int size() {
+            if (coalescedEvents != null) {
+                return coalescedEvents.size();
+            }
+            return events == null ? 0 : events.size();
+        }
+
+        private void flush() {
+            List<EntryEventData> batch;
+            if (coalescedEvents != null) {
+                batch = new ArrayList<EntryEventData>(coalescedEvents.values());
+                coalescedEvents.clear();
+            } else {
+                batch = events;
+                events = null;
+            }
+            QueryCacheBatchEventData batchEventData = new QueryCacheBatchEventData(getThisNodesAddress(), mapName,
+                    nodeEngine.getThisAddress(), partitionId, sequence++, batch);
+            // published under the lock, so batches of a partition leave in sequence order
+            nodeEngine.getEventService().publishEvent(SERVICE_NAME, registration, batchEventData, partitionId);
+        }
+    }
+}
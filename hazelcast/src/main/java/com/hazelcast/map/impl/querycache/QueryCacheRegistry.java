@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Holds the {@link QueryCache} instances created on one {@code IMap} proxy.
+ */
+public class QueryCacheRegistry {
+
+    private final IMap delegate;
+    private final SerializationService serializationService;
+    private final QueryCacheSubscriber subscriber;
+    private final Executor recoveryExecutor;
+    private final ConcurrentMap<String, DefaultQueryCache> caches = new ConcurrentHashMap<String, DefaultQueryCache>();
+
+    public QueryCacheRegistry(IMap delegate, SerializationService serializationService, QueryCacheSubscriber subscriber,
+                              Executor recoveryExecutor) {
+        this.delegate = delegate;
+        this.serializationService = serializationService;
+        this.subscriber = subscriber;
+        this.recoveryExecutor = recoveryExecutor;
+    }
+
+    /**
+     * Returns the cache with the given name, creating it from the given configuration if needed.
+     *
+     * @param name   name of the cache
+     * @param config configuration of the cache, may be {@code null}
+     * @return the cache, or {@code null} if it does not exist and there is no configuration for it
+     */
+    public QueryCache getOrCreate(String name, QueryCacheConfig config) {
+        checkNotNull(name, "name cannot be null");
+        QueryCache queryCache = getIfActive(name);
+        if (queryCache != null || config == null) {
+            return queryCache;
+        }
+        return getOrCreate(name, toPredicate(config.getPredicateConfig()), config.isIncludeValue(), config);
+    }
+
+    /**
+     * Returns the cache with the given name, creating it with the given predicate if needed.
+     *
+     * @param name         name of the cache
+     * @param predicate    predicate of the cache
+     * @param includeValue {@code true} if values are cached
+     * @param config       configuration of the cache, defaults are used if {@code null}
+     * @return the cache
+     */
+    public QueryCache getOrCreate(String name, Predicate predicate, boolean includeValue, QueryCacheConfig config) {
+        checkNotNull(name, "name cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+        QueryCache queryCache = getIfActive(name);
+        if (queryCache != null) {
+            return queryCache;
+        }
+        synchronized (caches) {
+            queryCache = getIfActive(name);
+            if (queryCache != null) {
+                return queryCache;
+            }
+            QueryCacheConfig cacheConfig = config != null ? config : new QueryCacheConfig(name);
+            DefaultQueryCache newQueryCache = new DefaultQueryCache(name, delegate, predicate, includeValue, cacheConfig,
+                    serializationService, subscriber, recoveryExecutor);
+            newQueryCache.init();
+            caches.put(name, newQueryCache);
+            return newQueryCache;
+        }
+    }
+
+    private QueryCache getIfActive(String name) {
+        DefaultQueryCache queryCache = caches.get(name);
+        if (queryCache == null || queryCache.isDestroyed()) {
+            return null;
+        }
+        return queryCache;
+    }
+
+    /**
+     * Destroys all caches of this registry, e.g. when the underlying {@code IMap} is destroyed.
+     */
+    public void destroyAll() {
+        for (DefaultQueryCache queryCache : caches.values()) {
+            queryCache.destroy();
+        }
+        caches.clear();
+    }
+
+    private static Predicate toPredicate(PredicateConfig predicateConfig) {
+        Predicate implementation = predicateConfig.getImplementation();
+        if (implementation != null) {
+            return implementation;
+        }
+        String sql = predicateConfig.getSql();
+        if (sql != null) {
+            return new SqlPredicate(sql);
+        }
+        String className = predicateConfig.getClassName();
+        if (className == null) {
+            throw new IllegalArgumentException("No predicate is configured");
+        }
+        try {
+            return ClassLoaderUtil.newInstance(null, className);
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+}
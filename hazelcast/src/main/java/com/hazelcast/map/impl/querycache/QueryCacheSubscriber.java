@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Feeds a {@link DefaultQueryCache} with the events of its underlying {@code IMap}.
+ */
+public interface QueryCacheSubscriber {
+
+    /**
+     * Starts delivering the events of the underlying {@code IMap} to the given cache.
+     *
+     * @param queryCache the cache to be kept up to date
+     * @return id of the subscription
+     */
+    String subscribe(DefaultQueryCache queryCache);
+
+    /**
+     * Stops delivering events for the given subscription.
+     *
+     * @param id id of the subscription
+     * @return {@code true} if the subscription was removed
+     */
+    boolean unsubscribe(String id);
+
+    /**
+     * Returns the partition of the given key of the underlying {@code IMap}.
+     *
+     * @param keyData the key
+     * @return the partition id
+     */
+    int getPartitionId(Data keyData);
+}
@@ -23,7 +23,8 @@ import com.hazelcast.internal.storage.Storage;
 class NativeRecord extends AbstractRecord<Data> {
 
     private Storage<DataRef> storage;
-    private DataRef valueRef;
+    // written by the partition thread only, but read by query, statistics and replication threads as well
+    private volatile DataRef valueRef;
 
     NativeRecord() {
     }
@@ -46,23 +47,33 @@ class NativeRecord extends AbstractRecord<Data> {
     }
 
     public Data getValue() {
-        if (valueRef != null) {
-            return storage.get(key.getPartitionHash(), valueRef);
+        for (;;) {
+            DataRef ref = valueRef;
+            if (ref == null) {
+                return null;
+            }
+            Data value = storage.get(key.getPartitionHash(), ref);
+            if (value != null) {
+                return value;
+            }
+            // the value has been replaced or removed concurrently; read the current one
         }
-        return null;
     }
 
     public void setValue(Data value) {
-        invalidate();
-        if (value != null) {
-            valueRef = storage.put(key.getPartitionHash(), value);
+        // publish the new value before the old one is removed, so concurrent readers never see a missing value
+        DataRef oldRef = valueRef;
+        valueRef = value == null ? null : storage.put(key.getPartitionHash(), value);
+        if (oldRef != null) {
+            storage.remove(key.getPartitionHash(), oldRef);
         }
     }
 
     public void invalidate() {
-        if (valueRef != null) {
-            storage.remove(key.getPartitionHash(), valueRef);
-        }
+        DataRef ref = valueRef;
         valueRef = null;
+        if (ref != null) {
+            storage.remove(key.getPartitionHash(), ref);
+        }
     }
 }
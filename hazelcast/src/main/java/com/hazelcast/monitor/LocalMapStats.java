@@ -104,6 +104,14 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getDirtyEntryCount();
 
+    /**
+     * Returns the time in milliseconds the oldest dirty entry that the member owns has been waiting to be persisted,
+     * i.e. how much the write-behind map store lags behind. 0 if there are no dirty entries.
+     *
+     * @return the age of the oldest dirty entry that the member owns
+     */
+    long getOldestDirtyEntryAge();
+
     /**
      * Returns the number of put operations
      *
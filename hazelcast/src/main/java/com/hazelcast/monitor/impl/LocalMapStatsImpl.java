@@ -86,6 +86,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long heapCost;
     private volatile long lockedEntryCount;
     private volatile long dirtyEntryCount;
+    private volatile long oldestDirtyEntryAge;
     private volatile int backupCount;
 
     private volatile NearCacheStatsImpl nearCacheStats;
@@ -189,6 +190,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.dirtyEntryCount = dirtyEntryCount;
     }
 
+    @Override
+    public long getOldestDirtyEntryAge() {
+        return oldestDirtyEntryAge;
+    }
+
+    public void setOldestDirtyEntryAge(long oldestDirtyEntryAge) {
+        this.oldestDirtyEntryAge = oldestDirtyEntryAge;
+    }
+
     @Override
     public long total() {
         return putCount + getCount + removeCount + numberOfOtherOperations;
@@ -311,6 +321,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("creationTime", creationTime);
         root.add("lockedEntryCount", lockedEntryCount);
         root.add("dirtyEntryCount", dirtyEntryCount);
+        root.add("oldestDirtyEntryAge", oldestDirtyEntryAge);
         root.add("totalGetLatencies", totalGetLatencies);
         root.add("totalPutLatencies", totalPutLatencies);
         root.add("totalRemoveLatencies", totalRemoveLatencies);
@@ -348,6 +359,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
         creationTime = getLong(json, "creationTime", -1L);
         lockedEntryCount = getLong(json, "lockedEntryCount", -1L);
         dirtyEntryCount = getLong(json, "dirtyEntryCount", -1L);
+        oldestDirtyEntryAge = getLong(json, "oldestDirtyEntryAge", -1L);
         heapCost = getLong(json, "heapCost", -1L);
         final JsonValue jsonNearCacheStats = json.get("nearCacheStats");
         if (jsonNearCacheStats != null) {
@@ -378,6 +390,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", creationTime=" + creationTime
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
+                + ", oldestDirtyEntryAge=" + oldestDirtyEntryAge
                 + ", heapCost=" + heapCost
                 + '}';
     }
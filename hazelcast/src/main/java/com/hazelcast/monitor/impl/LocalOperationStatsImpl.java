@@ -20,6 +20,7 @@ import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.management.dto.LatencyDTO;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
 import com.hazelcast.monitor.LocalOperationStats;
 import com.hazelcast.util.Clock;
@@ -38,17 +39,20 @@ public class LocalOperationStatsImpl implements LocalOperationStats {
 
     private long maxVisibleSlowOperationCount;
     private List<SlowOperationDTO> slowOperations;
+    private List<LatencyDTO> latencies;
     private long creationTime;
 
     public LocalOperationStatsImpl() {
         this.maxVisibleSlowOperationCount = Long.MAX_VALUE;
         this.slowOperations = new ArrayList<SlowOperationDTO>();
+        this.latencies = new ArrayList<LatencyDTO>();
         this.creationTime = Clock.currentTimeMillis();
     }
 
     public LocalOperationStatsImpl(Node node) {
         this.maxVisibleSlowOperationCount = node.groupProperties.MC_MAX_SLOW_OPERATION_COUNT.getInteger();
         this.slowOperations = node.nodeEngine.getOperationService().getSlowOperationDTOs();
+        this.latencies = node.nodeEngine.getOperationService().getLatencyDTOs();
         this.creationTime = Clock.currentTimeMillis();
     }
 
@@ -60,6 +64,10 @@ public class LocalOperationStatsImpl implements LocalOperationStats {
         return slowOperations;
     }
 
+    public List<LatencyDTO> getLatencies() {
+        return latencies;
+    }
+
     @Override
     public long getCreationTime() {
         return creationTime;
@@ -77,6 +85,11 @@ public class LocalOperationStatsImpl implements LocalOperationStats {
             }
         }
         root.add("slowOperations", slowOperationArray);
+        JsonArray latencyArray = new JsonArray();
+        for (LatencyDTO latency : latencies) {
+            latencyArray.add(latency.toJson());
+        }
+        root.add("latencies", latencyArray);
         root.add("creationTime", creationTime);
         return root;
     }
@@ -89,6 +102,11 @@ public class LocalOperationStatsImpl implements LocalOperationStats {
             slowOperationDTO.fromJson(jsonValue.asObject());
             slowOperations.add(slowOperationDTO);
         }
+        for (JsonValue jsonValue : getArray(json, "latencies", new JsonArray())) {
+            LatencyDTO latencyDTO = new LatencyDTO();
+            latencyDTO.fromJson(jsonValue.asObject());
+            latencies.add(latencyDTO);
+        }
         creationTime = getLong(json, "creationTime", -1L);
     }
 
@@ -143,6 +161,7 @@ public class LocalOperationStatsImpl implements LocalOperationStats {
         return "LocalOperationStatsImpl{"
                 + "maxVisibleSlowOperationCount=" + maxVisibleSlowOperationCount
                 + ", slowOperations=" + slowOperations
+                + ", latencies=" + latencies
                 + ", creationTime=" + creationTime
                 + '}';
     }
@@ -226,6 +226,11 @@ public class LocalReplicatedMapStatsImpl
     public void setDirtyEntryCount(long l) {
     }
 
+    @Override
+    public long getOldestDirtyEntryAge() {
+        return 0;
+    }
+
     @Override
     public long total() {
         return putCount + getCount + removeCount + numberOfOtherOperations;
@@ -18,6 +18,7 @@ package com.hazelcast.nio;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.config.SymmetricEncryptionConfig;
@@ -40,6 +41,8 @@ public interface IOService {
 
     ILogger getLogger(String name);
 
+    MetricsRegistry getMetricsRegistry();
+
     void onOutOfMemory(OutOfMemoryError oom);
 
     Address getThisAddress();
@@ -84,6 +87,10 @@ public interface IOService {
 
     int getSocketSendBufferSize();
 
+    boolean isSocketBufferDirect();
+
+    int getSocketGatheringWriteBufferCount();
+
     int getSocketLingerSeconds();
 
     int getSocketConnectTimeoutSeconds();
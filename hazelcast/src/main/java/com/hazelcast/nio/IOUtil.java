@@ -147,6 +147,17 @@ public final class IOUtil {
         };
     }
 
+    /**
+     * Creates a new ByteBuffer with the given capacity.
+     *
+     * @param capacity the capacity of the buffer.
+     * @param direct   true if a direct (off-heap) buffer should be created, false for a heap buffer.
+     * @return the created ByteBuffer.
+     */
+    public static ByteBuffer newByteBuffer(int capacity, boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
     public static int copyToHeapBuffer(ByteBuffer src, ByteBuffer dest) {
         if (src == null) {
             return 0;
@@ -157,6 +168,12 @@ public final class IOUtil {
                 for (int i = 0; i < n; i++) {
                     dest.put(src.get());
                 }
+            } else if (!src.hasArray() || !dest.hasArray()) {
+                // one of the buffers is direct, e.g. a socket buffer, so we can't copy the backing arrays
+                ByteBuffer chunk = src.duplicate();
+                chunk.limit(chunk.position() + n);
+                dest.put(chunk);
+                src.position(src.position() + n);
             } else {
                 int srcPosition = src.position();
                 int destPosition = dest.position();
@@ -18,6 +18,7 @@ package com.hazelcast.nio;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.config.NetworkConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SocketInterceptorConfig;
@@ -65,6 +66,11 @@ public class NodeIOService implements IOService {
         return node.getLogger(name);
     }
 
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return nodeEngine.getMetricsRegistry();
+    }
+
     @Override
     public void onOutOfMemory(OutOfMemoryError oom) {
         OutOfMemoryErrorDispatcher.onOutOfMemory(oom);
@@ -200,6 +206,16 @@ public class NodeIOService implements IOService {
         return this.node.getGroupProperties().SOCKET_SEND_BUFFER_SIZE.getInteger();
     }
 
+    @Override
+    public boolean isSocketBufferDirect() {
+        return this.node.getGroupProperties().SOCKET_BUFFER_DIRECT.getBoolean();
+    }
+
+    @Override
+    public int getSocketGatheringWriteBufferCount() {
+        return this.node.getGroupProperties().SOCKET_GATHERING_WRITE_BUFFER_COUNT.getInteger();
+    }
+
     @Override
     public int getSocketLingerSeconds() {
         return this.node.getGroupProperties().SOCKET_LINGER_SECONDS.getInteger();
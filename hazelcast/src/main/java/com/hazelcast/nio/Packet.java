@@ -50,6 +50,7 @@ public final class Packet implements SocketWritable, SocketReadable {
     private short header;
     private int partitionId;
     private transient Connection conn;
+    private transient long scheduleTimeNanos;
 
     // These 2 fields are only used during read/write. Otherwise they have no meaning.
     private int valueOffset;
@@ -90,6 +91,19 @@ public final class Packet implements SocketWritable, SocketReadable {
         this.conn = conn;
     }
 
+    /**
+     * Gets the {@link System#nanoTime()} when this Packet was scheduled for processing on an operation thread.
+     *
+     * @return the schedule time in nanos, or 0 if not tracked.
+     */
+    public long getScheduleTimeNanos() {
+        return scheduleTimeNanos;
+    }
+
+    public void setScheduleTimeNanos(long scheduleTimeNanos) {
+        this.scheduleTimeNanos = scheduleTimeNanos;
+    }
+
     public void setHeader(int bit) {
         header |= 1 << bit;
     }
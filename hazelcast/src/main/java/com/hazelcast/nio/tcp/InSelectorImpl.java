@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio.tcp;
 
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 
 import java.nio.channels.SelectionKey;
@@ -36,6 +37,7 @@ public final class InSelectorImpl extends AbstractIOSelector {
      *
      * @return the number of read events.
      */
+    @Probe(name = "readEvents")
     public long getReadEvents() {
         return readEvents;
     }
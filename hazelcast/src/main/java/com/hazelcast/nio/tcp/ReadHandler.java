@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 
+import static com.hazelcast.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.util.StringUtil.bytesToString;
 
 /**
@@ -45,7 +46,7 @@ public final class ReadHandler extends AbstractSelectionHandler {
     public ReadHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_READ);
         this.ioSelector = ioSelector;
-        this.inputBuffer = ByteBuffer.allocate(connectionManager.socketReceiveBufferSize);
+        this.inputBuffer = newByteBuffer(connectionManager.socketReceiveBufferSize, connectionManager.socketBufferDirect);
     }
 
     public void start() {
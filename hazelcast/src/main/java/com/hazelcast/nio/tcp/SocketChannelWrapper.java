@@ -43,6 +43,18 @@ public interface SocketChannelWrapper extends Closeable {
 
     int write(ByteBuffer byteBuffer) throws IOException;
 
+    /**
+     * Writes a sequence of bytes from a subsequence of the given buffers using a single gathering write.
+     *
+     * @param byteBuffers the buffers to write from.
+     * @param offset      the offset within the buffer array of the first buffer to write from.
+     * @param length      the maximum number of buffers to write from.
+     * @return the number of bytes written.
+     * @throws IOException
+     * @see java.nio.channels.GatheringByteChannel#write(ByteBuffer[], int, int)
+     */
+    long write(ByteBuffer[] byteBuffers, int offset, int length) throws IOException;
+
     SelectableChannel configureBlocking(boolean b) throws IOException;
 
     boolean isOpen();
@@ -19,6 +19,7 @@ package com.hazelcast.nio.tcp;
 import com.hazelcast.cluster.impl.BindMessage;
 import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -58,6 +59,10 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     final int socketSendBufferSize;
 
+    final boolean socketBufferDirect;
+
+    final int gatheringWriteBufferCount;
+
     private final ConstructorFunction<Address, TcpIpConnectionMonitor> monitorConstructor
             = new ConstructorFunction<Address, TcpIpConnectionMonitor>() {
         public TcpIpConnectionMonitor createNew(Address endpoint) {
@@ -132,6 +137,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.logger = loggingService.getLogger(TcpIpConnectionManager.class.getName());
         this.socketReceiveBufferSize = ioService.getSocketReceiveBufferSize() * IOService.KILO_BYTE;
         this.socketSendBufferSize = ioService.getSocketSendBufferSize() * IOService.KILO_BYTE;
+        this.socketBufferDirect = ioService.isSocketBufferDirect();
+        this.gatheringWriteBufferCount = Math.max(1, ioService.getSocketGatheringWriteBufferCount());
         this.socketLingerSeconds = ioService.getSocketLingerSeconds();
         this.socketConnectTimeoutSeconds = ioService.getSocketConnectTimeoutSeconds();
         this.socketKeepAlive = ioService.getSocketKeepAlive();
@@ -325,6 +332,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
         connection.setEndPoint(endpoint);
         activeConnections.add(connection);
         acceptedSockets.remove(channel);
+        ioService.getMetricsRegistry().scanAndRegister(connection.getWriteHandler(),
+                "tcp.connection[" + channel.socket().getRemoteSocketAddress() + "]");
 
         connection.start();
 
@@ -381,6 +390,9 @@ public class TcpIpConnectionManager implements ConnectionManager {
             log(Level.FINEST, "Destroying " + connection);
         }
         activeConnections.remove(connection);
+        if (connection instanceof TcpIpConnection) {
+            ioService.getMetricsRegistry().deregister(((TcpIpConnection) connection).getWriteHandler());
+        }
         final Address endPoint = connection.getEndPoint();
         if (endPoint != null) {
             connectionsInProgress.remove(endPoint);
@@ -424,6 +436,7 @@ public class TcpIpConnectionManager implements ConnectionManager {
         }
         live = true;
         log(Level.FINEST, "Starting ConnectionManager and IO selectors.");
+        MetricsRegistry metricsRegistry = ioService.getMetricsRegistry();
         IOSelectorOutOfMemoryHandler oomeHandler = new IOSelectorOutOfMemoryHandler() {
             @Override
             public void handle(OutOfMemoryError error) {
@@ -443,6 +456,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
                     oomeHandler);
             inSelectors[i].start();
             outSelectors[i].start();
+            metricsRegistry.scanAndRegister(inSelectors[i], "tcp.selector[" + inSelectors[i].getName() + "]");
+            metricsRegistry.scanAndRegister(outSelectors[i], "tcp.selector[" + outSelectors[i].getName() + "]");
         }
         startIOBalancer();
 
@@ -528,12 +543,14 @@ public class TcpIpConnectionManager implements ConnectionManager {
         for (int i = 0; i < selectorThreadCount; i++) {
             IOSelector ioSelector = inSelectors[i];
             if (ioSelector != null) {
+                ioService.getMetricsRegistry().deregister(ioSelector);
                 ioSelector.shutdown();
             }
             inSelectors[i] = null;
 
             ioSelector = outSelectors[i];
             if (ioSelector != null) {
+                ioService.getMetricsRegistry().deregister(ioSelector);
                 ioSelector.shutdown();
             }
             outSelectors[i] = null;
@@ -595,21 +612,6 @@ public class TcpIpConnectionManager implements ConnectionManager {
         }
     }
 
-    @Override
-    public void dumpPerformanceMetrics(StringBuffer sb) {
-        for (int k = 0; k < inSelectors.length; k++) {
-            InSelectorImpl inSelector = inSelectors[k];
-            sb.append(inSelector.getName()).append(".readEvents=")
-                    .append(inSelector.getReadEvents()).append("\n");
-        }
-
-        for (int k = 0; k < outSelectors.length; k++) {
-            OutSelectorImpl outSelector = outSelectors[k];
-            sb.append(outSelector.getName()).append(".writeEvents=")
-                    .append(outSelector.getWriteEvents()).append("\n");
-        }
-    }
-
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("Connections {");
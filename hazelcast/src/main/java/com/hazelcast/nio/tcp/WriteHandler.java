@@ -16,35 +16,52 @@
 
 package com.hazelcast.nio.tcp;
 
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.nio.ascii.SocketTextWriter;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.EmptyStatement;
+import com.hazelcast.util.concurrent.MPSCQueue;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
+import static com.hazelcast.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.util.StringUtil.stringToBytes;
 
 /**
  * The writing side of the {@link TcpIpConnection}.
+ * <p/>
+ * Packets are written into one or more output buffers. If there are multiple output buffers, they are filled one after
+ * another and all dirty buffers are written to the socket using a single gathering write. The dirty buffers always form a
+ * prefix of the outputBuffers array; only the last dirty buffer is filled any further.
+ * <p/>
+ * The write queues are {@link MPSCQueue} instances, so offering a packet doesn't allocate a queue node. The IO thread
+ * drains the normal write queue in batches; urgent packets are always polled before the next packet of a batch.
  */
 public final class WriteHandler extends AbstractSelectionHandler implements Runnable {
 
     private static final long TIMEOUT = 3;
+    private static final int DRAIN_BATCH_SIZE = 64;
 
-    private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
-    private final Queue<SocketWritable> urgentWriteQueue = new ConcurrentLinkedQueue<SocketWritable>();
+    private final MPSCQueue<SocketWritable> writeQueue = new MPSCQueue<SocketWritable>();
+    private final MPSCQueue<SocketWritable> urgentWriteQueue = new MPSCQueue<SocketWritable>();
+    // packets drained from the writeQueue, only accessed by the IO thread.
+    private final Queue<SocketWritable> writeBatch = new ArrayDeque<SocketWritable>(DRAIN_BATCH_SIZE);
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
-    private final ByteBuffer outputBuffer;
+    private final ByteBuffer[] outputBuffers;
+    // the index of the outputBuffer that is currently being filled.
+    private int fillIndex;
     private SocketWritable currentPacket;
     private SocketWriter socketWriter;
     private volatile long lastHandle;
@@ -53,7 +70,10 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     WriteHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_WRITE);
-        this.outputBuffer = ByteBuffer.allocate(connectionManager.socketSendBufferSize);
+        this.outputBuffers = new ByteBuffer[connectionManager.gatheringWriteBufferCount];
+        for (int k = 0; k < outputBuffers.length; k++) {
+            outputBuffers[k] = newByteBuffer(connectionManager.socketSendBufferSize, connectionManager.socketBufferDirect);
+        }
     }
 
     long getLastHandle() {
@@ -64,6 +84,27 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         return socketWriter;
     }
 
+    /**
+     * Returns the number of packets pending in the write queue of this connection. Packets that already have been
+     * drained by the IO thread are not included.
+     *
+     * @return the number of pending packets.
+     */
+    @Probe(name = "writeQueueSize")
+    public int getWriteQueueSize() {
+        return writeQueue.size();
+    }
+
+    /**
+     * Returns the number of urgent packets pending in the write queue of this connection.
+     *
+     * @return the number of pending urgent packets.
+     */
+    @Probe(name = "priorityWriteQueueSize")
+    public int getPriorityWriteQueueSize() {
+        return urgentWriteQueue.size();
+    }
+
     // accessed from ReadHandler and SocketConnector
     void setProtocol(final String protocol) {
         final CountDownLatch latch = new CountDownLatch(1);
@@ -85,7 +126,7 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         if (socketWriter == null) {
             if (Protocols.CLUSTER.equals(protocol)) {
                 socketWriter = new SocketPacketWriter(connection);
-                outputBuffer.put(stringToBytes(Protocols.CLUSTER));
+                outputBuffers[0].put(stringToBytes(Protocols.CLUSTER));
                 registerOp(SelectionKey.OP_WRITE);
             } else if (Protocols.CLIENT_BINARY.equals(protocol)) {
                 socketWriter = new SocketClientDataWriter();
@@ -109,10 +150,14 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     private SocketWritable poll() {
         SocketWritable writable = urgentWriteQueue.poll();
-        if (writable == null) {
-            writable = writeQueue.poll();
+        if (writable != null) {
+            return writable;
         }
 
+        writable = writeBatch.poll();
+        if (writable == null && writeQueue.drainTo(writeBatch, DRAIN_BATCH_SIZE) > 0) {
+            writable = writeBatch.poll();
+        }
         return writable;
     }
 
@@ -172,7 +217,7 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         // So the outputBuffer is empty, so we are going to unschedule ourselves.
         scheduled.set(false);
 
-        if (writeQueue.isEmpty() && urgentWriteQueue.isEmpty()) {
+        if (writeBatch.isEmpty() && writeQueue.isEmpty() && urgentWriteQueue.isEmpty()) {
             // there are no remaining packets, so we are done.
             return;
         }
@@ -230,46 +275,78 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
      * @return true if dirty, false otherwise.
      */
     private boolean dirtyOutputBuffer() {
-        return outputBuffer.position() > 0;
+        return fillIndex > 0 || outputBuffers[0].position() > 0;
     }
 
     /**
-     * Writes to content of the outputBuffer to the socket.
+     * Writes to content of the dirty outputBuffers to the socket.
      *
      * @throws Exception
      */
     private void writeOutputBufferToSocket() throws Exception {
-        // So there is data for writing, so lets prepare the buffer for writing and then write it to the socketChannel.
-        outputBuffer.flip();
+        // So there is data for writing, so lets prepare the buffers for writing and then write them to the socketChannel.
+        int dirtyCount = outputBuffers[fillIndex].position() > 0 ? fillIndex + 1 : fillIndex;
+        for (int k = 0; k < dirtyCount; k++) {
+            outputBuffers[k].flip();
+        }
         try {
-            socketChannel.write(outputBuffer);
+            if (dirtyCount == 1) {
+                socketChannel.write(outputBuffers[0]);
+            } else {
+                socketChannel.write(outputBuffers, 0, dirtyCount);
+            }
         } catch (Exception e) {
             currentPacket = null;
             handleSocketException(e);
             return;
         }
-        // Now we verify if all data is written.
-        if (!outputBuffer.hasRemaining()) {
-            // We managed to fully write the outputBuffer to the socket, so we are done.
-            outputBuffer.clear();
+        releaseWrittenBuffers(dirtyCount);
+    }
+
+    /**
+     * Clears the outputBuffers that have been fully written to the socket. The outputBuffers that still contain data are
+     * compacted so new data can be added at the end, and are moved to the front so the dirty buffers remain a prefix.
+     *
+     * @param dirtyCount the number of outputBuffers that were written to the socket.
+     */
+    private void releaseWrittenBuffers(int dirtyCount) {
+        int writtenCount = 0;
+        while (writtenCount < dirtyCount && !outputBuffers[writtenCount].hasRemaining()) {
+            outputBuffers[writtenCount].clear();
+            writtenCount++;
+        }
+
+        if (writtenCount == dirtyCount) {
+            // We managed to fully write the outputBuffers to the socket, so we are done.
+            fillIndex = 0;
             return;
         }
-        // We did not manage to write all data to the socket. So lets compact the buffer so new data
-        // can be added at the end.
-        outputBuffer.compact();
+
+        // We did not manage to write all data to the socket.
+        for (int k = writtenCount; k < dirtyCount; k++) {
+            outputBuffers[k].compact();
+        }
+        if (writtenCount > 0) {
+            Collections.rotate(Arrays.asList(outputBuffers), -writtenCount);
+        }
+        fillIndex = dirtyCount - writtenCount - 1;
     }
 
     /**
-     * Fills the outBuffer with packets. This is done till there are no more packets or till there is no more space in the
-     * outputBuffer.
+     * Fills the outputBuffers with packets. This is done till there are no more packets or till there is no more space in
+     * the outputBuffers.
      *
      * @throws Exception
      */
     private void fillOutputBuffer() throws Exception {
         for (;;) {
+            ByteBuffer outputBuffer = outputBuffers[fillIndex];
             if (!outputBuffer.hasRemaining()) {
-                // The buffer is completely filled, we are done.
-                return;
+                // The buffer is completely filled, lets continue with the next one if there is one.
+                if (!nextOutputBuffer()) {
+                    return;
+                }
+                continue;
             }
 
             // If there currently is not packet sending, lets try to get one.
@@ -283,8 +360,12 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
             // Lets write the currentPacket to the outputBuffer.
             if (!socketWriter.write(currentPacket, outputBuffer)) {
-                // We are done for this round because not all data of the current packet fits in the outputBuffer
-                return;
+                // Not all data of the current packet fits in the outputBuffer, the remainder goes into the next one.
+                if (!nextOutputBuffer()) {
+                    // We are done for this round because all outputBuffers are filled
+                    return;
+                }
+                continue;
             }
 
             // The current packet has been written completely. So lets null it and lets try to write another packet.
@@ -292,6 +373,14 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         }
     }
 
+    private boolean nextOutputBuffer() {
+        if (fillIndex == outputBuffers.length - 1) {
+            return false;
+        }
+        fillIndex++;
+        return true;
+    }
+
     @Override
     public void run() {
         try {
@@ -302,13 +391,14 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     }
 
     public void shutdown() {
-        writeQueue.clear();
-        urgentWriteQueue.clear();
-
         final CountDownLatch latch = new CountDownLatch(1);
         ioSelector.addTask(new Runnable() {
             @Override
             public void run() {
+                // the write queues can only be cleared by the IO thread since it is their single consumer.
+                writeBatch.clear();
+                writeQueue.clear();
+                urgentWriteQueue.clear();
                 try {
                     socketChannel.closeOutbound();
                 } catch (IOException e) {
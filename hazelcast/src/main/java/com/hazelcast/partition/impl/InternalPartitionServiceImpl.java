@@ -45,6 +45,7 @@ import com.hazelcast.partition.membergroup.MemberGroup;
 import com.hazelcast.partition.membergroup.MemberGroupFactory;
 import com.hazelcast.partition.membergroup.MemberGroupFactoryFactory;
 import com.hazelcast.spi.Callback;
+import com.hazelcast.spi.DeltaReplicationAwareService;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
@@ -56,6 +57,7 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionAwareService;
 import com.hazelcast.spi.ResponseHandler;
+import com.hazelcast.spi.ServiceInfo;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.ResponseHandlerFactory;
 import com.hazelcast.util.Clock;
@@ -114,6 +116,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private static final int DEFAULT_PAUSE_MILLIS = 1000;
     private static final int PARTITION_OWNERSHIP_WAIT_MILLIS = 10;
     private static final int REPLICA_SYNC_CHECK_TIMEOUT_SECONDS = 10;
+    private static final int KILOBYTE = 1024;
 
     private final Node node;
     private final NodeEngineImpl nodeEngine;
@@ -127,8 +130,10 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final MigrationThread migrationThread;
     private final long partitionMigrationInterval;
     private final long partitionMigrationTimeout;
+    private final int partitionMigrationChunkSize;
     private final long backupSyncCheckInterval;
     private final int maxParallelReplications;
+    private final int replicaSyncDigestRanges;
     private final PartitionStateGenerator partitionStateGenerator;
     private final MemberGroupFactory memberGroupFactory;
     private final PartitionServiceProxy proxy;
@@ -177,8 +182,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         long interval = node.groupProperties.PARTITION_MIGRATION_INTERVAL.getLong();
         partitionMigrationInterval = interval > 0 ? TimeUnit.SECONDS.toMillis(interval) : 0;
 
-        partitionMigrationTimeout = TimeUnit.SECONDS.toMillis(
-                node.groupProperties.PARTITION_MIGRATION_TIMEOUT.getLong());
+        partitionMigrationTimeout = TimeUnit.SECONDS.toMillis(node.groupProperties.PARTITION_MIGRATION_TIMEOUT.getLong());
+        partitionMigrationChunkSize = node.groupProperties.PARTITION_MIGRATION_CHUNK_SIZE.getInteger() * KILOBYTE;
 
         migrationThread = new MigrationThread(node);
         proxy = new PartitionServiceProxy(this);
@@ -210,9 +215,9 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
 
         long definedBackupSyncCheckInterval = node.groupProperties.PARTITION_BACKUP_SYNC_INTERVAL.getInteger();
         backupSyncCheckInterval = definedBackupSyncCheckInterval > 0 ? definedBackupSyncCheckInterval : 1;
-
         maxParallelReplications = node.groupProperties.PARTITION_MAX_PARALLEL_REPLICATIONS.getInteger();
         replicaSyncProcessLock = new Semaphore(maxParallelReplications);
+        replicaSyncDigestRanges = node.groupProperties.PARTITION_REPLICA_SYNC_DIGEST_RANGES.getInteger();
     }
 
     private long calculateMaxMigrationDelayOnMemberRemoved() {
@@ -891,13 +896,45 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
                         + ", replicaIndex=" + replicaIndex);
             }
             replicaSyncScheduler.schedule(partitionMigrationTimeout, partitionId, syncInfo);
-            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex);
-            nodeEngine.getOperationService().send(syncRequest, target);
+            if (replicaSyncDigestRanges <= 0) {
+                sendReplicaSyncRequest(partitionId, replicaIndex, target);
+            } else {
+                // the digests are created on the partition thread, so the data doesn't change while it's digested
+                SendReplicaSyncRequestOperation op = new SendReplicaSyncRequestOperation(target);
+                op.setPartitionId(partitionId).setReplicaIndex(replicaIndex)
+                  .setNodeEngine(nodeEngine).setService(this);
+                nodeEngine.getOperationService().executeOperation(op);
+            }
             return true;
         }
         return false;
     }
 
+    void sendReplicaSyncRequest(int partitionId, int replicaIndex, Address target) {
+        ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex,
+                createReplicaDigests(partitionId, replicaIndex));
+        nodeEngine.getOperationService().send(syncRequest, target);
+    }
+
+    /**
+     * Creates the digests of the local data of the services supporting delta replica sync, so the partition owner only
+     * needs to send the data which differs. Returns null if delta replica sync is disabled or there is no local data.
+     */
+    private Map<String, Object> createReplicaDigests(int partitionId, int replicaIndex) {
+        if (replicaSyncDigestRanges <= 0) {
+            return null;
+        }
+        Map<String, Object> digests = new HashMap<String, Object>();
+        for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(DeltaReplicationAwareService.class)) {
+            DeltaReplicationAwareService service = (DeltaReplicationAwareService) serviceInfo.getService();
+            Object digest = service.createReplicaDigest(partitionId, replicaIndex, replicaSyncDigestRanges);
+            if (digest != null) {
+                digests.put(serviceInfo.getName(), digest);
+            }
+        }
+        return digests.isEmpty() ? null : digests;
+    }
+
     private void schedulePartitionReplicaSync(ReplicaSyncInfo syncInfo, Address target, long delayMillis) {
         int partitionId = syncInfo.partitionId;
         int replicaIndex = syncInfo.replicaIndex;
@@ -1299,6 +1336,13 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         return partitionMigrationTimeout;
     }
 
+    /**
+     * Returns the maximum size in bytes of a chunk of partition data sent during a migration, 0 if chunking is disabled.
+     */
+    public int getPartitionMigrationChunkSize() {
+        return partitionMigrationChunkSize;
+    }
+
     // called in operation threads
     // Caution: Returning version array without copying for performance reasons. Callers must not modify this array!
     @Override
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.partition.MigrationInfo;
+import com.hazelcast.spi.Callback;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.ResponseHandler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends the replication operations of a migrating partition from the source to the destination.
+ * <p/>
+ * The operations are sent as a sequence of {@link MigrationOperation} fragments. The first fragment contains the
+ * operations of the services that don't support chunking and the first chunk of each
+ * {@link com.hazelcast.spi.ChunkedMigrationAwareService}; every following fragment contains a single chunk. A fragment
+ * is only created and sent after the destination applied the previous one, so at most one chunk is in flight. The
+ * chunks are created on the partition thread by a {@link SendMigrationFragmentOperation}.
+ * <p/>
+ * The response of the last fragment, or of the first failing one, is sent to the master as the result of the
+ * {@link MigrationRequestOperation}. The migration is committed or rolled back by the {@link FinalizeMigrationOperation}.
+ */
+final class MigrationFragmentSender implements Callback<Object> {
+
+    private static final int TRY_PAUSE_MILLIS = 1000;
+
+    private final NodeEngine nodeEngine;
+    private final InternalPartitionServiceImpl partitionService;
+    private final MigrationInfo migrationInfo;
+    private final ResponseHandler responseHandler;
+    private final long[] replicaVersions;
+    private final int replicaIndex;
+    private final ILogger logger;
+
+    // the remaining chunks per service; only accessed by the partition thread
+    private final Map<String, Iterator<Operation>> chunks = new LinkedHashMap<String, Iterator<Operation>>();
+
+    private volatile boolean lastFragmentSent;
+
+    MigrationFragmentSender(NodeEngine nodeEngine, MigrationInfo migrationInfo, ResponseHandler responseHandler,
+                            long[] replicaVersions, int replicaIndex) {
+        this.nodeEngine = nodeEngine;
+        this.partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+        this.migrationInfo = migrationInfo;
+        this.responseHandler = responseHandler;
+        this.replicaVersions = replicaVersions;
+        this.replicaIndex = replicaIndex;
+        this.logger = nodeEngine.getLogger(MigrationFragmentSender.class);
+    }
+
+    /**
+     * Adds the remaining chunks of a service; they are sent after the first fragment.
+     */
+    void addChunks(String serviceName, Iterator<Operation> serviceChunks) {
+        if (serviceChunks.hasNext()) {
+            chunks.put(serviceName, serviceChunks);
+        }
+    }
+
+    void sendFirstFragment(Collection<Operation> tasks) {
+        send(tasks, true);
+    }
+
+    /**
+     * Sends the next chunk; called on the partition thread.
+     */
+    void sendNextFragment() {
+        try {
+            MigrationInfo activeMigration = partitionService.getActiveMigration(migrationInfo.getPartitionId());
+            if (!migrationInfo.isValid() || !migrationInfo.equals(activeMigration)) {
+                logger.warning("Migration is cancelled while sending its fragments -> " + migrationInfo);
+                complete(Boolean.FALSE);
+                return;
+            }
+            send(Collections.singletonList(nextChunk()), false);
+        } catch (Throwable t) {
+            logger.warning("Error while sending migration fragment of " + migrationInfo, t);
+            complete(Boolean.FALSE);
+        }
+    }
+
+    private Operation nextChunk() {
+        Iterator<Map.Entry<String, Iterator<Operation>>> iterator = chunks.entrySet().iterator();
+        Map.Entry<String, Iterator<Operation>> entry = iterator.next();
+        Iterator<Operation> serviceChunks = entry.getValue();
+        Operation chunk = serviceChunks.next();
+        chunk.setServiceName(entry.getKey());
+        if (!serviceChunks.hasNext()) {
+            iterator.remove();
+        }
+        return chunk;
+    }
+
+    private void send(Collection<Operation> tasks, boolean firstFragment) {
+        boolean lastFragment = chunks.isEmpty();
+        lastFragmentSent = lastFragment;
+        MigrationOperation operation
+                = new MigrationOperation(migrationInfo, replicaVersions, tasks, firstFragment, lastFragment);
+        nodeEngine.getOperationService()
+                .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, operation, migrationInfo.getDestination())
+                .setCallback(this)
+                .setResultDeserialized(true)
+                .setCallTimeout(partitionService.getPartitionMigrationTimeout())
+                .setTryPauseMillis(TRY_PAUSE_MILLIS)
+                .setReplicaIndex(replicaIndex)
+                .invoke();
+    }
+
+    @Override
+    public void notify(Object result) {
+        if (lastFragmentSent || !Boolean.TRUE.equals(result)) {
+            complete(result);
+            return;
+        }
+        SendMigrationFragmentOperation operation = new SendMigrationFragmentOperation(this);
+        operation.setPartitionId(migrationInfo.getPartitionId())
+                .setNodeEngine(nodeEngine)
+                .setValidateTarget(false)
+                .setService(partitionService);
+        nodeEngine.getOperationService().executeOperation(operation);
+    }
+
+    private void complete(Object result) {
+        migrationInfo.doneProcessing();
+        responseHandler.sendResponse(result);
+    }
+}
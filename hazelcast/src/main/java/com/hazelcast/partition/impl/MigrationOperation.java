@@ -54,14 +54,27 @@ public final class MigrationOperation extends BaseMigrationOperation {
 
     private long[] replicaVersions;
     private Collection<Operation> tasks;
+    private boolean firstFragment = true;
+    private boolean lastFragment = true;
 
     public MigrationOperation() {
     }
 
     public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, Collection<Operation> tasks) {
+        this(migrationInfo, replicaVersions, tasks, true, true);
+    }
+
+    /**
+     * Creates a fragment of a chunked migration, see {@link MigrationFragmentSender}. The first fragment starts the
+     * migration on the destination, the last fragment completes it.
+     */
+    public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, Collection<Operation> tasks,
+                              boolean firstFragment, boolean lastFragment) {
         super(migrationInfo);
         this.replicaVersions = replicaVersions;
         this.tasks = tasks;
+        this.firstFragment = firstFragment;
+        this.lastFragment = lastFragment;
     }
 
     @Override
@@ -81,20 +94,31 @@ public final class MigrationOperation extends BaseMigrationOperation {
     }
 
     private void doRun() throws Exception {
-        if (startMigration()) {
+        MigrationInfo activeMigration = firstFragment ? migrationInfo : getActiveMigration();
+        if (activeMigration != null && activeMigration.startProcessing()) {
             try {
                 migrate();
             } catch (Throwable e) {
                 success = false;
                 getLogger().severe("Error while processing " + migrationInfo, e);
             } finally {
-                afterMigrate();
+                afterMigrate(activeMigration);
             }
         } else {
             logMigrationCancelled();
         }
     }
 
+    /**
+     * Returns the active migration on this member that is continued by this fragment, or null if the migration has
+     * been finalized in the meantime.
+     */
+    private MigrationInfo getActiveMigration() {
+        InternalPartitionServiceImpl partitionService = getService();
+        MigrationInfo activeMigration = partitionService.getActiveMigration(migrationInfo.getPartitionId());
+        return migrationInfo.equals(activeMigration) ? activeMigration : null;
+    }
+
     private void assertMigrationInitiatorIsMaster() {
         Address masterAddress = getNodeEngine().getMasterAddress();
         if (!masterAddress.equals(migrationInfo.getMaster())) {
@@ -102,16 +126,17 @@ public final class MigrationOperation extends BaseMigrationOperation {
         }
     }
 
-    private boolean startMigration() {
-        return migrationInfo.startProcessing();
-    }
-
     private void logMigrationCancelled() {
         getLogger().warning("Migration is cancelled -> " + migrationInfo);
     }
 
-    private void afterMigrate() {
-        if (success) {
+    private void afterMigrate(MigrationInfo activeMigration) {
+        if (success && !lastFragment) {
+            if (getLogger().isFinestEnabled()) {
+                getLogger().finest("Migration fragment is applied, waiting for the next one. partitionId="
+                        + migrationInfo.getPartitionId());
+            }
+        } else if (success) {
             InternalPartitionService partitionService = getService();
             partitionService.setPartitionReplicaVersions(migrationInfo.getPartitionId(), replicaVersions, 1);
             if (getLogger().isFinestEnabled()) {
@@ -123,7 +148,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
                     + migrationInfo.getPartitionId());
         }
 
-        migrationInfo.doneProcessing();
+        activeMigration.doneProcessing();
     }
 
     private void logMigrationFailure(Throwable e) {
@@ -138,7 +163,9 @@ public final class MigrationOperation extends BaseMigrationOperation {
     }
 
     private void migrate() throws Exception {
-        addActiveMigration();
+        if (firstFragment) {
+            addActiveMigration();
+        }
 
         for (Operation op : tasks) {
             try {
@@ -162,10 +189,12 @@ public final class MigrationOperation extends BaseMigrationOperation {
                 .setReplicaIndex(getReplicaIndex());
         op.setResponseHandler(ERROR_RESPONSE_HANDLER);
         OperationAccessor.setCallerAddress(op, migrationInfo.getSource());
-        MigrationAwareService service = op.getService();
-        PartitionMigrationEvent event =
-                new PartitionMigrationEvent(MigrationEndpoint.DESTINATION, migrationInfo.getPartitionId());
-        service.beforeMigration(event);
+        if (firstFragment) {
+            MigrationAwareService service = op.getService();
+            PartitionMigrationEvent event =
+                    new PartitionMigrationEvent(MigrationEndpoint.DESTINATION, migrationInfo.getPartitionId());
+            service.beforeMigration(event);
+        }
         op.beforeRun();
         op.run();
         op.afterRun();
@@ -174,6 +203,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
+        out.writeBoolean(firstFragment);
+        out.writeBoolean(lastFragment);
         out.writeLongArray(replicaVersions);
         int size = tasks != null ? tasks.size() : 0;
         out.writeInt(size);
@@ -187,6 +218,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
+        firstFragment = in.readBoolean();
+        lastFragment = in.readBoolean();
         replicaVersions = in.readLongArray();
         int size = in.readInt();
         if (size > 0) {
@@ -202,6 +235,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
     public String toString() {
         final int numberOfTasks = tasks != null ? tasks.size() : 0;
         return getClass().getSimpleName() + "{partitionId=" + getPartitionId() + ", migration=" + migrationInfo
-                + ", replicaVersions=" + Arrays.toString(replicaVersions) + ", numberOfTasks=" + numberOfTasks + '}';
+                + ", replicaVersions=" + Arrays.toString(replicaVersions) + ", numberOfTasks=" + numberOfTasks
+                + ", firstFragment=" + firstFragment + ", lastFragment=" + lastFragment + '}';
     }
 }
@@ -21,32 +21,28 @@ import com.hazelcast.core.Member;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.nio.Address;
 import com.hazelcast.partition.InternalPartition;
-import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.partition.MigrationInfo;
-import com.hazelcast.spi.Callback;
+import com.hazelcast.spi.ChunkedMigrationAwareService;
 import com.hazelcast.spi.ExceptionAction;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
-import com.hazelcast.spi.ResponseHandler;
 import com.hazelcast.spi.ServiceInfo;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
-import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 
 public final class MigrationRequestOperation extends BaseMigrationOperation {
 
-    private static final int TRY_PAUSE_MILLIS = 1000;
-
     private boolean returnResponse = true;
 
     public MigrationRequestOperation() {
@@ -86,10 +82,12 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         try {
             verifyOwner(source, partition, owner);
             partitionService.addActiveMigration(migrationInfo);
-            Collection<Operation> tasks = prepareMigrationTasks();
+            long[] replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
+            MigrationFragmentSender sender = new MigrationFragmentSender(nodeEngine, migrationInfo, getResponseHandler(),
+                    replicaVersions, getReplicaIndex());
+            Collection<Operation> tasks = prepareMigrationTasks(sender, partitionService.getPartitionMigrationChunkSize());
             if (tasks.size() > 0) {
-                long[] replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
-                invokeMigrationOperation(destination, replicaVersions, tasks);
+                sender.sendFirstFragment(tasks);
                 returnResponse = false;
             } else {
                 success = true;
@@ -136,24 +134,6 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         }
     }
 
-    private void invokeMigrationOperation(Address destination, long[] replicaVersions, Collection<Operation> tasks)
-            throws IOException {
-
-        MigrationOperation operation = new MigrationOperation(migrationInfo, replicaVersions, tasks);
-
-        NodeEngine nodeEngine = getNodeEngine();
-        InternalPartitionServiceImpl partitionService = getService();
-
-        nodeEngine.getOperationService()
-                .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, operation, destination)
-                .setCallback(new MigrationCallback(migrationInfo, getResponseHandler()))
-                .setResultDeserialized(true)
-                .setCallTimeout(partitionService.getPartitionMigrationTimeout())
-                .setTryPauseMillis(TRY_PAUSE_MILLIS)
-                .setReplicaIndex(getReplicaIndex())
-                .invoke();
-    }
-
     private void verifyGoodMaster(NodeEngine nodeEngine) {
         Address masterAddress = nodeEngine.getMasterAddress();
         if (!masterAddress.equals(migrationInfo.getMaster())) {
@@ -189,7 +169,11 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return returnResponse;
     }
 
-    private Collection<Operation> prepareMigrationTasks() {
+    /**
+     * Returns the replication operations for the first fragment of the migration. The remaining chunks of the services
+     * that support chunking are added to the sender.
+     */
+    private Collection<Operation> prepareMigrationTasks(MigrationFragmentSender sender, int chunkSize) {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         PartitionReplicationEvent replicationEvent = new PartitionReplicationEvent(migrationInfo.getPartitionId(), 0);
         PartitionMigrationEvent migrationEvent
@@ -199,7 +183,17 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(MigrationAwareService.class)) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
             service.beforeMigration(migrationEvent);
-            Operation op = service.prepareReplicationOperation(replicationEvent);
+            Operation op;
+            if (chunkSize > 0 && service instanceof ChunkedMigrationAwareService) {
+                Iterator<Operation> chunks = ((ChunkedMigrationAwareService) service)
+                        .prepareReplicationChunks(replicationEvent, chunkSize);
+                op = chunks != null && chunks.hasNext() ? chunks.next() : null;
+                if (op != null) {
+                    sender.addChunks(serviceInfo.getName(), chunks);
+                }
+            } else {
+                op = service.prepareReplicationOperation(replicationEvent);
+            }
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
                 tasks.add(op);
@@ -207,21 +201,4 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         }
         return tasks;
     }
-
-    private static final class MigrationCallback implements Callback<Object> {
-
-        final MigrationInfo migrationInfo;
-        final ResponseHandler responseHandler;
-
-        private MigrationCallback(MigrationInfo migrationInfo, ResponseHandler responseHandler) {
-            this.migrationInfo = migrationInfo;
-            this.responseHandler = responseHandler;
-        }
-
-        @Override
-        public void notify(Object result) {
-            migrationInfo.doneProcessing();
-            responseHandler.sendResponse(result);
-        }
-    }
 }
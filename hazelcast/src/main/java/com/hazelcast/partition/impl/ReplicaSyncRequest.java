@@ -24,6 +24,7 @@ import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.partition.MigrationCycleOperation;
 import com.hazelcast.partition.ReplicaErrorLogger;
+import com.hazelcast.spi.DeltaReplicationAwareService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -36,17 +37,30 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public final class ReplicaSyncRequest extends Operation implements PartitionAwareOperation, MigrationCycleOperation {
 
+    private Map<String, Object> replicaDigests;
+
     public ReplicaSyncRequest() {
     }
 
     public ReplicaSyncRequest(int partitionId, int replicaIndex) {
+        this(partitionId, replicaIndex, null);
+    }
+
+    /**
+     * @param replicaDigests the digests of the data of the backup replica per service name, see
+     *                       {@link DeltaReplicationAwareService}; null to replicate the whole partition
+     */
+    public ReplicaSyncRequest(int partitionId, int replicaIndex, Map<String, Object> replicaDigests) {
         setPartitionId(partitionId);
         setReplicaIndex(replicaIndex);
+        this.replicaDigests = replicaDigests;
     }
 
     @Override
@@ -147,7 +161,13 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         List<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : services) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-            Operation op = service.prepareReplicationOperation(event);
+            Object replicaDigest = replicaDigests != null ? replicaDigests.get(serviceInfo.getName()) : null;
+            Operation op;
+            if (replicaDigest != null && service instanceof DeltaReplicationAwareService) {
+                op = ((DeltaReplicationAwareService) service).prepareDeltaReplicationOperation(event, replicaDigest);
+            } else {
+                op = service.prepareReplicationOperation(event);
+            }
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
                 tasks.add(op);
@@ -220,10 +240,28 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
+        if (replicaDigests == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(replicaDigests.size());
+        for (Map.Entry<String, Object> entry : replicaDigests.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        if (size >= 0) {
+            replicaDigests = new HashMap<String, Object>(size);
+            for (int i = 0; i < size; i++) {
+                String serviceName = in.readUTF();
+                Object digest = in.readObject();
+                replicaDigests.put(serviceName, digest);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query;
+
+import com.hazelcast.query.Predicates.AndPredicate;
+import com.hazelcast.query.Predicates.BetweenPredicate;
+import com.hazelcast.query.Predicates.EqualPredicate;
+import com.hazelcast.query.Predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.CompositeIndexImpl;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches the predicates of an {@link AndPredicate} against the {@link CompositeIndexImpl composite indexes}.
+ * <p/>
+ * A composite index over (a1..an) matches when there are equality predicates on a prefix a1..ak and, if k is smaller
+ * than n and the index is ordered, optionally a range predicate on a(k+1). The index covering the most predicates is
+ * selected; an index covering a single predicate is not selected since a regular index serves it just as well.
+ */
+final class CompositeIndexMatcher {
+
+    private static final int MIN_COVERED_PREDICATES = 2;
+
+    private CompositeIndexMatcher() {
+    }
+
+    /**
+     * Returns the best matching composite index, or null if there is no match.
+     */
+    static Match match(Predicate[] predicates, QueryContext queryContext) {
+        CompositeIndexImpl[] indexes = queryContext.getCompositeIndexes();
+        if (indexes.length == 0) {
+            return null;
+        }
+
+        Map<String, EqualPredicate> equalities = new HashMap<String, EqualPredicate>();
+        Map<String, Predicate> ranges = new HashMap<String, Predicate>();
+        collect(predicates, equalities, ranges);
+        if (equalities.isEmpty()) {
+            return null;
+        }
+
+        Match best = null;
+        for (CompositeIndexImpl index : indexes) {
+            Match match = match(index, equalities, ranges);
+            if (match != null && (best == null || match.covered.size() > best.covered.size())) {
+                best = match;
+            }
+        }
+        return best;
+    }
+
+    private static void collect(Predicate[] predicates, Map<String, EqualPredicate> equalities,
+                                Map<String, Predicate> ranges) {
+        for (Predicate predicate : predicates) {
+            Class<?> type = predicate.getClass();
+            if (type == AndPredicate.class) {
+                collect(((AndPredicate) predicate).predicates, equalities, ranges);
+            } else if (type == EqualPredicate.class) {
+                EqualPredicate equalPredicate = (EqualPredicate) predicate;
+                if (equalPredicate.value != null && !equalities.containsKey(equalPredicate.attribute)) {
+                    equalities.put(equalPredicate.attribute, equalPredicate);
+                }
+            } else if (type == GreaterLessPredicate.class) {
+                ranges.put(((GreaterLessPredicate) predicate).attribute, predicate);
+            } else if (type == BetweenPredicate.class) {
+                ranges.put(((BetweenPredicate) predicate).attribute, predicate);
+            }
+        }
+    }
+
+    private static Match match(CompositeIndexImpl index, Map<String, EqualPredicate> equalities,
+                               Map<String, Predicate> ranges) {
+        String[] components = index.getComponents();
+        List<Predicate> covered = new ArrayList<Predicate>(components.length);
+        Comparable[] prefix = new Comparable[components.length];
+        int k = 0;
+        for (; k < components.length; k++) {
+            EqualPredicate equalPredicate = equalities.get(components[k]);
+            if (equalPredicate == null) {
+                break;
+            }
+            prefix[k] = equalPredicate.value;
+            covered.add(equalPredicate);
+        }
+
+        if (k == components.length) {
+            return new Match(index, covered, new CompositeValue(prefix), true, null, true);
+        }
+        if (!index.isOrdered()) {
+            return null;
+        }
+
+        Predicate range = ranges.get(components[k]);
+        if (range != null) {
+            covered.add(range);
+        }
+        if (covered.size() < MIN_COVERED_PREDICATES) {
+            return null;
+        }
+        return rangeMatch(index, covered, prefix, k, range);
+    }
+
+    private static Match rangeMatch(CompositeIndexImpl index, List<Predicate> covered, Comparable[] prefix, int k,
+                                    Predicate range) {
+        if (range == null) {
+            return new Match(index, covered, bound(prefix, k, null, CompositeValue.NEGATIVE_INFINITY), true,
+                    bound(prefix, k, null, CompositeValue.POSITIVE_INFINITY), true);
+        }
+        if (range instanceof BetweenPredicate) {
+            BetweenPredicate between = (BetweenPredicate) range;
+            return new Match(index, covered, bound(prefix, k, between.from, CompositeValue.NEGATIVE_INFINITY), true,
+                    bound(prefix, k, between.to, CompositeValue.POSITIVE_INFINITY), true);
+        }
+
+        GreaterLessPredicate greaterLess = (GreaterLessPredicate) range;
+        Comparable value = greaterLess.value;
+        if (greaterLess.less) {
+            // the null values are sorted before any other value, so they are excluded by the lower bound
+            CompositeValue from = bound(prefix, k, IndexImpl.NULL, CompositeValue.POSITIVE_INFINITY);
+            CompositeValue to = greaterLess.equal
+                    ? bound(prefix, k, value, CompositeValue.POSITIVE_INFINITY)
+                    : bound(prefix, k, value, CompositeValue.NEGATIVE_INFINITY);
+            return new Match(index, covered, from, false, to, greaterLess.equal);
+        }
+        CompositeValue from = greaterLess.equal
+                ? bound(prefix, k, value, CompositeValue.NEGATIVE_INFINITY)
+                : bound(prefix, k, value, CompositeValue.POSITIVE_INFINITY);
+        CompositeValue to = bound(prefix, k, null, CompositeValue.POSITIVE_INFINITY);
+        return new Match(index, covered, from, greaterLess.equal, to, true);
+    }
+
+    /**
+     * Creates a bound consisting of the first k components of the prefix, followed by the value (if not null) and
+     * padded with the infinity.
+     */
+    private static CompositeValue bound(Comparable[] prefix, int k, Comparable value, Comparable infinity) {
+        Comparable[] components = new Comparable[prefix.length];
+        System.arraycopy(prefix, 0, components, 0, k);
+        int index = k;
+        if (value != null) {
+            components[index++] = value;
+        }
+        Arrays.fill(components, index, components.length, infinity);
+        return new CompositeValue(components);
+    }
+
+    /**
+     * A composite index matching a set of predicates.
+     */
+    static final class Match {
+        private final CompositeIndexImpl index;
+        private final Set<Predicate> covered;
+        private final CompositeValue from;
+        private final boolean fromInclusive;
+        private final CompositeValue to;
+        private final boolean toInclusive;
+
+        private Match(CompositeIndexImpl index, List<Predicate> covered, CompositeValue from, boolean fromInclusive,
+                      CompositeValue to, boolean toInclusive) {
+            this.index = index;
+            this.covered = new HashSet<Predicate>(covered);
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * Checks if the predicate is fully evaluated by the composite index.
+         */
+        boolean covers(Predicate predicate) {
+            return covered.contains(predicate);
+        }
+
+        Set<QueryableEntry> filter() {
+            if (to == null) {
+                return index.getRecords(from);
+            }
+            return index.getSubRecords(from, fromInclusive, to, toInclusive);
+        }
+    }
+}
@@ -126,8 +126,8 @@ public final class Predicates {
      * Between Predicate
      */
     public static class BetweenPredicate extends AbstractPredicate {
-        private Comparable to;
-        private Comparable from;
+        Comparable to;
+        Comparable from;
 
         public BetweenPredicate() {
         }
@@ -465,27 +465,44 @@ public final class Predicates {
 
         @Override
         public Set<QueryableEntry> filter(QueryContext queryContext) {
-            Set<QueryableEntry> smallestIndexedResult = null;
+            CompositeIndexMatcher.Match compositeMatch = CompositeIndexMatcher.match(predicates, queryContext);
+            if (compositeMatch == null) {
+                return filter(queryContext, predicates, null);
+            }
+            // the predicates covered by the composite index don't need to be evaluated again
+            List<Predicate> uncovered = new LinkedList<Predicate>();
+            for (Predicate predicate : predicates) {
+                if (!compositeMatch.covers(predicate)) {
+                    uncovered.add(predicate);
+                }
+            }
+            return filter(queryContext, uncovered.toArray(new Predicate[uncovered.size()]), compositeMatch.filter());
+        }
+
+        private Set<QueryableEntry> filter(QueryContext queryContext, Predicate[] predicates,
+                                           Set<QueryableEntry> compositeIndexedResult) {
+            Set<QueryableEntry> smallestIndexedResult = compositeIndexedResult;
             List<Set<QueryableEntry>> otherIndexedResults = new LinkedList<Set<QueryableEntry>>();
             List<Predicate> lsNoIndexPredicates = null;
             for (Predicate predicate : predicates) {
-                boolean indexed = false;
+                Set<QueryableEntry> s = null;
                 if (predicate instanceof IndexAwarePredicate) {
                     IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
                     if (iap.isIndexed(queryContext)) {
-                        indexed = true;
-                        Set<QueryableEntry> s = iap.filter(queryContext);
-                        if (smallestIndexedResult == null) {
-                            smallestIndexedResult = s;
-                        } else if (s.size() < smallestIndexedResult.size()) {
-                            otherIndexedResults.add(smallestIndexedResult);
-                            smallestIndexedResult = s;
-                        } else {
-                            otherIndexedResults.add(s);
-                        }
+                        // may still be null if the indexes can't serve the predicate; it's evaluated per entry then
+                        s = iap.filter(queryContext);
                     }
                 }
-                if (!indexed) {
+                if (s != null) {
+                    if (smallestIndexedResult == null) {
+                        smallestIndexedResult = s;
+                    } else if (s.size() < smallestIndexedResult.size()) {
+                        otherIndexedResults.add(smallestIndexedResult);
+                        smallestIndexedResult = s;
+                    } else {
+                        otherIndexedResults.add(s);
+                    }
+                } else {
                     if (lsNoIndexPredicates == null) {
                         lsNoIndexPredicates = new LinkedList<Predicate>();
                     }
@@ -500,6 +517,9 @@ public final class Predicates {
 
         @Override
         public boolean isIndexed(QueryContext queryContext) {
+            if (CompositeIndexMatcher.match(predicates, queryContext) != null) {
+                return true;
+            }
             for (Predicate predicate : predicates) {
                 if (predicate instanceof IndexAwarePredicate) {
                     IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
@@ -576,9 +596,11 @@ public final class Predicates {
                     IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
                     if (iap.isIndexed(queryContext)) {
                         Set<QueryableEntry> s = iap.filter(queryContext);
-                        if (s != null) {
-                            indexedResults.add(s);
+                        if (s == null) {
+                            // a partial result would miss the entries matching this predicate only
+                            return null;
                         }
+                        indexedResults.add(s);
                     } else {
                         return null;
                     }
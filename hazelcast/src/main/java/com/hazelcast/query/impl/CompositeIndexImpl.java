@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.TypeConverters.TypeConverter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An {@link Index} over multiple attributes, e.g. "a,b".
+ * <p/>
+ * The index value of an entry is a {@link CompositeValue} containing the values of the attributes in the declared
+ * order. An ordered composite index can serve an equality on a prefix of the attributes, optionally followed by a range
+ * on the next attribute; e.g. 'a = 1 and b > 5'. An unordered composite index can only serve an equality on all
+ * attributes.
+ * <p/>
+ * Composite indexes are picked up by the {@link com.hazelcast.query.Predicates.AndPredicate}.
+ */
+public class CompositeIndexImpl implements Index {
+
+    /**
+     * The separator between the attributes in the name of a composite index.
+     */
+    public static final String SEPARATOR = ",";
+
+    // indexKey -- indexValue
+    private final ConcurrentMap<Data, Comparable> recordValues = new ConcurrentHashMap<Data, Comparable>(1000);
+    private final IndexStore indexStore;
+    private final String name;
+    private final String[] components;
+    private final boolean ordered;
+
+    private volatile TypeConverter[] converters;
+
+    public CompositeIndexImpl(String name, boolean ordered) {
+        this.components = parseComponents(name);
+        this.name = canonicalName(components);
+        this.ordered = ordered;
+        this.indexStore = ordered ? new SortedIndexStore() : new UnsortedIndexStore();
+    }
+
+    /**
+     * Checks if the attribute name of an index refers to a composite index.
+     */
+    public static boolean isComposite(String attribute) {
+        return attribute.contains(SEPARATOR);
+    }
+
+    /**
+     * Returns the canonical name of a composite index; the attributes without surrounding white space, separated by
+     * {@link #SEPARATOR}.
+     */
+    public static String canonicalName(String attribute) {
+        return canonicalName(parseComponents(attribute));
+    }
+
+    private static String canonicalName(String[] components) {
+        StringBuilder sb = new StringBuilder();
+        for (String component : components) {
+            if (sb.length() > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(component);
+        }
+        return sb.toString();
+    }
+
+    private static String[] parseComponents(String attribute) {
+        String[] components = attribute.split(SEPARATOR);
+        if (components.length < 2) {
+            throw new IllegalArgumentException("A composite index needs at least 2 attributes: " + attribute);
+        }
+        for (int k = 0; k < components.length; k++) {
+            components[k] = components[k].trim();
+            if (components[k].length() == 0) {
+                throw new IllegalArgumentException("Empty attribute in composite index: " + attribute);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Returns the attributes of this index in the declared order.
+     */
+    public String[] getComponents() {
+        return components.clone();
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry e) throws QueryException {
+        // the converters need to be initialized before saving the entry, see IndexImpl.saveEntryIndex
+        if (converters == null) {
+            TypeConverter[] newConverters = new TypeConverter[components.length];
+            for (int k = 0; k < components.length; k++) {
+                AttributeType attributeType = e.getAttributeType(components[k]);
+                newConverters[k] = attributeType == null ? new IdentityConverter() : attributeType.getConverter();
+            }
+            converters = newConverters;
+        }
+
+        Data key = e.getIndexKey();
+        Comparable oldValue = recordValues.remove(key);
+        Comparable newValue = extractValue(e);
+        recordValues.put(key, newValue);
+        if (oldValue == null) {
+            indexStore.newIndex(newValue, e);
+        } else {
+            indexStore.updateIndex(oldValue, newValue, e);
+        }
+    }
+
+    private CompositeValue extractValue(QueryableEntry e) {
+        Comparable[] values = new Comparable[components.length];
+        for (int k = 0; k < components.length; k++) {
+            Comparable value = e.getAttribute(components[k]);
+            if (value == null) {
+                value = IndexImpl.NULL;
+            } else if (value.getClass().isEnum()) {
+                value = TypeConverters.ENUM_CONVERTER.convert(value);
+            }
+            values[k] = value;
+        }
+        return new CompositeValue(values);
+    }
+
+    @Override
+    public void removeEntryIndex(Data indexKey) {
+        Comparable oldValue = recordValues.remove(indexKey);
+        if (oldValue != null) {
+            indexStore.removeIndex(oldValue, indexKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        recordValues.clear();
+        indexStore.clear();
+        converters = null;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable[] values) {
+        MultiResultSet results = new MultiResultSet();
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters != null) {
+            Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
+            for (Comparable value : values) {
+                convertedValues.add(convert(currentConverters, value));
+            }
+            indexStore.getRecords(results, convertedValues);
+        }
+        return results;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters == null) {
+            return new SingleResultSet(null);
+        }
+        return indexStore.getRecords(convert(currentConverters, value));
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        return getSubRecords(from, true, to, true);
+    }
+
+    /**
+     * Returns the records with a value between 'from' and 'to'. Only supported by an ordered index.
+     */
+    public Set<QueryableEntry> getSubRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        checkOrdered();
+        MultiResultSet results = new MultiResultSet();
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters != null) {
+            ((SortedIndexStore) indexStore).getSubRecords(results, convert(currentConverters, from), fromInclusive,
+                    convert(currentConverters, to), toInclusive);
+        }
+        return results;
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        if (comparisonType != ComparisonType.NOT_EQUAL) {
+            checkOrdered();
+        }
+        MultiResultSet results = new MultiResultSet();
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters != null) {
+            indexStore.getSubRecords(results, comparisonType, convert(currentConverters, searchedValue));
+        }
+        return results;
+    }
+
+    private void checkOrdered() {
+        if (!ordered) {
+            throw new UnsupportedOperationException("Range queries are not supported by unordered index: " + name);
+        }
+    }
+
+    private static CompositeValue convert(TypeConverter[] converters, Comparable value) {
+        Comparable[] components = ((CompositeValue) value).getComponents();
+        Comparable[] converted = new Comparable[components.length];
+        for (int k = 0; k < components.length; k++) {
+            Comparable component = components[k];
+            if (component == CompositeValue.NEGATIVE_INFINITY || component == CompositeValue.POSITIVE_INFINITY
+                    || component instanceof IndexImpl.NullObject) {
+                converted[k] = component;
+            } else {
+                converted[k] = converters[k].convert(component);
+            }
+        }
+        return new CompositeValue(converted);
+    }
+
+    @Override
+    public String getAttributeName() {
+        return name;
+    }
+
+    @Override
+    public boolean isOrdered() {
+        return ordered;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * The value of a {@link CompositeIndexImpl composite index}: a tuple of attribute values that is ordered
+ * lexicographically.
+ * <p/>
+ * To express ranges over a prefix of the tuple, a component can be {@link #NEGATIVE_INFINITY} or
+ * {@link #POSITIVE_INFINITY}; these compare smaller, respectively greater, than any other value. The
+ * {@link IndexImpl#NULL null} value compares smaller than any non null value.
+ */
+public final class CompositeValue implements Comparable<CompositeValue> {
+
+    /**
+     * A component that is smaller than any other value.
+     */
+    public static final Comparable NEGATIVE_INFINITY = new InfinityValue(-1);
+
+    /**
+     * A component that is greater than any other value.
+     */
+    public static final Comparable POSITIVE_INFINITY = new InfinityValue(1);
+
+    private final Comparable[] components;
+
+    public CompositeValue(Comparable[] components) {
+        this.components = components;
+    }
+
+    /**
+     * Returns the components of this value.
+     */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"EI_EXPOSE_REP" })
+    public Comparable[] getComponents() {
+        return components;
+    }
+
+    @Override
+    public int compareTo(CompositeValue that) {
+        int length = Math.min(components.length, that.components.length);
+        for (int k = 0; k < length; k++) {
+            int result = compareComponent(components[k], that.components[k]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return components.length - that.components.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareComponent(Comparable c1, Comparable c2) {
+        if (c1 == c2) {
+            return 0;
+        }
+        if (c1 instanceof InfinityValue) {
+            return ((InfinityValue) c1).sign;
+        }
+        if (c2 instanceof InfinityValue) {
+            return -((InfinityValue) c2).sign;
+        }
+        boolean null1 = c1 instanceof IndexImpl.NullObject;
+        boolean null2 = c2 instanceof IndexImpl.NullObject;
+        if (null1 || null2) {
+            return (null1 ? 0 : 1) - (null2 ? 0 : 1);
+        }
+        return c1.compareTo(c2);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(components, ((CompositeValue) o).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(components);
+    }
+
+    private static final class InfinityValue implements Comparable {
+        private final int sign;
+
+        private InfinityValue(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            return o == this ? 0 : sign;
+        }
+
+        @Override
+        public String toString() {
+            return sign < 0 ? "-INF" : "+INF";
+        }
+    }
+}
@@ -37,10 +37,10 @@ public class IndexImpl implements Index {
 
     // indexKey -- indexValue
     private final ConcurrentMap<Data, Comparable> recordValues = new ConcurrentHashMap<Data, Comparable>(1000);
-    private final IndexStore indexStore;
     private final String attribute;
     private final boolean ordered;
 
+    private volatile IndexStore indexStore;
     private volatile TypeConverter converter;
 
     public IndexImpl(String attribute, boolean ordered) {
@@ -79,9 +79,7 @@ public class IndexImpl implements Index {
          * this causes to class cast exceptions.
          */
         if (converter == null) {
-            // Initialize attribute type by using entry index
-            AttributeType attributeType = e.getAttributeType(attribute);
-            converter = attributeType == null ? new IdentityConverter() : attributeType.getConverter();
+            initConverter(e);
         }
 
         Data key = e.getIndexKey();
@@ -102,6 +100,35 @@ public class IndexImpl implements Index {
         }
     }
 
+    private synchronized void initConverter(QueryableEntry e) {
+        if (converter != null) {
+            return;
+        }
+        // Initialize attribute type by using entry index
+        AttributeType attributeType = e.getAttributeType(attribute);
+        if (ordered) {
+            // the store is published before the converter, so a thread that sees the converter sees the store
+            indexStore = selectOrderedIndexStore(attributeType);
+        }
+        converter = attributeType == null ? new IdentityConverter() : attributeType.getConverter();
+    }
+
+    /**
+     * Selects a {@link NumericIndexStore} for numeric attributes and a {@link SortedIndexStore} otherwise. The current
+     * store is kept if it already is of the right kind.
+     */
+    private IndexStore selectOrderedIndexStore(AttributeType attributeType) {
+        IndexStore current = indexStore;
+        if (NumericIndexStore.isSupported(attributeType)) {
+            boolean floatingPoint = NumericIndexStore.isFloatingPoint(attributeType);
+            if (current instanceof NumericIndexStore && ((NumericIndexStore) current).isFloatingPoint() == floatingPoint) {
+                return current;
+            }
+            return new NumericIndexStore(floatingPoint);
+        }
+        return current instanceof SortedIndexStore ? current : new SortedIndexStore();
+    }
+
     @Override
     public Set<QueryableEntry> getRecords(Comparable[] values) {
         if (values.length == 1) {
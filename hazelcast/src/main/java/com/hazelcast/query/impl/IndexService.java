@@ -21,6 +21,8 @@ import com.hazelcast.query.IndexAwarePredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -31,20 +33,38 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class IndexService {
     private static final Index[] EMPTY_INDEX = {};
+    private static final CompositeIndexImpl[] EMPTY_COMPOSITE_INDEX = {};
     private final ConcurrentMap<String, Index> mapIndexes = new ConcurrentHashMap<String, Index>(3);
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>(EMPTY_INDEX);
+    private final AtomicReference<CompositeIndexImpl[]> compositeIndexes
+            = new AtomicReference<CompositeIndexImpl[]>(EMPTY_COMPOSITE_INDEX);
     private volatile boolean hasIndex;
 
     public synchronized Index destroyIndex(String attribute) {
-        return mapIndexes.remove(attribute);
+        if (CompositeIndexImpl.isComposite(attribute)) {
+            attribute = CompositeIndexImpl.canonicalName(attribute);
+        }
+        Index index = mapIndexes.remove(attribute);
+        if (index instanceof CompositeIndexImpl) {
+            updateCompositeIndexes();
+        }
+        return index;
     }
 
+    /**
+     * Returns the index for the attribute, creating it if it doesn't exist yet. An attribute of the form "a,b" creates
+     * a {@link CompositeIndexImpl} over the attributes 'a' and 'b'.
+     */
     public synchronized Index addOrGetIndex(String attribute, boolean ordered) {
+        boolean composite = CompositeIndexImpl.isComposite(attribute);
+        if (composite) {
+            attribute = CompositeIndexImpl.canonicalName(attribute);
+        }
         Index index = mapIndexes.get(attribute);
         if (index != null) {
             return index;
         }
-        index = new IndexImpl(attribute, ordered);
+        index = composite ? new CompositeIndexImpl(attribute, ordered) : new IndexImpl(attribute, ordered);
         mapIndexes.put(attribute, index);
         Object[] indexObjects = mapIndexes.values().toArray();
         Index[] newIndexes = new Index[indexObjects.length];
@@ -52,14 +72,34 @@ public class IndexService {
             newIndexes[i] = (Index) indexObjects[i];
         }
         indexes.set(newIndexes);
+        if (composite) {
+            updateCompositeIndexes();
+        }
         hasIndex = true;
         return index;
     }
 
+    private void updateCompositeIndexes() {
+        List<CompositeIndexImpl> newCompositeIndexes = new ArrayList<CompositeIndexImpl>();
+        for (Index index : mapIndexes.values()) {
+            if (index instanceof CompositeIndexImpl) {
+                newCompositeIndexes.add((CompositeIndexImpl) index);
+            }
+        }
+        compositeIndexes.set(newCompositeIndexes.toArray(new CompositeIndexImpl[newCompositeIndexes.size()]));
+    }
+
     public Index[] getIndexes() {
         return indexes.get();
     }
 
+    /**
+     * Returns the composite indexes; these are also part of {@link #getIndexes()}.
+     */
+    public CompositeIndexImpl[] getCompositeIndexes() {
+        return compositeIndexes.get();
+    }
+
     public void removeEntryIndex(Data indexKey) throws QueryException {
         Index[] indexes = getIndexes();
         for (Index index : indexes) {
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A segment of a {@link NumericIndexStore}: the index values as primitive longs in ascending order, with the posting
+ * list of the records for each value.
+ * <p/>
+ * The values are kept in chunks of at most {@link #MAX_CHUNK_SIZE} values. A chunk is immutable; an update copies the
+ * chunk it touches and publishes it into its slot of the chunk directory, so readers don't need a lock. The directory
+ * itself is only copied when the number of chunks changes, i.e. when a chunk is split or an empty chunk is dropped.
+ * Updates are serialized on the segment.
+ * <p/>
+ * A posting list is stored as compact as possible: a single {@link QueryableEntry}, a QueryableEntry array of at most
+ * {@link #MAX_ARRAY_POSTING_SIZE} records, or for larger lists a ConcurrentMap which is updated in place.
+ */
+final class NumericIndexSegment {
+
+    static final int MAX_CHUNK_SIZE = 128;
+    static final int MAX_ARRAY_POSTING_SIZE = 16;
+
+    private static final AtomicReferenceArray<Chunk> EMPTY = new AtomicReferenceArray<Chunk>(0);
+
+    private volatile AtomicReferenceArray<Chunk> chunks = EMPTY;
+
+    synchronized void add(long value, QueryableEntry entry) {
+        AtomicReferenceArray<Chunk> current = chunks;
+        if (current.length() == 0) {
+            chunks = new AtomicReferenceArray<Chunk>(new Chunk[]{new Chunk(new long[]{value}, new Object[]{entry})});
+            return;
+        }
+        int chunkIndex = findChunk(current, value);
+        Chunk chunk = current.get(chunkIndex);
+        int index = Arrays.binarySearch(chunk.values, value);
+        if (index >= 0) {
+            Object posting = chunk.postings[index];
+            Object newPosting = addPosting(posting, entry);
+            if (newPosting != posting) {
+                current.set(chunkIndex, chunk.withPosting(index, newPosting));
+            }
+            return;
+        }
+
+        Chunk newChunk = chunk.insert(-index - 1, value, entry);
+        if (newChunk.values.length <= MAX_CHUNK_SIZE) {
+            current.set(chunkIndex, newChunk);
+        } else {
+            chunks = split(current, chunkIndex, newChunk);
+        }
+    }
+
+    synchronized void remove(long value, Data indexKey) {
+        AtomicReferenceArray<Chunk> current = chunks;
+        if (current.length() == 0) {
+            return;
+        }
+        int chunkIndex = findChunk(current, value);
+        Chunk chunk = current.get(chunkIndex);
+        int index = Arrays.binarySearch(chunk.values, value);
+        if (index < 0) {
+            return;
+        }
+        Object posting = chunk.postings[index];
+        Object newPosting = removePosting(posting, indexKey);
+        if (newPosting == posting) {
+            return;
+        }
+        if (newPosting != null) {
+            current.set(chunkIndex, chunk.withPosting(index, newPosting));
+        } else if (chunk.values.length > 1) {
+            current.set(chunkIndex, chunk.delete(index));
+        } else {
+            chunks = drop(current, chunkIndex);
+        }
+    }
+
+    synchronized void clear() {
+        chunks = EMPTY;
+    }
+
+    /**
+     * Adds the records of the value to the result, returns true if the value was found.
+     */
+    boolean get(long value, Map<Data, QueryableEntry> result) {
+        AtomicReferenceArray<Chunk> current = chunks;
+        if (current.length() == 0) {
+            return false;
+        }
+        Chunk chunk = current.get(findChunk(current, value));
+        int index = Arrays.binarySearch(chunk.values, value);
+        if (index < 0) {
+            return false;
+        }
+        collectPosting(chunk.postings[index], result);
+        return true;
+    }
+
+    /**
+     * Adds the records with a value between from and to (both inclusive) to the result.
+     */
+    void getRange(long from, long to, Map<Data, QueryableEntry> result) {
+        AtomicReferenceArray<Chunk> current = chunks;
+        if (current.length() == 0 || from > to) {
+            return;
+        }
+        for (int chunkIndex = findChunk(current, from); chunkIndex < current.length(); chunkIndex++) {
+            Chunk chunk = current.get(chunkIndex);
+            long[] values = chunk.values;
+            int index = Arrays.binarySearch(values, from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            for (; index < values.length; index++) {
+                if (values[index] > to) {
+                    return;
+                }
+                collectPosting(chunk.postings[index], result);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the last chunk with a first value smaller than or equal to the given value, or 0 if there
+     * is no such chunk.
+     */
+    private static int findChunk(AtomicReferenceArray<Chunk> chunks, long value) {
+        int low = 0;
+        int high = chunks.length() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunks.get(mid).values[0] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static AtomicReferenceArray<Chunk> split(AtomicReferenceArray<Chunk> chunks, int index, Chunk chunk) {
+        int half = chunk.values.length / 2;
+        int length = chunks.length();
+        Chunk[] newChunks = new Chunk[length + 1];
+        for (int i = 0; i < index; i++) {
+            newChunks[i] = chunks.get(i);
+        }
+        newChunks[index] = chunk.range(0, half);
+        newChunks[index + 1] = chunk.range(half, chunk.values.length);
+        for (int i = index + 1; i < length; i++) {
+            newChunks[i + 1] = chunks.get(i);
+        }
+        return new AtomicReferenceArray<Chunk>(newChunks);
+    }
+
+    private static AtomicReferenceArray<Chunk> drop(AtomicReferenceArray<Chunk> chunks, int index) {
+        int length = chunks.length();
+        Chunk[] newChunks = new Chunk[length - 1];
+        for (int i = 0; i < index; i++) {
+            newChunks[i] = chunks.get(i);
+        }
+        for (int i = index + 1; i < length; i++) {
+            newChunks[i - 1] = chunks.get(i);
+        }
+        return new AtomicReferenceArray<Chunk>(newChunks);
+    }
+
+    private static Object addPosting(Object posting, QueryableEntry entry) {
+        Data indexKey = entry.getIndexKey();
+        if (posting instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) posting;
+            return existing.getIndexKey().equals(indexKey) ? entry : new QueryableEntry[]{existing, entry};
+        }
+        if (posting instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) posting;
+            for (int k = 0; k < entries.length; k++) {
+                if (entries[k].getIndexKey().equals(indexKey)) {
+                    QueryableEntry[] newEntries = entries.clone();
+                    newEntries[k] = entry;
+                    return newEntries;
+                }
+            }
+            if (entries.length < MAX_ARRAY_POSTING_SIZE) {
+                QueryableEntry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+                newEntries[entries.length] = entry;
+                return newEntries;
+            }
+            ConcurrentMap<Data, QueryableEntry> map = new ConcurrentHashMap<Data, QueryableEntry>();
+            for (QueryableEntry e : entries) {
+                map.put(e.getIndexKey(), e);
+            }
+            map.put(indexKey, entry);
+            return map;
+        }
+        asMap(posting).put(indexKey, entry);
+        return posting;
+    }
+
+    /**
+     * Returns the posting without the record; the same posting if the record is not found or if the posting is
+     * updated in place, null if the posting is empty.
+     */
+    private static Object removePosting(Object posting, Data indexKey) {
+        if (posting instanceof QueryableEntry) {
+            return ((QueryableEntry) posting).getIndexKey().equals(indexKey) ? null : posting;
+        }
+        if (posting instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) posting;
+            for (int k = 0; k < entries.length; k++) {
+                if (entries[k].getIndexKey().equals(indexKey)) {
+                    if (entries.length == 2) {
+                        return entries[1 - k];
+                    }
+                    QueryableEntry[] newEntries = new QueryableEntry[entries.length - 1];
+                    System.arraycopy(entries, 0, newEntries, 0, k);
+                    System.arraycopy(entries, k + 1, newEntries, k, newEntries.length - k);
+                    return newEntries;
+                }
+            }
+            return posting;
+        }
+        ConcurrentMap<Data, QueryableEntry> map = asMap(posting);
+        map.remove(indexKey);
+        return map.isEmpty() ? null : posting;
+    }
+
+    private static void collectPosting(Object posting, Map<Data, QueryableEntry> result) {
+        if (posting instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) posting;
+            result.put(entry.getIndexKey(), entry);
+        } else if (posting instanceof QueryableEntry[]) {
+            for (QueryableEntry entry : (QueryableEntry[]) posting) {
+                result.put(entry.getIndexKey(), entry);
+            }
+        } else {
+            result.putAll(asMap(posting));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Data, QueryableEntry> asMap(Object posting) {
+        return (ConcurrentMap<Data, QueryableEntry>) posting;
+    }
+
+    /**
+     * An immutable run of ascending values with their postings.
+     */
+    private static final class Chunk {
+        final long[] values;
+        final Object[] postings;
+
+        Chunk(long[] values, Object[] postings) {
+            this.values = values;
+            this.postings = postings;
+        }
+
+        Chunk withPosting(int index, Object posting) {
+            Object[] newPostings = postings.clone();
+            newPostings[index] = posting;
+            // the values are not modified, so they can be shared
+            return new Chunk(values, newPostings);
+        }
+
+        Chunk insert(int index, long value, Object posting) {
+            int length = values.length;
+            long[] newValues = new long[length + 1];
+            Object[] newPostings = new Object[length + 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(postings, 0, newPostings, 0, index);
+            newValues[index] = value;
+            newPostings[index] = posting;
+            System.arraycopy(values, index, newValues, index + 1, length - index);
+            System.arraycopy(postings, index, newPostings, index + 1, length - index);
+            return new Chunk(newValues, newPostings);
+        }
+
+        Chunk delete(int index) {
+            int length = values.length - 1;
+            long[] newValues = new long[length];
+            Object[] newPostings = new Object[length];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(postings, 0, newPostings, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, length - index);
+            System.arraycopy(postings, index + 1, newPostings, index, length - index);
+            return new Chunk(newValues, newPostings);
+        }
+
+        Chunk range(int from, int to) {
+            return new Chunk(Arrays.copyOfRange(values, from, to), Arrays.copyOfRange(postings, from, to));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store indexes rankly for numeric attributes.
+ * <p/>
+ * Unlike the {@link SortedIndexStore}, the values are not boxed; they are encoded as primitive longs that sort in the
+ * same order as the values. The records are spread over {@link NumericIndexSegment segments} by their index key, so
+ * updates of different segments don't contend and queries don't need a lock at all.
+ */
+public class NumericIndexStore implements IndexStore {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final ConcurrentMap<Data, QueryableEntry> recordsWithNullValue
+            = new ConcurrentHashMap<Data, QueryableEntry>();
+
+    private final NumericIndexSegment[] segments = new NumericIndexSegment[SEGMENT_COUNT];
+    private final boolean floatingPoint;
+
+    public NumericIndexStore(boolean floatingPoint) {
+        this.floatingPoint = floatingPoint;
+        for (int k = 0; k < segments.length; k++) {
+            segments[k] = new NumericIndexSegment();
+        }
+    }
+
+    /**
+     * Checks if the values of an attribute of the given type can be stored in a NumericIndexStore.
+     */
+    public static boolean isSupported(AttributeType attributeType) {
+        if (attributeType == null) {
+            return false;
+        }
+        switch (attributeType) {
+            case LONG:
+            case INTEGER:
+            case SHORT:
+            case BYTE:
+            case DOUBLE:
+            case FLOAT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks if the values of an attribute of the given type need to be stored as floating point values.
+     */
+    public static boolean isFloatingPoint(AttributeType attributeType) {
+        return attributeType == AttributeType.DOUBLE || attributeType == AttributeType.FLOAT;
+    }
+
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    @Override
+    public void newIndex(Comparable newValue, QueryableEntry entry) {
+        if (newValue instanceof IndexImpl.NullObject) {
+            recordsWithNullValue.put(entry.getIndexKey(), entry);
+        } else {
+            segment(entry.getIndexKey()).add(encode(newValue), entry);
+        }
+    }
+
+    @Override
+    public void updateIndex(Comparable oldValue, Comparable newValue, QueryableEntry entry) {
+        Data indexKey = entry.getIndexKey();
+        NumericIndexSegment segment = segment(indexKey);
+        synchronized (segment) {
+            removeIndex(oldValue, indexKey);
+            newIndex(newValue, entry);
+        }
+    }
+
+    @Override
+    public void removeIndex(Comparable oldValue, Data indexKey) {
+        if (oldValue instanceof IndexImpl.NullObject) {
+            recordsWithNullValue.remove(indexKey);
+        } else {
+            segment(indexKey).remove(encode(oldValue), indexKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        recordsWithNullValue.clear();
+        for (NumericIndexSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void getSubRecordsBetween(MultiResultSet results, Comparable from, Comparable to) {
+        results.addResultSet(getRange(from, true, to, true));
+    }
+
+    @Override
+    public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
+        Map<Data, QueryableEntry> records;
+        switch (comparisonType) {
+            case LESSER:
+                records = getRange(null, true, searchedValue, false);
+                break;
+            case LESSER_EQUAL:
+                records = getRange(null, true, searchedValue, true);
+                break;
+            case GREATER:
+                records = getRange(searchedValue, false, null, true);
+                break;
+            case GREATER_EQUAL:
+                records = getRange(searchedValue, true, null, true);
+                break;
+            case NOT_EQUAL:
+                records = getRange(null, true, searchedValue, false);
+                records.putAll(getRange(searchedValue, false, null, true));
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+        results.addResultSet(records);
+    }
+
+    @Override
+    public ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            return recordsWithNullValue;
+        }
+        ConcurrentMap<Data, QueryableEntry> records = new ConcurrentHashMap<Data, QueryableEntry>();
+        boolean found = false;
+        long encoded = encode(value);
+        for (NumericIndexSegment segment : segments) {
+            found |= segment.get(encoded, records);
+        }
+        return found ? records : null;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            return new SingleResultSet(recordsWithNullValue);
+        }
+        return new SingleResultSet(getRecords(encode(value)));
+    }
+
+    @Override
+    public void getRecords(MultiResultSet results, Set<Comparable> values) {
+        for (Comparable value : values) {
+            if (value instanceof IndexImpl.NullObject) {
+                results.addResultSet(recordsWithNullValue);
+            } else {
+                results.addResultSet(getRecords(encode(value)));
+            }
+        }
+    }
+
+    private Map<Data, QueryableEntry> getRecords(long value) {
+        Map<Data, QueryableEntry> records = new HashMap<Data, QueryableEntry>();
+        for (NumericIndexSegment segment : segments) {
+            segment.get(value, records);
+        }
+        return records;
+    }
+
+    /**
+     * Returns the non null records with a value between from and to. A null bound is unbounded; like in the
+     * {@link SortedIndexStore} the {@link IndexImpl#NULL null value} is smaller than any other value.
+     */
+    private Map<Data, QueryableEntry> getRange(Comparable from, boolean fromInclusive,
+                                               Comparable to, boolean toInclusive) {
+        Map<Data, QueryableEntry> records = new HashMap<Data, QueryableEntry>();
+        if (to instanceof IndexImpl.NullObject) {
+            return records;
+        }
+        boolean fromUnbounded = from == null || from instanceof IndexImpl.NullObject;
+        long fromValue = fromUnbounded ? Long.MIN_VALUE : encode(from);
+        long toValue = to == null ? Long.MAX_VALUE : encode(to);
+        collectRange(fromValue, !fromUnbounded && !fromInclusive, toValue, to != null && !toInclusive, records);
+        return records;
+    }
+
+    private void collectRange(long from, boolean fromExclusive, long to, boolean toExclusive,
+                              Map<Data, QueryableEntry> records) {
+        if ((fromExclusive && from == Long.MAX_VALUE) || (toExclusive && to == Long.MIN_VALUE)) {
+            return;
+        }
+        // the encoded values are discrete, so an exclusive bound is the next value inclusive
+        long fromInclusive = fromExclusive ? from + 1 : from;
+        long toInclusive = toExclusive ? to - 1 : to;
+        for (NumericIndexSegment segment : segments) {
+            segment.getRange(fromInclusive, toInclusive, records);
+        }
+    }
+
+    private NumericIndexSegment segment(Data indexKey) {
+        return segments[(indexKey.hashCode() & Integer.MAX_VALUE) % SEGMENT_COUNT];
+    }
+
+    /**
+     * Encodes the value as a long that sorts in the same order as the value. For a negative floating point value all
+     * bits except the sign bit are flipped, so the order matches {@link Double#compareTo(Double)}.
+     */
+    private long encode(Comparable value) {
+        Number number = (Number) value;
+        if (!floatingPoint) {
+            return number.longValue();
+        }
+        long bits = Double.doubleToLongBits(number.doubleValue());
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "NumericIndexStore{"
+                + "floatingPoint=" + floatingPoint
+                + '}';
+    }
+}
@@ -33,4 +33,12 @@ public class QueryContext {
             return indexService.getIndex(attributeName);
         }
     }
+
+    public CompositeIndexImpl[] getCompositeIndexes() {
+        if (indexService == null) {
+            return new CompositeIndexImpl[0];
+        } else {
+            return indexService.getCompositeIndexes();
+        }
+    }
 }
@@ -73,16 +73,21 @@ public class QueryEntry implements QueryableEntry {
         this.indexKey = indexKey;
         this.serializationService = serializationService;
 
+        // the fields of a previous entry need to be cleared when this instance is reused
         if (key instanceof Data) {
             this.keyData = (Data) key;
+            this.keyObject = null;
         } else {
             this.keyObject = key;
+            this.keyData = null;
         }
 
         if (value instanceof Data) {
             this.valueData = (Data) value;
+            this.valueObject = null;
         } else {
             this.valueObject = value;
+            this.valueData = null;
         }
     }
 
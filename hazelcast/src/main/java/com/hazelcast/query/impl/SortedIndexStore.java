@@ -111,6 +111,27 @@ public class SortedIndexStore extends BaseIndexStore {
         }
     }
 
+    /**
+     * Adds the records with a value between 'from' and 'to' to the results, where each bound can be inclusive or
+     * exclusive.
+     */
+    public void getSubRecords(MultiResultSet results, Comparable from, boolean fromInclusive,
+                              Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            if (from.compareTo(to) > 0) {
+                return;
+            }
+            SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap =
+                    recordMap.subMap(from, fromInclusive, to, toInclusive);
+            for (ConcurrentMap<Data, QueryableEntry> value : subMap.values()) {
+                results.addResultSet(value);
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
         takeReadLock();
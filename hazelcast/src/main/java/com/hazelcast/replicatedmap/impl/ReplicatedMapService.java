@@ -36,6 +36,9 @@ import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.MemberAttributeServiceEvent;
+import com.hazelcast.spi.MembershipAwareService;
+import com.hazelcast.spi.MembershipServiceEvent;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.util.ConcurrencyUtil;
@@ -50,7 +53,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * {@link com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore}s that actually hold the data
  */
 public class ReplicatedMapService
-        implements ManagedService, RemoteService, EventPublishingService<Object, Object> {
+        implements ManagedService, RemoteService, EventPublishingService<Object, Object>, MembershipAwareService {
 
     /**
      * Public constant for the internal service name of the ReplicatedMapService
@@ -95,6 +98,22 @@ public class ReplicatedMapService
         replicatedStorages.clear();
     }
 
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+    }
+
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        String uuid = event.getMember().getUuid();
+        for (ReplicatedRecordStore replicatedRecordStore : replicatedStorages.values()) {
+            replicatedRecordStore.getReplicationPublisher().removeOriginSequence(uuid);
+        }
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeServiceEvent event) {
+    }
+
     @Override
     public DistributedObject createDistributedObject(String objectName) {
         ReplicatedRecordStore replicatedRecordStore = ConcurrencyUtil
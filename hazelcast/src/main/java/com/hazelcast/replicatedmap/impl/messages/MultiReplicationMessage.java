@@ -16,6 +16,8 @@
 
 package com.hazelcast.replicatedmap.impl.messages;
 
+import com.hazelcast.core.Member;
+import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -23,14 +25,30 @@ import com.hazelcast.replicatedmap.impl.operation.ReplicatedMapDataSerializerHoo
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * This replicated message contains multiple replications at once
+ * This replicated message contains multiple replications at once.
+ * <p/>
+ * All members referenced by the contained vector clocks and origins are written only once into a member table
+ * and the single replications reference them by index, which keeps the message small in large clusters.
+ * Batches published by a member carry a per member sequence, so receivers can detect lost batches and trigger
+ * an anti-entropy sync with the origin.
  */
 public class MultiReplicationMessage
         implements IdentifiedDataSerializable {
 
+    /**
+     * Sequence of messages not published as part of a sequenced batch stream
+     */
+    public static final long NO_SEQUENCE = -1;
+
+    private static final int NO_ORIGIN = -1;
+
     private String name;
+    private Member origin;
+    private long sequence = NO_SEQUENCE;
     private ReplicationMessage[] replicationMessages;
 
     public MultiReplicationMessage() {
@@ -43,6 +61,15 @@ public class MultiReplicationMessage
         this.replicationMessages = replicationMessages;
     }
 
+    // Findbugs warning suppressed since the array is serialized anyways and is never about to be changed
+    @SuppressWarnings("EI_EXPOSE_REP")
+    public MultiReplicationMessage(String name, ReplicationMessage[] replicationMessages, Member origin, long sequence) {
+        this.name = name;
+        this.replicationMessages = replicationMessages;
+        this.origin = origin;
+        this.sequence = sequence;
+    }
+
     // Findbugs warning suppressed since the array is serialized anyways and is never about to be changed
     @SuppressWarnings("EI_EXPOSE_REP")
     public ReplicationMessage[] getReplicationMessages() {
@@ -53,13 +80,30 @@ public class MultiReplicationMessage
         return name;
     }
 
+    public Member getOrigin() {
+        return origin;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out)
             throws IOException {
         out.writeUTF(name);
+        out.writeLong(sequence);
+
+        Map<Member, Integer> memberIndexes = buildMemberIndexes();
+        out.writeInt(memberIndexes.size());
+        for (Member member : memberIndexes.keySet()) {
+            member.writeData(out);
+        }
+        out.writeInt(origin != null ? memberIndexes.get(origin) : NO_ORIGIN);
+
         out.writeInt(replicationMessages.length);
         for (int i = 0; i < replicationMessages.length; i++) {
-            replicationMessages[i].writeData(out);
+            replicationMessages[i].writeData(out, memberIndexes);
         }
     }
 
@@ -67,15 +111,46 @@ public class MultiReplicationMessage
     public void readData(ObjectDataInput in)
             throws IOException {
         name = in.readUTF();
+        sequence = in.readLong();
+
+        Member[] members = new Member[in.readInt()];
+        for (int i = 0; i < members.length; i++) {
+            Member member = new MemberImpl();
+            member.readData(in);
+            members[i] = member;
+        }
+        int originIndex = in.readInt();
+        origin = originIndex != NO_ORIGIN ? members[originIndex] : null;
+
         int length = in.readInt();
         replicationMessages = new ReplicationMessage[length];
         for (int i = 0; i < length; i++) {
             ReplicationMessage replicationMessage = new ReplicationMessage();
-            replicationMessage.readData(in);
+            replicationMessage.readData(in, name, members);
             replicationMessages[i] = replicationMessage;
         }
     }
 
+    private Map<Member, Integer> buildMemberIndexes() {
+        Map<Member, Integer> memberIndexes = new LinkedHashMap<Member, Integer>();
+        if (origin != null) {
+            addMember(memberIndexes, origin);
+        }
+        for (ReplicationMessage replicationMessage : replicationMessages) {
+            addMember(memberIndexes, replicationMessage.getOrigin());
+            for (Member member : replicationMessage.getVectorClockTimestamp().getMembers()) {
+                addMember(memberIndexes, member);
+            }
+        }
+        return memberIndexes;
+    }
+
+    private void addMember(Map<Member, Integer> memberIndexes, Member member) {
+        if (!memberIndexes.containsKey(member)) {
+            memberIndexes.put(member, memberIndexes.size());
+        }
+    }
+
     @Override
     public int getFactoryId() {
         return ReplicatedMapDataSerializerHook.F_ID;
@@ -25,6 +25,7 @@ import com.hazelcast.replicatedmap.impl.operation.ReplicatedMapDataSerializerHoo
 import com.hazelcast.replicatedmap.impl.record.VectorClockTimestamp;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * This replication message is used for sending over a replication event to another node
@@ -112,6 +113,28 @@ public class ReplicationMessage<K, V>
         ttlMillis = in.readLong();
     }
 
+    void writeData(ObjectDataOutput out, Map<Member, Integer> memberIndexes)
+            throws IOException {
+        out.writeObject(key);
+        out.writeObject(value);
+        vectorClockTimestamp.writeData(out, memberIndexes);
+        out.writeInt(memberIndexes.get(origin));
+        out.writeInt(updateHash);
+        out.writeLong(ttlMillis);
+    }
+
+    void readData(ObjectDataInput in, String name, Member[] members)
+            throws IOException {
+        this.name = name;
+        key = (K) in.readObject();
+        value = (V) in.readObject();
+        vectorClockTimestamp = new VectorClockTimestamp();
+        vectorClockTimestamp.readData(in, members);
+        origin = members[in.readInt()];
+        updateHash = in.readInt();
+        ttlMillis = in.readLong();
+    }
+
     @Override
     public int getFactoryId() {
         return ReplicatedMapDataSerializerHook.F_ID;
@@ -50,6 +50,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -74,7 +75,14 @@ public class ReplicationPublisher<K, V>
 
     private final List<ReplicationMessage> replicationMessageCache = new ArrayList<ReplicationMessage>();
     private final Lock replicationMessageCacheLock = new ReentrantLock();
+    // batches are numbered and published under this lock, so they leave in sequence order without blocking
+    // the threads adding messages to the cache
+    private final Object replicationPublishMutex = new Object();
     private final Random memberRandomizer = new Random();
+    // highest batch sequence received per origin member uuid
+    private final ConcurrentHashMap<String, Long> originSequences = new ConcurrentHashMap<String, Long>();
+    // guarded by replicationPublishMutex
+    private long replicationSequence;
 
     private final ScheduledExecutorService executorService;
     private final ExecutionService executionService;
@@ -129,6 +137,7 @@ public class ReplicationPublisher<K, V>
         if (replicatedMapConfig.getReplicationDelayMillis() == 0) {
             distributeReplicationMessage(message, false);
         } else {
+            boolean cacheFull = false;
             replicationMessageCacheLock.lock();
             try {
                 replicationMessageCache.add(message);
@@ -137,13 +146,14 @@ public class ReplicationPublisher<K, V>
                     long replicationDelayMillis = replicatedMapConfig.getReplicationDelayMillis();
                     executorService.schedule(task, replicationDelayMillis, TimeUnit.MILLISECONDS);
                 } else {
-                    if (replicationMessageCache.size() > MAX_MESSAGE_CACHE_SIZE) {
-                        processMessageCache();
-                    }
+                    cacheFull = replicationMessageCache.size() > MAX_MESSAGE_CACHE_SIZE;
                 }
             } finally {
                 replicationMessageCacheLock.unlock();
             }
+            if (cacheFull) {
+                processMessageCache();
+            }
         }
     }
 
@@ -161,6 +171,9 @@ public class ReplicationPublisher<K, V>
     }
 
     public void queueUpdateMessages(final MultiReplicationMessage updates) {
+        // checked on the event thread, which receives the batches of an origin in the order they were published;
+        // the updates themselves are merged using their vector clocks, so they may be applied in any order
+        checkReplicationSequence(updates);
         executorService.execute(new Runnable() {
             @Override
             public void run() {
@@ -187,8 +200,12 @@ public class ReplicationPublisher<K, V>
         } finally {
             replicationMessageCacheLock.unlock();
         }
-        if (replicationMessages != null) {
-            MultiReplicationMessage message = new MultiReplicationMessage(name, replicationMessages);
+        if (replicationMessages == null) {
+            return;
+        }
+        synchronized (replicationPublishMutex) {
+            long sequence = ++replicationSequence;
+            MultiReplicationMessage message = new MultiReplicationMessage(name, replicationMessages, localMember, sequence);
             distributeReplicationMessage(message, false);
         }
     }
@@ -257,6 +274,61 @@ public class ReplicationPublisher<K, V>
         operationService.send(op, newMember.getAddress());
     }
 
+    /**
+     * Detects lost batches of the origin member, e.g. dropped because the event queue was overloaded, and
+     * requests a bulk anti-entropy sync of the whole map from that member. The sync is merged using the
+     * vector clocks, so already applied updates are ignored.
+     */
+    private void checkReplicationSequence(MultiReplicationMessage updates) {
+        Member origin = updates.getOrigin();
+        long sequence = updates.getSequence();
+        if (origin == null || sequence == MultiReplicationMessage.NO_SEQUENCE || localMember.equals(origin)) {
+            return;
+        }
+        MemberImpl member = clusterService.getMember(origin.getUuid());
+        if (member == null) {
+            // a late batch of a member that left; tracking it would leak its entry
+            return;
+        }
+        Long previousSequence = advanceOriginSequence(origin.getUuid(), sequence);
+        if (previousSequence != null && sequence > previousSequence + 1) {
+            LOGGER.finest("Missed " + (sequence - previousSequence - 1) + " replication batches of replicated map '"
+                    + name + "' from " + origin + ", requesting anti-entropy sync");
+            List<MemberImpl> members = new ArrayList<MemberImpl>(1);
+            members.add(member);
+            sendPreProvisionRequest(members);
+        }
+    }
+
+    /**
+     * Forgets the batch sequence received from a member that left the cluster.
+     *
+     * @param originUuid the uuid of the member that left
+     */
+    public void removeOriginSequence(String originUuid) {
+        originSequences.remove(originUuid);
+    }
+
+    /**
+     * Records the sequence as the highest one received from the origin, unless a higher one was received already.
+     *
+     * @return the previous highest sequence, or the given sequence if it is not higher than that one
+     */
+    private Long advanceOriginSequence(String originUuid, long sequence) {
+        for (;;) {
+            Long previousSequence = originSequences.putIfAbsent(originUuid, sequence);
+            if (previousSequence == null) {
+                return null;
+            }
+            if (sequence <= previousSequence) {
+                return sequence;
+            }
+            if (originSequences.replace(originUuid, previousSequence, sequence)) {
+                return previousSequence;
+            }
+        }
+    }
+
     private void executeRemoteClear(boolean emptyReplicationQueue) {
         List<MemberImpl> failedMembers = new ArrayList<MemberImpl>(clusterService.getMemberList());
         for (int i = 0; i < MAX_CLEAR_EXECUTION_RETRY; i++) {
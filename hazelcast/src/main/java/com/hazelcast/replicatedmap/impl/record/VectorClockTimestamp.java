@@ -98,6 +98,54 @@ public final class VectorClockTimestamp
         this.clocks = Collections.unmodifiableMap(data);
     }
 
+    /**
+     * Writes the clocks referencing the members by their position in the given member table instead of
+     * serializing the full member. Used by batched replication messages which write the member table once.
+     *
+     * @param dataOutput    the output to write to
+     * @param memberIndexes the index of every member of this vector clock in the member table
+     * @throws IOException if writing fails
+     */
+    public void writeData(ObjectDataOutput dataOutput, Map<Member, Integer> memberIndexes)
+            throws IOException {
+
+        Map<Member, Integer> clocks = this.clocks;
+        dataOutput.writeInt(clocks.size());
+        for (Entry<Member, Integer> entry : clocks.entrySet()) {
+            dataOutput.writeInt(memberIndexes.get(entry.getKey()));
+            dataOutput.writeInt(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads clocks written by {@link #writeData(ObjectDataOutput, Map)}.
+     *
+     * @param dataInput the input to read from
+     * @param members   the member table the clocks are referencing
+     * @throws IOException if reading fails
+     */
+    public void readData(ObjectDataInput dataInput, Member[] members)
+            throws IOException {
+
+        int size = dataInput.readInt();
+        Map<Member, Integer> data = new HashMap<Member, Integer>();
+        for (int i = 0; i < size; i++) {
+            Member m = members[dataInput.readInt()];
+            int clock = dataInput.readInt();
+            data.put(m, clock);
+        }
+        this.clocks = Collections.unmodifiableMap(data);
+    }
+
+    /**
+     * Returns the members having a clock in this vector clock.
+     *
+     * @return the members of this vector clock
+     */
+    public Set<Member> getMembers() {
+        return clocks.keySet();
+    }
+
     @Override
     public int getId() {
         return ReplicatedMapDataSerializerHook.VECTOR;
@@ -49,13 +49,19 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * each other.
  * The reason why 2 array are created instead of just wrapping the item in a new object containing the expiration is that
  * we don't want to generate more waste than needed.
+ *
+ * If a storage region is configured for a ringbuffer with the binary in memory format, the ringItems is not created and
+ * the serialized items are stored in a {@link RingbufferRegion} instead. This way a large ringbuffer doesn't keep an object
+ * per item alive.
  */
 public class RingbufferContainer implements DataSerializable {
 
     private static final long TTL_DISABLED = 0;
 
-    // contains the actual items
+    // contains the actual items; null if the items are stored in the region
     Object[] ringItems;
+    // contains the serialized items if a storage region is configured
+    RingbufferRegion region;
     // contains the expiration time in ms when the item should be expired.
     long[] ringExpirationMs;
 
@@ -86,8 +92,8 @@ public class RingbufferContainer implements DataSerializable {
         this.config = config;
         this.capacity = config.getCapacity();
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringItems = new Object[capacity];
         this.ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
+        initStorage(config.getStorageRegionSize(), config.isStorageRegionOffHeap());
 
         if (isTTLEnabled()) {
             ringExpirationMs = new long[capacity];
@@ -99,6 +105,14 @@ public class RingbufferContainer implements DataSerializable {
         this.serializationService = nodeEngine.getSerializationService();
     }
 
+    private void initStorage(int storageRegionSize, boolean storageRegionOffHeap) {
+        if (inMemoryFormat == BINARY && storageRegionSize > 0) {
+            region = new RingbufferRegion(capacity, storageRegionSize, storageRegionOffHeap);
+        } else {
+            ringItems = new Object[capacity];
+        }
+    }
+
     public RingbufferWaitNotifyKey getRingEmptyWaitNotifyKey() {
         return emptyRingWaitNotifyKey;
     }
@@ -151,7 +165,7 @@ public class RingbufferContainer implements DataSerializable {
     }
 
     int toIndex(long sequence) {
-        return (int) (sequence % ringItems.length);
+        return (int) (sequence % capacity);
     }
 
     void checkReadSequence(long sequence) {
@@ -191,13 +205,16 @@ public class RingbufferContainer implements DataSerializable {
 
         int index = toIndex(tailSequence);
 
-        Object item = dataItem;
-        if (inMemoryFormat == OBJECT) {
-            item = serializationService.toObject(dataItem);
-        }
-
         // first we write the dataItem in the ring.
-        ringItems[index] = item;
+        if (region != null) {
+            region.write(tailSequence, dataItem, headSequence);
+        } else {
+            Object item = dataItem;
+            if (inMemoryFormat == OBJECT) {
+                item = serializationService.toObject(dataItem);
+            }
+            ringItems[index] = item;
+        }
 
         // and then we optionally write the expiration.
         if (isTTLEnabled()) {
@@ -218,11 +235,17 @@ public class RingbufferContainer implements DataSerializable {
     public Data read(long sequence) {
         checkReadSequence(sequence);
 
-        int index = toIndex(sequence);
-        Object item = ringItems[index];
+        Object item = readItem(sequence);
         return serializationService.toData(item);
     }
 
+    private Object readItem(long sequence) {
+        if (region != null) {
+            return region.read(sequence);
+        }
+        return ringItems[toIndex(sequence)];
+    }
+
     /**
      * @param beginSequence the sequence of the first item to read.
      * @param result        the List where the result are stored in.
@@ -233,8 +256,7 @@ public class RingbufferContainer implements DataSerializable {
 
         long seq = beginSequence;
         while (seq <= tailSequence) {
-            int index = toIndex(seq);
-            Object item = ringItems[index];
+            Object item = readItem(seq);
 
             result.addItem(item);
 
@@ -267,7 +289,10 @@ public class RingbufferContainer implements DataSerializable {
 
             // we null the slot and allow the gc to take care of the object.
             // if we don't clean it, we'll have a potential memory leak.
-            ringItems[index] = null;
+            // the space of an item in the region is reclaimed as soon as the head has moved past it.
+            if (ringItems != null) {
+                ringItems[index] = null;
+            }
 
             // we don't need to 0 the ringExpirationMs slot since it contains a long value.
 
@@ -284,6 +309,8 @@ public class RingbufferContainer implements DataSerializable {
         out.writeInt(capacity);
         out.writeLong(ttlMs);
         out.writeInt(inMemoryFormat.ordinal());
+        out.writeInt(region != null ? region.getRegionSize() : 0);
+        out.writeBoolean(region != null && region.isOffHeap());
 
         boolean ttlEnabled = isTTLEnabled();
 
@@ -294,7 +321,7 @@ public class RingbufferContainer implements DataSerializable {
             int index = toIndex(seq);
 
             if (inMemoryFormat == BINARY) {
-                out.writeData((Data) ringItems[index]);
+                out.writeData((Data) readItem(seq));
             } else {
                 out.writeObject(ringItems[index]);
             }
@@ -318,8 +345,10 @@ public class RingbufferContainer implements DataSerializable {
         capacity = in.readInt();
         ttlMs = in.readLong();
         inMemoryFormat = values()[in.readInt()];
+        int storageRegionSize = in.readInt();
+        boolean storageRegionOffHeap = in.readBoolean();
 
-        ringItems = new Object[capacity];
+        initStorage(storageRegionSize, storageRegionOffHeap);
 
         boolean ttlEnabled = isTTLEnabled();
         if (ttlEnabled) {
@@ -330,7 +359,9 @@ public class RingbufferContainer implements DataSerializable {
         for (long seq = headSequence; seq <= tailSequence; seq++) {
             int index = toIndex(seq);
 
-            if (inMemoryFormat == BINARY) {
+            if (region != null) {
+                region.write(seq, in.readData(), headSequence);
+            } else if (inMemoryFormat == BINARY) {
                 ringItems[index] = in.readData();
             } else {
                 ringItems[index] = in.readObject();
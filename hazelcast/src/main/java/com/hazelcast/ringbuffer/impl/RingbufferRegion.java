@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stores the serialized items of a {@link RingbufferContainer} in a single byte region instead of keeping a
+ * {@link Data} object per item.
+ *
+ * The items are written one after the other into the region and the writing wraps around at the end of the region.
+ * So the items in the ringbuffer always form a contiguous, possibly wrapping, range in the region starting at the
+ * head item. For every slot in the ring only the offset and length of the item are stored in primitive arrays.
+ *
+ * The space of overwritten or expired items is reclaimed automatically since it falls outside of the range. If a new
+ * item doesn't fit in the free part of the region, a larger region is allocated and the items are compacted into it.
+ *
+ * Just like the RingbufferContainer, this class doesn't need to be thread-safe.
+ */
+class RingbufferRegion {
+
+    private static final int NO_SPACE = -1;
+
+    private final boolean offHeap;
+    private final int[] offsets;
+    private final int[] lengths;
+    private ByteBuffer region;
+    private int writePosition;
+
+    RingbufferRegion(int capacity, int initialSize, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.region = allocate(initialSize);
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    int getRegionSize() {
+        return region.capacity();
+    }
+
+    /**
+     * Writes the item with the given sequence.
+     *
+     * @param sequence     the sequence of the item
+     * @param item         the item to write
+     * @param headSequence the sequence of the oldest item remaining in the ringbuffer. If it is equal to the sequence,
+     *                     the item will be the only item in the ringbuffer.
+     */
+    void write(long sequence, Data item, long headSequence) {
+        byte[] bytes = item.toByteArray();
+        int length = bytes.length;
+
+        int position = findPosition(length, headSequence, sequence);
+        if (position == NO_SPACE) {
+            position = grow(length, headSequence, sequence);
+        }
+
+        ByteBuffer target = region.duplicate();
+        target.position(position);
+        target.put(bytes);
+
+        int index = toIndex(sequence);
+        offsets[index] = position;
+        lengths[index] = length;
+        writePosition = position + length;
+    }
+
+    /**
+     * Reads the item with the given sequence.
+     *
+     * @param sequence the sequence of the item
+     * @return the item
+     */
+    Data read(long sequence) {
+        int index = toIndex(sequence);
+        byte[] bytes = new byte[lengths[index]];
+
+        ByteBuffer source = region.duplicate();
+        source.position(offsets[index]);
+        source.get(bytes);
+        return new DefaultData(bytes);
+    }
+
+    private int findPosition(int length, long headSequence, long sequence) {
+        int regionSize = region.capacity();
+        if (headSequence == sequence) {
+            // there are no other items, so we can start at the beginning of the region
+            return length <= regionSize ? 0 : NO_SPACE;
+        }
+
+        int headOffset = offsets[toIndex(headSequence)];
+        if (headOffset < writePosition) {
+            // the items don't wrap; so we can write behind the last item or wrap to the beginning of the region
+            if (length <= regionSize - writePosition) {
+                return writePosition;
+            }
+            return length < headOffset ? 0 : NO_SPACE;
+        }
+
+        // the items wrap; so only the gap between the last and the head item is free. The gap is never filled completely,
+        // so the write position never ends up at the head offset and we can always tell if the items wrap.
+        return length < headOffset - writePosition ? writePosition : NO_SPACE;
+    }
+
+    private int grow(int length, long headSequence, long sequence) {
+        long requiredSize = length;
+        for (long seq = headSequence; seq < sequence; seq++) {
+            requiredSize += lengths[toIndex(seq)];
+        }
+        if (requiredSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The items of the ringbuffer don't fit in a storage region; required size: "
+                    + requiredSize + " bytes");
+        }
+        long newSize = Math.min(Integer.MAX_VALUE, Math.max(requiredSize, 2L * region.capacity()));
+
+        ByteBuffer newRegion = allocate((int) newSize);
+        ByteBuffer source = region.duplicate();
+        int position = 0;
+        for (long seq = headSequence; seq < sequence; seq++) {
+            int index = toIndex(seq);
+            int offset = offsets[index];
+            source.limit(offset + lengths[index]).position(offset);
+            newRegion.put(source);
+            source.clear();
+
+            offsets[index] = position;
+            position += lengths[index];
+        }
+        region = newRegion;
+        return position;
+    }
+
+    private ByteBuffer allocate(int size) {
+        return offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    private int toIndex(long sequence) {
+        return (int) (sequence % offsets.length);
+    }
+}
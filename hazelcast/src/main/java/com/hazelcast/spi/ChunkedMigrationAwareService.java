@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi;
+
+import java.util.Iterator;
+
+/**
+ * A {@link MigrationAwareService} that can replicate the data of a migrating partition in chunks, instead of a single
+ * operation created by {@link #prepareReplicationOperation(PartitionReplicationEvent)}.
+ * <p/>
+ * The chunks are sent one at a time; the next chunk is only created after the destination applied the previous one.
+ * The iterator is called on the partition thread of the migrating partition. Since the partition is migrating, the data
+ * isn't modified while it is being iterated.
+ */
+public interface ChunkedMigrationAwareService extends MigrationAwareService {
+
+    /**
+     * Returns the replication operations for the partition; each operation carries approximately at most maxChunkSize
+     * bytes of data. The first operation replaces the data of the partition on the destination, the following
+     * operations add to it.
+     *
+     * @param event        the replication event
+     * @param maxChunkSize the maximum size in bytes of the data in an operation
+     * @return an iterator of the replication operations, or null if there is nothing to replicate
+     */
+    Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, int maxChunkSize);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi;
+
+/**
+ * A {@link MigrationAwareService} that can synchronize a backup replica incrementally, instead of replicating the whole
+ * partition with the operation created by {@link #prepareReplicationOperation(PartitionReplicationEvent)}.
+ * <p/>
+ * The backup replica sends a digest of its data along with the replica sync request; the partition owner compares it
+ * with its own data and only replicates the parts which differ.
+ */
+public interface DeltaReplicationAwareService extends MigrationAwareService {
+
+    /**
+     * Creates the digest of the data of the partition on this member. Called on the backup replica, on the partition
+     * thread.
+     *
+     * @param partitionId the id of the partition
+     * @param replicaIndex the replica index this member is synchronizing
+     * @param rangeCount  the number of key ranges the data is digested in
+     * @return the serializable digest, or null if there is no data to digest, in which case the whole partition is
+     * replicated
+     */
+    Object createReplicaDigest(int partitionId, int replicaIndex, int rangeCount);
+
+    /**
+     * Returns the operation replicating the data which differs from the given digest of the backup replica. Called on
+     * the partition owner, on the partition thread.
+     *
+     * @param event         the replication event
+     * @param replicaDigest the digest created by {@link #createReplicaDigest(int, int, int)} on the backup replica
+     * @return the replication operation, or null if the backup replica is up to date
+     */
+    Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, Object replicaDigest);
+}
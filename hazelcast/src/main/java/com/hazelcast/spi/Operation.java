@@ -56,6 +56,7 @@ public abstract class Operation implements DataSerializable {
     static final int BITMASK_PARTITION_ID_32_BIT = 1 << 4;
     static final int BITMASK_CALL_TIMEOUT_64_BIT = 1 << 5;
     static final int BITMASK_SERVICE_NAME_SET = 1 << 6;
+    static final int BITMASK_TRACE_ID_SET = 1 << 7;
 
     // serialized
     private String serviceName;
@@ -67,6 +68,7 @@ public abstract class Operation implements DataSerializable {
     private long callTimeout = Long.MAX_VALUE;
     private long waitTimeout = -1;
     private String callerUuid;
+    private long traceId;
 
     // injected
     private transient NodeEngine nodeEngine;
@@ -74,6 +76,7 @@ public abstract class Operation implements DataSerializable {
     private transient Address callerAddress;
     private transient Connection connection;
     private transient ResponseHandler responseHandler;
+    private transient long scheduleTimeNanos;
 
     public Operation() {
         setFlag(true, BITMASK_VALIDATE_TARGET);
@@ -271,6 +274,37 @@ public abstract class Operation implements DataSerializable {
         return this;
     }
 
+    /**
+     * Gets the {@link System#nanoTime()} when this operation was scheduled for execution on an operation thread. Used to
+     * track the time the operation has spent in the queue.
+     *
+     * @return the schedule time in nanos, or 0 if the operation was not scheduled or the time was not tracked.
+     */
+    public final long getScheduleTimeNanos() {
+        return scheduleTimeNanos;
+    }
+
+    // Accessed using OperationAccessor
+    final void setScheduleTimeNanos(long scheduleTimeNanos) {
+        this.scheduleTimeNanos = scheduleTimeNanos;
+    }
+
+    /**
+     * Gets the id of the trace this operation is part of.
+     *
+     * @return the trace id, or 0 if the operation is not traced.
+     * @see com.hazelcast.internal.tracing.Tracer
+     */
+    public final long getTraceId() {
+        return traceId;
+    }
+
+    // Accessed using OperationAccessor
+    final void setTraceId(long traceId) {
+        this.traceId = traceId;
+        setFlag(traceId != 0, BITMASK_TRACE_ID_SET);
+    }
+
     /**
      * Gets the call timeout in milliseconds. For example, if a call should be executed within 60 seconds orotherwise it should be
      * aborted, then the call-timeout is 60000 milliseconds.
@@ -407,6 +441,10 @@ public abstract class Operation implements DataSerializable {
             out.writeUTF(callerUuid);
         }
 
+        if (isFlagSet(BITMASK_TRACE_ID_SET)) {
+            out.writeLong(traceId);
+        }
+
         writeInternal(out);
     }
 
@@ -448,6 +486,10 @@ public abstract class Operation implements DataSerializable {
             callerUuid = in.readUTF();
         }
 
+        if (isFlagSet(BITMASK_TRACE_ID_SET)) {
+            traceId = in.readLong();
+        }
+
         readInternal(in);
     }
 
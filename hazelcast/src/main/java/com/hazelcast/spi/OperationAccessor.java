@@ -71,4 +71,25 @@ public final class OperationAccessor {
         op.setCallTimeout(callTimeout);
     }
 
+    /**
+     * Sets the time in nanos the Operation was scheduled for execution.
+     *
+     * @param op the Operation to update for its schedule time.
+     * @param scheduleTimeNanos the {@link System#nanoTime()} of scheduling, or 0 to clear it.
+     * @see com.hazelcast.spi.Operation#getScheduleTimeNanos()
+     */
+    public static void setScheduleTimeNanos(Operation op, long scheduleTimeNanos) {
+        op.setScheduleTimeNanos(scheduleTimeNanos);
+    }
+
+    /**
+     * Sets the id of the trace the Operation is part of.
+     *
+     * @param op the Operation to update for its trace id.
+     * @param traceId the trace id, or 0 if the operation is not traced.
+     * @see com.hazelcast.spi.Operation#getTraceId()
+     */
+    public static void setTraceId(Operation op, long traceId) {
+        op.setTraceId(traceId);
+    }
 }
@@ -34,56 +34,64 @@ public interface OperationService {
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getResponseQueueSize();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getOperationExecutorQueueSize();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getPriorityOperationExecutorQueueSize();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getRunningOperationsCount();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getRemoteOperationsCount();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getPartitionOperationThreadCount();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     int getGenericOperationThreadCount();
 
     /**
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     long getExecutedOperationCount();
@@ -93,7 +101,8 @@ public interface OperationService {
      * more formal (such as map with key/value pairs) information.
      * <p/>
      * This methods is deprecated since 3.5. This feature will be dropped since it is an internal implementation
-     * detail and should not directly be exposed the the SPI user.
+     * detail and should not directly be exposed the the SPI user. Only the invocation counts are dumped; the metrics of the
+     * operation threads and all other metrics are available in the metrics registry, e.g. through the metrics file.
      */
     @Deprecated
     void dumpPerformanceMetrics(StringBuffer sb);
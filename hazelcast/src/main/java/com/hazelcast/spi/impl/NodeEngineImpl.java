@@ -23,6 +23,9 @@ import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
@@ -79,10 +82,14 @@ public class NodeEngineImpl implements NodeEngine {
     private final WanReplicationService wanReplicationService;
     private final PacketTransceiver packetTransceiver;
     private final QuorumServiceImpl quorumService;
+    private final MetricsRegistryImpl metricsRegistry;
+    private final Tracer tracer;
 
     public NodeEngineImpl(Node node) {
         this.node = node;
         this.logger = node.getLogger(NodeEngine.class.getName());
+        this.metricsRegistry = new MetricsRegistryImpl(node.getLogger(MetricsRegistryImpl.class.getName()));
+        this.tracer = new Tracer(node.getGroupProperties());
         this.proxyService = new ProxyServiceImpl(this);
         this.serviceManager = new ServiceManager(this);
         this.executionService = new ExecutionServiceImpl(this);
@@ -160,6 +167,14 @@ public class NodeEngineImpl implements NodeEngine {
         return node.getClusterService();
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public Tracer getTracer() {
+        return tracer;
+    }
+
     public ManagementCenterService getManagementCenterService() {
         return node.getManagementCenterService();
     }
@@ -324,5 +339,6 @@ public class NodeEngineImpl implements NodeEngine {
         operationService.shutdown();
         wanReplicationService.shutdown();
         executionService.shutdown();
+        metricsRegistry.shutdown();
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of entry events of a query cache registration, see
+ * {@link com.hazelcast.map.impl.querycache.QueryCacheEventPublisher}. Also carries the batched
+ * invalidations of client near caches.
+ */
+public class PortableQueryCacheBatchEvent implements Portable {
+
+    private int partitionId;
+    private long sequence;
+    private List<EntryEventType> eventTypes;
+    private List<Data> keys;
+    private List<Data> values;
+
+    public PortableQueryCacheBatchEvent() {
+    }
+
+    public PortableQueryCacheBatchEvent(int partitionId, long sequence, int size) {
+        this.partitionId = partitionId;
+        this.sequence = sequence;
+        this.eventTypes = new ArrayList<EntryEventType>(size);
+        this.keys = new ArrayList<Data>(size);
+        this.values = new ArrayList<Data>(size);
+    }
+
+    public void add(EntryEventType eventType, Data key, Data value) {
+        eventTypes.add(eventType);
+        keys.add(key);
+        values.add(value);
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int size() {
+        return eventTypes.size();
+    }
+
+    public EntryEventType getEventType(int index) {
+        return eventTypes.get(index);
+    }
+
+    public Data getKey(int index) {
+        return keys.get(index);
+    }
+
+    /**
+     * @return the new value of the entry, or {@code null} for removals or when values are not included
+     */
+    public Data getValue(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiPortableHook.ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiPortableHook.QUERY_CACHE_BATCH_EVENT;
+    }
+
+    @Override
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeInt("p", partitionId);
+        writer.writeLong("s", sequence);
+        writer.writeInt("n", eventTypes.size());
+
+        ObjectDataOutput out = writer.getRawDataOutput();
+        for (int i = 0; i < eventTypes.size(); i++) {
+            out.writeInt(eventTypes.get(i).getType());
+            out.writeData(keys.get(i));
+            out.writeData(values.get(i));
+        }
+    }
+
+    @Override
+    public void readPortable(PortableReader reader) throws IOException {
+        partitionId = reader.readInt("p");
+        sequence = reader.readLong("s");
+        int size = reader.readInt("n");
+        eventTypes = new ArrayList<EntryEventType>(size);
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+
+        ObjectDataInput in = reader.getRawDataInput();
+        for (int i = 0; i < size; i++) {
+            eventTypes.add(EntryEventType.getByType(in.readInt()));
+            keys.add(in.readData());
+            values.add(in.readData());
+        }
+    }
+}
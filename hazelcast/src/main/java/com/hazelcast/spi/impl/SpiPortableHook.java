@@ -36,6 +36,7 @@ public final class SpiPortableHook implements PortableHook {
     public static final int DISTRIBUTED_OBJECT_EVENT = 5;
     public static final int MAP_PARTITION_LOST_EVENT = 6;
     public static final int PARTITION_LOST_EVENT = 7;
+    public static final int QUERY_CACHE_BATCH_EVENT = 8;
 
     @Override
     public int getFactoryId() {
@@ -61,6 +62,8 @@ public final class SpiPortableHook implements PortableHook {
                         return new PortableMapPartitionLostEvent();
                     case PARTITION_LOST_EVENT:
                         return new PortablePartitionLostEvent();
+                    case QUERY_CACHE_BATCH_EVENT:
+                        return new PortableQueryCacheBatchEvent();
                     default:
                         return null;
                 }
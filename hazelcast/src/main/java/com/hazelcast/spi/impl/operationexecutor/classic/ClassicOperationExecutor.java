@@ -19,6 +19,7 @@ package com.hazelcast.spi.impl.operationexecutor.classic;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.NodeExtension;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -33,6 +34,7 @@ import com.hazelcast.spi.impl.operationexecutor.ResponsePacketHandler;
 
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.spi.OperationAccessor.setScheduleTimeNanos;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
@@ -55,11 +57,23 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * specific to a partition. E.g. a heart beat.
  * </li>
  * </ol>
+ * The queue type of the partition operation threads can be configured using
+ * {@link GroupProperties#PROP_PARTITION_OPERATION_QUEUE_TYPE}. The processed count and queue sizes of every partition
+ * operation thread are registered in the {@link MetricsRegistry}.
+ * <p/>
+ * Instead of the static partition to thread mapping, partitions can be rebalanced between the partition operation threads
+ * based on their load by an {@link OperationThreadBalancer}; see
+ * {@link GroupProperties#PROP_PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS}.
  */
 public final class ClassicOperationExecutor implements OperationExecutor {
 
     public static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
+    /**
+     * The partition operation queue type backed by a {@link RingBufferScheduleQueue}.
+     */
+    public static final String QUEUE_TYPE_RINGBUFFER = "ringbuffer";
+
     private final ILogger logger;
 
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
@@ -78,6 +92,10 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     private final NodeExtension nodeExtension;
     private final HazelcastThreadGroup threadGroup;
     private final OperationRunner adHocOperationRunner;
+    private final MetricsRegistry metricsRegistry;
+    private final OperationThreadBalancer balancer;
+    // the schedule time is needed for the queue latency histograms and for tracing
+    private final boolean scheduleTimeTracked;
 
     public ClassicOperationExecutor(GroupProperties properties,
                                     LoggingService loggerService,
@@ -85,21 +103,30 @@ public final class ClassicOperationExecutor implements OperationExecutor {
                                     OperationRunnerFactory operationRunnerFactory,
                                     ResponsePacketHandler responsePacketHandler,
                                     HazelcastThreadGroup hazelcastThreadGroup,
-                                    NodeExtension nodeExtension) {
+                                    NodeExtension nodeExtension,
+                                    MetricsRegistry metricsRegistry) {
         this.thisAddress = thisAddress;
+        this.metricsRegistry = metricsRegistry;
         this.nodeExtension = nodeExtension;
         this.threadGroup = hazelcastThreadGroup;
         this.logger = loggerService.getLogger(ClassicOperationExecutor.class);
         this.responsePacketHandler = responsePacketHandler;
         this.genericScheduleQueue = new DefaultScheduleQueue();
+        this.scheduleTimeTracked = properties.OPERATION_LATENCY_TRACKING_ENABLED.getBoolean()
+                || properties.OPERATION_TRACING_SAMPLE_INTERVAL.getInteger() > 0;
 
         this.adHocOperationRunner = operationRunnerFactory.createAdHocRunner();
 
         this.partitionOperationRunners = initPartitionOperationRunners(properties, operationRunnerFactory);
+        this.balancer = initBalancer(properties);
         this.partitionOperationThreads = initPartitionThreads(properties);
+        if (balancer != null) {
+            balancer.start(partitionOperationThreads, metricsRegistry, threadGroup);
+        }
 
         this.genericOperationRunners = initGenericOperationRunners(properties, operationRunnerFactory);
         this.genericOperationThreads = initGenericThreads();
+        metricsRegistry.scanAndRegister(genericScheduleQueue, "operation.generic");
 
         this.responseThread = initResponseThread();
 
@@ -130,6 +157,16 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return operationRunners;
     }
 
+    private OperationThreadBalancer initBalancer(GroupProperties properties) {
+        int intervalSeconds = properties.PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS.getInteger();
+        if (intervalSeconds <= 0) {
+            return null;
+        }
+
+        logger.info("Partition operation thread balancing is enabled with an interval of " + intervalSeconds + " seconds.");
+        return new OperationThreadBalancer(partitionOperationRunners, intervalSeconds, logger);
+    }
+
     private PartitionOperationThread[] initPartitionThreads(GroupProperties properties) {
         int threadCount = properties.PARTITION_OPERATION_THREAD_COUNT.getInteger();
         if (threadCount <= 0) {
@@ -141,12 +178,15 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            ScheduleQueue scheduleQueue = new DefaultScheduleQueue();
+            ScheduleQueue scheduleQueue = createPartitionScheduleQueue(properties);
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, scheduleQueue, logger,
-                    threadGroup, nodeExtension, partitionOperationRunners);
+                    threadGroup, nodeExtension, partitionOperationRunners, balancer);
 
             threads[threadId] = operationThread;
+            String metricsPrefix = "operation.thread[" + threadName + "]";
+            metricsRegistry.scanAndRegister(operationThread, metricsPrefix);
+            metricsRegistry.scanAndRegister(scheduleQueue, metricsPrefix);
             operationThread.start();
         }
 
@@ -161,6 +201,14 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return threads;
     }
 
+    private static ScheduleQueue createPartitionScheduleQueue(GroupProperties properties) {
+        String queueType = properties.PARTITION_OPERATION_QUEUE_TYPE.getString();
+        if (QUEUE_TYPE_RINGBUFFER.equalsIgnoreCase(queueType)) {
+            return new RingBufferScheduleQueue(properties.PARTITION_OPERATION_QUEUE_CAPACITY.getInteger());
+        }
+        return new DefaultScheduleQueue();
+    }
+
     private GenericOperationThread[] initGenericThreads() {
         // we created as many generic operation handlers, as there are generic threads
         int threadCount = genericOperationRunners.length;
@@ -175,6 +223,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
                     logger, threadGroup, nodeExtension, operationRunner);
 
             threads[threadId] = operationThread;
+            metricsRegistry.scanAndRegister(operationThread, "operation.thread[" + threadName + "]");
             operationThread.start();
 
             operationRunner.setCurrentThread(operationThread);
@@ -185,6 +234,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
     private ResponseThread initResponseThread() {
         ResponseThread thread = new ResponseThread(threadGroup, logger, responsePacketHandler);
+        metricsRegistry.scanAndRegister(thread, "operation.thread[" + thread.getName() + "]");
         thread.start();
         return thread;
     }
@@ -227,7 +277,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
         // so it's a partition operation thread, now we need to make sure that this operation thread is allowed
         // to execute operations for this particular partitionId
-        return toPartitionThreadIndex(partitionId) == partitionThread.threadId;
+        return partitionOperationRunners[partitionId].currentThread() == partitionThread;
     }
 
     @Override
@@ -262,8 +312,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
         // we are only allowed to invoke from a PartitionOperationThread if the operation belongs to that
         // PartitionOperationThread.
-        PartitionOperationThread partitionThread = (PartitionOperationThread) currentThread;
-        return toPartitionThreadIndex(op.getPartitionId()) == partitionThread.threadId;
+        return partitionOperationRunners[op.getPartitionId()].currentThread() == currentThread;
     }
 
     @Override
@@ -325,6 +374,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     @Override
     public void execute(Operation op) {
         checkNotNull(op, "op can't be null");
+        if (scheduleTimeTracked) {
+            setScheduleTimeNanos(op, System.nanoTime());
+        }
         execute(op, op.getPartitionId(), op.isUrgent());
     }
 
@@ -358,6 +410,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             // it must be an operation packet
             int partitionId = packet.getPartitionId();
             boolean hasPriority = packet.isUrgent();
+            if (scheduleTimeTracked) {
+                packet.setScheduleTimeNanos(System.nanoTime());
+            }
             execute(packet, partitionId, hasPriority);
         }
     }
@@ -391,8 +446,11 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
         if (partitionId < 0) {
             scheduleQueue = genericScheduleQueue;
+        } else if (balancer != null) {
+            balancer.execute(task, partitionId, priority);
+            return;
         } else {
-            OperationThread partitionOperationThread = partitionOperationThreads[toPartitionThreadIndex(partitionId)];
+            OperationThread partitionOperationThread = partitionOperationThreads[partitionId % partitionOperationThreads.length];
             scheduleQueue = partitionOperationThread.scheduleQueue;
         }
 
@@ -403,12 +461,21 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         }
     }
 
-    private int toPartitionThreadIndex(int partitionId) {
-        return partitionId % partitionOperationThreads.length;
-    }
-
     @Override
     public void shutdown() {
+        if (balancer != null) {
+            balancer.shutdown();
+            metricsRegistry.deregister(balancer);
+        }
+        for (PartitionOperationThread thread : partitionOperationThreads) {
+            metricsRegistry.deregister(thread);
+            metricsRegistry.deregister(thread.scheduleQueue);
+        }
+        for (GenericOperationThread thread : genericOperationThreads) {
+            metricsRegistry.deregister(thread);
+        }
+        metricsRegistry.deregister(genericScheduleQueue);
+        metricsRegistry.deregister(responseThread);
         responseThread.shutdown();
         shutdownAll(partitionOperationThreads);
         shutdownAll(genericOperationThreads);
@@ -432,24 +499,6 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         }
     }
 
-    @Override
-    public void dumpPerformanceMetrics(StringBuffer sb) {
-        for (PartitionOperationThread operationThread : partitionOperationThreads) {
-            sb.append(operationThread.getName())
-                    .append(" processedCount=").append(operationThread.processedCount)
-                    .append(" pendingCount=").append(operationThread.scheduleQueue.size())
-                    .append('\n');
-        }
-        sb.append("pending generic operations ").append(genericScheduleQueue.size()).append('\n');
-        for (GenericOperationThread operationThread : genericOperationThreads) {
-            sb.append(operationThread.getName())
-                    .append(" processedCount=").append(operationThread.processedCount).append('\n');
-        }
-        sb.append(responseThread.getName())
-                .append(" processedCount=").append(responseThread.processedResponses)
-                .append(" pendingCount=").append(responseThread.workQueue.size()).append('\n');
-    }
-
     @Override
     public String toString() {
         return "ClassicOperationExecutor{"
@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.operationexecutor.classic;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.NodeExtension;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.Operation;
@@ -43,6 +44,7 @@ public abstract class OperationThread extends HazelcastManagedThread {
     final int threadId;
     final ScheduleQueue scheduleQueue;
     // This field is updated by this OperationThread (so a single writer) and can be read by other threads.
+    @Probe
     volatile long processedCount;
 
     private final NodeExtension nodeExtension;
@@ -103,7 +105,7 @@ public abstract class OperationThread extends HazelcastManagedThread {
     }
 
     @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
-    private void process(Object task) {
+    void process(Object task) {
         processedCount++;
 
         if (task instanceof Operation) {
@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.LongProbe;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Dynamically assigns partitions to {@link PartitionOperationThread}s.
+ * <p/>
+ * By default a partition is bound to the thread 'partitionId % threadCount'. When a few hot partitions end up on the same
+ * thread, that thread becomes a bottleneck while other threads are idle. The OperationThreadBalancer measures the time
+ * spent on every partition and periodically moves a partition from the most loaded thread to the least loaded thread.
+ * <p/>
+ * Moving a partition must not break the ordering of the operations for that partition, and a partition may never be
+ * processed by 2 threads at the same time. A partition is moved in the following steps:
+ * <ol>
+ * <li>the route of the partition is changed to the new thread; new tasks are now scheduled on the new thread. The new
+ * thread defers these tasks since the partition is still owned by the old thread.</li>
+ * <li>the balancer waits till all producers that have seen the old route, have scheduled their task on the old thread.
+ * Producers register themselves in one of 2 in-flight counters of the partition; every route change flips the
+ * counter that is used.</li>
+ * <li>a handoff task is scheduled on the old thread. Since all tasks for the partition on the old thread are scheduled
+ * before the handoff task, the old thread has processed them all once it processes the handoff task. It then makes
+ * the new thread the owner of the partition and notifies the new thread.</li>
+ * <li>the new thread processes the deferred tasks in order and continues as the owner of the partition.</li>
+ * </ol>
+ * Only a single partition is moved at any given moment.
+ * <p/>
+ * The balancer is enabled using
+ * {@link com.hazelcast.instance.GroupProperties#PROP_PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS}. It adds a few
+ * atomic instructions to the scheduling of every partition specific task and 2 calls to System.nanoTime to the processing
+ * of every task.
+ */
+final class OperationThreadBalancer {
+
+    // a partition is only moved if the load difference between the most and least loaded thread is at least this
+    // percentage of the measuring interval.
+    private static final int MIN_IMBALANCE_PERCENTAGE = 10;
+    private static final int PERCENTAGE = 100;
+    private static final int THREAD_BITS = 16;
+    private static final int SLOT_BIT = 1 << THREAD_BITS;
+    private static final int THREAD_MASK = SLOT_BIT - 1;
+    // the in-flight counters are padded to prevent false sharing between partitions.
+    private static final int COUNTER_STRIDE = 16;
+
+    private final OperationRunner[] partitionOperationRunners;
+    private final ILogger logger;
+    private final int intervalSeconds;
+
+    // the route per partition: the index of the thread in the lower 16 bits and the in-flight counter slot in bit 16.
+    private final AtomicIntegerArray routes;
+    private final AtomicIntegerArray inFlight;
+    // the time spent on each partition. Only the thread owning the partition writes to it.
+    private final AtomicLongArray partitionBusyNanos;
+    private AtomicLongArray threadUtilization;
+
+    // the fields below are only accessed by the balancer thread.
+    private final long[] lastPartitionBusyNanos;
+    private long[] lastThreadBusyNanos;
+    private long lastRebalanceNanos;
+    private boolean measured;
+
+    private PartitionOperationThread[] threads;
+    private OperationThreadBalancerThread balancerThread;
+    private volatile boolean handoffInProgress;
+
+    OperationThreadBalancer(OperationRunner[] partitionOperationRunners, int intervalSeconds, ILogger logger) {
+        this.partitionOperationRunners = partitionOperationRunners;
+        this.intervalSeconds = intervalSeconds;
+        this.logger = logger;
+
+        int partitionCount = partitionOperationRunners.length;
+        this.routes = new AtomicIntegerArray(partitionCount);
+        this.inFlight = new AtomicIntegerArray(partitionCount * 2 * COUNTER_STRIDE);
+        this.partitionBusyNanos = new AtomicLongArray(partitionCount);
+        this.lastPartitionBusyNanos = new long[partitionCount];
+    }
+
+    /**
+     * Returns the index of the thread the partition currently is routed to.
+     */
+    int getThreadIndex(int partitionId) {
+        return routes.get(partitionId) & THREAD_MASK;
+    }
+
+    /**
+     * Starts balancing. Initially the partitions are assigned to the threads like the static 'partitionId % threadCount'
+     * assignment.
+     */
+    void start(PartitionOperationThread[] threads, MetricsRegistry metricsRegistry, HazelcastThreadGroup threadGroup) {
+        this.threads = threads;
+        this.lastThreadBusyNanos = new long[threads.length];
+        this.threadUtilization = new AtomicLongArray(threads.length);
+        for (int partitionId = 0; partitionId < routes.length(); partitionId++) {
+            routes.set(partitionId, partitionId % threads.length);
+        }
+        registerMetrics(metricsRegistry);
+
+        balancerThread = new OperationThreadBalancerThread(this, intervalSeconds, threadGroup, logger);
+        balancerThread.start();
+    }
+
+    private void registerMetrics(MetricsRegistry metricsRegistry) {
+        for (PartitionOperationThread thread : threads) {
+            metricsRegistry.register(thread, "operation.thread[" + thread.getName() + "].utilizationPercentage",
+                    new LongProbe<PartitionOperationThread>() {
+                        @Override
+                        public long get(PartitionOperationThread thread) {
+                            return threadUtilization.get(thread.threadId);
+                        }
+                    });
+        }
+
+        for (int partitionId = 0; partitionId < partitionOperationRunners.length; partitionId++) {
+            final int id = partitionId;
+            metricsRegistry.register(this, "operation.partition[" + partitionId + "].threadId",
+                    new LongProbe<OperationThreadBalancer>() {
+                        @Override
+                        public long get(OperationThreadBalancer balancer) {
+                            return balancer.getThreadIndex(id);
+                        }
+                    });
+        }
+    }
+
+    void shutdown() {
+        if (balancerThread != null) {
+            balancerThread.interrupt();
+        }
+    }
+
+    /**
+     * Schedules a task on the thread the partition is routed to.
+     */
+    void execute(Object task, int partitionId, boolean priority) {
+        int route;
+        int counterIndex;
+        for (; ; ) {
+            route = routes.get(partitionId);
+            counterIndex = counterIndex(partitionId, route);
+            inFlight.incrementAndGet(counterIndex);
+            if (routes.get(partitionId) == route) {
+                break;
+            }
+            // the route has changed in the meantime, so we need to register ourselves on the new counter
+            inFlight.decrementAndGet(counterIndex);
+        }
+
+        try {
+            ScheduleQueue scheduleQueue = threads[route & THREAD_MASK].scheduleQueue;
+            if (priority) {
+                scheduleQueue.addUrgent(task);
+            } else {
+                scheduleQueue.add(task);
+            }
+        } finally {
+            inFlight.decrementAndGet(counterIndex);
+        }
+    }
+
+    private static int counterIndex(int partitionId, int route) {
+        int slot = (route & SLOT_BIT) == 0 ? 0 : 1;
+        return (partitionId * 2 + slot) * COUNTER_STRIDE;
+    }
+
+    /**
+     * Processes a task on a partition operation thread.
+     */
+    void process(PartitionOperationThread thread, Object task) {
+        if (task instanceof HandoffTask) {
+            handoff(thread, (HandoffTask) task);
+            return;
+        }
+
+        if (task instanceof ReleaseTask) {
+            release(thread, ((ReleaseTask) task).partitionId);
+            return;
+        }
+
+        int partitionId = getPartitionId(task);
+        Thread owner = partitionOperationRunners[partitionId].currentThread();
+        if (owner == thread) {
+            Queue<Object> deferred = thread.deferredTasks.get(partitionId);
+            if (deferred == null) {
+                processMeasured(thread, partitionId, task);
+            } else {
+                // the deferred tasks of the partition have not been processed yet
+                deferred.add(task);
+            }
+        } else if (getThreadIndex(partitionId) == thread.threadId) {
+            // the partition is being handed over to this thread
+            defer(thread, partitionId, task);
+        } else {
+            // should not happen, but the owner is the only thread that is allowed to process the task
+            execute(task, partitionId, false);
+        }
+    }
+
+    private static int getPartitionId(Object task) {
+        if (task instanceof Operation) {
+            return ((Operation) task).getPartitionId();
+        }
+
+        if (task instanceof Packet) {
+            return ((Packet) task).getPartitionId();
+        }
+
+        if (task instanceof PartitionSpecificRunnable) {
+            return ((PartitionSpecificRunnable) task).getPartitionId();
+        }
+
+        throw new IllegalStateException("Unhandled task type for task:" + task);
+    }
+
+    private static void defer(PartitionOperationThread thread, int partitionId, Object task) {
+        Queue<Object> deferred = thread.deferredTasks.get(partitionId);
+        if (deferred == null) {
+            deferred = new ArrayDeque<Object>();
+            thread.deferredTasks.put(partitionId, deferred);
+        }
+        deferred.add(task);
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    private void processMeasured(PartitionOperationThread thread, int partitionId, Object task) {
+        long startNanos = System.nanoTime();
+        thread.processDirectly(task);
+        long durationNanos = System.nanoTime() - startNanos;
+
+        partitionBusyNanos.lazySet(partitionId, partitionBusyNanos.get(partitionId) + durationNanos);
+        thread.busyNanos += durationNanos;
+    }
+
+    private void handoff(PartitionOperationThread thread, HandoffTask task) {
+        OperationRunner runner = partitionOperationRunners[task.partitionId];
+        if (runner.currentThread() != thread) {
+            throw new IllegalStateException("Thread " + thread.getName() + " can't handoff partition "
+                    + task.partitionId + " since it isn't the owner");
+        }
+
+        runner.setCurrentThread(task.target);
+        task.target.scheduleQueue.addUrgent(new ReleaseTask(task.partitionId));
+    }
+
+    private void release(PartitionOperationThread thread, int partitionId) {
+        try {
+            Queue<Object> deferred = thread.deferredTasks.get(partitionId);
+            if (deferred == null) {
+                return;
+            }
+
+            // tasks that are received while processing the deferred tasks, are added to the end of the deferred queue
+            for (; ; ) {
+                Object task = deferred.poll();
+                if (task == null) {
+                    break;
+                }
+                processMeasured(thread, partitionId, task);
+            }
+            thread.deferredTasks.remove(partitionId);
+        } finally {
+            handoffInProgress = false;
+        }
+    }
+
+    /**
+     * Measures the load of every thread and moves a partition if there is an imbalance.
+     * <p/>
+     * Should only be called by the balancer thread.
+     */
+    void rebalance() {
+        long nowNanos = System.nanoTime();
+        long intervalNanos = nowNanos - lastRebalanceNanos;
+        lastRebalanceNanos = nowNanos;
+        // the first round only establishes the baseline
+        boolean firstRound = !measured;
+        measured = true;
+        if (!firstRound) {
+            updateUtilization(intervalNanos);
+        }
+
+        long[] partitionLoad = measurePartitionLoad();
+        if (!firstRound && !handoffInProgress) {
+            moveIfImbalanced(partitionLoad, intervalNanos);
+        }
+    }
+
+    private void moveIfImbalanced(long[] partitionLoad, long intervalNanos) {
+        long[] threadLoad = new long[threads.length];
+        for (int partitionId = 0; partitionId < partitionLoad.length; partitionId++) {
+            threadLoad[getThreadIndex(partitionId)] += partitionLoad[partitionId];
+        }
+
+        int source = 0;
+        int target = 0;
+        for (int threadIndex = 1; threadIndex < threadLoad.length; threadIndex++) {
+            if (threadLoad[threadIndex] > threadLoad[source]) {
+                source = threadIndex;
+            }
+            if (threadLoad[threadIndex] < threadLoad[target]) {
+                target = threadIndex;
+            }
+        }
+
+        long imbalance = threadLoad[source] - threadLoad[target];
+        if (imbalance * PERCENTAGE < intervalNanos * MIN_IMBALANCE_PERCENTAGE) {
+            return;
+        }
+
+        int partitionId = selectPartition(partitionLoad, source, imbalance);
+        if (partitionId >= 0) {
+            move(partitionId, source, target);
+        }
+    }
+
+    private long[] measurePartitionLoad() {
+        long[] partitionLoad = new long[partitionOperationRunners.length];
+        for (int partitionId = 0; partitionId < partitionLoad.length; partitionId++) {
+            long busyNanos = partitionBusyNanos.get(partitionId);
+            partitionLoad[partitionId] = busyNanos - lastPartitionBusyNanos[partitionId];
+            lastPartitionBusyNanos[partitionId] = busyNanos;
+        }
+        return partitionLoad;
+    }
+
+    private void updateUtilization(long intervalNanos) {
+        for (PartitionOperationThread thread : threads) {
+            long busyNanos = thread.busyNanos;
+            long delta = busyNanos - lastThreadBusyNanos[thread.threadId];
+            lastThreadBusyNanos[thread.threadId] = busyNanos;
+            threadUtilization.set(thread.threadId, Math.min(PERCENTAGE, delta * PERCENTAGE / intervalNanos));
+        }
+    }
+
+    /**
+     * Selects the partition with the highest load on the source thread, that still reduces the imbalance when moved.
+     * Moving a partition with a load equal or larger than the imbalance, would only move the imbalance.
+     */
+    private int selectPartition(long[] partitionLoad, int source, long imbalance) {
+        int selected = -1;
+        for (int partitionId = 0; partitionId < partitionLoad.length; partitionId++) {
+            long load = partitionLoad[partitionId];
+            if (getThreadIndex(partitionId) != source || load <= 0 || load >= imbalance) {
+                continue;
+            }
+            if (selected == -1 || load > partitionLoad[selected]) {
+                selected = partitionId;
+            }
+        }
+        return selected;
+    }
+
+    private void move(int partitionId, int source, int target) {
+        if (logger.isFinestEnabled()) {
+            logger.finest("Moving partition " + partitionId + " from " + threads[source].getName()
+                    + " to " + threads[target].getName());
+        }
+
+        handoffInProgress = true;
+        int oldRoute = routes.get(partitionId);
+        routes.set(partitionId, ((oldRoute & SLOT_BIT) ^ SLOT_BIT) | target);
+
+        // wait till all producers that have seen the old route, have scheduled their task
+        int counterIndex = counterIndex(partitionId, oldRoute);
+        while (inFlight.get(counterIndex) != 0) {
+            Thread.yield();
+        }
+
+        threads[source].scheduleQueue.add(new HandoffTask(partitionId, threads[target]));
+    }
+
+    /**
+     * Processed by the current owner of a partition to transfer the ownership to the target thread.
+     */
+    private static final class HandoffTask {
+        private final int partitionId;
+        private final PartitionOperationThread target;
+
+        private HandoffTask(int partitionId, PartitionOperationThread target) {
+            this.partitionId = partitionId;
+            this.target = target;
+        }
+
+        @Override
+        public String toString() {
+            return "HandoffTask{partitionId=" + partitionId + ", target=" + target.getName() + '}';
+        }
+    }
+
+    /**
+     * Processed by the new owner of a partition to process the tasks it has deferred.
+     */
+    private static final class ReleaseTask {
+        private final int partitionId;
+
+        private ReleaseTask(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public String toString() {
+            return "ReleaseTask{partitionId=" + partitionId + '}';
+        }
+    }
+
+    /**
+     * The thread that periodically triggers the {@link OperationThreadBalancer#rebalance()}.
+     */
+    private static final class OperationThreadBalancerThread extends Thread {
+        private static final String THREAD_NAME_PREFIX = "OperationThreadBalancerThread";
+
+        private final OperationThreadBalancer balancer;
+        private final int intervalSeconds;
+        private final ILogger logger;
+
+        private OperationThreadBalancerThread(OperationThreadBalancer balancer, int intervalSeconds,
+                                              HazelcastThreadGroup threadGroup, ILogger logger) {
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix(THREAD_NAME_PREFIX));
+            this.balancer = balancer;
+            this.intervalSeconds = intervalSeconds;
+            this.logger = logger;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isInterrupted()) {
+                    balancer.rebalance();
+                    TimeUnit.SECONDS.sleep(intervalSeconds);
+                }
+            } catch (InterruptedException e) {
+                logger.finest("OperationThreadBalancer thread stopped");
+            }
+        }
+    }
+}
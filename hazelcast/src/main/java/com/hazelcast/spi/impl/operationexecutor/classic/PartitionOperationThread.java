@@ -18,23 +18,63 @@ package com.hazelcast.spi.impl.operationexecutor.classic;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.NodeExtension;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
 /**
  * An {@link OperationThread} that executes Operations for a particular partition, e.g. a map.get operation.
  */
 public final class PartitionOperationThread extends OperationThread {
 
+    // Tasks for partitions that are being handed over to this thread, but that are still owned by the previous thread.
+    // Only accessed by this thread.
+    final Map<Integer, Queue<Object>> deferredTasks = new HashMap<Integer, Queue<Object>>();
+
+    // The total time spent processing tasks; only maintained when an OperationThreadBalancer is used.
+    // This field is updated by this thread (so a single writer) and can be read by other threads.
+    @Probe
+    volatile long busyNanos;
+
     private final OperationRunner[] partitionOperationRunners;
+    private final OperationThreadBalancer balancer;
 
     @edu.umd.cs.findbugs.annotations.SuppressWarnings({"EI_EXPOSE_REP" })
     public PartitionOperationThread(String name, int threadId,
                                     ScheduleQueue scheduleQueue, ILogger logger,
                                     HazelcastThreadGroup threadGroup, NodeExtension nodeExtension,
                                     OperationRunner[] partitionOperationRunners) {
+        this(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension, partitionOperationRunners, null);
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"EI_EXPOSE_REP" })
+    public PartitionOperationThread(String name, int threadId,
+                                    ScheduleQueue scheduleQueue, ILogger logger,
+                                    HazelcastThreadGroup threadGroup, NodeExtension nodeExtension,
+                                    OperationRunner[] partitionOperationRunners, OperationThreadBalancer balancer) {
         super(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension);
         this.partitionOperationRunners = partitionOperationRunners;
+        this.balancer = balancer;
+    }
+
+    @Override
+    void process(Object task) {
+        if (balancer == null) {
+            super.process(task);
+        } else {
+            balancer.process(this, task);
+        }
+    }
+
+    /**
+     * Processes the task without consulting the {@link OperationThreadBalancer}.
+     */
+    void processDirectly(Object task) {
+        super.process(task);
     }
 
     /**
@@ -17,6 +17,7 @@
 package com.hazelcast.spi.impl.operationexecutor.classic;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.nio.Packet;
@@ -45,6 +46,7 @@ public final class ResponseThread extends Thread implements OperationHostileThre
 
     final BlockingQueue<Packet> workQueue = new LinkedBlockingQueue<Packet>();
     // field is only written by the response-thread itself, but can be read by other threads.
+    @Probe
     volatile long processedResponses;
 
     private final ILogger logger;
@@ -89,6 +91,11 @@ public final class ResponseThread extends Thread implements OperationHostileThre
         }
     }
 
+    @Probe(name = "responseQueueSize")
+    int responseQueueSize() {
+        return workQueue.size();
+    }
+
     @edu.umd.cs.findbugs.annotations.SuppressWarnings({ "VO_VOLATILE_INCREMENT" })
     private void process(Packet responsePacket) {
         processedResponses++;
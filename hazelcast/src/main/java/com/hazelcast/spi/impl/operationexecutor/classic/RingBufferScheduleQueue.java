@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.util.concurrent.MPSCQueue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.util.concurrent.atomic.AtomicLongFieldUpdater.newUpdater;
+
+/**
+ * A {@link ScheduleQueue} that stores the normal tasks in a bounded multi producer single consumer ring buffer and the
+ * urgent tasks in a {@link MPSCQueue}. Contrary to the {@link DefaultScheduleQueue} no node is allocated and no lock is
+ * acquired when a task is added.
+ * <p/>
+ * When there is no work, the consumer first spins, then yields and finally parks. A producer only needs to unpark the
+ * consumer when the consumer has announced that it is going to park.
+ * <p/>
+ * When the ring buffer is full, a producer backs off till there is space. The consumer itself can't wait for space, so
+ * tasks it adds to its own full queue are stored in a local overflow queue. An overflow task is processed once the ring
+ * buffer is drained, or after {@link #OVERFLOW_INTERVAL} ring buffer tasks, so busy producers can't starve it.
+ * <p/>
+ * For every normal task the time it spent waiting in the queue is recorded.
+ */
+public final class RingBufferScheduleQueue implements ScheduleQueue {
+
+    static final int SPIN_ITERATIONS = 1000;
+    static final int YIELD_ITERATIONS = 100;
+    static final long PRODUCER_BACKOFF_NANOS = 1000;
+    static final int OVERFLOW_INTERVAL = 16;
+
+    private static final AtomicLongFieldUpdater<RingBufferScheduleQueue> TAIL
+            = newUpdater(RingBufferScheduleQueue.class, "tail");
+    private static final AtomicLongFieldUpdater<RingBufferScheduleQueue> HEAD
+            = newUpdater(RingBufferScheduleQueue.class, "head");
+    private static final AtomicLongFieldUpdater<RingBufferScheduleQueue> WAIT_TIME_NANOS
+            = newUpdater(RingBufferScheduleQueue.class, "waitTimeNanos");
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> ring;
+    // written by the producer before the task is published, so the consumer can read it once it sees the task.
+    private final long[] enqueueTimes;
+    private final MPSCQueue<Object> priorityQueue = new MPSCQueue<Object>();
+    // only accessed by the consumer thread.
+    private final Queue<Object> overflowQueue = new ArrayDeque<Object>();
+    // only accessed by the consumer thread.
+    private int ringPollCount;
+
+    // the sequence of the next slot to claim by a producer.
+    private volatile long tail;
+    // the sequence of the next slot to consume; only written by the consumer thread.
+    private volatile long head;
+    private volatile Thread consumerThread;
+    private volatile boolean parked;
+    // the size of the overflow queue; only written by the consumer thread.
+    private volatile int overflowSize;
+
+    @Probe(name = "queueWaitTimeNanos")
+    private volatile long waitTimeNanos;
+
+    public RingBufferScheduleQueue(int capacity) {
+        this.capacity = nextPowerOfTwo(checkPositive(capacity, "capacity should be positive"));
+        this.mask = this.capacity - 1;
+        this.ring = new AtomicReferenceArray<Object>(this.capacity);
+        this.enqueueTimes = new long[this.capacity];
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        if (Thread.currentThread() == consumerThread) {
+            if (!overflowQueue.isEmpty() || !offer(task)) {
+                overflowQueue.add(task);
+                overflowSize = overflowQueue.size();
+            }
+            return;
+        }
+
+        for (int attempt = 0; !offer(task); attempt++) {
+            if (attempt < YIELD_ITERATIONS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PRODUCER_BACKOFF_NANOS);
+            }
+        }
+        unparkConsumer();
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        priorityQueue.offer(task);
+        unparkConsumer();
+    }
+
+    private boolean offer(Object task) {
+        for (;;) {
+            long sequence = tail;
+            if (sequence - head >= capacity) {
+                return false;
+            }
+
+            if (TAIL.compareAndSet(this, sequence, sequence + 1)) {
+                int index = (int) sequence & mask;
+                enqueueTimes[index] = System.nanoTime();
+                ring.lazySet(index, task);
+                return true;
+            }
+        }
+    }
+
+    private void unparkConsumer() {
+        // the claim of the slot (a full fence) precedes this read, so either we see the consumer announced that it is
+        // going to park, or the consumer sees our task before it parks.
+        if (parked) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        if (consumerThread == null) {
+            consumerThread = Thread.currentThread();
+        }
+
+        for (int idleCount = 0; ; idleCount++) {
+            Object task = priorityQueue.poll();
+            if (task != null) {
+                return task;
+            }
+
+            task = poll();
+            if (task != null) {
+                return task;
+            }
+
+            idle(idleCount);
+        }
+    }
+
+    private Object poll() {
+        if (ringPollCount >= OVERFLOW_INTERVAL && !overflowQueue.isEmpty()) {
+            return pollOverflow();
+        }
+
+        long sequence = head;
+        if (sequence == tail) {
+            // the ring buffer is empty, so we can process the tasks that didn't fit.
+            return pollOverflow();
+        }
+
+        int index = (int) sequence & mask;
+        Object task = ring.get(index);
+        if (task == null) {
+            // the slot has been claimed, but the task is not yet published.
+            return null;
+        }
+
+        WAIT_TIME_NANOS.lazySet(this, waitTimeNanos + System.nanoTime() - enqueueTimes[index]);
+        ring.lazySet(index, null);
+        HEAD.lazySet(this, sequence + 1);
+        ringPollCount++;
+        return task;
+    }
+
+    private Object pollOverflow() {
+        Object task = overflowQueue.poll();
+        if (task != null) {
+            overflowSize = overflowQueue.size();
+            ringPollCount = 0;
+        }
+        return task;
+    }
+
+    private void idle(int idleCount) throws InterruptedException {
+        if (idleCount < SPIN_ITERATIONS) {
+            return;
+        }
+
+        if (idleCount < SPIN_ITERATIONS + YIELD_ITERATIONS) {
+            Thread.yield();
+            return;
+        }
+
+        parked = true;
+        if (head == tail && priorityQueue.isEmpty() && overflowQueue.isEmpty()) {
+            LockSupport.park(this);
+        }
+        parked = false;
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    @Override
+    public int normalSize() {
+        return (int) Math.max(0, tail - head) + overflowSize;
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.spi.impl.operationexecutor.classic;
 
+import com.hazelcast.internal.metrics.Probe;
+
 /**
  * The ScheduleQueue is a kind of priority queue where 'tasks' are queued for scheduling.
  * <p/>
@@ -68,6 +70,7 @@ public interface ScheduleQueue {
      *
      * @return the number of normal pending operations.
      */
+    @Probe(name = "queueSize")
     int normalSize();
 
     /**
@@ -79,6 +82,7 @@ public interface ScheduleQueue {
      *
      * @return the number of priority pending operations.
      */
+    @Probe(name = "priorityQueueSize")
     int prioritySize();
 
     /**
@@ -17,6 +17,7 @@
 package com.hazelcast.spi.impl.operationservice;
 
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.management.dto.LatencyDTO;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.Operation;
@@ -86,6 +87,13 @@ public interface InternalOperationService extends OperationService {
      */
     List<SlowOperationDTO> getSlowOperationDTOs();
 
+    /**
+     * Returns the latency histograms of operations and invocations.
+     *
+     * @return list of {@link LatencyDTO} instances.
+     */
+    List<LatencyDTO> getLatencyDTOs();
+
     <V> void asyncInvokeOnPartition(String serviceName, Operation op, int partitionId, ExecutionCallback<V> callback);
 
     <V> void asyncInvokeOnTarget(String serviceName, Operation op, Address target, ExecutionCallback<V> callback);
@@ -19,6 +19,8 @@ package com.hazelcast.spi.impl.operationservice.impl;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.OperationTimeoutException;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.internal.tracing.TracePoint;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.partition.InternalPartition;
@@ -48,6 +50,7 @@ import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
 import static com.hazelcast.spi.OperationAccessor.setCallTimeout;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.OperationAccessor.setInvocationTime;
+import static com.hazelcast.spi.OperationAccessor.setTraceId;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isMigrationOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isWanReplicationOperation;
@@ -103,6 +106,8 @@ abstract class Invocation implements ResponseHandler, Runnable {
     MemberImpl targetMember;
     final InvocationFuture invocationFuture;
     final OperationServiceImpl operationService;
+    // the System.nanoTime() the invocation was started, 0 if latency tracking is disabled
+    long startNanos;
 
     // writes to that are normally handled through the INVOKE_COUNT_UPDATER to ensure atomic increments / decrements
     volatile int invokeCount;
@@ -183,6 +188,14 @@ abstract class Invocation implements ResponseHandler, Runnable {
             throw new IllegalStateException("An operation[" + op + "] can not be used for multiple invocations!");
         }
 
+        if (operationService.latencyTracker.isEnabled()) {
+            startNanos = System.nanoTime();
+        }
+
+        if (operationService.tracer.isEnabled()) {
+            startTrace(operationService.tracer);
+        }
+
         try {
             setCallTimeout(op, callTimeout);
             setCallerAddress(op, nodeEngine.getThisAddress());
@@ -201,6 +214,14 @@ abstract class Invocation implements ResponseHandler, Runnable {
         }
     }
 
+    private void startTrace(Tracer tracer) {
+        long traceId = tracer.currentOrSample();
+        if (traceId != 0) {
+            setTraceId(op, traceId);
+            tracer.record(traceId, TracePoint.INVOKE, op.getClass().getName() + " partitionId=" + partitionId);
+        }
+    }
+
     private void handleInvocationException(Exception e) {
         if (e instanceof RetryableException) {
             notify(e);
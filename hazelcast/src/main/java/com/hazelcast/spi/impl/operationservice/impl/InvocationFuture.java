@@ -17,6 +17,7 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.tracing.TracePoint;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
@@ -187,7 +188,8 @@ final class InvocationFuture<E> implements InternalCompletableFuture<E> {
             operationService.invocationsRegistry.deregister(invocation);
         }
 
-
+        operationService.latencyTracker.onInvocationEnd(invocation);
+        operationService.tracer.record(invocation.op.getTraceId(), TracePoint.RESPONSE, null);
         notifyCallbacks(callbackChain);
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.ClusterClock;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.monitors.PerformanceLogWriter;
+import com.hazelcast.internal.monitors.PerformanceMonitorPlugin;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link com.hazelcast.internal.monitors.PerformanceMonitorPlugin} that writes the pending invocations of the
+ * {@link InvocationRegistry} and samples of the invocations that are pending for longer than the slow invocation
+ * threshold.
+ */
+public class InvocationPlugin extends PerformanceMonitorPlugin {
+
+    static final int MAX_SLOW_SAMPLES = 100;
+
+    private final InvocationRegistry invocationRegistry;
+    private final ClusterClock clusterClock;
+    private final long periodMillis;
+    private final long slowThresholdMillis;
+
+    public InvocationPlugin(NodeEngineImpl nodeEngine) {
+        OperationServiceImpl operationService = (OperationServiceImpl) nodeEngine.getOperationService();
+        this.invocationRegistry = operationService.getInvocationsRegistry();
+        this.clusterClock = nodeEngine.getClusterService().getClusterClock();
+        GroupProperties properties = nodeEngine.getGroupProperties();
+        this.periodMillis = TimeUnit.SECONDS.toMillis(
+                properties.PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS.getInteger());
+        this.slowThresholdMillis = TimeUnit.SECONDS.toMillis(
+                properties.PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS.getInteger());
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void run(PerformanceLogWriter writer) {
+        writer.startSection("Invocations");
+        writer.writeKeyValueEntry("pending", invocationRegistry.size());
+        writer.writeKeyValueEntry("usagePercentage", invocationRegistry.getInvocationUsagePercentage());
+        writer.writeKeyValueEntry("slowThresholdMillis", slowThresholdMillis);
+
+        long now = clusterClock.getClusterTime();
+        int slowCount = 0;
+        writer.startSection("SlowInvocations");
+        for (Invocation invocation : invocationRegistry.invocations()) {
+            Operation op = invocation.op;
+            long invocationTime = op.getInvocationTime();
+            long durationMillis = now - invocationTime;
+            if (invocationTime <= 0 || durationMillis < slowThresholdMillis) {
+                continue;
+            }
+
+            slowCount++;
+            if (slowCount <= MAX_SLOW_SAMPLES) {
+                writeSample(writer, invocation, durationMillis);
+            }
+        }
+        writer.endSection();
+        writer.writeKeyValueEntry("slowCount", slowCount);
+        writer.endSection();
+    }
+
+    private static void writeSample(PerformanceLogWriter writer, Invocation invocation, long durationMillis) {
+        Operation op = invocation.op;
+        writer.startSection(op.getClass().getName());
+        writer.writeKeyValueEntry("durationMillis", durationMillis);
+        writer.writeKeyValueEntry("callId", op.getCallId());
+        writer.writeKeyValueEntry("service", invocation.serviceName);
+        writer.writeKeyValueEntry("partitionId", invocation.partitionId);
+        Address target = invocation.invTarget;
+        writer.writeKeyValueEntry("target", target == null ? "null" : target.getHost() + ":" + target.getPort());
+        writer.writeKeyValueEntry("invokeCount", invocation.invokeCount);
+        writer.endSection();
+    }
+}
@@ -20,6 +20,8 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.tracing.TracePoint;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.partition.ReplicaErrorLogger;
@@ -33,6 +35,7 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 import com.hazelcast.util.EmptyStatement;
 
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -127,6 +130,7 @@ public class InvocationRegistry {
         assert deleted : "failed to deregister callId:" + callId + " " + invocation;
     }
 
+    @Probe(name = "usedPercentage")
     public double getInvocationUsagePercentage() {
         return (HUNDRED_PERCENT * invocations.size()) / callIdSequence.getMaxConcurrentInvocations();
     }
@@ -136,10 +140,20 @@ public class InvocationRegistry {
      *
      * @return the number of pending invocations.
      */
+    @Probe(name = "pending")
     public int size() {
         return invocations.size();
     }
 
+    /**
+     * Returns a live view of the pending invocations.
+     *
+     * @return the pending invocations.
+     */
+    Collection<Invocation> invocations() {
+        return invocations.values();
+    }
+
     /**
      * Gets the invocation for the given call id.
      *
@@ -183,6 +197,7 @@ public class InvocationRegistry {
                 return;
             }
 
+            operationService.tracer.record(invocation.op.getTraceId(), TracePoint.BACKUP_ACK, null);
             invocation.notifySingleBackupComplete();
         } catch (Exception e) {
             ReplicaErrorLogger.log(e, logger);
@@ -17,6 +17,7 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.tracing.TracePoint;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartition;
@@ -28,6 +29,7 @@ import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
 
 import static com.hazelcast.partition.InternalPartition.MAX_BACKUP_COUNT;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
+import static com.hazelcast.spi.OperationAccessor.setTraceId;
 import static java.lang.Math.min;
 
 /**
@@ -163,6 +165,7 @@ final class OperationBackupHandler {
 
             Backup backup = newBackup(backupAwareOp, replicaVersions, replicaIndex, isSyncBackup);
             operationService.send(backup, target);
+            traceBackupSend(backup, target, isSyncBackup);
 
             if (isSyncBackup) {
                 sendSyncBackups++;
@@ -184,10 +187,19 @@ final class OperationBackupHandler {
                 .setServiceName(op.getServiceName())
                 .setCallerUuid(nodeEngine.getLocalMember().getUuid());
         setCallId(backup, op.getCallId());
+        setTraceId(backup, op.getTraceId());
 
         return backup;
     }
 
+    private void traceBackupSend(Backup backup, Address target, boolean isSyncBackup) {
+        long traceId = backup.getTraceId();
+        if (traceId != 0) {
+            operationService.tracer.record(traceId, TracePoint.BACKUP_SEND,
+                    "replicaIndex=" + backup.getReplicaIndex() + " target=" + target + " sync=" + isSyncBackup);
+        }
+    }
+
     private Operation newBackupOperation(BackupAwareOperation backupAwareOp, int replicaIndex) {
         Operation backupOp = backupAwareOp.getBackupOperation();
         if (backupOp == null) {
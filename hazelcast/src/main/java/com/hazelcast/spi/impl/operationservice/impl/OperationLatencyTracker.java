@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.management.dto.LatencyDTO;
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.LongProbe;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationexecutor.classic.OperationThread;
+import com.hazelcast.spi.impl.operationexecutor.classic.ResponseThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.OperationAccessor.setScheduleTimeNanos;
+
+/**
+ * Records latency histograms per operation class and per service for invocations.
+ * <p/>
+ * For every operation class the time between being scheduled on an operation thread and starting to run (queue time) and
+ * the time to run it including sending the response and backups (run time) are recorded separately. For invocations the
+ * end to end latency between invoking and completing the future is recorded per service.
+ * <p/>
+ * Every operation and response thread records into its own histograms, so no contended writes are done on the hot path.
+ * All other threads, e.g. user threads running generic operations on the calling thread, share a set of histograms. The
+ * histograms are merged when they are read.
+ * <p/>
+ * The latencies are exposed as metrics in the {@link MetricsRegistry}, e.g. {@code operation.latency[<class>].run.p99},
+ * and through {@link #getLatencyDTOs()} to the Management Center.
+ */
+final class OperationLatencyTracker {
+
+    static final String QUEUE = "queue";
+    static final String RUN = "run";
+    static final String INVOCATION = "invocation";
+    // used for invocations without a service name
+    static final String UNKNOWN_SERVICE = "unknown";
+
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+    private static final long MERGED_HISTOGRAM_TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final boolean enabled;
+    private final MetricsRegistry metricsRegistry;
+    private final ThreadLocal<Recorder> threadRecorder = new ThreadLocal<Recorder>();
+    private final Recorder sharedRecorder = new Recorder(false);
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<Recorder>();
+    private final ConcurrentMap<String, String> operationNames = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, String> serviceNames = new ConcurrentHashMap<String, String>();
+
+    OperationLatencyTracker(boolean enabled, MetricsRegistry metricsRegistry) {
+        this.enabled = enabled;
+        this.metricsRegistry = metricsRegistry;
+        recorders.add(sharedRecorder);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Called when an operation starts to run. Records the queue time if the operation was scheduled.
+     *
+     * @return the start time in nanos to pass to {@link #onRunEnd(Operation, long)}, or 0 if tracking is disabled.
+     */
+    long onRunStart(Operation op) {
+        if (!enabled) {
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        long scheduleTimeNanos = op.getScheduleTimeNanos();
+        if (scheduleTimeNanos != 0) {
+            setScheduleTimeNanos(op, 0);
+            recorder().getOperationLatency(op.getClass()).queue.record(startNanos - scheduleTimeNanos);
+        }
+        return startNanos;
+    }
+
+    void onRunEnd(Operation op, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        recorder().getOperationLatency(op.getClass()).run.record(System.nanoTime() - startNanos);
+    }
+
+    void onInvocationEnd(Invocation invocation) {
+        long startNanos = invocation.startNanos;
+        if (startNanos == 0) {
+            return;
+        }
+        String serviceName = invocation.serviceName == null ? UNKNOWN_SERVICE : invocation.serviceName;
+        recorder().getInvocationLatency(serviceName).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Merges the histograms of all threads for an operation class.
+     *
+     * @param className the class name of the operation
+     * @param type      {@link #QUEUE} or {@link #RUN}
+     * @return the merged histogram, empty if nothing has been recorded
+     */
+    LatencyHistogram getOperationLatency(String className, String type) {
+        LatencyHistogram result = new LatencyHistogram(false);
+        mergeOperationLatency(className, type, result);
+        return result;
+    }
+
+    LatencyHistogram getInvocationLatency(String serviceName) {
+        LatencyHistogram result = new LatencyHistogram(false);
+        mergeInvocationLatency(serviceName, result);
+        return result;
+    }
+
+    private void mergeOperationLatency(String className, String type, LatencyHistogram target) {
+        for (Recorder recorder : recorders) {
+            OperationLatency latency = recorder.operations.get(className);
+            if (latency != null) {
+                target.add(QUEUE.equals(type) ? latency.queue : latency.run);
+            }
+        }
+    }
+
+    private void mergeInvocationLatency(String serviceName, LatencyHistogram target) {
+        for (Recorder recorder : recorders) {
+            LatencyHistogram histogram = recorder.invocations.get(serviceName);
+            if (histogram != null) {
+                target.add(histogram);
+            }
+        }
+    }
+
+    List<LatencyDTO> getLatencyDTOs() {
+        List<LatencyDTO> latencies = new ArrayList<LatencyDTO>();
+        for (String className : operationNames.keySet()) {
+            latencies.add(toDTO("operation." + QUEUE, className, getOperationLatency(className, QUEUE)));
+            latencies.add(toDTO("operation." + RUN, className, getOperationLatency(className, RUN)));
+        }
+        for (String serviceName : serviceNames.keySet()) {
+            latencies.add(toDTO(INVOCATION, serviceName, getInvocationLatency(serviceName)));
+        }
+        return latencies;
+    }
+
+    private static LatencyDTO toDTO(String type, String name, LatencyHistogram histogram) {
+        return new LatencyDTO(type, name, histogram.getCount(), histogram.getMean(),
+                histogram.getValueAtPercentile(P50), histogram.getValueAtPercentile(P99),
+                histogram.getValueAtPercentile(P999), histogram.getMax());
+    }
+
+    private Recorder recorder() {
+        Thread thread = Thread.currentThread();
+        if (!(thread instanceof OperationThread || thread instanceof ResponseThread)) {
+            return sharedRecorder;
+        }
+        Recorder recorder = threadRecorder.get();
+        if (recorder == null) {
+            recorder = new Recorder(true);
+            threadRecorder.set(recorder);
+            recorders.add(recorder);
+        }
+        return recorder;
+    }
+
+    private void registerOperationMetrics(final String className) {
+        if (operationNames.putIfAbsent(className, className) != null) {
+            return;
+        }
+        registerMetrics("operation.latency[" + className + "]." + QUEUE, new HistogramSource() {
+            @Override
+            void merge(LatencyHistogram target) {
+                mergeOperationLatency(className, QUEUE, target);
+            }
+        });
+        registerMetrics("operation.latency[" + className + "]." + RUN, new HistogramSource() {
+            @Override
+            void merge(LatencyHistogram target) {
+                mergeOperationLatency(className, RUN, target);
+            }
+        });
+    }
+
+    private void registerInvocationMetrics(final String serviceName) {
+        if (serviceNames.putIfAbsent(serviceName, serviceName) != null) {
+            return;
+        }
+        registerMetrics("invocation.latency[" + serviceName + "]", new HistogramSource() {
+            @Override
+            void merge(LatencyHistogram target) {
+                mergeInvocationLatency(serviceName, target);
+            }
+        });
+    }
+
+    private void registerMetrics(String prefix, HistogramSource source) {
+        metricsRegistry.register(source, prefix + ".count", new LongProbe<HistogramSource>() {
+            @Override
+            public long get(HistogramSource source) {
+                return source.getCount();
+            }
+        });
+        metricsRegistry.register(source, prefix + ".mean", new LongProbe<HistogramSource>() {
+            @Override
+            public long get(HistogramSource source) {
+                return source.getMean();
+            }
+        });
+        registerPercentile(source, prefix + ".p50", P50);
+        registerPercentile(source, prefix + ".p99", P99);
+        registerPercentile(source, prefix + ".p999", P999);
+        metricsRegistry.register(source, prefix + ".max", new LongProbe<HistogramSource>() {
+            @Override
+            public long get(HistogramSource source) {
+                return source.getMax();
+            }
+        });
+    }
+
+    private void registerPercentile(HistogramSource source, String name, final double percentile) {
+        metricsRegistry.register(source, name, new LongProbe<HistogramSource>() {
+            @Override
+            public long get(HistogramSource source) {
+                return source.getValueAtPercentile(percentile);
+            }
+        });
+    }
+
+    /**
+     * Provides the merged histogram for a set of metrics.
+     * <p/>
+     * The metrics of a histogram are rendered one after the other, so the merged histogram is kept for a short while
+     * instead of merging the histograms of all threads for every single metric. The histograms are always merged into
+     * the same histogram, so reading the metrics creates no litter. The lock prevents a metric from being read while
+     * another thread merges.
+     */
+    private abstract static class HistogramSource {
+        private final LatencyHistogram merged = new LatencyHistogram(false);
+        private long mergeTimeNanos;
+        private boolean isMerged;
+
+        synchronized long getCount() {
+            return refresh().getCount();
+        }
+
+        synchronized long getMean() {
+            return refresh().getMean();
+        }
+
+        synchronized long getValueAtPercentile(double percentile) {
+            return refresh().getValueAtPercentile(percentile);
+        }
+
+        synchronized long getMax() {
+            return refresh().getMax();
+        }
+
+        private LatencyHistogram refresh() {
+            long now = System.nanoTime();
+            if (!isMerged || now - mergeTimeNanos > MERGED_HISTOGRAM_TTL_NANOS) {
+                merged.reset();
+                merge(merged);
+                mergeTimeNanos = now;
+                isMerged = true;
+            }
+            return merged;
+        }
+
+        abstract void merge(LatencyHistogram target);
+    }
+
+    private static final class OperationLatency {
+        final LatencyHistogram queue;
+        final LatencyHistogram run;
+
+        OperationLatency(boolean singleWriter) {
+            queue = new LatencyHistogram(singleWriter);
+            run = new LatencyHistogram(singleWriter);
+        }
+    }
+
+    /**
+     * The histograms of a single thread, or the shared histograms of all other threads.
+     */
+    private final class Recorder {
+        final boolean singleWriter;
+        final ConcurrentMap<String, OperationLatency> operations = new ConcurrentHashMap<String, OperationLatency>();
+        final ConcurrentMap<String, LatencyHistogram> invocations = new ConcurrentHashMap<String, LatencyHistogram>();
+        // the class name lookup is cached per thread to prevent a getName call for every operation
+        final Map<Class, OperationLatency> operationsByClass = new ConcurrentHashMap<Class, OperationLatency>();
+
+        Recorder(boolean singleWriter) {
+            this.singleWriter = singleWriter;
+        }
+
+        OperationLatency getOperationLatency(Class clazz) {
+            OperationLatency latency = operationsByClass.get(clazz);
+            if (latency != null) {
+                return latency;
+            }
+            String className = clazz.getName();
+            latency = new OperationLatency(singleWriter);
+            OperationLatency found = operations.putIfAbsent(className, latency);
+            if (found != null) {
+                latency = found;
+            }
+            operationsByClass.put(clazz, latency);
+            registerOperationMetrics(className);
+            return latency;
+        }
+
+        LatencyHistogram getInvocationLatency(String serviceName) {
+            LatencyHistogram histogram = invocations.get(serviceName);
+            if (histogram != null) {
+                return histogram;
+            }
+            histogram = new LatencyHistogram(singleWriter);
+            LatencyHistogram found = invocations.putIfAbsent(serviceName, histogram);
+            if (found != null) {
+                histogram = found;
+            }
+            registerInvocationMetrics(serviceName);
+            return histogram;
+        }
+    }
+}
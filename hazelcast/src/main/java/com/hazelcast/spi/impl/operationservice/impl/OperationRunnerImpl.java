@@ -20,6 +20,8 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
+import com.hazelcast.internal.tracing.TracePoint;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -50,6 +52,7 @@ import java.util.logging.Level;
 
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.OperationAccessor.setConnection;
+import static com.hazelcast.spi.OperationAccessor.setScheduleTimeNanos;
 import static com.hazelcast.spi.impl.ResponseHandlerFactory.setRemoteResponseHandler;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isMigrationOperation;
@@ -69,6 +72,8 @@ class OperationRunnerImpl extends OperationRunner {
     private final Node node;
     private final NodeEngineImpl nodeEngine;
     private final AtomicLong executedOperationsCount;
+    private final OperationLatencyTracker latencyTracker;
+    private final Tracer tracer;
 
     // This field doesn't need additional synchronization, since a partition-specific OperationRunner
     // will never be called concurrently.
@@ -86,6 +91,8 @@ class OperationRunnerImpl extends OperationRunner {
         this.node = operationService.node;
         this.nodeEngine = operationService.nodeEngine;
         this.executedOperationsCount = operationService.executedOperationsCount;
+        this.latencyTracker = operationService.latencyTracker;
+        this.tracer = operationService.tracer;
     }
 
     @Override
@@ -119,6 +126,8 @@ class OperationRunnerImpl extends OperationRunner {
             currentTask = op;
         }
 
+        long previousTraceId = traceRunStart(op);
+        long startNanos = latencyTracker.onRunStart(op);
         try {
             if (timeout(op)) {
                 return;
@@ -140,12 +149,46 @@ class OperationRunnerImpl extends OperationRunner {
         } catch (Throwable e) {
             handleOperationError(op, e);
         } finally {
+            latencyTracker.onRunEnd(op, startNanos);
+            traceRunEnd(op, previousTraceId);
             if (publishCurrentTask) {
                 currentTask = null;
             }
         }
     }
 
+    /**
+     * Records the points of a traced operation up to starting to run, and makes its trace the current one so that
+     * invocations done by the operation are part of it. A not traced operation is entered as well, so that its
+     * invocations don't start new traces.
+     */
+    private long traceRunStart(Operation op) {
+        if (!tracer.isEnabled()) {
+            return 0;
+        }
+
+        long traceId = op.getTraceId();
+        if (traceId != 0) {
+            String operationClass = op.getClass().getName();
+            long scheduleTimeNanos = op.getScheduleTimeNanos();
+            if (scheduleTimeNanos != 0) {
+                TracePoint point = op.getConnection() == null ? TracePoint.ENQUEUE : TracePoint.RECEIVE;
+                tracer.record(traceId, point, scheduleTimeNanos, operationClass);
+            }
+            tracer.record(traceId, TracePoint.RUN_START, operationClass);
+        }
+        return tracer.enter(traceId);
+    }
+
+    private void traceRunEnd(Operation op, long previousTraceId) {
+        if (!tracer.isEnabled()) {
+            return;
+        }
+
+        tracer.record(op.getTraceId(), TracePoint.RUN_END, null);
+        tracer.exit(previousTraceId);
+    }
+
     private void ensureQuorumPresent(Operation op) {
         QuorumServiceImpl quorumService = operationService.nodeEngine.getQuorumService();
         quorumService.ensureQuorumPresent(op);
@@ -202,6 +245,7 @@ class OperationRunnerImpl extends OperationRunner {
             throw new IllegalStateException("ResponseHandler should not be null! " + op);
         }
         responseHandler.sendResponse(response);
+        tracer.record(op.getTraceId(), TracePoint.RESPONSE_SEND, null);
     }
 
     private void afterRun(Operation op) {
@@ -298,6 +342,7 @@ class OperationRunnerImpl extends OperationRunner {
             setConnection(op, connection);
             setCallerUuidIfNotSet(caller, op);
             setRemoteResponseHandler(nodeEngine, op);
+            setScheduleTimeNanos(op, packet.getScheduleTimeNanos());
 
             if (!ensureValidMember(op)) {
                 return;
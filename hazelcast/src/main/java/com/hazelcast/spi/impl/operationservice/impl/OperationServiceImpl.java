@@ -20,7 +20,9 @@ import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.management.dto.LatencyDTO;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -99,6 +101,8 @@ public final class OperationServiceImpl implements InternalOperationService {
     final OperationBackupHandler operationBackupHandler;
     final BackpressureRegulator backpressureRegulator;
     final long defaultCallTimeoutMillis;
+    final OperationLatencyTracker latencyTracker;
+    final Tracer tracer;
 
     private final SlowOperationDetector slowOperationDetector;
     private final IsStillRunningService isStillRunningService;
@@ -118,7 +122,11 @@ public final class OperationServiceImpl implements InternalOperationService {
         int concurrencyLevel = reallyMultiCore ? coreSize * CORE_SIZE_FACTOR : CONCURRENCY_LEVEL;
 
         this.invocationsRegistry = new InvocationRegistry(this, concurrencyLevel);
+        nodeEngine.getMetricsRegistry().scanAndRegister(invocationsRegistry, "operation.invocations");
         this.operationBackupHandler = new OperationBackupHandler(this);
+        this.latencyTracker = new OperationLatencyTracker(
+                groupProperties.OPERATION_LATENCY_TRACKING_ENABLED.getBoolean(), nodeEngine.getMetricsRegistry());
+        this.tracer = nodeEngine.getTracer();
 
         this.operationExecutor = new ClassicOperationExecutor(
                 groupProperties,
@@ -127,7 +135,8 @@ public final class OperationServiceImpl implements InternalOperationService {
                 new OperationRunnerFactoryImpl(this),
                 new ResponsePacketHandlerImpl(this),
                 node.getHazelcastThreadGroup(),
-                node.getNodeExtension()
+                node.getNodeExtension(),
+                nodeEngine.getMetricsRegistry()
         );
 
         this.isStillRunningService = new IsStillRunningService(operationExecutor, nodeEngine, logger);
@@ -154,12 +163,11 @@ public final class OperationServiceImpl implements InternalOperationService {
     @Override
     public void dumpPerformanceMetrics(StringBuffer sb) {
         sb.append("invocationsPending=")
-                .append(invocationsRegistry.getInvocationUsagePercentage()).append('\n');
+                .append(invocationsRegistry.size()).append('\n');
         sb.append("invocationsUsed=")
                 .append(format("%.2f", invocationsRegistry.getInvocationUsagePercentage())).append("%\n");
         sb.append("invocationsMax=")
                 .append(backpressureRegulator.getMaxConcurrentInvocations()).append('\n');
-        operationExecutor.dumpPerformanceMetrics(sb);
     }
 
     @Override
@@ -167,6 +175,11 @@ public final class OperationServiceImpl implements InternalOperationService {
         return slowOperationDetector.getSlowOperationDTOs();
     }
 
+    @Override
+    public List<LatencyDTO> getLatencyDTOs() {
+        return latencyTracker.getLatencyDTOs();
+    }
+
     public InvocationRegistry getInvocationsRegistry() {
         return invocationsRegistry;
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+/**
+ * Tunes the number of messages a {@link ReliableMessageListenerRunner} reads from the ringbuffer in a single batch, based
+ * on the number of messages the previous reads returned.
+ *
+ * If a read returns a full batch, more messages were available than requested. So the listener is behind the publishers
+ * and a larger batch reduces the number of remote calls per message. If a read returns less than a quarter of the batch,
+ * the listener keeps up with the publishers and the batch shrinks back towards the configured read batch size, so no
+ * memory is wasted on result sets that are never filled.
+ *
+ * This class is not thread-safe.
+ */
+class ReadBatchSizeTuner {
+
+    /**
+     * The maximum number of items the ringbuffer returns in a single read.
+     */
+    static final int MAX_READ_BATCH_SIZE = 1000;
+
+    private static final int SHRINK_RATIO = 4;
+
+    private final boolean enabled;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private int batchSize;
+
+    ReadBatchSizeTuner(int minBatchSize, boolean enabled) {
+        this.enabled = enabled;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = Math.max(minBatchSize, MAX_READ_BATCH_SIZE);
+        this.batchSize = minBatchSize;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    void onBatchRead(int readCount) {
+        if (!enabled) {
+            return;
+        }
+
+        if (readCount >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+        } else if (readCount < batchSize / SHRINK_RATIO) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        }
+    }
+}
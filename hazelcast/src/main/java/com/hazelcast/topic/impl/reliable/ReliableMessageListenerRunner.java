@@ -17,6 +17,7 @@
 package com.hazelcast.topic.impl.reliable;
 
 import com.hazelcast.cluster.ClusterService;
+import com.hazelcast.config.ReliableTopicConfig;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.ICompletableFuture;
@@ -31,12 +32,22 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 /**
  * An {@link com.hazelcast.core.ExecutionCallback} that will try to read an item from the ringbuffer or blocks
  * if no item is available. All data read is pushed into the {@link com.hazelcast.core.MessageListener}. It is
  * a self perpetuating stream of async calls.
  *
+ * Reading and delivering are decoupled: up to {@link com.hazelcast.config.ReliableTopicConfig#getReadPrefetchCount()}
+ * batches are read ahead while a batch is being delivered. Only a single read is outstanding at any moment, because the
+ * sequence of the next read depends on the number of items returned by the previous one. The received batches are
+ * delivered by a single thread at a time, or split up over multiple threads if a message delivery parallelism is
+ * configured.
+ *
  * The ReliableTopicRunner keeps track of the sequence.
  */
 class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
@@ -49,10 +60,17 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     private final ILogger logger;
     private final String id;
     private final ReliableTopicProxy<E> proxy;
+    private final int prefetchCount;
+    private final int deliveryParallelism;
+
+    // the fields below are guarded by 'this'
+    private final Queue<Batch> batches = new LinkedList<Batch>();
+    private final ReadBatchSizeTuner batchSizeTuner;
+    private long readSequence;
+    private boolean reading;
+    private boolean delivering;
 
-    private long sequence;
     private volatile boolean cancelled;
-    private final int batchSze;
 
     public ReliableMessageListenerRunner(String id,
                                          ReliableMessageListener<E> listener,
@@ -66,39 +84,118 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         this.serializationService = nodeEngine.getSerializationService();
         this.clusterService = nodeEngine.getClusterService();
         this.logger = nodeEngine.getLogger(ReliableMessageListenerRunner.class);
-        this.batchSze = proxy.topicConfig.getReadBatchSize();
+        ReliableTopicConfig topicConfig = proxy.topicConfig;
+        this.prefetchCount = topicConfig.getReadPrefetchCount();
+        this.deliveryParallelism = topicConfig.getMessageDeliveryParallelism();
+        this.batchSizeTuner = new ReadBatchSizeTuner(topicConfig.getReadBatchSize(),
+                topicConfig.isReadBatchAutoTuningEnabled());
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
         if (initialSequence == -1) {
             initialSequence = ringbuffer.tailSequence() + 1;
         }
-        this.sequence = initialSequence;
+        this.readSequence = initialSequence;
     }
 
     void next() {
-        if (cancelled) {
-            return;
+        long sequence;
+        int batchSize;
+        synchronized (this) {
+            int bufferedBatches = batches.size() + (delivering ? 1 : 0);
+            if (cancelled || reading || bufferedBatches > prefetchCount) {
+                return;
+            }
+            reading = true;
+            sequence = readSequence;
+            batchSize = batchSizeTuner.getBatchSize();
         }
 
-        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSze, null);
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSize, null);
         f.andThen(this, proxy.executor);
     }
 
     // This method is called from the provided executor.
     @Override
     public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
-        // we process all messages in batch. So we don't release the thread and reschedule ourselves;
-        // but we'll process whatever was received in 1 go.
-        for (Object item : result) {
-            ReliableTopicMessage message = (ReliableTopicMessage) item;
+        boolean deliver;
+        synchronized (this) {
+            reading = false;
+            batches.add(new Batch(readSequence, result));
+            readSequence += result.readCount();
+            batchSizeTuner.onBatchRead(result.readCount());
+            deliver = !delivering;
+            delivering = true;
+        }
+
+        // read ahead while the batch is delivered
+        next();
+
+        if (deliver) {
+            deliverBatches();
+        }
+    }
+
+    private void deliverBatches() {
+        for (;;) {
+            Batch batch;
+            synchronized (this) {
+                batch = cancelled ? null : batches.poll();
+                if (batch == null) {
+                    delivering = false;
+                }
+            }
+            next();
+
+            if (batch == null) {
+                return;
+            }
+
+            if (deliveryParallelism > 1 && batch.size() > 1) {
+                // the delivery of the remaining batches is continued by the thread completing the batch
+                deliverInParallel(batch);
+                return;
+            }
 
+            // we process all messages in batch. So we don't release the thread and reschedule ourselves;
+            // but we'll process whatever was received in 1 go.
+            deliver(batch, 0, batch.size(), true);
+        }
+    }
+
+    private void deliverInParallel(final Batch batch) {
+        listener.storeSequence(batch.startSequence);
+
+        int size = batch.size();
+        int partSize = (size + deliveryParallelism - 1) / deliveryParallelism;
+        int parts = (size + partSize - 1) / partSize;
+        final AtomicInteger remainingParts = new AtomicInteger(parts);
+        for (int from = 0; from < size; from += partSize) {
+            final int partFrom = from;
+            final int partTo = Math.min(size, from + partSize);
+            proxy.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(batch, partFrom, partTo, false);
+                    if (remainingParts.decrementAndGet() == 0) {
+                        deliverBatches();
+                    }
+                }
+            });
+        }
+    }
+
+    private void deliver(Batch batch, int from, int to, boolean storeSequence) {
+        for (int k = from; k < to; k++) {
             if (cancelled) {
                 return;
             }
 
+            ReliableTopicMessage message = batch.result.get(k);
             try {
-                listener.storeSequence(sequence);
+                if (storeSequence) {
+                    listener.storeSequence(batch.startSequence + k);
+                }
                 process(message);
             } catch (Throwable t) {
                 if (terminate(t)) {
@@ -106,11 +203,7 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
                     return;
                 }
             }
-
-            sequence++;
         }
-
-        next();
     }
 
     private void process(ReliableTopicMessage message) throws Throwable {
@@ -135,19 +228,22 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             StaleSequenceException staleSequenceException = (StaleSequenceException) t;
 
             if (listener.isLossTolerant()) {
-                if (logger.isFinestEnabled()) {
-                    logger.finest("MessageListener " + listener + " on topic: " + topicName + " ran into a stale sequence. "
-                            + "Jumping from oldSequence: " + sequence
-                            + " to sequence: " + staleSequenceException.getHeadSeq());
+                synchronized (this) {
+                    if (logger.isFinestEnabled()) {
+                        logger.finest("MessageListener " + listener + " on topic: " + topicName + " ran into a stale sequence. "
+                                + "Jumping from oldSequence: " + readSequence
+                                + " to sequence: " + staleSequenceException.getHeadSeq());
+                    }
+                    readSequence = staleSequenceException.getHeadSeq();
+                    reading = false;
                 }
-                sequence = staleSequenceException.getHeadSeq();
                 next();
                 return;
             }
 
             logger.warning("Terminating MessageListener:" + listener + " on topic: " + topicName + ". "
                     + "Reason: The listener was too slow or the retention period of the message has been violated. "
-                    + "head: " + staleSequenceException.getHeadSeq() + " sequence:" + sequence);
+                    + "head: " + staleSequenceException.getHeadSeq() + " sequence:" + getReadSequence());
         } else if (t instanceof HazelcastInstanceNotActiveException) {
             if (logger.isFinestEnabled()) {
                 logger.finest("Terminating MessageListener " + listener + " on topic: " + topicName + ". "
@@ -171,6 +267,10 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         proxy.runnersMap.remove(id);
     }
 
+    private synchronized long getReadSequence() {
+        return readSequence;
+    }
+
     private boolean terminate(Throwable failure) {
         if (cancelled) {
             return true;
@@ -194,4 +294,21 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             return true;
         }
     }
+
+    /**
+     * A batch of messages read from the ringbuffer together with the sequence of the first message.
+     */
+    private static final class Batch {
+        private final long startSequence;
+        private final ReadResultSet<ReliableTopicMessage> result;
+
+        private Batch(long startSequence, ReadResultSet<ReliableTopicMessage> result) {
+            this.startSequence = startSequence;
+            this.result = result;
+        }
+
+        private int size() {
+            return result.readCount();
+        }
+    }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Open addressing hash map with primitive long keys.
+ * <p/>
+ * Keys are kept in a {@code long[]} and values in a parallel {@code Object[]} using linear probing, so no
+ * entry objects and no boxed {@link Long} keys are created per mapping. Null values are not supported.
+ * <p/>
+ * This class is not thread-safe.
+ *
+ * @param <V> the type of the mapped values
+ */
+public class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongObjectHashMap(int initialCapacity) {
+        allocate(QuickMath.nextPowerOfTwo(Math.max(DEFAULT_INITIAL_CAPACITY, (int) (initialCapacity / LOAD_FACTOR) + 1)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = hash(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @return the previous value, or null if there was no mapping for the key
+     * @throws NullPointerException if value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Preconditions.checkNotNull(value, "value can't be null");
+        int index = hash(key);
+        Object old;
+        while ((old = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    public void putAll(Map<Long, ? extends V> map) {
+        for (Map.Entry<Long, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = hash(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = null;
+                size--;
+                compactChain(index);
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns a read-only view of the values. The view must not be used while the map is modified.
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Re-inserts the entries following a removed slot so that no lookup chain is broken (backward shift deletion).
+     */
+    private void compactChain(int deletedIndex) {
+        int hole = deletedIndex;
+        int index = (deletedIndex + 1) & mask;
+        while (values[index] != null) {
+            if (!isBetween(hole, hash(keys[index]), index)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                values[index] = null;
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Checks if home lies in the cyclic range (from, to].
+     */
+    private static boolean isBetween(int from, int home, int to) {
+        if (from <= to) {
+            return from < home && home <= to;
+        }
+        return from < home || home <= to;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                int index = hash(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int hash(long key) {
+        return (int) HashUtil.MurmurHash3_fmix(key) & mask;
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+
+        private int index = -1;
+        private int remaining = size;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            do {
+                index++;
+            } while (values[index] == null);
+            remaining--;
+            return (V) values[index];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.logging.ILogger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * An {@link OutputStream} that writes to a sequence of files named {@code <baseName>-<index><suffix>} in a directory.
+ * <p/>
+ * The {@link #rollIfNeeded()} method starts a new file when no file is open or when the current file has reached the
+ * maximum size. It should be called between records, so that a record never spans two files. Before a new file is
+ * opened, the oldest file is deleted if the new file would exceed the maximum number of files.
+ * <p/>
+ * After {@link #close()} or a failed write, the next write opens a new file.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public final class RollingFileOutputStream extends OutputStream {
+
+    private final ILogger logger;
+    private final File directory;
+    private final String baseName;
+    private final String suffix;
+    private final long maxFileSize;
+    private final int maxFileCount;
+
+    private OutputStream out;
+    private long fileSize;
+    private int fileIndex;
+
+    /**
+     * Creates a RollingFileOutputStream. No file is opened until the first write.
+     *
+     * @param logger       the logger used to report opened and deleted files.
+     * @param directory    the directory of the files; it is created when it doesn't exist.
+     * @param baseName     the name of the files without index and suffix.
+     * @param suffix       the suffix of the files, e.g. {@code .log}.
+     * @param maxFileSize  the size in bytes from which on a new file is started; 0 starts a new file for every record.
+     * @param maxFileCount the maximum number of files, including the current file.
+     * @throws IllegalArgumentException if maxFileSize is negative or maxFileCount isn't positive.
+     */
+    public RollingFileOutputStream(ILogger logger, File directory, String baseName, String suffix,
+                                   long maxFileSize, int maxFileCount) {
+        this.logger = checkNotNull(logger, "logger can't be null");
+        this.directory = checkNotNull(directory, "directory can't be null");
+        this.baseName = checkNotNull(baseName, "baseName can't be null");
+        this.suffix = checkNotNull(suffix, "suffix can't be null");
+        this.maxFileSize = checkNotNegative(maxFileSize, "maxFileSize can't be negative");
+        this.maxFileCount = checkPositive(maxFileCount, "maxFileCount must be at least 1");
+    }
+
+    /**
+     * Starts a new file if no file is open or if the current file has reached the maximum size.
+     *
+     * @throws IOException if the new file can't be opened.
+     */
+    public void rollIfNeeded() throws IOException {
+        if (out == null || fileSize >= maxFileSize) {
+            roll();
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (out == null) {
+            roll();
+        }
+        out.write(b);
+        fileSize++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null) {
+            roll();
+        }
+        out.write(b, off, len);
+        fileSize += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Closes the current file. The next write opens a new file.
+     */
+    @Override
+    public void close() {
+        closeResource(out);
+        out = null;
+    }
+
+    private void roll() throws IOException {
+        close();
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+
+        fileIndex++;
+        // the new file counts as well, so the oldest file is deleted before it's opened
+        int oldestIndex = fileIndex - maxFileCount;
+        if (oldestIndex > 0) {
+            File oldest = getFile(oldestIndex);
+            if (oldest.exists() && !oldest.delete()) {
+                logger.warning("Failed to delete " + oldest);
+            }
+        }
+
+        File file = getFile(fileIndex);
+        out = new FileOutputStream(file);
+        fileSize = 0;
+        logger.info("Writing to " + file);
+    }
+
+    private File getFile(int index) {
+        return new File(directory, baseName + "-" + index + suffix);
+    }
+}
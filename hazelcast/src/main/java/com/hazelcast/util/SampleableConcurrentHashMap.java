@@ -57,6 +57,22 @@ public class SampleableConcurrentHashMap<K, V> extends ConcurrentReferenceHashMa
         super(initialCapacity, loadFactor, concurrencyLevel, keyType, valueType, options);
     }
 
+    /**
+     * Gets the entry count by summing up the segment counts without locking segments
+     * and without retrying on concurrent modifications.
+     * So the cost does not depend on the entry count but the result is only an estimate
+     * while the map is being modified concurrently.
+     *
+     * @return the estimated entry count
+     */
+    public int estimatedSize() {
+        long sum = 0;
+        for (Segment<K, V> segment : segments) {
+            sum += segment.count;
+        }
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
     /**
      * Fetches keys from given <code>tableIndex</code> as <code>size</code>
      * and puts them into <code>keys</code> list.
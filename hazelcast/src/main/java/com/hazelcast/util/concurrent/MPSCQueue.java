@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.util.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+
+/**
+ * An unbounded multi producer single consumer queue that stores its items in linked array chunks.
+ *
+ * Producers claim a slot in the tail chunk using a single getAndIncrement and publish the item using a lazySet; so
+ * contrary to the {@link java.util.concurrent.ConcurrentLinkedQueue} there is no node allocation for every offer. Only
+ * when a chunk is full, a new chunk is allocated and linked.
+ *
+ * The consumer side is wait-free and doesn't touch any state that is written by the producers, apart from the item
+ * slots. Items can be drained in batches using {@link #drainTo(Collection, int)}, in which case the read position is
+ * published only once per batch.
+ *
+ * Because a producer first claims a slot and then publishes the item, the consumer can see an empty slot for an item
+ * that is being offered. In that case {@link #poll()} returns null, but {@link #isEmpty()} returns false. So a consumer
+ * that relies on isEmpty to decide if it needs to continue processing, will always see the item eventually.
+ *
+ * @param <E> the type of the items in the queue.
+ */
+public final class MPSCQueue<E> {
+
+    /**
+     * The default number of items in a chunk.
+     */
+    public static final int DEFAULT_CHUNK_CAPACITY = 256;
+
+    private static final AtomicIntegerFieldUpdater<MPSCQueue> HEAD_INDEX = newUpdater(MPSCQueue.class, "headIndex");
+
+    private static final AtomicReferenceFieldUpdater<MPSCQueue, Chunk> TAIL
+            = AtomicReferenceFieldUpdater.newUpdater(MPSCQueue.class, Chunk.class, "tail");
+
+    private final int chunkCapacity;
+
+    private volatile Chunk<E> tail;
+
+    // only written by the consumer thread.
+    private volatile Chunk<E> head;
+
+    // only written by the consumer thread. It is the index of the next item to consume in the head chunk.
+    private volatile int headIndex;
+
+    public MPSCQueue() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public MPSCQueue(int chunkCapacity) {
+        this.chunkCapacity = checkPositive(chunkCapacity, "chunkCapacity should be positive");
+        Chunk<E> chunk = new Chunk<E>(chunkCapacity);
+        this.head = chunk;
+        this.tail = chunk;
+    }
+
+    /**
+     * Offers an item to the queue. Since the queue is unbounded, the offer always succeeds.
+     *
+     * Can be called by any thread.
+     *
+     * @param item the item to offer.
+     * @throws NullPointerException if item is null.
+     */
+    public void offer(E item) {
+        checkNotNull(item, "item can't be null");
+
+        for (;;) {
+            Chunk<E> chunk = tail;
+            int index = Chunk.CLAIMED.getAndIncrement(chunk);
+            if (index < chunkCapacity) {
+                chunk.items.lazySet(index, item);
+                return;
+            }
+
+            // the chunk is full, so lets try to link a new chunk that already contains our item.
+            Chunk<E> next = chunk.next;
+            if (next == null) {
+                Chunk<E> newChunk = new Chunk<E>(chunkCapacity, item);
+                if (Chunk.NEXT.compareAndSet(chunk, null, newChunk)) {
+                    TAIL.compareAndSet(this, chunk, newChunk);
+                    return;
+                }
+                next = chunk.next;
+            }
+            // another producer linked the next chunk; help to move the tail and try again.
+            TAIL.compareAndSet(this, chunk, next);
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of the queue.
+     *
+     * Should only be called by the consumer thread.
+     *
+     * @return the head of the queue or null if no item is available.
+     */
+    public E poll() {
+        Chunk<E> chunk = head;
+        int index = headIndex;
+        if (index == chunkCapacity) {
+            chunk = nextChunk(chunk);
+            if (chunk == null) {
+                return null;
+            }
+            index = 0;
+        }
+
+        E item = chunk.items.get(index);
+        if (item == null) {
+            return null;
+        }
+        chunk.items.lazySet(index, null);
+        HEAD_INDEX.lazySet(this, index + 1);
+        return item;
+    }
+
+    /**
+     * Removes at most limit items from this queue and adds them to the given collection. The read position is published
+     * once per batch instead of once for every item.
+     *
+     * Should only be called by the consumer thread.
+     *
+     * @param sink  the collection to add the items to.
+     * @param limit the maximum number of items to drain.
+     * @return the number of items drained.
+     */
+    public int drainTo(Collection<? super E> sink, int limit) {
+        Chunk<E> chunk = head;
+        int index = headIndex;
+        int drained = 0;
+        while (drained < limit) {
+            if (index == chunkCapacity) {
+                HEAD_INDEX.lazySet(this, index);
+                chunk = nextChunk(chunk);
+                if (chunk == null) {
+                    return drained;
+                }
+                index = 0;
+            }
+
+            E item = chunk.items.get(index);
+            if (item == null) {
+                break;
+            }
+            chunk.items.lazySet(index, null);
+            sink.add(item);
+            index++;
+            drained++;
+        }
+        HEAD_INDEX.lazySet(this, index);
+        return drained;
+    }
+
+    private Chunk<E> nextChunk(Chunk<E> chunk) {
+        Chunk<E> next = chunk.next;
+        if (next == null) {
+            return null;
+        }
+        HEAD_INDEX.lazySet(this, 0);
+        head = next;
+        return next;
+    }
+
+    /**
+     * Checks if the queue is empty. An item that is being offered, but not yet published, is seen as a non empty queue.
+     *
+     * Can be called by any thread, but the result is only exact when called by the consumer thread.
+     *
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        Chunk<E> chunk = head;
+        int index = headIndex;
+        if (index < chunkCapacity) {
+            return chunk.claimed <= index;
+        }
+        return chunk.next == null;
+    }
+
+    /**
+     * Returns the number of items in the queue. The size is calculated by traversing the chunks, so it should not be
+     * called on a hot path.
+     *
+     * Can be called by any thread; when called by another thread than the consumer, the result is an approximation.
+     *
+     * @return the number of items in the queue.
+     */
+    public int size() {
+        Chunk<E> chunk = head;
+        long size = -headIndex;
+        for (; chunk != null; chunk = chunk.next) {
+            size += Math.min(chunk.claimed, chunkCapacity);
+        }
+        return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Removes all published items from the queue.
+     *
+     * Should only be called by the consumer thread.
+     */
+    public void clear() {
+        E item;
+        do {
+            item = poll();
+        } while (item != null);
+    }
+
+    private static final class Chunk<E> {
+
+        static final AtomicIntegerFieldUpdater<Chunk> CLAIMED = newUpdater(Chunk.class, "claimed");
+        static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT
+                = AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Chunk.class, "next");
+
+        final AtomicReferenceArray<E> items;
+        volatile int claimed;
+        volatile Chunk<E> next;
+
+        Chunk(int capacity) {
+            this.items = new AtomicReferenceArray<E>(capacity);
+        }
+
+        Chunk(int capacity, E firstItem) {
+            this(capacity);
+            this.claimed = 1;
+            items.lazySet(0, firstItem);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class QueueItemRingTest {
+
+    private final QueueItemRing ring = new QueueItemRing();
+
+    @Test
+    public void testOfferAndPoll_whenWrappingAround() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                ring.offer(item(round * 10 + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(round * 10 + i, ring.poll().getItemId());
+            }
+        }
+        assertNull(ring.poll());
+        assertEquals(QueueItemRing.MIN_CAPACITY, ring.capacity());
+    }
+
+    @Test
+    public void testOfferFirst() {
+        ring.offer(item(1));
+        ring.offerFirst(item(0));
+
+        assertEquals(0, ring.peek().getItemId());
+        assertEquals(1, ring.peekLast().getItemId());
+        assertEquals(2, ring.size());
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        for (int i = 0; i < 1000; i++) {
+            ring.offer(item(i));
+        }
+        assertEquals(1024, ring.capacity());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, ring.poll().getItemId());
+        }
+        assertEquals(QueueItemRing.MIN_CAPACITY, ring.capacity());
+    }
+
+    @Test
+    public void testAddAllAndBulkPoll() {
+        ring.offer(item(0));
+        List<QueueItem> items = new ArrayList<QueueItem>();
+        for (int i = 1; i < 100; i++) {
+            items.add(item(i));
+        }
+        ring.addAll(items);
+
+        QueueItem[] drained = new QueueItem[60];
+        assertEquals(60, ring.poll(drained));
+        for (int i = 0; i < 60; i++) {
+            assertEquals(i, drained[i].getItemId());
+        }
+        assertEquals(40, ring.size());
+        assertEquals(60, ring.peek().getItemId());
+
+        assertEquals(40, ring.poll(new QueueItem[100]));
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    public void testRemoveAll() {
+        for (int i = 0; i < 10; i++) {
+            ring.offer(item(i));
+        }
+
+        List<QueueItem> removed = ring.removeAll(new HashSet<Long>(Arrays.asList(1L, 4L, 9L)));
+
+        assertEquals(3, removed.size());
+        assertEquals(1, removed.get(0).getItemId());
+        assertEquals(9, removed.get(2).getItemId());
+        assertItemIds(0, 2, 3, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (int i = 0; i < 5; i++) {
+            ring.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = ring.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getItemId() % 2 == 1) {
+                iterator.remove();
+            }
+        }
+
+        assertItemIds(0, 2, 4);
+    }
+
+    private void assertItemIds(long... itemIds) {
+        assertEquals(itemIds.length, ring.size());
+        int i = 0;
+        for (QueueItem item : ring) {
+            assertEquals(itemIds[i++], item.getItemId());
+        }
+    }
+
+    private static QueueItem item(long itemId) {
+        return new QueueItem(null, itemId, null);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class QueuePollBatchTest extends HazelcastTestSupport {
+
+    @Test
+    public void testPollBatch_returnsAtMostMaxSizeItemsInOrder() throws Exception {
+        IQueue<String> queue = createHazelcastInstance().getQueue(randomString());
+        for (int i = 0; i < 10; i++) {
+            queue.offer("item" + i);
+        }
+
+        Collection<String> batch = queue.pollBatch(4, 0, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("item0", "item1", "item2", "item3"), new ArrayList<String>(batch));
+        assertEquals(6, queue.size());
+        assertEquals("item4", queue.peek());
+    }
+
+    @Test
+    public void testPollBatch_whenFewerItemsThanMaxSize() throws Exception {
+        IQueue<String> queue = createHazelcastInstance().getQueue(randomString());
+        queue.offer("item0");
+        queue.offer("item1");
+
+        Collection<String> batch = queue.pollBatch(100, 0, TimeUnit.SECONDS);
+
+        assertEquals(2, batch.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPollBatch_whenTimeout_thenEmpty() throws Exception {
+        IQueue<String> queue = createHazelcastInstance().getQueue(randomString());
+
+        Collection<String> batch = queue.pollBatch(10, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void testPollBatch_blocksUntilItemAvailable() throws Exception {
+        final IQueue<String> queue = createHazelcastInstance().getQueue(randomString());
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                sleepSeconds(1);
+                queue.addAll(Arrays.asList("item0", "item1", "item2"));
+            }
+        });
+
+        Collection<String> batch = queue.pollBatch(10, -1, TimeUnit.SECONDS);
+
+        assertTrue(batch.contains("item0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPollBatch_whenMaxSizeNotPositive() throws Exception {
+        IQueue<String> queue = createHazelcastInstance().getQueue(randomString());
+        queue.pollBatch(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPollBatch_removesItemsFromBackup() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance[] instances = factory.newInstances();
+        String name = randomString();
+        IQueue<String> queue = instances[0].getQueue(name);
+        for (int i = 0; i < 10; i++) {
+            queue.offer("item" + i);
+        }
+
+        queue.pollBatch(7, 0, TimeUnit.SECONDS);
+        HazelcastInstance owner = getOwner(instances, name);
+        HazelcastInstance backup = owner == instances[0] ? instances[1] : instances[0];
+        owner.getLifecycleService().terminate();
+
+        IQueue<String> backupQueue = backup.getQueue(name);
+        assertEquals(3, backupQueue.size());
+        List<String> remaining = new ArrayList<String>();
+        backupQueue.drainTo(remaining);
+        assertEquals(Arrays.asList("item7", "item8", "item9"), remaining);
+    }
+
+    private static HazelcastInstance getOwner(HazelcastInstance[] instances, String name) {
+        int partitionId = instances[0].getPartitionService().getPartition(name).getPartitionId();
+        for (HazelcastInstance instance : instances) {
+            if (getNode(instance).getPartitionService().getPartition(partitionId).isLocal()) {
+                return instance;
+            }
+        }
+        throw new AssertionError("No owner found for " + name);
+    }
+}
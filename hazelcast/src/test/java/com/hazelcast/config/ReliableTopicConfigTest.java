@@ -31,6 +31,9 @@ public class ReliableTopicConfigTest {
         assertEquals("foo", config.getName());
         assertEquals(DEFAULT_TOPIC_OVERLOAD_POLICY, config.getTopicOverloadPolicy());
         assertEquals(DEFAULT_STATISTICS_ENABLED, config.isStatisticsEnabled());
+        assertEquals(DEFAULT_READ_PREFETCH_COUNT, config.getReadPrefetchCount());
+        assertEquals(DEFAULT_READ_BATCH_AUTO_TUNING_ENABLED, config.isReadBatchAutoTuningEnabled());
+        assertEquals(DEFAULT_MESSAGE_DELIVERY_PARALLELISM, config.getMessageDeliveryParallelism());
     }
 
     @Test
@@ -99,6 +102,38 @@ public class ReliableTopicConfigTest {
         config.setReadBatchSize(-1);
     }
 
+    // ==================== setReadPrefetchCount =============================
+
+    @Test
+    public void setReadPrefetchCount() {
+        ReliableTopicConfig config = new ReliableTopicConfig("foo");
+        config.setReadPrefetchCount(2);
+
+        assertEquals(2, config.getReadPrefetchCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setReadPrefetchCount_whenNegative() {
+        ReliableTopicConfig config = new ReliableTopicConfig("foo");
+        config.setReadPrefetchCount(-1);
+    }
+
+    // ==================== setMessageDeliveryParallelism =============================
+
+    @Test
+    public void setMessageDeliveryParallelism() {
+        ReliableTopicConfig config = new ReliableTopicConfig("foo");
+        config.setMessageDeliveryParallelism(4);
+
+        assertEquals(4, config.getMessageDeliveryParallelism());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMessageDeliveryParallelism_whenZero() {
+        ReliableTopicConfig config = new ReliableTopicConfig("foo");
+        config.setMessageDeliveryParallelism(0);
+    }
+
     // ==================== setStatisticsEnabled =============================\
 
     @Test
@@ -202,7 +237,8 @@ public class ReliableTopicConfigTest {
         String s = config.toString();
 
         assertEquals("ReliableTopicConfig{name='foo', topicOverloadPolicy=BLOCK, executor=null, " +
-                "readBatchSize=10, statisticsEnabled=true, listenerConfigs=[]}", s);
+                "readBatchSize=10, readPrefetchCount=0, readBatchAutoTuningEnabled=false, messageDeliveryParallelism=1, " +
+                "statisticsEnabled=true, listenerConfigs=[]}", s);
     }
 
 }
@@ -13,6 +13,7 @@ import static com.hazelcast.partition.InternalPartition.MAX_BACKUP_COUNT;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -184,6 +185,25 @@ public class RingbufferConfigTest {
         assertEquals(InMemoryFormat.OBJECT, config.getInMemoryFormat());
     }
 
+    // ==================== storageRegion ================================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setStorageRegionSize_whenNegative() {
+        RingbufferConfig config = new RingbufferConfig(NAME);
+        config.setStorageRegionSize(-1);
+    }
+
+    @Test
+    public void setStorageRegion() {
+        RingbufferConfig config = new RingbufferConfig(NAME);
+
+        RingbufferConfig returned = config.setStorageRegionSize(1024).setStorageRegionOffHeap(true);
+
+        assertSame(config, returned);
+        assertEquals(1024, config.getStorageRegionSize());
+        assertTrue(config.isStorageRegionOffHeap());
+    }
+
     // ==================== toString ================================
 
     @Test
@@ -193,7 +213,8 @@ public class RingbufferConfigTest {
         String s = config.toString();
 
         assertEquals("RingbufferConfig{name='someringbuffer', capacity=10000, backupCount=1, " +
-                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY}", s);
+                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY, storageRegionSize=0, " +
+                "storageRegionOffHeap=false}", s);
     }
 
     // =================== getAsReadOnly ============================
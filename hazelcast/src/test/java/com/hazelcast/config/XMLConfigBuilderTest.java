@@ -265,6 +265,9 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 "<hazelcast>\n" +
                         "    <reliable-topic name=\"custom\">\n" +
                         "           <read-batch-size>35</read-batch-size>\n" +
+                        "           <read-prefetch-count>2</read-prefetch-count>\n" +
+                        "           <read-batch-auto-tuning-enabled>true</read-batch-auto-tuning-enabled>\n" +
+                        "           <message-delivery-parallelism>4</message-delivery-parallelism>\n" +
                         "           <statistics-enabled>false</statistics-enabled>\n" +
                         "           <topic-overload-policy>DISCARD_OLDEST</topic-overload-policy>\n" +
                         "           <message-listeners>" +
@@ -278,6 +281,9 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         ReliableTopicConfig topicConfig = config.getReliableTopicConfig("custom");
 
         assertEquals(35, topicConfig.getReadBatchSize());
+        assertEquals(2, topicConfig.getReadPrefetchCount());
+        assertTrue(topicConfig.isReadBatchAutoTuningEnabled());
+        assertEquals(4, topicConfig.getMessageDeliveryParallelism());
         assertFalse(topicConfig.isStatisticsEnabled());
         assertEquals(TopicOverloadPolicy.DISCARD_OLDEST, topicConfig.getTopicOverloadPolicy());
 
@@ -299,6 +305,8 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                         "        <async-backup-count>1</async-backup-count>\n" +
                         "        <time-to-live-seconds>9</time-to-live-seconds>\n" +
                         "        <in-memory-format>OBJECT</in-memory-format>\n" +
+                        "        <storage-region-size>1024</storage-region-size>\n" +
+                        "        <storage-region-off-heap>true</storage-region-off-heap>\n" +
                         "    </ringbuffer>" +
                         "</hazelcast>";
         Config config = buildConfig(xml);
@@ -308,6 +316,8 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(1, ringbufferConfig.getAsyncBackupCount());
         assertEquals(9, ringbufferConfig.getTimeToLiveSeconds());
         assertEquals(InMemoryFormat.OBJECT, ringbufferConfig.getInMemoryFormat());
+        assertEquals(1024, ringbufferConfig.getStorageRegionSize());
+        assertTrue(ringbufferConfig.isStorageRegionOffHeap());
     }
 
     @Test
@@ -166,6 +166,17 @@ public class RestTest {
         Assert.assertEquals(queue.size(), communicator.size(name));
     }
 
+    @Test
+    public void testMetrics() throws IOException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        final HTTPCommunicator communicator = new HTTPCommunicator(instance);
+
+        String metrics = communicator.metrics();
+        assertNotNull(metrics);
+        assertTrue(metrics.contains("hazelcast_runtime_availableProcessors " + Runtime.getRuntime().availableProcessors()));
+        assertTrue(metrics.contains("# TYPE hazelcast_runtime_availableProcessors gauge"));
+    }
+
     private class HTTPCommunicator {
 
         final HazelcastInstance instance;
@@ -176,6 +187,10 @@ public class RestTest {
             this.address = "http:/" + instance.getCluster().getLocalMember().getInetSocketAddress().toString() + "/hazelcast/rest/";
         }
 
+        public String metrics() {
+            return doGet(address + "metrics");
+        }
+
         public String poll(String queueName, long timeout) {
             String url = address + "queues/" + queueName + "/" + String.valueOf(timeout);
             String result = doGet(url);
@@ -0,0 +1,140 @@
+package com.hazelcast.internal.metrics;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.metrics.LatencyHistogram.BUCKET_COUNT;
+import static com.hazelcast.internal.metrics.LatencyHistogram.bucketIndex;
+import static com.hazelcast.internal.metrics.LatencyHistogram.highestValueInBucket;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class LatencyHistogramTest extends HazelcastTestSupport {
+
+    @Test
+    public void whenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram(true);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void bucketIndex_isMonotonicAndCoversValue() {
+        int previous = -1;
+        for (long value = 0; value < 100000; value++) {
+            int index = bucketIndex(value);
+            assertTrue(index >= previous);
+            assertTrue(highestValueInBucket(index) >= value);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void bucketIndex_relativeErrorIsBounded() {
+        for (long value = 16; value < Long.MAX_VALUE / 4; value = value * 3 + 1) {
+            int index = bucketIndex(value);
+            if (index == BUCKET_COUNT - 1) {
+                break;
+            }
+            long highest = highestValueInBucket(index);
+            assertTrue("value " + value + " highest " + highest, highest - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void bucketIndex_whenHuge() {
+        assertEquals(BUCKET_COUNT - 1, bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void record() {
+        LatencyHistogram histogram = new LatencyHistogram(true);
+        for (int k = 1; k <= 1000; k++) {
+            histogram.record(k * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMax());
+        assertEquals(500500, histogram.getMean());
+        assertWithinError(500000, histogram.getValueAtPercentile(50));
+        assertWithinError(990000, histogram.getValueAtPercentile(99));
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void record_whenNegative() {
+        LatencyHistogram histogram = new LatencyHistogram(false);
+        histogram.record(-10);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void add() {
+        LatencyHistogram histogram1 = new LatencyHistogram(true);
+        LatencyHistogram histogram2 = new LatencyHistogram(true);
+        histogram1.record(100);
+        histogram2.record(200);
+        histogram2.record(300);
+
+        LatencyHistogram merged = new LatencyHistogram(false);
+        merged.add(histogram1);
+        merged.add(histogram2);
+
+        assertEquals(3, merged.getCount());
+        assertEquals(200, merged.getMean());
+        assertEquals(300, merged.getMax());
+    }
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram(false);
+        histogram.record(100);
+        histogram.record(200);
+
+        histogram.reset();
+        histogram.record(50);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(50, histogram.getMean());
+        assertEquals(50, histogram.getMax());
+        assertEquals(50, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void record_concurrently() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram(false);
+        Thread[] threads = new Thread[4];
+        for (int k = 0; k < threads.length; k++) {
+            threads[k] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        histogram.record(i);
+                    }
+                }
+            };
+            threads[k].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.getCount());
+        assertEquals(9999, histogram.getMax());
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 8);
+    }
+}
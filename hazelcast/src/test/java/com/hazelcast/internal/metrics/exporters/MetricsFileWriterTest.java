@@ -0,0 +1,169 @@
+package com.hazelcast.internal.metrics.exporters;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MetricsFileWriterTest extends HazelcastTestSupport {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("metrics", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void whenEnabled_thenMetricsWritten() {
+        HazelcastInstance hz = createHazelcastInstance(createConfig(10, 10));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                File[] files = directory.listFiles();
+                assertNotNull(files);
+                assertEquals(1, files.length);
+
+                String content = readGzip(files[0]);
+                assertTrue(content.startsWith("time="));
+                assertTrue(content.contains("\nruntime.availableProcessors=" + Runtime.getRuntime().availableProcessors()));
+                // multiple samples, each written as a separate gzip member
+                assertTrue(content.indexOf("time=") != content.lastIndexOf("time="));
+            }
+        });
+        hz.shutdown();
+    }
+
+    @Test
+    public void whenFileFull_thenRolledAndOldestDeleted() {
+        // a maximum size of 0 starts a new file for every sample
+        HazelcastInstance hz = createHazelcastInstance(createConfig(0, 2));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                File[] files = directory.listFiles();
+                assertNotNull(files);
+                assertEquals(2, files.length);
+                for (File file : files) {
+                    assertTrue(file.getName().endsWith(".log.gz"));
+                    assertTrue(file.getName().startsWith("metrics-"));
+                    assertTrue(!file.getName().endsWith("-1.log.gz"));
+                }
+            }
+        });
+        hz.shutdown();
+    }
+
+    @Test
+    public void whenMaxCountIsOne_thenOnlyCurrentFileKept() {
+        HazelcastInstance hz = createHazelcastInstance(createConfig(0, 1));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                File[] files = directory.listFiles();
+                assertNotNull(files);
+                assertEquals(1, files.length);
+                assertTrue(!files[0].getName().endsWith("-1.log.gz"));
+                assertTrue(readGzip(files[0]).startsWith("time="));
+            }
+        });
+        hz.shutdown();
+    }
+
+    @Test
+    public void whenPerformanceMonitoringEnabled_thenMetricsWritten() {
+        Config config = createConfig(10, 10);
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_ENABLED, "false");
+        // without an explicit directory the metrics end up next to the performance log
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_DIRECTORY, "");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_DIRECTORY, directory.getAbsolutePath());
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                File[] files = directory.listFiles();
+                assertNotNull(files);
+                File metricsFile = null;
+                for (File file : files) {
+                    if (file.getName().startsWith("metrics-")) {
+                        metricsFile = file;
+                    }
+                }
+                assertNotNull(metricsFile);
+
+                String content = readGzip(metricsFile);
+                assertTrue(content.contains("\noperation.invocations.pending="));
+                assertTrue(content.contains("].processedCount="));
+            }
+        });
+        hz.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxCountIsZero_thenFail() {
+        createHazelcastInstance(createConfig(10, 0));
+    }
+
+    private Config createConfig(int maxSizeMb, int maxCount) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_INTERVAL_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_DIRECTORY, directory.getAbsolutePath());
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_MAX_SIZE_MB, String.valueOf(maxSizeMb));
+        config.setProperty(GroupProperties.PROP_METRICS_FILE_MAX_COUNT, String.valueOf(maxCount));
+        return config;
+    }
+
+    private static String readGzip(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+}
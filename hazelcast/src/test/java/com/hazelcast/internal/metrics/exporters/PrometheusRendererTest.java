@@ -0,0 +1,84 @@
+package com.hazelcast.internal.metrics.exporters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PrometheusRendererTest extends HazelcastTestSupport {
+
+    private StringBuilder sb;
+    private PrometheusRenderer renderer;
+
+    @Before
+    public void setup() {
+        sb = new StringBuilder();
+        renderer = new PrometheusRenderer(sb);
+    }
+
+    @Test
+    public void renderLong() {
+        renderer.renderLong("runtime.freeMemory", 10);
+
+        assertEquals("# TYPE hazelcast_runtime_freeMemory gauge\nhazelcast_runtime_freeMemory 10\n", sb.toString());
+    }
+
+    @Test
+    public void renderLong_whenNameContainsBrackets() {
+        renderer.renderLong("operation.latency[com.foo.Op].run.p99", 10);
+
+        assertEquals("# TYPE hazelcast_operation_latency_run_p99 gauge\n"
+                + "hazelcast_operation_latency_run_p99{name=\"com.foo.Op\"} 10\n", sb.toString());
+    }
+
+    @Test
+    public void renderLong_whenLabelNeedsEscaping() {
+        renderer.renderLong("foo[a\"b\\c].bar", 1);
+
+        assertEquals("# TYPE hazelcast_foo_bar gauge\nhazelcast_foo_bar{name=\"a\\\"b\\\\c\"} 1\n", sb.toString());
+    }
+
+    @Test
+    public void renderLong_whenInvalidCharacters() {
+        renderer.renderLong("thread-0.count%", 1);
+
+        assertEquals("# TYPE hazelcast_thread_0_count_ gauge\nhazelcast_thread_0_count_ 1\n", sb.toString());
+    }
+
+    @Test
+    public void renderDouble() {
+        renderer.renderDouble("os.systemLoadAverage", 1.5);
+        renderer.renderDouble("nan", Double.NaN);
+        renderer.renderDouble("inf", Double.POSITIVE_INFINITY);
+
+        assertEquals("# TYPE hazelcast_os_systemLoadAverage gauge\nhazelcast_os_systemLoadAverage 1.5\n"
+                + "# TYPE hazelcast_nan gauge\nhazelcast_nan NaN\n"
+                + "# TYPE hazelcast_inf gauge\nhazelcast_inf +Inf\n", sb.toString());
+    }
+
+    @Test
+    public void renderLong_whenSameFamily_thenSingleTypeLine() {
+        renderer.renderLong("operation.latency[a].run.p99", 1);
+        renderer.renderLong("operation.latency[b].run.p99", 2);
+        renderer.renderLong("operation-latency.run.p99", 3);
+
+        assertEquals("# TYPE hazelcast_operation_latency_run_p99 gauge\n"
+                + "hazelcast_operation_latency_run_p99{name=\"a\"} 1\n"
+                + "hazelcast_operation_latency_run_p99{name=\"b\"} 2\n"
+                + "hazelcast_operation_latency_run_p99 3\n", sb.toString());
+    }
+
+    @Test
+    public void renderNoValue() {
+        renderer.renderNoValue("foo");
+
+        assertEquals("", sb.toString());
+    }
+}
@@ -3,6 +3,7 @@ package com.hazelcast.internal.metrics.impl;
 import com.hazelcast.internal.metrics.Gauge;
 import com.hazelcast.internal.metrics.LongProbe;
 import com.hazelcast.internal.metrics.Metric;
+import com.hazelcast.internal.metrics.ProbeRenderer;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -12,7 +13,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -92,6 +96,124 @@ public class MetricsRegistryImplTest extends HazelcastTestSupport {
         }
     }
 
+    // ================ render ======================
+
+    @Test(expected = NullPointerException.class)
+    public void render_whenNullRenderer() {
+        metricsRegistry.render(null);
+    }
+
+    @Test
+    public void render_inNameOrder() {
+        metricsRegistry.register(this, "zzz.second", new LongProbe() {
+            @Override
+            public long get(Object obj) throws Exception {
+                return 2;
+            }
+        });
+        metricsRegistry.register(this, "zzz.first", new LongProbe() {
+            @Override
+            public long get(Object obj) throws Exception {
+                return 1;
+            }
+        });
+
+        final List<String> rendered = new ArrayList<String>();
+        ProbeRenderer renderer = new ProbeRenderer() {
+            @Override
+            public void renderLong(String name, long value) {
+                if (name.startsWith("zzz.")) {
+                    rendered.add(name + "=" + value);
+                }
+            }
+
+            @Override
+            public void renderDouble(String name, double value) {
+            }
+
+            @Override
+            public void renderNoValue(String name) {
+            }
+        };
+        metricsRegistry.render(renderer);
+        assertEquals(Arrays.asList("zzz.first=1", "zzz.second=2"), rendered);
+
+        rendered.clear();
+        metricsRegistry.deregister(this);
+        metricsRegistry.render(renderer);
+        assertTrue(rendered.isEmpty());
+    }
+
+    @Test
+    public void render_withPrefix_onlyRendersMetricsWithPrefix() {
+        String[] names = {"yyy.a", "zzz.a", "zzz.b", "zzzz.a"};
+        for (String name : names) {
+            metricsRegistry.register(this, name, new LongProbe() {
+                @Override
+                public long get(Object obj) throws Exception {
+                    return 1;
+                }
+            });
+        }
+
+        final List<String> rendered = new ArrayList<String>();
+        ProbeRenderer renderer = new ProbeRenderer() {
+            @Override
+            public void renderLong(String name, long value) {
+                rendered.add(name);
+            }
+
+            @Override
+            public void renderDouble(String name, double value) {
+                rendered.add(name);
+            }
+
+            @Override
+            public void renderNoValue(String name) {
+                rendered.add(name);
+            }
+        };
+        metricsRegistry.render("zzz.", renderer);
+        assertEquals(Arrays.asList("zzz.a", "zzz.b"), rendered);
+
+        rendered.clear();
+        metricsRegistry.render("xxx.", renderer);
+        assertTrue(rendered.isEmpty());
+    }
+
+    @Test
+    public void renderByFamily() {
+        String[] names = {"zzz[a].p50", "zzz[a].p99", "zzz[b].p50", "zzz[b].p99", "zzz-p50"};
+        for (String name : names) {
+            metricsRegistry.register(this, name, new LongProbe() {
+                @Override
+                public long get(Object obj) throws Exception {
+                    return 1;
+                }
+            });
+        }
+
+        final List<String> rendered = new ArrayList<String>();
+        ProbeRenderer renderer = new ProbeRenderer() {
+            @Override
+            public void renderLong(String name, long value) {
+                if (name.startsWith("zzz")) {
+                    rendered.add(name);
+                }
+            }
+
+            @Override
+            public void renderDouble(String name, double value) {
+            }
+
+            @Override
+            public void renderNoValue(String name) {
+            }
+        };
+        metricsRegistry.renderByFamily(renderer);
+        assertEquals(Arrays.asList("zzz-p50", "zzz[a].p50", "zzz[b].p50", "zzz[a].p99", "zzz[b].p99"), rendered);
+    }
+
     @Test
     public void shutdown(){
         metricsRegistry.shutdown();
@@ -0,0 +1,66 @@
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PerformanceLogWriterTest extends HazelcastTestSupport {
+
+    private StringBuilder sb;
+    private PerformanceLogWriter writer;
+
+    @Before
+    public void setup() {
+        sb = new StringBuilder();
+        writer = new PerformanceLogWriter(sb);
+    }
+
+    @Test
+    public void nestedSections() {
+        writer.startSection("GC");
+        writer.startSection("ParNew");
+        writer.writeKeyValueEntry("count", 10);
+        writer.writeKeyValueEntry("timeMillis", 30);
+        writer.endSection();
+        writer.startSection("CMS");
+        writer.writeKeyValueEntry("count", 0);
+        writer.endSection();
+        writer.writeKeyValueEntry("enabled", true);
+        writer.endSection();
+
+        assertEquals("GC[ParNew[count=10,timeMillis=30],CMS[count=0],enabled=true]", sb.toString());
+    }
+
+    @Test
+    public void emptySection() {
+        writer.startSection("Empty");
+        writer.endSection();
+        writer.writeEntry("foo");
+
+        assertEquals("Empty[],foo", sb.toString());
+    }
+
+    @Test
+    public void specialCharactersAreEscaped() {
+        writer.startSection("a[b]");
+        writer.writeKeyValueEntry("key,1", "c\\d\ne");
+        writer.endSection();
+
+        assertEquals("a\\[b\\][key\\,1=c\\\\d\\ne]", sb.toString());
+    }
+
+    @Test
+    public void nullValue() {
+        writer.writeKeyValueEntry("key", (String) null);
+
+        assertEquals("key=null", sb.toString());
+    }
+}
@@ -0,0 +1,131 @@
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.operationservice.impl.DummyOperation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PerformanceMonitorTest extends HazelcastTestSupport {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("performance", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void whenEnabled_thenAllPluginsWritten() {
+        HazelcastInstance hz = createHazelcastInstance(createConfig());
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                String content = readLog();
+                assertTrue(content.contains(" Invocations[pending="));
+                assertTrue(content.contains(" PendingOperations["));
+                assertTrue(content.contains("[queueSize=0,priorityQueueSize=0]"));
+                assertTrue(content.contains(" EventQueue[size="));
+                assertTrue(content.contains(" GC["));
+            }
+        });
+        hz.shutdown();
+    }
+
+    @Test
+    public void whenInvocationSlow_thenSampled() throws Exception {
+        // local invocations are not registered, so the invocation needs to go to a remote member
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(createConfig());
+        warmUpPartitions(instances);
+        InternalOperationService operationService = getOperationService(instances[0]);
+
+        Future future = operationService.invokeOnPartition(null, new DummyOperation(new SleepingTask()), getPartitionId(instances[1]));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                String content = readLog();
+                assertTrue(content.contains("SlowInvocations[" + DummyOperation.class.getName() + "[durationMillis="));
+            }
+        });
+        future.get();
+    }
+
+    private Config createConfig() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_DIRECTORY, directory.getAbsolutePath());
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_INVOCATION_PERIOD_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_INVOCATION_SLOW_THRESHOLD_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_PENDING_OPERATIONS_PERIOD_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_EVENT_QUEUE_PERIOD_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_PERFORMANCE_MONITORING_GC_PERIOD_SECONDS, "1");
+        return config;
+    }
+
+    private String readLog() throws IOException {
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertTrue(files.length > 0);
+
+        StringBuilder sb = new StringBuilder();
+        for (File file : files) {
+            if (file.getName().startsWith("metrics-")) {
+                continue;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    sb.append(line).append('\n');
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return sb.toString();
+    }
+
+    private static class SleepingTask implements Runnable, Serializable {
+        @Override
+        public void run() {
+            sleepSeconds(4);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class OffHeapStorageTest extends HazelcastTestSupport {
+
+    private static final int PAGE_SIZE = 4096;
+
+    private SerializationService serializationService;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        storage = new OffHeapStorage(newConfig(MemoryAllocatorType.POOLED, 64), 4);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy();
+        serializationService.destroy();
+    }
+
+    private static NativeMemoryConfig newConfig(MemoryAllocatorType allocatorType, int sizeInKiloBytes) {
+        return new NativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(allocatorType)
+                .setSize(new MemorySize(sizeInKiloBytes, MemoryUnit.KILOBYTES))
+                .setPageSize(PAGE_SIZE);
+    }
+
+    @Test
+    public void putAndGet() {
+        Data data = serializationService.toData("value");
+
+        DataRef ref = storage.put(1, data);
+
+        assertEquals(data.totalSize(), ref.size());
+        assertEquals(data, storage.get(1, ref));
+        assertEquals("value", serializationService.toObject(storage.get(1, ref)));
+    }
+
+    @Test
+    public void putAndGet_largerThanPage() {
+        Data data = serializationService.toData(new byte[PAGE_SIZE * 2]);
+
+        DataRef ref = storage.put(1, data);
+
+        assertEquals(data, storage.get(1, ref));
+        assertTrue(storage.getUsedMemory() >= data.totalSize());
+    }
+
+    @Test
+    public void remove_releasesUsedMemory() {
+        List<DataRef> refs = new ArrayList<DataRef>();
+        for (int i = 0; i < 100; i++) {
+            refs.add(storage.put(i, serializationService.toData("value-" + i)));
+        }
+        assertTrue(storage.getUsedMemory() > 0);
+
+        for (int i = 0; i < refs.size(); i++) {
+            storage.remove(i, refs.get(i));
+        }
+
+        assertEquals(0, storage.getUsedMemory());
+    }
+
+    @Test
+    public void remove_blocksAreReused() {
+        for (int i = 0; i < 10000; i++) {
+            DataRef ref = storage.put(i, serializationService.toData("value-" + i));
+            storage.remove(i, ref);
+        }
+
+        assertTrue(storage.getCommittedMemory() <= storage.getMaxMemory());
+        assertEquals(0, storage.getUsedMemory());
+    }
+
+    @Test
+    public void valuesOfDifferentSizes() {
+        List<Data> values = new ArrayList<Data>();
+        List<DataRef> refs = new ArrayList<DataRef>();
+        for (int i = 0; i < 100; i++) {
+            Data data = serializationService.toData(new byte[i * 3]);
+            values.add(data);
+            refs.add(storage.put(i, data));
+        }
+
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), storage.get(i, refs.get(i)));
+        }
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void put_whenMemoryExhausted() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(i, serializationService.toData(new byte[PAGE_SIZE]));
+        }
+    }
+
+    @Test
+    public void standardAllocator() {
+        OffHeapStorage standardStorage = new OffHeapStorage(newConfig(MemoryAllocatorType.STANDARD, 64), 4);
+        try {
+            Data data = serializationService.toData("value");
+            DataRef ref = standardStorage.put(1, data);
+            assertEquals(data, standardStorage.get(1, ref));
+            assertEquals(data.totalSize(), standardStorage.getUsedMemory());
+
+            standardStorage.remove(1, ref);
+            assertEquals(0, standardStorage.getUsedMemory());
+            assertEquals(0, standardStorage.getCommittedMemory());
+        } finally {
+            standardStorage.destroy();
+        }
+    }
+
+    @Test
+    public void concurrentReadsAndUpdates_pooled() throws Exception {
+        assertConcurrentReadsAndUpdates(storage);
+    }
+
+    @Test
+    public void concurrentReadsAndUpdates_standard() throws Exception {
+        OffHeapStorage standardStorage = new OffHeapStorage(newConfig(MemoryAllocatorType.STANDARD, 64), 4);
+        try {
+            assertConcurrentReadsAndUpdates(standardStorage);
+        } finally {
+            standardStorage.destroy();
+        }
+    }
+
+    /**
+     * A single writer keeps replacing a value, like a partition thread, while readers read it. Every value read must
+     * be one of the written values, never the bytes of a freed or reused block.
+     */
+    private void assertConcurrentReadsAndUpdates(final OffHeapStorage storage) throws Exception {
+        final int hash = 1;
+        final int updateCount = 20000;
+        final AtomicReference<DataRef> current = new AtomicReference<DataRef>(storage.put(hash, newValue(0)));
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread[] readers = new Thread[3];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        while (!done.get()) {
+                            Data data = storage.get(hash, current.get());
+                            if (data != null) {
+                                assertUniform((byte[]) serializationService.toObject(data));
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            readers[i].start();
+        }
+
+        for (int i = 1; i <= updateCount; i++) {
+            DataRef oldRef = current.getAndSet(storage.put(hash, newValue(i)));
+            storage.remove(hash, oldRef);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        storage.remove(hash, current.get());
+        assertEquals(0, storage.getUsedMemory());
+    }
+
+    private Data newValue(int i) {
+        byte[] bytes = new byte[64 + i % 64];
+        Arrays.fill(bytes, (byte) i);
+        return serializationService.toData(bytes);
+    }
+
+    private static void assertUniform(byte[] bytes) {
+        for (byte b : bytes) {
+            assertEquals(bytes[0], b);
+        }
+    }
+
+    @Test
+    public void get_afterRemove_returnsNull() {
+        DataRef ref = storage.put(1, serializationService.toData("value"));
+        storage.remove(1, ref);
+
+        assertNull(storage.get(1, ref));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void get_afterDestroy() {
+        DataRef ref = storage.put(1, serializationService.toData("value"));
+        storage.destroy();
+
+        storage.get(1, ref);
+    }
+
+    @Test
+    public void nativeMap() {
+        String mapName = randomMapName();
+        Config config = new Config();
+        config.setNativeMemoryConfig(newConfig(MemoryAllocatorType.POOLED, 1024));
+        config.addMapConfig(new MapConfig(mapName).setInMemoryFormat(InMemoryFormat.NATIVE));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "newValue-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("newValue-" + i, map.remove(i));
+        }
+
+        assertNull(map.get(1));
+        assertEquals(0, getNode(instance).getNodeExtension().getMemoryStats().getUsedNativeMemory());
+    }
+}
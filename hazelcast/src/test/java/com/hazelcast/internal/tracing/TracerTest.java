@@ -0,0 +1,125 @@
+package com.hazelcast.internal.tracing;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class TracerTest extends HazelcastTestSupport {
+
+    @Test
+    public void whenDisabled_thenNothingSampledOrRecorded() {
+        Tracer tracer = new Tracer(0, 16);
+
+        assertFalse(tracer.isEnabled());
+        assertEquals(0, tracer.sample());
+        assertEquals(0, tracer.currentOrSample());
+        assertNull(tracer.getBuffer());
+
+        tracer.record(1, TracePoint.INVOKE, null);
+        assertEquals("", tracer.dump());
+    }
+
+    @Test
+    public void sample_tracesOneInEveryInterval() {
+        Tracer tracer = new Tracer(4, 16);
+
+        int sampled = 0;
+        for (int k = 0; k < 100; k++) {
+            long traceId = tracer.sample();
+            if (traceId != 0) {
+                assertTrue(traceId > 0);
+                sampled++;
+            }
+        }
+        assertEquals(25, sampled);
+    }
+
+    @Test
+    public void sample_idsAreUnique() {
+        Tracer tracer = new Tracer(1, 16);
+
+        assertNotEquals(tracer.sample(), tracer.sample());
+    }
+
+    @Test
+    public void currentOrSample_whenInsideTracedRequest_thenInherited() {
+        Tracer tracer = new Tracer(1, 16);
+
+        long previous = tracer.enter(42);
+        assertEquals(42, tracer.currentOrSample());
+        tracer.exit(previous);
+
+        assertNotEquals(42, tracer.currentOrSample());
+    }
+
+    @Test
+    public void currentOrSample_whenInsideNotSampledRequest_thenNotTraced() {
+        Tracer tracer = new Tracer(1, 16);
+
+        long previous = tracer.enter(0);
+        assertEquals(0, tracer.currentOrSample());
+        tracer.exit(previous);
+
+        assertNotEquals(0, tracer.currentOrSample());
+    }
+
+    @Test
+    public void record_whenNotTraced_thenIgnored() {
+        Tracer tracer = new Tracer(1, 16);
+
+        tracer.record(0, TracePoint.INVOKE, "foo");
+
+        assertTrue(tracer.getBuffer().getRecords().isEmpty());
+    }
+
+    @Test
+    public void record() {
+        Tracer tracer = new Tracer(1, 16);
+        long before = System.currentTimeMillis();
+
+        tracer.record(0x1f, TracePoint.RUN_START, "foo");
+
+        List<TraceRecord> records = tracer.getBuffer().getRecords();
+        assertEquals(1, records.size());
+        TraceRecord record = records.get(0);
+        assertEquals(0x1f, record.getTraceId());
+        assertEquals(TracePoint.RUN_START, record.getPoint());
+        assertEquals("foo", record.getDetail());
+        assertTrue(record.getTimeMicros() >= (before - 1) * 1000);
+        assertEquals("1f " + record.getTimeMicros() + " RUN_START foo\n", tracer.dump());
+    }
+
+    @Test
+    public void buffer_whenFull_thenOldestOverwritten() {
+        TraceBuffer buffer = new TraceBuffer(3);
+        assertEquals(4, buffer.getCapacity());
+
+        for (int k = 1; k <= 6; k++) {
+            buffer.add(new TraceRecord(k, TracePoint.INVOKE, k, null));
+        }
+
+        List<TraceRecord> records = buffer.getRecords();
+        assertEquals(4, records.size());
+        for (int k = 0; k < 4; k++) {
+            assertEquals(k + 3, records.get(k).getTraceId());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buffer_whenZeroCapacity() {
+        new TraceBuffer(0);
+    }
+}
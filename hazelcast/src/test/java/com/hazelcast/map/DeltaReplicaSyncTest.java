@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class DeltaReplicaSyncTest extends HazelcastTestSupport {
+
+    private static final int RANGE_COUNT = 256;
+    private static final int ENTRY_COUNT = 1000;
+
+    private String mapName;
+    private HazelcastInstance owner;
+    private HazelcastInstance backup;
+    private int partitionId;
+    private List<String> keys;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        owner = factory.newHazelcastInstance();
+        backup = factory.newHazelcastInstance();
+        warmUpPartitions(owner, backup);
+
+        mapName = randomMapName();
+        partitionId = getPartitionService(owner).getPartitionId(generateKeyOwnedBy(owner));
+        keys = new ArrayList<String>();
+        IMap<String, String> map = owner.getMap(mapName);
+        for (int i = 0; keys.size() < ENTRY_COUNT; i++) {
+            String key = "key" + i;
+            if (getPartitionService(owner).getPartitionId(key) == partitionId) {
+                keys.add(key);
+                map.put(key, "value" + i);
+            }
+        }
+    }
+
+    @Test
+    public void testNoReplication_whenBackupIsInSync() {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNull(prepareDeltaReplication());
+            }
+        });
+    }
+
+    @Test
+    public void testOnlyDifferingRangesAreReplicated() throws Exception {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(ENTRY_COUNT, getRecordStore(backup).size());
+            }
+        });
+        RecordStore backupStore = getRecordStore(backup);
+        backupStore.removeBackup(toData(keys.get(0)));
+        backupStore.putBackup(toData(keys.get(1)), toData("stale"));
+        backupStore.putBackup(toData("unknownKey"), toData("value"));
+
+        Operation delta = prepareDeltaReplication();
+        assertNotNull(delta);
+        Operation full = getMapService(owner).prepareReplicationOperation(new PartitionReplicationEvent(partitionId, 1));
+        SerializationService serializationService = getSerializationService(owner);
+        assertTrue(serializationService.toData(delta).dataSize() * 10 < serializationService.toData(full).dataSize());
+
+        getNodeEngineImpl(owner).getOperationService()
+                .invokeOnTarget(MapService.SERVICE_NAME, delta, getAddress(backup)).get();
+
+        assertNull(prepareDeltaReplication());
+        assertEquals(ENTRY_COUNT, backupStore.size());
+        Object value = getSerializationService(backup).toObject(backupStore.getRecord(toData(keys.get(1))).getValue());
+        assertEquals(owner.getMap(mapName).get(keys.get(1)), value);
+    }
+
+    @Test
+    public void testMapOnlyOnBackupIsCleared() throws Exception {
+        RecordStore backupStore = getMapService(backup).getMapServiceContext().getRecordStore(partitionId, "backupOnly");
+        backupStore.putBackup(toData("key"), toData("value"));
+
+        Operation delta = prepareDeltaReplication();
+        assertNotNull(delta);
+        getNodeEngineImpl(owner).getOperationService()
+                .invokeOnTarget(MapService.SERVICE_NAME, delta, getAddress(backup)).get();
+
+        assertEquals(0, backupStore.size());
+    }
+
+    private Operation prepareDeltaReplication() {
+        Object digest = getMapService(backup).createReplicaDigest(partitionId, 1, RANGE_COUNT);
+        PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, 1);
+        return getMapService(owner).prepareDeltaReplicationOperation(event, digest);
+    }
+
+    private RecordStore getRecordStore(HazelcastInstance instance) {
+        MapServiceContext mapServiceContext = getMapService(instance).getMapServiceContext();
+        return mapServiceContext.getRecordStore(partitionId, mapName);
+    }
+
+    private Data toData(Object object) {
+        return getSerializationService(owner).toData(object);
+    }
+
+    private static MapService getMapService(HazelcastInstance instance) {
+        return getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+    }
+}
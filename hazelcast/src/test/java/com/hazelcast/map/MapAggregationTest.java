@@ -0,0 +1,326 @@
+package com.hazelcast.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testCount() {
+        IMap<Integer, Employee> map = newMap(1);
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.<Integer, Employee>count()));
+    }
+
+    @Test
+    public void testSums_onMultipleMembers() {
+        IMap<Integer, Employee> map = newMap(3);
+
+        long expectedAgeSum = 0;
+        double expectedSalarySum = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expectedAgeSum += age(i);
+            expectedSalarySum += salary(i);
+        }
+
+        assertEquals(Long.valueOf(expectedAgeSum),
+                map.aggregate(Aggregators.<Integer, Employee>longSum("age")));
+        assertEquals(expectedSalarySum,
+                map.aggregate(Aggregators.<Integer, Employee>doubleSum("salary")), 0.001);
+    }
+
+    @Test
+    public void testAverage() {
+        IMap<Integer, Employee> map = newMap(2);
+
+        long ageSum = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            ageSum += age(i);
+        }
+
+        assertEquals((double) ageSum / ENTRY_COUNT,
+                map.aggregate(Aggregators.<Integer, Employee>longAvg("age")), 0.001);
+    }
+
+    @Test
+    public void testAverage_whenNoEntries() {
+        HazelcastInstance instance = createHazelcastInstance();
+        IMap<Integer, Employee> map = instance.getMap(randomMapName());
+
+        assertNull(map.aggregate(Aggregators.<Integer, Employee>doubleAvg("salary")));
+    }
+
+    @Test
+    public void testMinMaxAndDistinct() {
+        IMap<Integer, Employee> map = newMap(2);
+
+        Set<Integer> expectedAges = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expectedAges.add(age(i));
+        }
+
+        assertEquals(Integer.valueOf(20),
+                map.aggregate(Aggregators.<Integer, Employee, Integer>comparableMin("age")));
+        assertEquals(Integer.valueOf(69),
+                map.aggregate(Aggregators.<Integer, Employee, Integer>comparableMax("age")));
+        assertEquals(expectedAges,
+                map.aggregate(Aggregators.<Integer, Employee, Integer>distinct("age")));
+    }
+
+    @Test
+    public void testWithPredicate() {
+        IMap<Integer, Employee> map = newMap(2);
+
+        assertAggregationWithPredicate(map);
+    }
+
+    @Test
+    public void testWithPredicate_whenIndexed() {
+        IMap<Integer, Employee> map = newMap(2);
+        map.addIndex("age", true);
+
+        assertAggregationWithPredicate(map);
+    }
+
+    @Test
+    public void testCustomAggregator_onValues() {
+        IMap<Integer, Employee> map = newMap(2);
+
+        assertEquals(Integer.valueOf(ENTRY_COUNT), map.aggregate(new EmployeeCounter()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullAggregator() {
+        IMap<Integer, Employee> map = newMap(1);
+
+        map.aggregate(null, new SqlPredicate("age > 30"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAggregatorThrows() {
+        IMap<Integer, Employee> map = newMap(2);
+
+        map.aggregate(new FailingAggregator());
+    }
+
+    @Test
+    public void testMemberLeaves_duringAggregation() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance[] instances = factory.newInstances();
+        final IMap<Integer, Employee> map = fillMap(instances[0]);
+
+        final String id = randomString();
+        BlockingCounter.register(id);
+        Future<Integer> future = spawn(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return map.aggregate(new BlockingCounter(id));
+            }
+        });
+        assertOpenEventually(BlockingCounter.STARTED.get(id));
+        instances[2].getLifecycleService().terminate();
+        BlockingCounter.PROCEED.get(id).countDown();
+
+        assertEquals(Integer.valueOf(ENTRY_COUNT), future.get());
+    }
+
+    @Test
+    public void testMigration_duringIndexedAggregation() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        final IMap<Integer, Employee> map = fillMap(instance);
+        map.addIndex("age", true);
+        final Predicate<Integer, Employee> predicate = new SqlPredicate("age >= 60");
+
+        final String id = randomString();
+        BlockingCounter.register(id);
+        Future<Integer> future = spawn(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return map.aggregate(new BlockingCounter(id), predicate);
+            }
+        });
+        assertOpenEventually(BlockingCounter.STARTED.get(id));
+        factory.newHazelcastInstance();
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+        BlockingCounter.PROCEED.get(id).countDown();
+
+        int expectedCount = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (age(i) >= 60) {
+                expectedCount++;
+            }
+        }
+        assertEquals(Integer.valueOf(expectedCount), future.get());
+    }
+
+    private static void assertAggregationWithPredicate(IMap<Integer, Employee> map) {
+        Predicate<Integer, Employee> predicate = new SqlPredicate("age >= 60");
+
+        long expectedCount = 0;
+        long expectedAgeSum = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (age(i) >= 60) {
+                expectedCount++;
+                expectedAgeSum += age(i);
+            }
+        }
+
+        assertEquals(Long.valueOf(expectedCount),
+                map.aggregate(Aggregators.<Integer, Employee>count(), predicate));
+        assertEquals(Long.valueOf(expectedAgeSum),
+                map.aggregate(Aggregators.<Integer, Employee>longSum("age"), predicate));
+    }
+
+    private IMap<Integer, Employee> newMap(int nodeCount) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(nodeCount).newInstances();
+        return fillMap(instances[0]);
+    }
+
+    private static IMap<Integer, Employee> fillMap(HazelcastInstance instance) {
+        IMap<Integer, Employee> map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(age(i), salary(i)));
+        }
+        return map;
+    }
+
+    private static int age(int i) {
+        return 20 + i % 50;
+    }
+
+    private static double salary(int i) {
+        return 1000 + i * 0.5;
+    }
+
+    public static class Employee implements Serializable {
+
+        private final int age;
+        private final double salary;
+
+        public Employee(int age, double salary) {
+            this.age = age;
+            this.salary = salary;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+    }
+
+    private static class EmployeeCounter extends Aggregator<Map.Entry<Integer, Employee>, Integer> {
+
+        private int count;
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Employee> input) {
+            if (input.getValue() != null) {
+                count++;
+            }
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+            count += ((EmployeeCounter) aggregator).count;
+        }
+
+        @Override
+        public Integer aggregate() {
+            return count;
+        }
+    }
+
+    private static class FailingAggregator extends Aggregator<Map.Entry<Integer, Employee>, Integer> {
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Employee> input) {
+            throw new IllegalStateException("expected");
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+        }
+
+        @Override
+        public Integer aggregate() {
+            return null;
+        }
+    }
+
+    /**
+     * Counts the entries, but blocks all accumulations until the test lets them proceed. The latches are looked up by
+     * id, since every member works on its own copy of the aggregator.
+     */
+    private static class BlockingCounter extends Aggregator<Map.Entry<Integer, Employee>, Integer> {
+
+        static final ConcurrentMap<String, CountDownLatch> STARTED = new ConcurrentHashMap<String, CountDownLatch>();
+        static final ConcurrentMap<String, CountDownLatch> PROCEED = new ConcurrentHashMap<String, CountDownLatch>();
+
+        private final String id;
+        private int count;
+
+        BlockingCounter(String id) {
+            this.id = id;
+        }
+
+        static void register(String id) {
+            STARTED.put(id, new CountDownLatch(1));
+            PROCEED.put(id, new CountDownLatch(1));
+        }
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Employee> input) {
+            STARTED.get(id).countDown();
+            try {
+                PROCEED.get(id).await(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            count++;
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+            count += ((BlockingCounter) aggregator).count;
+        }
+
+        @Override
+        public Integer aggregate() {
+            return count;
+        }
+    }
+}
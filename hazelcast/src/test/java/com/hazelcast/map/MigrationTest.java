@@ -20,6 +20,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -62,6 +63,34 @@ public class MigrationTest extends HazelcastTestSupport {
 
     }
 
+    @Test
+    public void testChunkedMapMigration() {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+        Config cfg = new Config();
+        // a chunk holds a few entries only, so every partition is migrated in many fragments
+        cfg.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CHUNK_SIZE, "1");
+        cfg.setProperty(GroupProperties.PROP_PARTITION_COUNT, "11");
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(cfg);
+        int size = 2000;
+
+        IMap<Integer, String> map1 = instance1.getMap("testChunkedMapMigration1");
+        IMap<Integer, String> map2 = instance1.getMap("testChunkedMapMigration2");
+        for (int i = 0; i < size; i++) {
+            map1.put(i, "value-" + i);
+            map2.put(i, "other-" + i);
+        }
+
+        nodeFactory.newHazelcastInstance(cfg);
+        nodeFactory.newHazelcastInstance(cfg);
+        waitAllForSafeState();
+
+        assertEquals(size, map1.size());
+        assertEquals(size, map2.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals("value-" + i, map1.get(i));
+            assertEquals("other-" + i, map2.get(i));
+        }
+    }
 
     @Test
     public void testMigration_failure_when_statistics_disabled() {
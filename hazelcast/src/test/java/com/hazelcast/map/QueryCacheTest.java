@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Partition;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheEventPublisher;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class QueryCacheTest extends HazelcastTestSupport {
+
+    @Test
+    public void testPopulate() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        assertEquals(50, cache.size());
+        assertEquals(70, (int) cache.get(70));
+        assertNull(cache.get(10));
+    }
+
+    @Test
+    public void testPopulate_keysOnly() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), false);
+
+        assertEquals(50, cache.size());
+        assertTrue(cache.containsKey(70));
+        assertNull(cache.get(70));
+    }
+
+    @Test
+    public void testPopulate_whileMapIsUpdated() throws Exception {
+        final IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Thread remover = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i += 2) {
+                    map.remove(i);
+                }
+            }
+        };
+
+        remover.start();
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        remover.join();
+
+        assertCacheSizeEventually(cache, 500);
+        assertFalse(cache.containsKey(0));
+        assertEquals(999, (int) cache.get(999));
+    }
+
+    @Test
+    public void testRecovery_keepsUpdatesOfTheMap() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        assertCacheSizeEventually(cache, 10);
+
+        map.remove(3);
+        map.put(4, 40);
+        assertTrue(cache.tryRecover());
+
+        assertCacheSizeEventually(cache, 9);
+        assertFalse(cache.containsKey(3));
+        assertEquals(40, (int) cache.get(4));
+    }
+
+    @Test
+    public void testCacheFollowsMapUpdates() {
+        final IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertCacheSizeEventually(cache, 50);
+
+        // leaves the cache, since the new value does not match anymore
+        map.put(60, 0);
+        // enters the cache
+        map.put(10, 100);
+        map.remove(99);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(cache.containsKey(60));
+                assertEquals(100, (int) cache.get(10));
+                assertFalse(cache.containsKey(99));
+                assertEquals(49, cache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testCacheFollowsExpiration() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+
+        map.put(1, 1, 1, TimeUnit.SECONDS);
+        map.put(2, 2);
+        assertCacheSizeEventually(cache, 2);
+
+        assertCacheSizeEventually(cache, 1);
+        assertFalse(cache.containsKey(1));
+        assertEquals(2, (int) cache.get(2));
+    }
+
+    @Test
+    public void testCacheFollowsEviction() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        map.put(1, 1);
+        map.put(2, 2);
+        assertCacheSizeEventually(cache, 2);
+
+        map.evict(1);
+
+        assertCacheSizeEventually(cache, 1);
+        assertFalse(cache.containsKey(1));
+    }
+
+    @Test
+    public void testClear() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        assertCacheSizeEventually(cache, 10);
+
+        map.clear();
+
+        assertCacheSizeEventually(cache, 0);
+    }
+
+    @Test
+    public void testKeysOnly() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this < 5"), false);
+
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+
+        assertCacheSizeEventually(cache, 5);
+        assertTrue(cache.containsKey(4));
+        assertNull(cache.get(4));
+    }
+
+    @Test
+    public void testConfiguredCache_withIndexAndCoalescing() {
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache");
+        queryCacheConfig.setPredicateConfig(new PredicateConfig(TruePredicate.INSTANCE));
+        queryCacheConfig.setCoalesce(true);
+        queryCacheConfig.setBatchSize(10);
+        queryCacheConfig.addIndexConfig(new MapIndexConfig("this", true));
+        Config config = new Config();
+        String mapName = randomMapName();
+        MapConfig mapConfig = config.getMapConfig(mapName);
+        mapConfig.addQueryCacheConfig(queryCacheConfig);
+        IMap<Integer, Integer> map = createMapOnTwoMembers(config, mapName);
+
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache");
+        assertSame(cache, map.getQueryCache("cache"));
+        assertNull(map.getQueryCache("notConfigured"));
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+            map.put(i, i + 1);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, cache.keySet(new SqlPredicate("this > 90")).size());
+                assertEquals(100, cache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testListener() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 5"), true);
+        final CountDownLatch addedLatch = new CountDownLatch(5);
+        final CountDownLatch removedLatch = new CountDownLatch(1);
+        cache.addEntryListener(new EntryAdapter<Integer, Integer>() {
+            @Override
+            public void entryAdded(EntryEvent<Integer, Integer> event) {
+                addedLatch.countDown();
+            }
+
+            @Override
+            public void entryRemoved(EntryEvent<Integer, Integer> event) {
+                removedLatch.countDown();
+            }
+        }, true);
+
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        map.remove(7);
+
+        assertOpenEventually(addedLatch);
+        assertOpenEventually(removedLatch);
+    }
+
+    @Test
+    public void testDestroy() {
+        IMap<Integer, Integer> map = createMapOnTwoMembers(new Config());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        map.put(1, 1);
+        assertCacheSizeEventually(cache, 1);
+
+        cache.destroy();
+        map.put(2, 2);
+
+        assertEquals(0, cache.size());
+        QueryCache<Integer, Integer> newCache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        assertNotSame(cache, newCache);
+        assertEquals(2, newCache.size());
+    }
+
+    @Test
+    public void testMigration_continuesBatchSequences() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance();
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = instance1.getMap(mapName);
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+        int partitionCount = instance1.getPartitionService().getPartitions().size();
+        for (int i = 0; i < partitionCount * 2; i++) {
+            map.put(i, i);
+        }
+        assertCacheSizeEventually(cache, partitionCount * 2);
+
+        QueryCacheEventPublisher publisher1 = getQueryCacheEventPublisher(instance1);
+        Map<Integer, Map<String, Map<String, Long>>> sequences = new HashMap<Integer, Map<String, Map<String, Long>>>();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            sequences.put(partitionId, publisher1.getSequences(partitionId));
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance();
+        waitAllForSafeState();
+
+        QueryCacheEventPublisher publisher2 = getQueryCacheEventPublisher(instance2);
+        Member member2 = instance2.getCluster().getLocalMember();
+        int migrated = 0;
+        for (Partition partition : instance2.getPartitionService().getPartitions()) {
+            Map<String, Map<String, Long>> expected = sequences.get(partition.getPartitionId());
+            if (member2.equals(partition.getOwner()) && !expected.isEmpty()) {
+                assertEquals(expected, publisher2.getSequences(partition.getPartitionId()));
+                migrated++;
+            }
+        }
+        assertTrue(migrated > 0);
+
+        for (int i = 0; i < partitionCount * 2; i++) {
+            map.put(i, i + 1);
+        }
+        final int lastKey = partitionCount * 2 - 1;
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(lastKey + 1, (int) cache.get(lastKey));
+            }
+        });
+    }
+
+    private static QueryCacheEventPublisher getQueryCacheEventPublisher(HazelcastInstance instance) {
+        MapService mapService = getNode(instance).nodeEngine.getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapEventPublisher().getQueryCacheEventPublisher();
+    }
+
+    private IMap<Integer, Integer> createMapOnTwoMembers(Config config) {
+        return createMapOnTwoMembers(config, randomMapName());
+    }
+
+    private IMap<Integer, Integer> createMapOnTwoMembers(Config config, String mapName) {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance[] instances = factory.newInstances(config);
+        return instances[0].getMap(mapName);
+    }
+
+    private static void assertCacheSizeEventually(final QueryCache cache, final int expectedSize) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expectedSize, cache.size());
+            }
+        });
+    }
+}
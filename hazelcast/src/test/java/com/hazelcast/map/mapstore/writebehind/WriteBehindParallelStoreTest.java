@@ -0,0 +1,192 @@
+package com.hazelcast.map.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.AsyncMapStore;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class WriteBehindParallelStoreTest extends HazelcastTestSupport {
+
+    @Test
+    public void testAsyncMapStore_storesAndDeletesAllEntries() throws Exception {
+        final AsyncMapStoreWithCounter mapStore = new AsyncMapStoreWithCounter(false);
+        final IMap<Integer, Integer> map = createMap(mapStore, 1, 10);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertStoreSizeEventually(mapStore, 1000);
+        for (int i = 0; i < 500; i++) {
+            map.remove(i);
+        }
+        assertStoreSizeEventually(mapStore, 500);
+        assertTrue(mapStore.asyncCalls.get() > 0);
+    }
+
+    @Test
+    public void testFailedAsyncStore_isRetriedSynchronously() throws Exception {
+        final AsyncMapStoreWithCounter mapStore = new AsyncMapStoreWithCounter(true);
+        final IMap<Integer, Integer> map = createMap(mapStore, 1, 10);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertStoreSizeEventually(mapStore, 100);
+        assertTrue(mapStore.asyncCalls.get() > 0);
+    }
+
+    @Test
+    public void testParallelStoreWorkers_storeAllPartitions() throws Exception {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final IMap<Integer, Integer> map = createMap(mapStore, 4, 1);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertStoreSizeEventually(mapStore, 1000);
+    }
+
+    @Test
+    public void testSlowStore_entriesAreStoredOnce() throws Exception {
+        // the pool of the store workers has one thread per worker, an idle one could run an overlapping tick
+        final SlowMapStore mapStore = new SlowMapStore(1500);
+        final IMap<Integer, Integer> map = createMap(mapStore, 2, 1);
+        for (int i = 0; i < 4; i++) {
+            map.put(i, i);
+        }
+        assertStoreSizeEventually(mapStore, 4);
+        sleepSeconds(3);
+        assertEquals(4, mapStore.getStoreOpCount());
+    }
+
+    @Test
+    public void testOldestDirtyEntryAge() throws Exception {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final Config config = createConfig(mapStore, 1, 1);
+        config.getMapConfig("default").getMapStoreConfig().setWriteDelaySeconds(100);
+        final HazelcastInstance instance = createHazelcastInstance(config);
+        final IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        assertEquals(0, map.getLocalMapStats().getOldestDirtyEntryAge());
+
+        map.put(1, 1);
+        sleepMillis(100);
+
+        assertEquals(1, map.getLocalMapStats().getDirtyEntryCount());
+        assertTrue(map.getLocalMapStats().getOldestDirtyEntryAge() >= 100);
+    }
+
+    private IMap<Integer, Integer> createMap(MapStoreWithCounter<Integer, Integer> mapStore, int workerCount,
+                                            int writeBatchSize) {
+        final HazelcastInstance instance = createHazelcastInstance(createConfig(mapStore, workerCount, writeBatchSize));
+        return instance.getMap(randomMapName());
+    }
+
+    private Config createConfig(MapStoreWithCounter<Integer, Integer> mapStore, int workerCount, int writeBatchSize) {
+        final MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setImplementation(mapStore)
+                .setWriteDelaySeconds(1)
+                .setWriteBatchSize(writeBatchSize);
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_MAP_WRITE_BEHIND_WORKER_COUNT, String.valueOf(workerCount));
+        config.getMapConfig("default").setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private void assertStoreSizeEventually(final MapStoreWithCounter mapStore, final int expectedSize) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expectedSize, mapStore.size());
+            }
+        });
+    }
+
+    private static class SlowMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        private final int storeMillis;
+
+        SlowMapStore(int storeMillis) {
+            this.storeMillis = storeMillis;
+        }
+
+        @Override
+        public void store(Integer key, Integer value) {
+            sleepMillis(storeMillis);
+            super.store(key, value);
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                store(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static class AsyncMapStoreWithCounter extends MapStoreWithCounter<Integer, Integer>
+            implements AsyncMapStore<Integer, Integer> {
+
+        private final AtomicInteger asyncCalls = new AtomicInteger();
+
+        private final boolean failAsync;
+
+        AsyncMapStoreWithCounter(boolean failAsync) {
+            this.failAsync = failAsync;
+        }
+
+        @Override
+        public Future<?> storeAllAsync(final Map<Integer, Integer> map) {
+            return run(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    storeAll(map);
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public Future<?> deleteAllAsync(final Collection<Integer> keys) {
+            return run(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    deleteAll(keys);
+                    return null;
+                }
+            });
+        }
+
+        private Future<?> run(final Callable<Object> task) {
+            asyncCalls.incrementAndGet();
+            FutureTask<Object> future = new FutureTask<Object>(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    if (failAsync) {
+                        throw new IllegalStateException("expected");
+                    }
+                    return task.call();
+                }
+            });
+            new Thread(future).start();
+            return future;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.nearcache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.NearCache;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NearCacheBatchInvalidationTest extends HazelcastTestSupport {
+
+    @Test
+    public void testRemoteNearCacheInvalidatedByBatch() {
+        String mapName = randomMapName();
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(createConfig(mapName, 1000, 100));
+        IMap<String, String> ownerMap = instances[0].getMap(mapName);
+        IMap<String, String> cachingMap = instances[1].getMap(mapName);
+
+        int keyCount = 100;
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = generateKeyOwnedBy(instances[0]);
+            ownerMap.put(keys[i], "old");
+        }
+        final NearCache nearCache = getNearCache(mapName, instances[1]);
+        populateNearCache(cachingMap, keys, nearCache);
+
+        for (int i = 0; i < keyCount; i++) {
+            ownerMap.put(keys[i], "new");
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, nearCache.size());
+            }
+        });
+        for (int i = 0; i < keyCount; i++) {
+            assertEquals("new", cachingMap.get(keys[i]));
+        }
+    }
+
+    @Test
+    public void testFullBatchSentBeforeFrequencyElapses() {
+        String mapName = randomMapName();
+        final int batchSize = 10;
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2)
+                .newInstances(createConfig(mapName, batchSize, Integer.MAX_VALUE));
+        IMap<String, String> ownerMap = instances[0].getMap(mapName);
+        IMap<String, String> cachingMap = instances[1].getMap(mapName);
+
+        String[] keys = new String[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            keys[i] = generateKeyOwnedBy(instances[0]);
+            ownerMap.put(keys[i], "old");
+        }
+        final NearCache nearCache = getNearCache(mapName, instances[1]);
+        populateNearCache(cachingMap, keys, nearCache);
+
+        for (int i = 0; i < batchSize; i++) {
+            ownerMap.put(keys[i], "new");
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, nearCache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testLostBatchInvalidatesOnlyAffectedPartition() {
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance(createConfig(mapName, 100, 100));
+        NodeEngineImpl nodeEngine = getNodeEngineImpl(instance);
+        NearCache nearCache = getNearCache(mapName, instance);
+
+        Data key1 = nodeEngine.toData("key");
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key1);
+        Data key2 = null;
+        Data otherPartitionKey = null;
+        for (int i = 0; key2 == null || otherPartitionKey == null; i++) {
+            Data key = nodeEngine.toData("key" + i);
+            if (nodeEngine.getPartitionService().getPartitionId(key) == partitionId) {
+                key2 = key;
+            } else {
+                otherPartitionKey = key;
+            }
+        }
+        int otherPartitionId = nodeEngine.getPartitionService().getPartitionId(otherPartitionKey);
+        nearCache.put(key1, nodeEngine.toData("value"));
+        nearCache.put(key2, nodeEngine.toData("value"));
+        nearCache.put(otherPartitionKey, nodeEngine.toData("value"));
+
+        nearCache.invalidate(Collections.singletonList(otherPartitionKey), new int[]{otherPartitionId}, new long[]{1});
+        nearCache.invalidate(Collections.singletonList(key1), new int[]{partitionId}, new long[]{1});
+        assertNull(nearCache.get(key1));
+        assertNotNull(nearCache.get(key2));
+
+        nearCache.put(key1, nodeEngine.toData("value"));
+        nearCache.put(otherPartitionKey, nodeEngine.toData("value"));
+        // sequence 2 of the partition is lost
+        nearCache.invalidate(Collections.<Data>emptyList(), new int[0], new long[0]);
+        nearCache.invalidate(Collections.singletonList(key1), new int[]{partitionId}, new long[]{3});
+
+        assertNull(nearCache.get(key1));
+        assertNull(nearCache.get(key2));
+        assertNotNull(nearCache.get(otherPartitionKey));
+    }
+
+    private static void populateNearCache(final IMap<String, String> map, final String[] keys, final NearCache nearCache) {
+        // the puts of the keys are invalidations too, so wait until their batches are applied
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (String key : keys) {
+                    map.get(key);
+                }
+                assertEquals(keys.length, nearCache.size());
+            }
+        });
+    }
+
+    private static Config createConfig(String mapName, int batchSize, int batchFrequencyMillis) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_SIZE, String.valueOf(batchSize));
+        config.setProperty(GroupProperties.PROP_MAP_INVALIDATION_BATCH_FREQUENCY_MILLIS,
+                String.valueOf(batchFrequencyMillis));
+        config.getMapConfig(mapName).setNearCacheConfig(new NearCacheConfig().setInvalidateOnChange(true));
+        return config;
+    }
+
+    private static NearCache getNearCache(String mapName, HazelcastInstance instance) {
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext().getNearCacheProvider().getNearCache(mapName);
+    }
+}
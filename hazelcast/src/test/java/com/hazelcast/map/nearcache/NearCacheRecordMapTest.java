@@ -0,0 +1,104 @@
+package com.hazelcast.map.nearcache;
+
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.map.impl.NearCacheRecord;
+import com.hazelcast.map.impl.NearCacheRecordMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NearCacheRecordMapTest extends HazelcastTestSupport {
+
+    private static final int RECORD_COUNT = 10;
+
+    @Test
+    public void testEstimatedSize() {
+        NearCacheRecordMap<Integer> map = createRecordMap();
+        assertEquals(RECORD_COUNT, map.estimatedSize());
+
+        map.remove(0);
+        assertEquals(RECORD_COUNT - 1, map.estimatedSize());
+
+        map.clear();
+        assertEquals(0, map.estimatedSize());
+    }
+
+    @Test
+    public void testEvict_withLRU() {
+        NearCacheRecordMap<Integer> map = createRecordMap();
+        sleepMillis(10);
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            if (i != 3) {
+                map.get(i).access();
+            }
+        }
+
+        assertEquals(1, evict(map, EvictionPolicy.LRU, null));
+        assertFalse(map.containsKey(3));
+        assertEquals(RECORD_COUNT - 1, map.size());
+    }
+
+    @Test
+    public void testEvict_withLFU() {
+        NearCacheRecordMap<Integer> map = createRecordMap();
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            if (i != 5) {
+                map.get(i).access();
+            }
+        }
+
+        assertEquals(1, evict(map, EvictionPolicy.LFU, null));
+        assertFalse(map.containsKey(5));
+        assertEquals(RECORD_COUNT - 1, map.size());
+    }
+
+    @Test
+    public void testEvict_withRandom_notifiesListener() {
+        NearCacheRecordMap<Integer> map = createRecordMap();
+        final AtomicInteger evictedKey = new AtomicInteger(-1);
+        EvictionListener<Integer, NearCacheRecord> listener = new EvictionListener<Integer, NearCacheRecord>() {
+            @Override
+            public void onEvict(Integer evictedEntryAccessor, NearCacheRecord evictedEntry) {
+                evictedKey.set(evictedEntryAccessor);
+            }
+        };
+
+        assertEquals(1, evict(map, EvictionPolicy.RANDOM, listener));
+        assertEquals(RECORD_COUNT - 1, map.size());
+        assertFalse(map.containsKey(evictedKey.get()));
+    }
+
+    @Test
+    public void testEvictionPolicyEvaluator_withNone() {
+        assertNull(NearCacheRecordMap.createEvictionPolicyEvaluator(EvictionPolicy.NONE));
+    }
+
+    private static NearCacheRecordMap<Integer> createRecordMap() {
+        NearCacheRecordMap<Integer> map = new NearCacheRecordMap<Integer>(RECORD_COUNT);
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            map.put(i, new NearCacheRecord(i, "value" + i));
+        }
+        return map;
+    }
+
+    private static int evict(NearCacheRecordMap<Integer> map, EvictionPolicy evictionPolicy,
+                             EvictionListener<Integer, NearCacheRecord> listener) {
+        EvictionPolicyEvaluator<Integer, NearCacheRecord> evaluator =
+                NearCacheRecordMap.createEvictionPolicyEvaluator(evictionPolicy);
+        return map.evict(evaluator, EvictionChecker.EVICT_ALWAYS, listener);
+    }
+}
@@ -11,6 +11,7 @@ import com.hazelcast.nio.serialization.PortableTest.ChildPortableObject;
 import com.hazelcast.nio.serialization.PortableTest.GrandParentPortableObject;
 import com.hazelcast.nio.serialization.PortableTest.ParentPortableObject;
 import com.hazelcast.query.EntryObject;
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder;
 import com.hazelcast.query.Predicates;
@@ -60,6 +61,62 @@ public class QueryBasicTest extends HazelcastTestSupport {
         assertEquals(false, parallelEvaluation);
     }
 
+    @Test
+    public void testQueryWithParallelEvaluation() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_QUERY_PREDICATE_PARALLEL_EVALUATION, "true");
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = nodeFactory.newHazelcastInstance(config);
+        nodeFactory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        Set<Integer> keys = map.keySet(new SqlPredicate("this >= 500"));
+
+        assertEquals(500, keys.size());
+        for (int i = 500; i < 1000; i++) {
+            assertTrue(keys.contains(i));
+        }
+    }
+
+    @Test
+    public void testQueryWithParallelEvaluation_whenMemberOwnsNoPartitions() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_QUERY_PREDICATE_PARALLEL_EVALUATION, "true");
+        // with a single partition, one of the members owns none and the other one owns exactly one
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = nodeFactory.newHazelcastInstance(config);
+        nodeFactory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(50, map.keySet(new SqlPredicate("this >= 50")).size());
+    }
+
+    @Test
+    public void testPagingPredicateWithParallelEvaluation() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_QUERY_PREDICATE_PARALLEL_EVALUATION, "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        PagingPredicate pagingPredicate = new PagingPredicate(new SqlPredicate("this >= 100"), 10);
+        assertEquals(Arrays.asList(100, 101, 102, 103, 104, 105, 106, 107, 108, 109),
+                new ArrayList<Integer>(map.values(pagingPredicate)));
+
+        pagingPredicate.nextPage();
+        assertEquals(Arrays.asList(110, 111, 112, 113, 114, 115, 116, 117, 118, 119),
+                new ArrayList<Integer>(map.values(pagingPredicate)));
+    }
+
     @Test(timeout = 1000 * 60)
     public void testInPredicateWithEmptyArray() {
         TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
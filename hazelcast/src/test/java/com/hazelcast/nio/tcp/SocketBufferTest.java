@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SocketBufferTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    @Before
+    @After
+    public void killAllHazelcastInstances() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testDirectBuffers() throws Exception {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_BUFFER_DIRECT, "true");
+
+        assertEntriesTransferred(config);
+    }
+
+    @Test
+    public void testGatheringWrites() throws Exception {
+        Config config = new Config();
+        // values are up to twice as large as the send buffer, so packets are spread over multiple buffers
+        config.setProperty(GroupProperties.PROP_SOCKET_GATHERING_WRITE_BUFFER_COUNT, "4");
+
+        assertEntriesTransferred(config);
+    }
+
+    @Test
+    public void testGatheringWritesWithDirectBuffers() throws Exception {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_BUFFER_DIRECT, "true");
+        config.setProperty(GroupProperties.PROP_SOCKET_GATHERING_WRITE_BUFFER_COUNT, "8");
+
+        assertEntriesTransferred(config);
+    }
+
+    private void assertEntriesTransferred(Config config) throws Exception {
+        HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(config);
+        HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1);
+
+        String mapName = randomMapName();
+        IMap<Integer, byte[]> map1 = instance1.getMap(mapName);
+        IMap<Integer, byte[]> map2 = instance2.getMap(mapName);
+
+        Random random = new Random();
+        byte[][] values = new byte[ENTRY_COUNT][];
+        List<Future> futures = new ArrayList<Future>(ENTRY_COUNT);
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            values[k] = new byte[random.nextInt(64 * 1024) + 1];
+            random.nextBytes(values[k]);
+            futures.add(map1.putAsync(k, values[k]));
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            assertArrayEquals(values[k], map2.get(k));
+        }
+        assertEquals(ENTRY_COUNT, map2.size());
+    }
+}
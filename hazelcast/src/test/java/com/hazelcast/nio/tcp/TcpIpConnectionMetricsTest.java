@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpConnectionMetricsTest extends HazelcastTestSupport {
+
+    @Before
+    @After
+    public void killAllHazelcastInstances() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testWriteQueueProbesRegisteredAndDeregistered() {
+        HazelcastInstance instance1 = HazelcastInstanceFactory.newHazelcastInstance(null);
+        final HazelcastInstance instance2 = HazelcastInstanceFactory.newHazelcastInstance(null);
+        assertClusterSizeEventually(2, instance1);
+
+        final MetricsRegistry metricsRegistry = getNode(instance1).nodeEngine.getMetricsRegistry();
+        assertEquals(1, countNames(metricsRegistry, ".writeQueueSize"));
+        assertEquals(1, countNames(metricsRegistry, ".priorityWriteQueueSize"));
+
+        for (String name : metricsRegistry.getNames()) {
+            if (name.endsWith("QueueSize")) {
+                assertEquals(0, metricsRegistry.getGauge(name).readLong());
+            }
+        }
+
+        instance2.shutdown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, countNames(metricsRegistry, ".writeQueueSize"));
+            }
+        });
+        assertFalse(metricsRegistry.getNames().isEmpty());
+    }
+
+    private static int countNames(MetricsRegistry metricsRegistry, String suffix) {
+        int count = 0;
+        for (String name : metricsRegistry.getNames()) {
+            if (name.startsWith("tcp.connection[") && name.endsWith(suffix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
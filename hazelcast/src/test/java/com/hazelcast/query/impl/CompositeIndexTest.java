@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static com.hazelcast.query.SampleObjects.Employee;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class CompositeIndexTest extends HazelcastTestSupport {
+
+    private static final String[] QUERIES = {
+            "age = 30 and salary = 150",
+            "age = 30 and salary > 150",
+            "age = 30 and salary >= 150",
+            "age = 30 and salary < 150",
+            "age = 30 and salary <= 150",
+            "age = 30 and salary between 120 and 160",
+            "salary > 150 and age = 30 and name = '130Name'",
+            "age = 30 and salary = 150 and active = false",
+            "age = 30 and (salary > 150 and active = true)",
+    };
+
+    @Test
+    public void testAddOrGetIndex_normalizesName() {
+        IndexService indexService = new IndexService();
+        Index index = indexService.addOrGetIndex("age, salary", true);
+
+        assertEquals("age,salary", index.getAttributeName());
+        assertSame(index, indexService.addOrGetIndex("age,salary", true));
+        assertEquals(1, indexService.getCompositeIndexes().length);
+
+        indexService.destroyIndex(" age ,salary");
+        assertEquals(0, indexService.getCompositeIndexes().length);
+    }
+
+    @Test
+    public void testOrderedIndex_matchesFullScan() {
+        IndexService indexService = newIndexService(true);
+        for (String sql : QUERIES) {
+            assertQuery(indexService, sql);
+        }
+    }
+
+    @Test
+    public void testUnorderedIndex_onlyServesFullEquality() {
+        IndexService indexService = newIndexService(false);
+
+        assertQuery(indexService, "age = 30 and salary = 150");
+        assertQuery(indexService, "age = 30 and salary = 150 and active = false");
+        assertNull(indexService.query(new SqlPredicate("age = 30 and salary > 150")));
+    }
+
+    @Test
+    public void testSingleEqualityIsNotServed() {
+        IndexService indexService = newIndexService(true);
+
+        assertNull(indexService.query(new SqlPredicate("age = 30 and active = true")));
+        assertNull(indexService.query(new SqlPredicate("salary = 150 and active = true")));
+    }
+
+    @Test
+    public void testOrPredicate_isOnlyServedByIndexesOfItsOperands() {
+        IndexService indexService = newIndexService(true);
+        indexService.addOrGetIndex("active", false);
+        for (int i = 0; i < 2000; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, newEmployee(i)));
+        }
+
+        assertNull(indexService.query(new SqlPredicate("age = 30 or salary = 150")));
+        assertQuery(indexService, "active = true and (age = 30 or salary = 150)");
+        assertQuery(indexService, "(age = 30 and salary = 150) or active = true");
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age,salary", true);
+        indexService.saveEntryIndex(new QueryEntry(null, toData(1), 1, new Employee("a", 30, true, 100)));
+        indexService.saveEntryIndex(new QueryEntry(null, toData(1), 1, new Employee("a", 30, true, 200)));
+
+        assertEquals(0, indexService.query(new SqlPredicate("age = 30 and salary = 100")).size());
+        assertEquals(1, indexService.query(new SqlPredicate("age = 30 and salary = 200")).size());
+
+        indexService.removeEntryIndex(toData(1));
+        assertEquals(0, indexService.query(new SqlPredicate("age = 30 and salary >= 0")).size());
+    }
+
+    @Test
+    public void testMapWithCompositeIndex() {
+        Config config = new Config();
+        config.getMapConfig("employees").addMapIndexConfig(new MapIndexConfig("age,salary", true));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance.getMap("employees");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, newEmployee(i));
+        }
+
+        Collection<Employee> values = map.values(new SqlPredicate("age = 30 and salary > 150"));
+
+        int expected = 0;
+        for (int i = 0; i < 1000; i++) {
+            Employee employee = newEmployee(i);
+            if (employee.getAge() == 30 && employee.getSalary() > 150) {
+                expected++;
+            }
+        }
+        assertEquals(expected, values.size());
+        for (Employee employee : values) {
+            assertEquals(30, employee.getAge());
+        }
+    }
+
+    private static IndexService newIndexService(boolean ordered) {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age,salary", ordered);
+        for (int i = 0; i < 2000; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, newEmployee(i)));
+        }
+        return indexService;
+    }
+
+    private static Employee newEmployee(int i) {
+        return new Employee(i + "Name", i % 50, i % 3 == 0, 100 + (i % 100));
+    }
+
+    private static void assertQuery(IndexService indexService, String sql) {
+        Predicate predicate = new SqlPredicate(sql);
+        Set<QueryableEntry> indexed = indexService.query(predicate);
+        assertNotNull(sql, indexed);
+
+        Set<Object> expected = new HashSet<Object>();
+        for (int i = 0; i < 2000; i++) {
+            QueryEntry entry = new QueryEntry(null, toData(i), i, newEmployee(i));
+            if (predicate.apply(entry)) {
+                expected.add(i);
+            }
+        }
+        Set<Object> actual = new HashSet<Object>();
+        for (Map.Entry entry : indexed) {
+            actual.add(entry.getKey());
+        }
+        assertEquals(sql, expected, actual);
+    }
+}
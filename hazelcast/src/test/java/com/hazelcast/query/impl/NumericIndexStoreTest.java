@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NumericIndexStoreTest {
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void testLongValues_matchSortedIndexStore() {
+        // few distinct values, so the postings grow beyond the array posting size
+        testRandomUpdates(false, new ValueGenerator() {
+            public Comparable next() {
+                return (long) random.nextInt(50) - 25;
+            }
+        });
+    }
+
+    @Test
+    public void testUniqueLongValues_matchSortedIndexStore() {
+        // many distinct values, so the chunks are split
+        testRandomUpdates(false, new ValueGenerator() {
+            public Comparable next() {
+                return random.nextLong();
+            }
+        });
+    }
+
+    @Test
+    public void testIntegerValues_matchSortedIndexStore() {
+        testRandomUpdates(false, new ValueGenerator() {
+            public Comparable next() {
+                return random.nextInt(1000) - 500;
+            }
+        });
+    }
+
+    @Test
+    public void testDoubleValues_matchSortedIndexStore() {
+        final double[] specials = {0.0d, -0.0d, Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MAX_VALUE};
+        testRandomUpdates(true, new ValueGenerator() {
+            public Comparable next() {
+                if (random.nextInt(10) == 0) {
+                    return specials[random.nextInt(specials.length)];
+                }
+                return (random.nextInt(2000) - 1000) / 8d;
+            }
+        });
+    }
+
+    @Test
+    public void testNullValues() {
+        NumericIndexStore store = new NumericIndexStore(false);
+        QueryEntry entry1 = newEntry(1, 10L);
+        QueryEntry entry2 = newEntry(2, 10L);
+        store.newIndex(IndexImpl.NULL, entry1);
+        store.newIndex(10L, entry2);
+
+        assertEquals(1, store.getRecords(IndexImpl.NULL).size());
+        assertEquals(1, store.getRecords(10L).size());
+        assertEquals(1, subRecords(store, ComparisonType.GREATER, IndexImpl.NULL).size());
+        assertEquals(0, subRecords(store, ComparisonType.LESSER, IndexImpl.NULL).size());
+        assertEquals(0, subRecords(store, ComparisonType.LESSER, 10L).size());
+
+        store.updateIndex(IndexImpl.NULL, 5L, entry1);
+        assertEquals(0, store.getRecords(IndexImpl.NULL).size());
+        assertEquals(1, subRecords(store, ComparisonType.LESSER, 10L).size());
+
+        store.removeIndex(5L, entry1.getIndexKey());
+        store.removeIndex(10L, entry2.getIndexKey());
+        assertNull(store.getRecordMap(10L));
+        assertEquals(0, subRecords(store, ComparisonType.GREATER_EQUAL, Long.MIN_VALUE).size());
+    }
+
+    @Test
+    public void testIndexImpl_selectsStoreByAttributeType() {
+        IndexImpl index = new IndexImpl("this", true);
+        for (int i = 0; i < 100; i++) {
+            index.saveEntryIndex(newEntry(i, (double) i));
+        }
+
+        assertEquals(10, index.getSubRecords(ComparisonType.LESSER, 10).size());
+        assertEquals(11, index.getSubRecordsBetween("10", 20.5d).size());
+        assertEquals(1, index.getRecords(42L).size());
+    }
+
+    @Test
+    public void testRemoveAll_dropsChunks() {
+        NumericIndexStore store = new NumericIndexStore(false);
+        int count = NumericIndexSegment.MAX_CHUNK_SIZE * 4;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < count; i++) {
+                store.newIndex((long) i, newEntry(i, (long) i));
+            }
+            assertEquals(count, between(store, 0L, (long) count).size());
+
+            // removes from the front, so every chunk is emptied and dropped in turn
+            for (int i = 0; i < count; i++) {
+                store.removeIndex((long) i, toData(i));
+                assertEquals(count - i - 1, between(store, 0L, (long) count).size());
+            }
+            assertEquals(0, store.getRecords(0L).size());
+        }
+    }
+
+    private static Set<QueryableEntry> between(IndexStore store, Comparable from, Comparable to) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecordsBetween(results, from, to);
+        return results;
+    }
+
+    private void testRandomUpdates(boolean floatingPoint, ValueGenerator generator) {
+        NumericIndexStore store = new NumericIndexStore(floatingPoint);
+        SortedIndexStore expected = new SortedIndexStore();
+        Map<Integer, Comparable> values = new HashMap<Integer, Comparable>();
+
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(1000);
+            Comparable oldValue = values.get(key);
+            if (oldValue != null && random.nextInt(4) == 0) {
+                values.remove(key);
+                store.removeIndex(oldValue, toData(key));
+                expected.removeIndex(oldValue, toData(key));
+                continue;
+            }
+            Comparable newValue = generator.next();
+            QueryEntry entry = newEntry(key, newValue);
+            values.put(key, newValue);
+            if (oldValue == null) {
+                store.newIndex(newValue, entry);
+                expected.newIndex(newValue, entry);
+            } else {
+                store.updateIndex(oldValue, newValue, entry);
+                expected.updateIndex(oldValue, newValue, entry);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Comparable value = generator.next();
+            Comparable other = generator.next();
+            if (value.compareTo(other) > 0) {
+                Comparable tmp = value;
+                value = other;
+                other = tmp;
+            }
+            assertEquals(keys(expected.getRecords(value)), keys(store.getRecords(value)));
+            for (ComparisonType type : ComparisonType.values()) {
+                assertEquals(type + " " + value, keys(subRecords(expected, type, value)),
+                        keys(subRecords(store, type, value)));
+            }
+            MultiResultSet expectedBetween = new MultiResultSet();
+            expected.getSubRecordsBetween(expectedBetween, value, other);
+            MultiResultSet between = new MultiResultSet();
+            store.getSubRecordsBetween(between, value, other);
+            assertEquals(keys(expectedBetween), keys(between));
+        }
+    }
+
+    private static Set<QueryableEntry> subRecords(IndexStore store, ComparisonType type, Comparable value) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecords(results, type, value);
+        return results;
+    }
+
+    private static Set<Object> keys(Set<QueryableEntry> entries) {
+        Set<Object> keys = new HashSet<Object>();
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKey());
+        }
+        assertEquals(keys.size(), entries.size());
+        return keys;
+    }
+
+    private static QueryEntry newEntry(int key, Comparable value) {
+        return new QueryEntry(null, toData(key), key, value);
+    }
+
+    private interface ValueGenerator {
+        Comparable next();
+    }
+}
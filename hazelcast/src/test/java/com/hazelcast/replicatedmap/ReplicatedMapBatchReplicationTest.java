@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.replicatedmap.impl.PreReplicationHook;
+import com.hazelcast.replicatedmap.impl.ReplicationChannel;
+import com.hazelcast.replicatedmap.impl.messages.MultiReplicationMessage;
+import com.hazelcast.replicatedmap.impl.messages.ReplicationMessage;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecord;
+import com.hazelcast.replicatedmap.impl.record.ReplicationPublisher;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ReplicatedMapBatchReplicationTest extends ReplicatedMapBaseTest {
+
+    @Test
+    public void testMultiReplicationMessage_serializesMembersOnce() throws Exception {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        Config config = buildConfig(InMemoryFormat.OBJECT, 0);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(config);
+
+        final ReplicatedMap<String, String> map1 = instance1.getReplicatedMap("default");
+        ReplicatedMap<String, String> map2 = instance2.getReplicatedMap("default");
+        map1.put("a", "1");
+        map2.put("b", "2");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(2, map1.size());
+            }
+        });
+
+        Member member1 = instance1.getCluster().getLocalMember();
+        Member member2 = instance2.getCluster().getLocalMember();
+        ReplicatedRecord<String, String> recordA = getReplicatedRecord(map1, "a");
+        ReplicatedRecord<String, String> recordB = getReplicatedRecord(map1, "b");
+        ReplicationMessage[] messages = new ReplicationMessage[]{
+                new ReplicationMessage<String, String>("default", "a", "1", recordA.getVectorClockTimestamp(), member1, 1, 0),
+                new ReplicationMessage<String, String>("default", "b", "2", recordB.getVectorClockTimestamp(), member2, 2, 0),
+        };
+        MultiReplicationMessage message = new MultiReplicationMessage("default", messages, member1, 7);
+
+        SerializationService serializationService = getNode(instance1).getSerializationService();
+        Data data = serializationService.toData(message);
+        MultiReplicationMessage result = serializationService.toObject(data);
+
+        assertEquals("default", result.getName());
+        assertEquals(member1, result.getOrigin());
+        assertEquals(7, result.getSequence());
+        assertEquals(2, result.getReplicationMessages().length);
+        for (int i = 0; i < messages.length; i++) {
+            ReplicationMessage expected = messages[i];
+            ReplicationMessage actual = result.getReplicationMessages()[i];
+            assertEquals("default", actual.getName());
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+            assertEquals(expected.getOrigin(), actual.getOrigin());
+            assertEquals(expected.getVectorClockTimestamp(), actual.getVectorClockTimestamp());
+            assertEquals(expected.getUpdateHash(), actual.getUpdateHash());
+        }
+    }
+
+    @Test
+    public void testLostBatch_isRecoveredByAntiEntropySync() throws Exception {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        Config config = buildConfig(InMemoryFormat.OBJECT, 100);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(config);
+
+        ReplicatedMap<String, String> map1 = instance1.getReplicatedMap("default");
+        final ReplicatedMap<String, String> map2 = instance2.getReplicatedMap("default");
+
+        map1.put("a", "1");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals("1", map2.get("a"));
+            }
+        });
+
+        DroppingReplicationHook hook = new DroppingReplicationHook();
+        getReplicationPublisher(map1).setPreReplicationHook(hook);
+
+        map1.put("b", "2");
+        assertOpenEventually(hook.dropped);
+        assertNull(map2.get("b"));
+
+        map1.put("c", "3");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals("3", map2.get("c"));
+                assertEquals("2", map2.get("b"));
+            }
+        });
+    }
+
+    @Test
+    public void testMemberLeaves_originSequenceRemoved() throws Exception {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        Config config = buildConfig(InMemoryFormat.OBJECT, 100);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(config);
+
+        final ReplicatedMap<String, String> map1 = instance1.getReplicatedMap("default");
+        ReplicatedMap<String, String> map2 = instance2.getReplicatedMap("default");
+        final String uuid2 = instance2.getCluster().getLocalMember().getUuid();
+        final Map<String, Long> originSequences = getOriginSequences(map1);
+
+        map2.put("a", "1");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals("1", map1.get("a"));
+                assertTrue(originSequences.containsKey(uuid2));
+            }
+        });
+
+        instance2.shutdown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(originSequences.containsKey(uuid2));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> getOriginSequences(ReplicatedMap<String, String> map) throws Exception {
+        Field field = ReplicationPublisher.class.getDeclaredField("originSequences");
+        field.setAccessible(true);
+        return (Map<String, Long>) field.get(getReplicationPublisher(map));
+    }
+
+    private static class DroppingReplicationHook implements PreReplicationHook {
+
+        private final AtomicBoolean dropNext = new AtomicBoolean(true);
+        private final CountDownLatch dropped = new CountDownLatch(1);
+
+        @Override
+        public void preReplicateMessage(ReplicationMessage message, ReplicationChannel channel) {
+            channel.replicate(message);
+        }
+
+        @Override
+        public void preReplicateMultiMessage(MultiReplicationMessage message, ReplicationChannel channel) {
+            if (dropNext.compareAndSet(true, false)) {
+                dropped.countDown();
+                return;
+            }
+            channel.replicate(message);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class RingbufferRegionTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    private RingbufferContainer newRingbuffer(int capacity, int regionSize, boolean offHeap) {
+        RingbufferConfig config = new RingbufferConfig("foo")
+                .setCapacity(capacity)
+                .setStorageRegionSize(regionSize)
+                .setStorageRegionOffHeap(offHeap);
+        return new RingbufferContainer(config, serializationService);
+    }
+
+    @Test
+    public void construction_whenRegionConfigured() {
+        RingbufferContainer ringbuffer = newRingbuffer(10, 1024, false);
+
+        assertNull(ringbuffer.ringItems);
+        assertNotNull(ringbuffer.region);
+        assertEquals(1024, ringbuffer.region.getRegionSize());
+    }
+
+    @Test
+    public void addAndRead_whenOverwritingOldItems() {
+        RingbufferContainer ringbuffer = newRingbuffer(10, 1024, false);
+
+        for (int k = 0; k < 1000; k++) {
+            ringbuffer.add(serializationService.toData("item" + k));
+        }
+
+        assertEquals(990, ringbuffer.headSequence());
+        assertEquals(999, ringbuffer.tailSequence());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            assertEquals("item" + seq, serializationService.toObject(ringbuffer.read(seq)));
+        }
+        // the region is large enough to hold the items in the ring, so it should not have grown
+        assertEquals(1024, ringbuffer.region.getRegionSize());
+    }
+
+    @Test
+    public void addAndRead_whenRegionTooSmall_thenGrows() {
+        RingbufferContainer ringbuffer = newRingbuffer(100, 16, true);
+
+        for (int k = 0; k < 250; k++) {
+            ringbuffer.add(serializationService.toData(k % 7 == 0 ? "a longer item " + k : "item" + k));
+        }
+
+        assertTrue(ringbuffer.region.getRegionSize() > 16);
+        assertTrue(ringbuffer.region.isOffHeap());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            Object expected = seq % 7 == 0 ? "a longer item " + seq : "item" + seq;
+            assertEquals(expected, serializationService.toObject(ringbuffer.read(seq)));
+        }
+    }
+
+    @Test
+    public void readMany() {
+        RingbufferContainer ringbuffer = newRingbuffer(10, 64, false);
+        for (int k = 0; k < 15; k++) {
+            ringbuffer.add(serializationService.toData("item" + k));
+        }
+
+        ReadResultSetImpl result = new ReadResultSetImpl(1, 3, getNode(createHazelcastInstance()).hazelcastInstance, null);
+        long nextSequence = ringbuffer.readMany(ringbuffer.headSequence(), result);
+
+        assertEquals(8, nextSequence);
+        assertEquals(3, result.size());
+        assertEquals("item5", result.get(0));
+        assertEquals("item7", result.get(2));
+    }
+
+    @Test
+    public void serialization() throws IOException {
+        RingbufferContainer ringbuffer = newRingbuffer(10, 64, true);
+        for (int k = 0; k < 25; k++) {
+            ringbuffer.add(serializationService.toData("item" + k));
+        }
+
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024);
+        ringbuffer.writeData(out);
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        RingbufferContainer clone = new RingbufferContainer("foo");
+        clone.readData(in);
+
+        assertNull(clone.ringItems);
+        assertTrue(clone.region.isOffHeap());
+        assertEquals(ringbuffer.headSequence(), clone.headSequence());
+        assertEquals(ringbuffer.tailSequence(), clone.tailSequence());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            Data expected = ringbuffer.region.read(seq);
+            assertEquals(expected, clone.region.read(seq));
+        }
+    }
+}
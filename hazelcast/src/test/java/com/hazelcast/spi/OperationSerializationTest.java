@@ -189,6 +189,26 @@ public class OperationSerializationTest extends HazelcastTestSupport {
         assertTrue("service name should be set", copy.isFlagSet(Operation.BITMASK_SERVICE_NAME_SET));
     }
 
+    @Test
+    public void test_traceId_whenNotSet_thenNotSerialized() {
+        DummyOperation op = new DummyOperation();
+        assertFalse("trace id should not be set", op.isFlagSet(Operation.BITMASK_TRACE_ID_SET));
+
+        Operation copy = copy(op);
+        assertEquals(0, copy.getTraceId());
+    }
+
+    @Test
+    public void test_traceId_whenSet_thenSerialized() {
+        DummyOperation op = new DummyOperation();
+        OperationAccessor.setTraceId(op, 123456789012L);
+        assertTrue("trace id should be set", op.isFlagSet(Operation.BITMASK_TRACE_ID_SET));
+
+        Operation copy = copy(op);
+        assertEquals(123456789012L, copy.getTraceId());
+        assertTrue("trace id should be set", copy.isFlagSet(Operation.BITMASK_TRACE_ID_SET));
+    }
+
     public void assertCopy(String expected, String actual){
         assertEquals(expected, actual);
         assertNotSame(expected, actual);
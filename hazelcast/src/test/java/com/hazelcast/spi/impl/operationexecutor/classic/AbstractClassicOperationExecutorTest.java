@@ -5,6 +5,7 @@ import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.DefaultNodeExtension;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
 import com.hazelcast.logging.LoggingServiceImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
@@ -49,6 +50,7 @@ public abstract class AbstractClassicOperationExecutorTest extends HazelcastTest
     protected OperationRunnerFactory handlerFactory;
     protected SerializationService serializationService;
     protected ResponsePacketHandler responsePacketHandler;
+    protected MetricsRegistryImpl metricsRegistry;
     protected ClassicOperationExecutor executor;
     protected Config config;
 
@@ -57,6 +59,7 @@ public abstract class AbstractClassicOperationExecutorTest extends HazelcastTest
         loggingService = new LoggingServiceImpl("foo", "jdk", new BuildInfo("1", "1", "1", 1, false));
 
         serializationService = new DefaultSerializationServiceBuilder().build();
+        metricsRegistry = new MetricsRegistryImpl(loggingService.getLogger(MetricsRegistryImpl.class));
         config = new Config();
         config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "10");
         config.setProperty(GroupProperties.PROP_PARTITION_OPERATION_THREAD_COUNT, "10");
@@ -76,7 +79,7 @@ public abstract class AbstractClassicOperationExecutorTest extends HazelcastTest
         groupProperties = new GroupProperties(config);
         executor = new ClassicOperationExecutor(
                 groupProperties, loggingService, thisAddress, handlerFactory, responsePacketHandler,
-                threadGroup, nodeExtension);
+                threadGroup, nodeExtension, metricsRegistry);
         return executor;
     }
 
@@ -107,6 +110,7 @@ public abstract class AbstractClassicOperationExecutorTest extends HazelcastTest
         if (executor != null) {
             executor.shutdown();
         }
+        metricsRegistry.shutdown();
     }
 
     protected static class DummyGenericOperation extends DummyOperation {
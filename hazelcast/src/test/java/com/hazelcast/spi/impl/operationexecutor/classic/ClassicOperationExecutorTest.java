@@ -1,5 +1,6 @@
 package com.hazelcast.spi.impl.operationexecutor.classic;
 
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
@@ -85,14 +86,52 @@ public class ClassicOperationExecutorTest extends AbstractClassicOperationExecut
     }
 
     @Test
-    public void test_dumpPerformanceMetrics() {
+    public void test_threadMetricsRegistered() {
         initExecutor();
 
-        StringBuffer sb = new StringBuffer();
-        executor.dumpPerformanceMetrics(sb);
-        String content = sb.toString();
+        int genericThreads = 0;
+        int responseThreads = 0;
+        for (String name : metricsRegistry.getNames()) {
+            if (name.startsWith("operation.thread[") && name.contains("generic-operation")
+                    && name.endsWith("].processedCount")) {
+                genericThreads++;
+            } else if (name.startsWith("operation.thread[") && name.contains("response")
+                    && name.endsWith("].processedResponses")) {
+                responseThreads++;
+            }
+        }
+        assertEquals(executor.getGenericOperationThreadCount(), genericThreads);
+        assertEquals(1, responseThreads);
+        assertTrue(metricsRegistry.getNames().contains("operation.generic.queueSize"));
+    }
 
+    @Test
+    public void test_ringBufferQueueType() {
+        config.setProperty(GroupProperties.PROP_PARTITION_OPERATION_QUEUE_TYPE, ClassicOperationExecutor.QUEUE_TYPE_RINGBUFFER);
+        initExecutor();
 
-        assertTrue(content.contains("processedCount="));
+        for (int partitionId = 0; partitionId < executor.getPartitionOperationThreadCount(); partitionId++) {
+            PartitionSpecificCallable<Thread> task = new PartitionSpecificCallable<Thread>(partitionId) {
+                @Override
+                public Thread call() {
+                    return Thread.currentThread();
+                }
+            };
+            executor.execute(task);
+            assertEqualsEventually(task, executor.getPartitionOperationRunners()[partitionId].currentThread());
+        }
+    }
+
+    @Test
+    public void test_partitionThreadProbesRegistered() {
+        initExecutor();
+
+        int queueSizeProbes = 0;
+        for (String name : metricsRegistry.getNames()) {
+            if (name.startsWith("operation.thread[") && name.endsWith("].queueSize")) {
+                queueSizeProbes++;
+            }
+        }
+        assertEquals(executor.getPartitionOperationThreadCount(), queueSizeProbes);
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationThreadBalancerTest extends AbstractClassicOperationExecutorTest {
+
+    private static final int PARTITION_COUNT = 4;
+
+    @Before
+    public void setUp() {
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "" + PARTITION_COUNT);
+        config.setProperty(GroupProperties.PROP_PARTITION_OPERATION_THREAD_COUNT, "2");
+        config.setProperty(GroupProperties.PROP_PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS, "1");
+    }
+
+    @Test
+    public void test_metricsRegistered() {
+        initExecutor();
+
+        assertEquals(0, metricsRegistry.getGauge("operation.partition[2].threadId").readLong());
+        assertEquals(1, metricsRegistry.getGauge("operation.partition[3].threadId").readLong());
+
+        int utilizationProbes = 0;
+        for (String name : metricsRegistry.getNames()) {
+            if (name.startsWith("operation.thread[") && name.endsWith("].utilizationPercentage")) {
+                utilizationProbes++;
+            }
+        }
+        assertEquals(2, utilizationProbes);
+    }
+
+    @Test
+    public void test_hotPartitionsAreSpreadOverThreads_withoutBreakingOrdering() throws Exception {
+        initExecutor();
+
+        // partition 0 and 2 are both mapped to thread 0, and thread 1 is idle
+        final OrderedTask[] lastTasks = new OrderedTask[PARTITION_COUNT];
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final AtomicBoolean stop = new AtomicBoolean();
+        final CountDownLatch producersDone = new CountDownLatch(2);
+        for (final int partitionId : new int[]{0, 2}) {
+            final PartitionState state = new PartitionState();
+            spawn(new Runnable() {
+                @Override
+                public void run() {
+                    long sequence = 0;
+                    while (!stop.get()) {
+                        // limit the number of pending tasks
+                        while (sequence - state.lastSequence.get() > 100 && !stop.get()) {
+                            Thread.yield();
+                        }
+                        OrderedTask task = new OrderedTask(partitionId, sequence++, state, failure);
+                        lastTasks[partitionId] = task;
+                        executor.execute(task);
+                    }
+                    producersDone.countDown();
+                }
+            });
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNotEquals(getThreadId(0), getThreadId(2));
+            }
+        });
+        stop.set(true);
+        assertOpenEventually(producersDone);
+
+        for (final int partitionId : new int[]{0, 2}) {
+            assertTrueEventually(new AssertTask() {
+                @Override
+                public void run() throws Exception {
+                    assertTrue(lastTasks[partitionId].executed);
+                }
+            });
+            assertEquals(executor.getPartitionOperationRunners()[partitionId].currentThread(),
+                    lastTasks[partitionId].executingThread);
+        }
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void test_isAllowedToRunInCurrentThread_followsOwnership() {
+        initExecutor();
+
+        PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<Boolean>(1) {
+            @Override
+            public Boolean call() {
+                return executor.isAllowedToRunInCurrentThread(new DummyPartitionOperation(1))
+                        && !executor.isAllowedToRunInCurrentThread(new DummyPartitionOperation(0));
+            }
+        };
+        executor.execute(task);
+
+        assertEqualsEventually(task, Boolean.TRUE);
+        assertNotNull(executor.getPartitionOperationRunners()[1].currentThread());
+    }
+
+    private long getThreadId(int partitionId) {
+        return metricsRegistry.getGauge("operation.partition[" + partitionId + "].threadId").readLong();
+    }
+
+    private static class PartitionState {
+        private final AtomicLong lastSequence = new AtomicLong(-1);
+        private final AtomicInteger running = new AtomicInteger();
+    }
+
+    private static class OrderedTask implements PartitionSpecificRunnable {
+        private static final long BUSY_NANOS = 200000;
+
+        private final int partitionId;
+        private final long sequence;
+        private final PartitionState state;
+        private final AtomicReference<Throwable> failure;
+        private volatile boolean executed;
+        private volatile Thread executingThread;
+
+        OrderedTask(int partitionId, long sequence, PartitionState state, AtomicReference<Throwable> failure) {
+            this.partitionId = partitionId;
+            this.sequence = sequence;
+            this.state = state;
+            this.failure = failure;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            if (state.running.incrementAndGet() != 1) {
+                failure.compareAndSet(null, new AssertionError("Concurrent execution of partition " + partitionId));
+            }
+
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < BUSY_NANOS) {
+                Thread.yield();
+            }
+
+            long previous = state.lastSequence.getAndSet(sequence);
+            if (previous != sequence - 1) {
+                failure.compareAndSet(null, new AssertionError("Partition " + partitionId + " expected sequence "
+                        + (previous + 1) + " but found " + sequence));
+            }
+
+            state.running.decrementAndGet();
+            executingThread = Thread.currentThread();
+            executed = true;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class RingBufferScheduleQueueTest extends HazelcastTestSupport {
+
+    private RingBufferScheduleQueue queue;
+
+    @Before
+    public void setup() {
+        queue = new RingBufferScheduleQueue(4);
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_add_whenPriority() {
+        queue.addUrgent(new Object());
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenNormal() {
+        queue.add(new Object());
+
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void test_take_priorityIsRetrievedFirst() throws InterruptedException {
+        Object priorityTask1 = "priority1";
+        Object priorityTask2 = "priority2";
+        Object normalTask1 = "normalTask1";
+        Object normalTask2 = "normalTask2";
+
+        queue.add(normalTask1);
+        queue.addUrgent(priorityTask1);
+        queue.add(normalTask2);
+        queue.addUrgent(priorityTask2);
+
+        assertSame(priorityTask1, queue.take());
+        assertSame(priorityTask2, queue.take());
+        assertSame(normalTask1, queue.take());
+        assertSame(normalTask2, queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_wrapsAroundRing() throws InterruptedException {
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+            queue.add(k + 100);
+            assertEquals(k, queue.take());
+            assertEquals(k + 100, queue.take());
+        }
+    }
+
+    @Test
+    public void test_take_blocksUntilTaskAdded() throws Exception {
+        final Object task = new Object();
+        Future<Object> future = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return queue.take();
+            }
+        });
+
+        sleepMillis(100);
+        assertFalse(future.isDone());
+
+        queue.add(task);
+        assertSame(task, future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final AtomicReference<Throwable> thrown = new AtomicReference<Throwable>();
+        Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    queue.take();
+                } catch (Throwable t) {
+                    thrown.set(t);
+                }
+            }
+        };
+        consumer.start();
+        sleepMillis(100);
+
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(ASSERT_TRUE_EVENTUALLY_TIMEOUT));
+
+        assertTrue(thrown.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void test_add_whenFullAndCalledByConsumer() throws Exception {
+        // the first take makes the current thread the consumer
+        queue.add(-1);
+        assertEquals(-1, queue.take());
+
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+        }
+
+        for (int k = 0; k < 10; k++) {
+            assertEquals(k, queue.take());
+        }
+    }
+
+    @Test
+    public void test_normalSize_includesOverflow() throws Exception {
+        // the first take makes the current thread the consumer
+        queue.add(-1);
+        assertEquals(-1, queue.take());
+
+        for (int k = 0; k < 10; k++) {
+            queue.add(k);
+        }
+        assertEquals(10, queue.normalSize());
+
+        for (int k = 0; k < 5; k++) {
+            queue.take();
+        }
+        assertEquals(5, queue.normalSize());
+    }
+
+    @Test
+    public void test_take_overflowNotStarvedByProducers() throws Exception {
+        queue.add(-1);
+        assertEquals(-1, queue.take());
+
+        final Object overflowTask = "overflow";
+        for (int k = 0; k < 4; k++) {
+            queue.add(k);
+        }
+        queue.add(overflowTask);
+
+        final AtomicBoolean stop = new AtomicBoolean();
+        Future producer = spawn(new Runnable() {
+            @Override
+            public void run() {
+                while (!stop.get()) {
+                    queue.add("ring");
+                }
+            }
+        });
+
+        try {
+            // whether or not the producer keeps the ring buffer filled, the overflow task can't wait longer
+            int maxTakes = RingBufferScheduleQueue.OVERFLOW_INTERVAL + 1;
+            boolean found = false;
+            for (int k = 0; k < maxTakes && !found; k++) {
+                found = queue.take() == overflowTask;
+            }
+            assertTrue(found);
+        } finally {
+            stop.set(true);
+            // unblock the producer in case it is waiting for space
+            while (!producer.isDone()) {
+                if (queue.normalSize() > 0) {
+                    queue.take();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_add_whenFull_producerWaitsForSpace() throws Exception {
+        for (int k = 0; k < 4; k++) {
+            queue.add(k);
+        }
+
+        final CountDownLatch added = new CountDownLatch(1);
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                queue.add(4);
+                added.countDown();
+            }
+        });
+
+        assertFalse(added.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.take());
+        assertOpenEventually(added);
+
+        for (int k = 1; k <= 4; k++) {
+            assertEquals(k, queue.take());
+        }
+    }
+
+    @Test
+    public void test_concurrentProducers() throws Exception {
+        final int producerCount = 4;
+        final int taskCount = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+        try {
+            for (int p = 0; p < producerCount; p++) {
+                final int producerId = p;
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int k = 0; k < taskCount; k++) {
+                            queue.add(new int[]{producerId, k});
+                        }
+                    }
+                });
+            }
+
+            int[] expected = new int[producerCount];
+            for (int k = 0; k < producerCount * taskCount; k++) {
+                int[] task = (int[]) queue.take();
+                assertEquals(expected[task[0]], task[1]);
+                expected[task[0]]++;
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, queue.size());
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.tracing.TracePoint;
+import com.hazelcast.internal.tracing.TraceRecord;
+import com.hazelcast.internal.tracing.Tracer;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class InvocationTracingTest extends HazelcastTestSupport {
+
+    @Test
+    public void whenDisabled_thenNothingRecorded() {
+        HazelcastInstance hz = createHazelcastInstance();
+
+        hz.getMap("map").put("key", "value");
+
+        Tracer tracer = getNode(hz).nodeEngine.getTracer();
+        assertNull(tracer.getBuffer());
+        assertEquals("", tracer.dump());
+    }
+
+    @Test
+    public void whenRemotePutWithBackup_thenPointsRecordedOnBothMembers() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_TRACING_SAMPLE_INTERVAL, "1");
+        config.getMapConfig("map").setBackupCount(1);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+        HazelcastInstance caller = instances[0];
+        HazelcastInstance owner = instances[1];
+
+        IMap<String, String> map = caller.getMap("map");
+        map.put(generateKeyOwnedBy(owner), "value");
+
+        final Tracer callerTracer = getNode(caller).nodeEngine.getTracer();
+        final Tracer ownerTracer = getNode(owner).nodeEngine.getTracer();
+        final long traceId = findTraceId(callerTracer, "PutOperation");
+        assertNotEquals("no invocation of the put traced", 0, traceId);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                Set<TracePoint> callerPoints = points(callerTracer, traceId);
+                assertTrue(callerPoints.toString(), callerPoints.containsAll(EnumSet.of(
+                        TracePoint.INVOKE, TracePoint.RESPONSE, TracePoint.BACKUP_ACK, TracePoint.RUN_START)));
+
+                Set<TracePoint> ownerPoints = points(ownerTracer, traceId);
+                assertTrue(ownerPoints.toString(), ownerPoints.containsAll(EnumSet.of(
+                        TracePoint.RECEIVE, TracePoint.RUN_START, TracePoint.BACKUP_SEND,
+                        TracePoint.RESPONSE_SEND, TracePoint.RUN_END)));
+            }
+        });
+    }
+
+    @Test
+    public void whenNestedInvocationFromNotSampledOperation_thenNotTraced() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_TRACING_SAMPLE_INTERVAL, "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        NodeEngineImpl nodeEngine = getNode(hz).nodeEngine;
+
+        // the operation is executed without an invocation, so it has no trace id
+        NestedInvocationOperation op = new NestedInvocationOperation();
+        op.setNodeEngine(nodeEngine);
+        nodeEngine.getOperationService().executeOperation(op);
+
+        assertOpenEventually(op.done);
+        assertEquals(0, op.nested.getTraceId());
+    }
+
+    private static long findTraceId(Tracer tracer, String operationClass) {
+        for (TraceRecord record : tracer.getBuffer().getRecords()) {
+            if (record.getPoint() == TracePoint.INVOKE && record.getDetail().contains(operationClass)) {
+                return record.getTraceId();
+            }
+        }
+        return 0;
+    }
+
+    private static Set<TracePoint> points(Tracer tracer, long traceId) {
+        Set<TracePoint> points = EnumSet.noneOf(TracePoint.class);
+        for (TraceRecord record : tracer.getBuffer().getRecords()) {
+            if (record.getTraceId() == traceId) {
+                points.add(record.getPoint());
+            }
+        }
+        return points;
+    }
+
+    private static class NestedInvocationOperation extends AbstractOperation {
+
+        private final DummyOperation nested = new DummyOperation();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public void run() throws Exception {
+            getNodeEngine().getOperationService().invokeOnPartition(null, nested, 0);
+            done.countDown();
+        }
+
+        @Override
+        public boolean returnsResponse() {
+            return false;
+        }
+    }
+}
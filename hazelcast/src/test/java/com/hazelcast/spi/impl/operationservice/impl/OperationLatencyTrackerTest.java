@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.management.dto.LatencyDTO;
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class OperationLatencyTrackerTest extends HazelcastTestSupport {
+
+    private static final String OPERATION = DummyOperation.class.getName();
+
+    @Test
+    public void whenOperationsInvoked_thenLatenciesRecorded() {
+        HazelcastInstance[] nodes = createHazelcastInstanceFactory(2).newInstances();
+        warmUpPartitions(nodes);
+        HazelcastInstance local = nodes[0];
+        HazelcastInstance remote = nodes[1];
+
+        InternalOperationService operationService = getOperationService(local);
+        for (int k = 0; k < 10; k++) {
+            operationService.invokeOnPartition(null, new DummyOperation(k), getPartitionId(local)).getSafely();
+            operationService.invokeOnPartition(null, new DummyOperation(k), getPartitionId(remote)).getSafely();
+        }
+
+        final OperationLatencyTracker localTracker = ((OperationServiceImpl) operationService).latencyTracker;
+        final OperationLatencyTracker remoteTracker = ((OperationServiceImpl) getOperationService(remote)).latencyTracker;
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, localTracker.getOperationLatency(OPERATION, OperationLatencyTracker.QUEUE).getCount());
+                assertEquals(10, localTracker.getOperationLatency(OPERATION, OperationLatencyTracker.RUN).getCount());
+                assertEquals(20, localTracker.getInvocationLatency(OperationLatencyTracker.UNKNOWN_SERVICE).getCount());
+
+                LatencyHistogram remoteQueue = remoteTracker.getOperationLatency(OPERATION, OperationLatencyTracker.QUEUE);
+                assertEquals(10, remoteQueue.getCount());
+                assertTrue(remoteQueue.getMax() > 0);
+            }
+        });
+    }
+
+    @Test
+    public void whenOperationsInvoked_thenMetricsAndDTOsAvailable() {
+        HazelcastInstance hz = createHazelcastInstance();
+        final InternalOperationService operationService = getOperationService(hz);
+        operationService.invokeOnPartition(null, new DummyOperation(1), 0).getSafely();
+
+        final MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+        // the run time is recorded after the response has been sent
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, metricsRegistry.getGauge("operation.latency[" + OPERATION + "].run.count").readLong());
+                assertEquals(1, metricsRegistry.getGauge("invocation.latency[unknown].count").readLong());
+
+                boolean found = false;
+                for (LatencyDTO latency : operationService.getLatencyDTOs()) {
+                    if (OPERATION.equals(latency.name) && "operation.run".equals(latency.type)) {
+                        assertEquals(1, latency.count);
+                        found = true;
+                    }
+                }
+                assertTrue(found);
+            }
+        });
+
+        // the metrics are merged again into the same histogram
+        operationService.invokeOnPartition(null, new DummyOperation(2), 0).getSafely();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(2, metricsRegistry.getGauge("operation.latency[" + OPERATION + "].run.count").readLong());
+            }
+        });
+        sleepMillis(200);
+        assertEquals(2, metricsRegistry.getGauge("operation.latency[" + OPERATION + "].run.count").readLong());
+    }
+
+    @Test
+    public void whenDisabled_thenNothingRecorded() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_LATENCY_TRACKING_ENABLED, "false");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        InternalOperationService operationService = getOperationService(hz);
+        operationService.invokeOnPartition(null, new DummyOperation(1), 0).getSafely();
+
+        assertTrue(operationService.getLatencyDTOs().isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.newSetFromMap;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ReliableTopicPrefetchTest extends HazelcastTestSupport {
+
+    private static final int MESSAGE_COUNT = 5000;
+
+    private HazelcastInstance createInstance(ReliableTopicConfig topicConfig) {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig(topicConfig.getName()).setCapacity(MESSAGE_COUNT));
+        config.addReliableTopicConfig(topicConfig);
+        return createHazelcastInstance(config);
+    }
+
+    @Test
+    public void whenPrefetchAndAutoTuning_thenAllMessagesReceivedInOrder() {
+        ReliableTopicConfig topicConfig = new ReliableTopicConfig("topic")
+                .setReadBatchSize(5)
+                .setReadPrefetchCount(2)
+                .setReadBatchAutoTuningEnabled(true);
+        HazelcastInstance hz = createInstance(topicConfig);
+        ITopic<String> topic = hz.getReliableTopic(topicConfig.getName());
+
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        List<String> expected = new ArrayList<String>();
+        for (int k = 0; k < MESSAGE_COUNT; k++) {
+            topic.publish("item" + k);
+            expected.add("item" + k);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(MESSAGE_COUNT, listener.objects.size());
+            }
+        });
+        assertEquals(expected, listener.objects);
+        assertEquals(MESSAGE_COUNT - 1, listener.storedSequence);
+    }
+
+    @Test
+    public void whenParallelDelivery_thenAllMessagesReceived() {
+        ReliableTopicConfig topicConfig = new ReliableTopicConfig("topic")
+                .setReadBatchSize(100)
+                .setReadPrefetchCount(1)
+                .setMessageDeliveryParallelism(4);
+        HazelcastInstance hz = createInstance(topicConfig);
+        ITopic<Integer> topic = hz.getReliableTopic(topicConfig.getName());
+
+        final Set<Integer> received = newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        topic.addMessageListener(new MessageListener<Integer>() {
+            @Override
+            public void onMessage(Message<Integer> message) {
+                received.add(message.getMessageObject());
+            }
+        });
+
+        for (int k = 0; k < MESSAGE_COUNT; k++) {
+            topic.publish(k);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(MESSAGE_COUNT, received.size());
+            }
+        });
+    }
+
+    @Test
+    public void batchSizeTuner_growsWhenBatchesAreFull() {
+        ReadBatchSizeTuner tuner = new ReadBatchSizeTuner(10, true);
+
+        tuner.onBatchRead(10);
+        assertEquals(20, tuner.getBatchSize());
+
+        for (int k = 0; k < 20; k++) {
+            tuner.onBatchRead(tuner.getBatchSize());
+        }
+        assertEquals(ReadBatchSizeTuner.MAX_READ_BATCH_SIZE, tuner.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeTuner_shrinksToMinimumWhenBatchesAreMostlyEmpty() {
+        ReadBatchSizeTuner tuner = new ReadBatchSizeTuner(10, true);
+        tuner.onBatchRead(10);
+        tuner.onBatchRead(20);
+        assertEquals(40, tuner.getBatchSize());
+
+        for (int k = 0; k < 10; k++) {
+            tuner.onBatchRead(1);
+        }
+        assertEquals(10, tuner.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeTuner_whenDisabled() {
+        ReadBatchSizeTuner tuner = new ReadBatchSizeTuner(10, false);
+
+        tuner.onBatchRead(10);
+
+        assertEquals(10, tuner.getBatchSize());
+    }
+}
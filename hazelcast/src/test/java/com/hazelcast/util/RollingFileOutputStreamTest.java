@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class RollingFileOutputStreamTest {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("rolling", "");
+        assertTrue(directory.delete());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void whenMaxSizeReached_thenRolled_andOldestFilesDeleted() throws IOException {
+        RollingFileOutputStream out = newStream(2, 3);
+
+        for (int i = 0; i < 5; i++) {
+            out.rollIfNeeded();
+            out.write(new byte[]{(byte) i, (byte) i}, 0, 2);
+        }
+        out.close();
+
+        assertArrayEquals(new String[]{"test-3.log", "test-4.log", "test-5.log"}, listFiles());
+        assertEquals(2, new File(directory, "test-5.log").length());
+    }
+
+    @Test
+    public void whenMaxCountIsOne_thenCurrentFileKept() throws IOException {
+        RollingFileOutputStream out = newStream(1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            out.rollIfNeeded();
+            out.write(i);
+        }
+        out.close();
+
+        assertArrayEquals(new String[]{"test-3.log"}, listFiles());
+    }
+
+    @Test
+    public void whenMaxSizeNotReached_thenNotRolled() throws IOException {
+        RollingFileOutputStream out = newStream(100, 3);
+
+        for (int i = 0; i < 3; i++) {
+            out.rollIfNeeded();
+            out.write(i);
+        }
+        out.close();
+
+        assertArrayEquals(new String[]{"test-1.log"}, listFiles());
+        assertEquals(3, new File(directory, "test-1.log").length());
+    }
+
+    @Test
+    public void whenClosed_thenNextWriteOpensNewFile() throws IOException {
+        RollingFileOutputStream out = newStream(100, 3);
+
+        out.write(1);
+        out.close();
+        out.write(2);
+        out.close();
+
+        assertArrayEquals(new String[]{"test-1.log", "test-2.log"}, listFiles());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMaxCountIsZero_thenFail() {
+        newStream(100, 0);
+    }
+
+    private RollingFileOutputStream newStream(long maxFileSize, int maxFileCount) {
+        return new RollingFileOutputStream(Logger.getLogger(RollingFileOutputStreamTest.class), directory, "test", ".log",
+                maxFileSize, maxFileCount);
+    }
+
+    private String[] listFiles() {
+        String[] files = directory.list();
+        assertNotNull(files);
+        Arrays.sort(files);
+        return files;
+    }
+}
@@ -0,0 +1,155 @@
+package com.hazelcast.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCQueueTest extends HazelcastTestSupport {
+
+    private static final int CHUNK_CAPACITY = 4;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenZeroChunkCapacity() {
+        new MPSCQueue<Integer>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void offer_whenNull() {
+        new MPSCQueue<Integer>().offer(null);
+    }
+
+    @Test
+    public void poll_whenEmpty() {
+        MPSCQueue<Integer> queue = new MPSCQueue<Integer>(CHUNK_CAPACITY);
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void offerAndPoll_overMultipleChunks() {
+        MPSCQueue<Integer> queue = new MPSCQueue<Integer>(CHUNK_CAPACITY);
+        int count = CHUNK_CAPACITY * 3 + 1;
+        for (int k = 0; k < count; k++) {
+            queue.offer(k);
+        }
+
+        assertEquals(count, queue.size());
+        assertFalse(queue.isEmpty());
+
+        for (int k = 0; k < count; k++) {
+            assertEquals(Integer.valueOf(k), queue.poll());
+            assertEquals(count - k - 1, queue.size());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void drainTo_respectsLimit() {
+        MPSCQueue<Integer> queue = new MPSCQueue<Integer>(CHUNK_CAPACITY);
+        for (int k = 0; k < 10; k++) {
+            queue.offer(k);
+        }
+
+        List<Integer> sink = new ArrayList<Integer>();
+        assertEquals(6, queue.drainTo(sink, 6));
+        assertEquals(4, queue.size());
+        assertEquals(4, queue.drainTo(sink, 6));
+        assertEquals(0, queue.drainTo(sink, 6));
+
+        for (int k = 0; k < 10; k++) {
+            assertEquals(Integer.valueOf(k), sink.get(k));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void drainTo_whenChunkExactlyConsumed() {
+        MPSCQueue<Integer> queue = new MPSCQueue<Integer>(CHUNK_CAPACITY);
+        for (int k = 0; k < CHUNK_CAPACITY; k++) {
+            queue.offer(k);
+        }
+
+        List<Integer> sink = new ArrayList<Integer>();
+        assertEquals(CHUNK_CAPACITY, queue.drainTo(sink, 100));
+        assertTrue(queue.isEmpty());
+
+        queue.offer(CHUNK_CAPACITY);
+        assertFalse(queue.isEmpty());
+        assertEquals(1, queue.size());
+        assertEquals(Integer.valueOf(CHUNK_CAPACITY), queue.poll());
+    }
+
+    @Test
+    public void clear() {
+        MPSCQueue<Integer> queue = new MPSCQueue<Integer>(CHUNK_CAPACITY);
+        for (int k = 0; k < 10; k++) {
+            queue.offer(k);
+        }
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void concurrentProducers_preserveOrderPerProducer() throws Exception {
+        final MPSCQueue<long[]> queue = new MPSCQueue<long[]>(CHUNK_CAPACITY);
+        final int producerCount = 4;
+        final int itemsPerProducer = 50000;
+
+        Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            final int producerId = p;
+            producers[p] = new Thread() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < itemsPerProducer; k++) {
+                        queue.offer(new long[]{producerId, k});
+                    }
+                }
+            };
+            producers[p].start();
+        }
+
+        long[] expected = new long[producerCount];
+        List<long[]> batch = new ArrayList<long[]>();
+        int consumed = 0;
+        while (consumed < producerCount * itemsPerProducer) {
+            batch.clear();
+            queue.drainTo(batch, 16);
+            long[] item = queue.poll();
+            if (item != null) {
+                batch.add(item);
+            }
+            for (long[] element : batch) {
+                int producerId = (int) element[0];
+                assertEquals(expected[producerId], element[1]);
+                expected[producerId]++;
+                consumed++;
+            }
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+}